@@ -1,10 +1,21 @@
 package com.crediya.iam.config;
 
+import com.crediya.iam.model.role.gateways.RoleCatalog;
+import com.crediya.iam.security.hashing.HmacVerifiedCredentialCache;
+import com.crediya.iam.security.hashing.PasswordHashingExecutor;
+import com.crediya.iam.security.hashing.PasswordHashingProperties;
+import com.crediya.iam.security.jwt.JwtKeyProvider;
 import com.crediya.iam.security.jwt.JwtProperties;
 
 import com.crediya.iam.security.jwt.JwtReactiveAuthenticationManager;
+import com.crediya.iam.security.revocation.RevokedTokenFilter;
 import com.crediya.iam.usecase.authenticate.PasswordHasherPort;
+import com.crediya.iam.usecase.authenticate.RefreshTokenSettings;
+import com.crediya.iam.usecase.authenticate.VerifiedCredentialCachePort;
+import com.crediya.iam.usecase.importusers.ImportUsersSettings;
 import com.crediya.iam.security.jwt.PasswordHasherAdapter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
@@ -13,8 +24,10 @@ import org.springframework.context.annotation.FilterType;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+
 @Configuration
-@EnableConfigurationProperties(JwtProperties.class)
+@EnableConfigurationProperties({JwtProperties.class, PasswordHashingProperties.class})
 @ComponentScan(
         basePackages = "com.crediya.iam.usecase",
         includeFilters = {
@@ -33,19 +46,55 @@ public class UseCasesConfig {
     }
 
     /**
-     * Implementación del puerto de hashing de contraseñas usando el adaptador del módulo security
+     * Implementación del puerto de hashing de contraseñas usando el adaptador del módulo security.
+     * La verificación corre en el pool dedicado, nunca en el event loop.
+     */
+    @Bean
+    public PasswordHasherPort passwordHasherPort(PasswordEncoder passwordEncoder,
+                                                 PasswordHashingExecutor passwordHashingExecutor) {
+        return new PasswordHasherAdapter(passwordEncoder, passwordHashingExecutor);
+    }
+
+    /**
+     * Cache de credenciales verificadas; si está desactivada, cada login ejecuta BCrypt
+     */
+    @Bean
+    public VerifiedCredentialCachePort verifiedCredentialCache(PasswordHashingProperties props,
+                                                               MeterRegistry meterRegistry) {
+        if (!Boolean.TRUE.equals(props.getCredentialCache().getEnabled())) {
+            return VerifiedCredentialCachePort.disabled();
+        }
+        return new HmacVerifiedCredentialCache(props.getCredentialCache(), meterRegistry);
+    }
+
+    /**
+     * Vida de los refresh tokens que emite RefreshTokenUseCase
+     */
+    @Bean
+    public RefreshTokenSettings refreshTokenSettings(JwtProperties props) {
+        return new RefreshTokenSettings(Duration.ofSeconds(props.getRefreshTtlSec()));
+    }
+
+    /**
+     * Tamaño de lote y paralelismo de BCrypt de la importación masiva (0 = un hilo por núcleo)
      */
     @Bean
-    public PasswordHasherPort passwordHasherPort(PasswordEncoder passwordEncoder) {
-        return new PasswordHasherAdapter(passwordEncoder);
+    public ImportUsersSettings importUsersSettings(@Value("${users.import.batch-size:500}") int batchSize,
+                                                   @Value("${users.import.hash-parallelism:0}") int hashParallelism) {
+        return new ImportUsersSettings(batchSize, hashParallelism);
     }
 
     /**
      * Bean para manejar autenticación JWT reactiva
      */
     @Bean
-    public JwtReactiveAuthenticationManager jwtReactiveAuthenticationManager(JwtProperties props) {
-        return new JwtReactiveAuthenticationManager(props);
+    public JwtReactiveAuthenticationManager jwtReactiveAuthenticationManager(JwtProperties props,
+                                                                             JwtKeyProvider jwtKeyProvider,
+                                                                             RoleCatalog roleCatalog,
+                                                                             RevokedTokenFilter revokedTokenFilter,
+                                                                             MeterRegistry meterRegistry) {
+        return new JwtReactiveAuthenticationManager(props, jwtKeyProvider, roleCatalog, revokedTokenFilter,
+                meterRegistry);
     }
 
 }
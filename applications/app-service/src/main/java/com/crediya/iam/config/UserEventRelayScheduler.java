@@ -0,0 +1,53 @@
+package com.crediya.iam.config;
+
+import com.crediya.iam.usecase.userevents.RelayUserEventsUseCase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Corre el relay del outbox cada pollInterval. Cada pasada vacía el atraso en lotes; un fallo
+ * se registra y se reintenta en la siguiente, desde el último offset guardado.
+ */
+@Slf4j
+public class UserEventRelayScheduler implements InitializingBean, DisposableBean {
+
+    private final RelayUserEventsUseCase relay;
+    private final boolean enabled;
+    private final Duration pollInterval;
+
+    private Disposable poller;
+
+    public UserEventRelayScheduler(RelayUserEventsUseCase relay, boolean enabled, Duration pollInterval) {
+        this.relay = relay;
+        this.enabled = enabled;
+        this.pollInterval = pollInterval;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!enabled) return;
+        poller = Flux.interval(pollInterval, pollInterval)
+                // Una pasada lenta no acumula ticks: el siguiente empieza cuando ella termina
+                .onBackpressureDrop()
+                .concatMap(tick -> relay.drain()
+                        .doOnNext(published -> {
+                            if (published > 0) log.debug("[user.events.relay] published={}", published);
+                        })
+                        .onErrorResume(err -> {
+                            log.warn("[user.events.relay] pass failed, retrying next tick: {}", err.toString());
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    @Override
+    public void destroy() {
+        if (poller != null) poller.dispose();
+    }
+}
@@ -0,0 +1,58 @@
+package com.crediya.iam.config;
+
+import com.crediya.iam.usecase.userevents.PruneUserOutboxUseCase;
+import com.crediya.iam.usecase.userevents.RelayUserEventsUseCase;
+import com.crediya.iam.usecase.userevents.UserEventsSettings;
+import com.crediya.iam.usecase.userevents.UserOutboxRetentionSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class UserEventsConfig {
+
+    /**
+     * Lote de lectura del outbox y nombre del offset del relay. Con el bus en memoria cada
+     * instancia publica para sus propios suscriptores, así que cada una lleva su offset
+     */
+    @Bean
+    public UserEventsSettings userEventsSettings(
+            @Value("${users.events.batch-size:200}") int batchSize,
+            @Value("${users.events.relay.consumer:in-memory-${HOSTNAME:local}}") String relayConsumer) {
+        return new UserEventsSettings(batchSize, relayConsumer);
+    }
+
+    @Bean
+    public UserEventRelayScheduler userEventRelayScheduler(
+            RelayUserEventsUseCase relay,
+            @Value("${users.events.relay.enabled:true}") boolean enabled,
+            @Value("${users.events.relay.poll-interval:PT1S}") Duration pollInterval) {
+        return new UserEventRelayScheduler(relay, enabled, pollInterval);
+    }
+
+    /**
+     * Retención del outbox. El offset de un relay vivo se renueva en cada pasada de limpieza, así
+     * que offset-ttl debe superar con holgura el intervalo; si no, se borraría el de una instancia viva
+     */
+    @Bean
+    public UserOutboxRetentionSettings userOutboxRetentionSettings(
+            @Value("${users.events.retention.event-ttl:P7D}") Duration eventTtl,
+            @Value("${users.events.retention.offset-ttl:P1D}") Duration offsetTtl,
+            @Value("${users.events.retention.delete-batch-size:1000}") int deleteBatchSize,
+            @Value("${users.events.retention.interval:PT1H}") Duration interval) {
+        if (offsetTtl.compareTo(interval.multipliedBy(2)) < 0) {
+            throw new IllegalStateException("users.events.retention.offset-ttl debe ser al menos el doble del intervalo");
+        }
+        return new UserOutboxRetentionSettings(eventTtl, offsetTtl, deleteBatchSize);
+    }
+
+    @Bean
+    public UserOutboxPruneScheduler userOutboxPruneScheduler(
+            PruneUserOutboxUseCase prune,
+            @Value("${users.events.retention.enabled:true}") boolean enabled,
+            @Value("${users.events.retention.interval:PT1H}") Duration interval) {
+        return new UserOutboxPruneScheduler(prune, enabled, interval);
+    }
+}
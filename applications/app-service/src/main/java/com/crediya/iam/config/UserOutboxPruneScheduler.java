@@ -0,0 +1,52 @@
+package com.crediya.iam.config;
+
+import com.crediya.iam.usecase.userevents.PruneUserOutboxUseCase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Corre la limpieza del outbox cada interval. Todas las instancias la corren: los borrados son
+ * idempotentes y cada una necesita renovar su propio offset.
+ */
+@Slf4j
+public class UserOutboxPruneScheduler implements InitializingBean, DisposableBean {
+
+    private final PruneUserOutboxUseCase prune;
+    private final boolean enabled;
+    private final Duration interval;
+
+    private Disposable poller;
+
+    public UserOutboxPruneScheduler(PruneUserOutboxUseCase prune, boolean enabled, Duration interval) {
+        this.prune = prune;
+        this.enabled = enabled;
+        this.interval = interval;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!enabled) return;
+        poller = Flux.interval(interval, interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> prune.prune()
+                        .doOnNext(deleted -> {
+                            if (deleted > 0) log.info("[user.events.prune] deleted={}", deleted);
+                        })
+                        .onErrorResume(err -> {
+                            log.warn("[user.events.prune] pass failed, retrying next tick: {}", err.toString());
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    @Override
+    public void destroy() {
+        if (poller != null) poller.dispose();
+    }
+}
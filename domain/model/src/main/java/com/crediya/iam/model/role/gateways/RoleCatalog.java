@@ -0,0 +1,17 @@
+package com.crediya.iam.model.role.gateways;
+
+import com.crediya.iam.model.role.Role;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Catálogo de roles precargado en memoria. Las búsquedas no tocan la base de datos.
+ */
+public interface RoleCatalog {
+
+    Optional<Role> findById(Long id);
+
+    /** Recarga el catálogo completo desde la fuente de datos. */
+    Mono<Void> refresh();
+}
@@ -0,0 +1,29 @@
+package com.crediya.iam.model.token;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Refresh token opaco. Solo se persiste su hash; la familia agrupa todas las rotaciones
+ * que nacen de un mismo login.
+ */
+@Getter
+@Setter
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken {
+
+    private Long id;
+    private String tokenHash;
+    private Long userId;
+    private String familyId;
+    private Instant expiresAt;
+    private boolean revoked;
+    private Instant createdAt;
+
+    public boolean isExpired(Instant now) {
+        return expiresAt == null || !now.isBefore(expiresAt);
+    }
+}
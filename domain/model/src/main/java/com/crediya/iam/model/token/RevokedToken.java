@@ -0,0 +1,23 @@
+package com.crediya.iam.model.token;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Access token revocado antes de su exp. Se identifica por el claim jti y deja de
+ * importar cuando el token expira por sí solo.
+ */
+@Getter
+@Setter
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken {
+
+    private Long id;
+    private String jti;
+    private Long userId;
+    private Instant expiresAt;
+    private Instant revokedAt;
+}
@@ -0,0 +1,28 @@
+package com.crediya.iam.model.token.gateways;
+
+import com.crediya.iam.model.token.RefreshToken;
+import reactor.core.publisher.Mono;
+
+public interface RefreshTokenRepository {
+
+    Mono<RefreshToken> save(RefreshToken token);
+
+    /** Búsqueda por índice único sobre el hash del token. */
+    Mono<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Marca el token como usado solo si aún no lo estaba.
+     *
+     * @return true si esta llamada lo consumió; false si otro request se adelantó
+     */
+    Mono<Boolean> consume(Long id);
+
+    /** Revoca todos los tokens de la familia (rotaciones de un mismo login). */
+    Mono<Void> revokeFamily(String familyId);
+
+    /**
+     * Indica si la familia fue cerrada (reúso detectado o logout). Un token consumido por una
+     * rotación normal no cuenta.
+     */
+    Mono<Boolean> isFamilyRevoked(String familyId);
+}
@@ -0,0 +1,22 @@
+package com.crediya.iam.model.token.gateways;
+
+import com.crediya.iam.model.token.RevokedToken;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+public interface RevokedTokenRepository {
+
+    /** Registra la revocación; revocar dos veces el mismo jti no es un error. */
+    Mono<Void> save(RevokedToken token);
+
+    /** Consulta autoritativa por índice único sobre jti. */
+    Mono<Boolean> existsByJti(String jti);
+
+    /** Revocaciones registradas desde {@code since} que aún no han expirado en {@code now}. */
+    Flux<RevokedToken> findActiveRevokedSince(Instant since, Instant now);
+
+    /** Borra las revocaciones de tokens que ya expiraron; retorna cuántas filas eliminó. */
+    Mono<Long> deleteExpired(Instant now);
+}
@@ -0,0 +1,7 @@
+package com.crediya.iam.model.user;
+
+/**
+ * Proyección mínima de un usuario para autenticarse: solo lo que el login necesita.
+ */
+public record UserCredential(Long id, String email, String password, Long roleId, String roleName) {
+}
@@ -0,0 +1,22 @@
+package com.crediya.iam.model.user;
+
+import java.time.Instant;
+
+/**
+ * Cambio de un usuario publicado desde el outbox. La secuencia la asigna el outbox al
+ * guardarlo, es creciente y sirve de offset: quien consume guarda la última que procesó.
+ *
+ * @param sequence   posición en el outbox; 0 mientras el evento no se ha guardado
+ * @param type       tipo de evento, p. ej. {@link #USER_CREATED}
+ * @param occurredAt momento en que se guardó; null antes de guardarlo
+ * @param user       perfil público del usuario, sin contraseña
+ */
+public record UserEvent(long sequence, String type, Instant occurredAt, User user) {
+
+    public static final String USER_CREATED = "user_created";
+
+    /** Evento por guardar en el outbox, en la misma transacción que el alta. */
+    public static UserEvent created(User user) {
+        return new UserEvent(0, USER_CREATED, null, user);
+    }
+}
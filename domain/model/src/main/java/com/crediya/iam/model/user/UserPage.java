@@ -0,0 +1,14 @@
+package com.crediya.iam.model.user;
+
+import java.util.List;
+
+/**
+ * Página de usuarios ordenada por id. {@code nextAfterId} es el último id entregado cuando
+ * hay más filas, o null si esta es la última página.
+ */
+public record UserPage(List<User> users, Long nextAfterId) {
+
+    public boolean hasNext() {
+        return nextAfterId != null;
+    }
+}
@@ -0,0 +1,10 @@
+package com.crediya.iam.model.user.gateways;
+
+import com.crediya.iam.model.user.UserEvent;
+import reactor.core.publisher.Flux;
+
+/** Eventos publicados desde que el suscriptor se conecta, más un historial reciente acotado. */
+public interface UserEventFeed {
+
+    Flux<UserEvent> live();
+}
@@ -0,0 +1,68 @@
+package com.crediya.iam.model.user.gateways;
+
+import com.crediya.iam.model.user.UserEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+public interface UserEventOutbox {
+
+    /**
+     * Guarda los eventos en el outbox. Debe correr en la transacción de la escritura que los
+     * origina para que ambos se confirmen o se descarten juntos.
+     *
+     * @param events eventos sin secuencia
+     * @return Mono que completa cuando los eventos están escritos
+     */
+    Mono<Void> append(List<UserEvent> events);
+
+    /**
+     * Eventos confirmados con secuencia mayor a {@code afterSequence}, en orden. Se detiene ante
+     * una secuencia que falta, salvo que el evento siguiente sea más antiguo que el límite de
+     * espera del adaptador: ese hueco se salta y se toma por una escritura revertida. Un evento
+     * cuya transacción sigue abierta más allá de ese límite puede perderse.
+     *
+     * @param afterSequence última secuencia ya procesada
+     * @param limit         máximo de eventos a retornar
+     * @return Flux con a lo sumo {@code limit} eventos
+     */
+    Flux<UserEvent> readAfter(long afterSequence, int limit);
+
+    /** Secuencia más alta del outbox, o 0 si está vacío. */
+    Mono<Long> latestSequence();
+
+    /**
+     * Offset guardado del consumidor.
+     *
+     * @param consumer nombre del consumidor
+     * @return Mono con la última secuencia procesada, o vacío si el consumidor nunca guardó una
+     */
+    Mono<Long> loadOffset(String consumer);
+
+    /** Guarda el offset del consumidor; un valor menor al guardado no lo retrocede. */
+    Mono<Void> saveOffset(String consumer, long sequence);
+
+    /** Renueva la hora del offset del consumidor sin moverlo, para que no se tome por abandonado. */
+    Mono<Void> touchOffset(String consumer);
+
+    /**
+     * Borra los offsets que nadie actualizó en {@code idleFor}: consumidores que ya no existen,
+     * como las instancias reemplazadas, y que frenarían la limpieza del outbox.
+     *
+     * @param idleFor tiempo sin actualizar tras el cual un offset se da por abandonado
+     * @return Mono con la cantidad de offsets borrados
+     */
+    Mono<Long> deleteStaleOffsets(Duration idleFor);
+
+    /**
+     * Borra hasta {@code limit} eventos con más de {@code olderThan} que todos los consumidores
+     * con offset ya procesaron. Las edades se miden con el reloj de la BD.
+     *
+     * @param olderThan edad mínima del evento para borrarlo
+     * @param limit     máximo de eventos a borrar en esta llamada
+     * @return Mono con la cantidad de eventos borrados
+     */
+    Mono<Long> deleteConsumed(Duration olderThan, int limit);
+}
@@ -0,0 +1,19 @@
+package com.crediya.iam.model.user.gateways;
+
+import com.crediya.iam.model.user.UserEvent;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/** Destino de los eventos que el relay lee del outbox (broker, bus en memoria, ...). */
+public interface UserEventPublisher {
+
+    /**
+     * Publica un lote en orden de secuencia. Si falla, el relay no avanza su offset y el lote
+     * se reintenta: los consumidores deben tolerar eventos repetidos.
+     *
+     * @param events eventos en orden de secuencia
+     * @return Mono que completa cuando el destino aceptó el lote
+     */
+    Mono<Void> publish(List<UserEvent> events);
+}
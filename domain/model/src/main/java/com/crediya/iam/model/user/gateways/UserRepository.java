@@ -1,9 +1,13 @@
 package com.crediya.iam.model.user.gateways;
 
 import com.crediya.iam.model.user.User;
+import com.crediya.iam.model.user.UserCredential;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface UserRepository {
@@ -17,14 +21,86 @@ public interface UserRepository {
 
     Mono<User> existUserForDocument(String document);
 
+    /**
+     * Lee solo el email registrado para el documento; basta para validar que ambos coinciden.
+     *
+     * @param document documento de identidad
+     * @return Mono con el email guardado, o vacío si ningún usuario tiene ese documento
+     */
+    Mono<String> findEmailByDocument(String document);
+
+    /**
+     * Emails registrados para varios documentos en una sola consulta.
+     *
+     * @param documents documentos a buscar
+     * @return Mono con documento -> email; los documentos sin usuario no aparecen
+     */
+    Mono<Map<String, String>> findEmailsByDocuments(Collection<String> documents);
+
+    /** Perfil público del usuario, sin el hash de la contraseña. */
     Mono<User> findByEmail(String mail);
+
+    /**
+     * Obtiene en una sola consulta las credenciales del usuario junto al nombre de su rol.
+     *
+     * @param mail email del usuario
+     * @return Mono con la credencial, o vacío si ningún usuario tiene ese email
+     */
+    Mono<UserCredential> findCredentialByEmail(String mail);
+
+    /**
+     * Igual que {@link #findCredentialByEmail(String)} pero por id; lo usa la rotación de refresh tokens.
+     *
+     * @param id id del usuario
+     * @return Mono con la credencial, o vacío si el usuario no existe
+     */
+    Mono<UserCredential> findCredentialById(Long id);
+
+    /** Perfil público de todos los usuarios, sin el hash de la contraseña. */
     Flux<User> findAll();
 
     /**
-     * Persists a user in the repository.
+     * Página por keyset: usuarios con id mayor a {@code afterId}, en orden de id. El costo es el
+     * mismo para cualquier página porque la consulta arranca en el índice primario.
+     *
+     * @param afterId último id de la página anterior (0 para la primera)
+     * @param limit   máximo de filas a retornar
+     * @return Flux con a lo sumo {@code limit} usuarios
+     */
+    Flux<User> findPage(long afterId, int limit);
+
+    /**
+     * Emails de la colección que ya están registrados, en una sola consulta.
+     *
+     * @param emails emails normalizados
+     * @return Flux con los emails de la colección que ya están en uso
+     */
+    Flux<String> findExistingEmails(Collection<String> emails);
+
+    /**
+     * Documentos de la colección que ya están registrados, en una sola consulta.
+     *
+     * @param documents documentos normalizados
+     * @return Flux con los documentos de la colección que ya están en uso
+     */
+    Flux<String> findExistingDocuments(Collection<String> documents);
+
+    /**
+     * Inserta el lote en un único INSERT multi-fila. Si una fila viola una restricción,
+     * falla el lote completo y no se inserta ninguna. Cada fila deja su evento user_created
+     * en el outbox, en la misma transacción.
+     *
+     * @param users usuarios ya validados y con la contraseña hasheada
+     * @return Flux con los usuarios guardados, en el mismo orden y con sus ids generados
+     */
+    Flux<User> insertAll(List<User> users);
+
+    /**
+     * Guarda el usuario. Un alta (usuario sin id) deja su evento user_created en el outbox,
+     * en la misma transacción.
      *
-     * @param user the user to save
-     * @return Mono emitting the saved user
+     * @param user usuario a guardar
+     * @return Mono con el usuario guardado
      */
     Mono<User> save(User user);
 }
@@ -1,6 +1,7 @@
 package com.crediya.iam.usecase.authenticate;
 
-import com.crediya.iam.model.role.gateways.RoleRepository;
+import com.crediya.iam.model.user.User;
+import com.crediya.iam.model.user.UserCredential;
 import com.crediya.iam.model.user.gateways.UserRepository;
 import com.crediya.iam.usecase.shared.Messages;
 import reactor.core.publisher.Mono;
@@ -12,20 +13,23 @@ public class AuthenticateUseCase {
 
     private final UserRepository users;
     private final PasswordHasherPort passwordHasher;
-    private final RoleRepository roleRepository;
     private final TokenGeneratorPort tokens;
+    private final VerifiedCredentialCachePort credentialCache;
+    private final RefreshTokenUseCase refreshTokens;
     private static final Logger LOG = Logger.getLogger(AuthenticateUseCase.class.getName());
 
     public AuthenticateUseCase(
             UserRepository users,
             PasswordHasherPort passwordHasher,
             TokenGeneratorPort tokens,
-            RoleRepository roleRepository
+            VerifiedCredentialCachePort credentialCache,
+            RefreshTokenUseCase refreshTokens
     ) {
         this.users = Objects.requireNonNull(users);
         this.passwordHasher = Objects.requireNonNull(passwordHasher);
         this.tokens = Objects.requireNonNull(tokens);
-        this.roleRepository = Objects.requireNonNull(roleRepository);
+        this.credentialCache = Objects.requireNonNull(credentialCache);
+        this.refreshTokens = Objects.requireNonNull(refreshTokens);
     }
 
     public Mono<TokenResult> login(String email, String rawPassword) {
@@ -33,23 +37,43 @@ public class AuthenticateUseCase {
             return Mono.error(new IllegalArgumentException(Messages.INVALID_CREDENTIALS));
         }
 
-        return users.findByEmail(email.trim().toLowerCase())
+        String normalizedEmail = email.trim().toLowerCase();
+        // Usuario y rol llegan en una sola consulta
+        return users.findCredentialByEmail(normalizedEmail)
                 .switchIfEmpty(Mono.error(new IllegalArgumentException(Messages.INVALID_CREDENTIALS)))
-                .flatMap(u -> {
-                    if (!passwordHasher.matches(rawPassword, u.getPassword())) {
-                        return Mono.error(new IllegalArgumentException(Messages.INVALID_CREDENTIALS));
-                    }
+                .flatMap(c -> verifyPassword(normalizedEmail, rawPassword, c.password())
+                        .flatMap(matches -> {
+                            if (!Boolean.TRUE.equals(matches)) {
+                                return Mono.error(new IllegalArgumentException(Messages.INVALID_CREDENTIALS));
+                            }
+                            if (c.roleName() == null) {
+                                return Mono.error(new IllegalArgumentException(Messages.ROLE_NOT_FOUND));
+                            }
 
-                    // Obtenemos el rol y generamos token
-                    return roleRepository.findById(u.getRoleId())
-                            .switchIfEmpty(Mono.error(new IllegalArgumentException(Messages.ROLE_NOT_FOUND)))
-                            .doOnNext(role -> LOG.info(
-                                    String.format("[AuthenticateUseCase] UsuarioId=%s Email=%s Rol=%s",
-                                            u.getId(), u.getEmail(), role.getName())
-                            ))
+                            LOG.info(String.format("[AuthenticateUseCase] UsuarioId=%s Email=%s Rol=%s",
+                                    c.id(), c.email(), c.roleName()));
+                            return tokens.generate(toTokenSubject(c), c.roleName())
+                                    .flatMap(tok -> refreshTokens.issue(c.id(), tok));
+                        }));
+    }
 
+    private static User toTokenSubject(UserCredential credential) {
+        return User.builder()
+                .id(credential.id())
+                .email(credential.email())
+                .roleId(credential.roleId())
+                .build();
+    }
 
-                            .flatMap(role -> tokens.generate(u, role.getName()));
+    private Mono<Boolean> verifyPassword(String email, String rawPassword, String storedHash) {
+        if (credentialCache.isVerified(email, rawPassword, storedHash)) {
+            return Mono.just(true);
+        }
+        return passwordHasher.matches(rawPassword, storedHash)
+                .doOnNext(matches -> {
+                    if (Boolean.TRUE.equals(matches)) {
+                        credentialCache.remember(email, rawPassword, storedHash);
+                    }
                 });
     }
 }
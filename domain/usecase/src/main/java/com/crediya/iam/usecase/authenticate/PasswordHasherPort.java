@@ -1,5 +1,12 @@
 package com.crediya.iam.usecase.authenticate;
 
+import reactor.core.publisher.Mono;
+
 public interface PasswordHasherPort {
-    boolean matches(String raw, String hashed);
-}
\ No newline at end of file
+    /**
+     * Verifica la contraseña contra el hash almacenado sin bloquear el hilo que se suscribe.
+     *
+     * @return Mono que emite true si la contraseña coincide
+     */
+    Mono<Boolean> matches(String raw, String hashed);
+}
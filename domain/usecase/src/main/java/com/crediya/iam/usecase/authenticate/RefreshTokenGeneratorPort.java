@@ -0,0 +1,10 @@
+package com.crediya.iam.usecase.authenticate;
+
+public interface RefreshTokenGeneratorPort {
+
+    /** Nuevo token opaco con entropía suficiente para no ser adivinable. */
+    String newToken();
+
+    /** Hash determinístico que se persiste y se usa para buscar el token. */
+    String hash(String token);
+}
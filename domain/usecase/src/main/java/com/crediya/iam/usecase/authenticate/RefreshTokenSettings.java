@@ -0,0 +1,9 @@
+package com.crediya.iam.usecase.authenticate;
+
+import java.time.Duration;
+
+/**
+ * @param ttl vida de cada refresh token; cada rotación emite uno nuevo con la vida completa
+ */
+public record RefreshTokenSettings(Duration ttl) {
+}
@@ -0,0 +1,133 @@
+package com.crediya.iam.usecase.authenticate;
+
+import com.crediya.iam.model.token.RefreshToken;
+import com.crediya.iam.model.token.gateways.RefreshTokenRepository;
+import com.crediya.iam.model.user.User;
+import com.crediya.iam.model.user.gateways.UserRepository;
+import com.crediya.iam.usecase.shared.Messages;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Emite y rota refresh tokens opacos. Validar uno es una búsqueda por índice, sin BCrypt.
+ * Cada token sirve una sola vez: presentar uno ya usado revoca toda su familia.
+ */
+public class RefreshTokenUseCase {
+
+    private static final Logger LOG = Logger.getLogger(RefreshTokenUseCase.class.getName());
+
+    private final RefreshTokenRepository refreshTokens;
+    private final RefreshTokenGeneratorPort generator;
+    private final UserRepository users;
+    private final TokenGeneratorPort tokens;
+    private final RefreshTokenSettings settings;
+
+    public RefreshTokenUseCase(
+            RefreshTokenRepository refreshTokens,
+            RefreshTokenGeneratorPort generator,
+            UserRepository users,
+            TokenGeneratorPort tokens,
+            RefreshTokenSettings settings
+    ) {
+        this.refreshTokens = Objects.requireNonNull(refreshTokens);
+        this.generator = Objects.requireNonNull(generator);
+        this.users = Objects.requireNonNull(users);
+        this.tokens = Objects.requireNonNull(tokens);
+        this.settings = Objects.requireNonNull(settings);
+    }
+
+    /** Agrega un refresh token de una familia nueva al access token recién emitido. */
+    public Mono<TokenResult> issue(Long userId, TokenResult accessToken) {
+        return store(userId, UUID.randomUUID().toString())
+                .map(accessToken::withRefreshToken);
+    }
+
+    /** Cambia un refresh token vigente por un access token nuevo y un refresh token nuevo. */
+    public Mono<TokenResult> refresh(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return Mono.error(new IllegalArgumentException(Messages.INVALID_REFRESH_TOKEN));
+        }
+
+        return refreshTokens.findByTokenHash(generator.hash(rawToken))
+                .switchIfEmpty(Mono.error(new IllegalArgumentException(Messages.INVALID_REFRESH_TOKEN)))
+                .flatMap(current -> {
+                    if (current.isRevoked()) {
+                        return reuseDetected(current);
+                    }
+                    if (current.isExpired(Instant.now())) {
+                        return Mono.error(new IllegalArgumentException(Messages.INVALID_REFRESH_TOKEN));
+                    }
+                    return refreshTokens.consume(current.getId())
+                            .flatMap(consumed -> Boolean.TRUE.equals(consumed)
+                                    ? rotate(current)
+                                    : reuseDetected(current));
+                });
+    }
+
+    /** Cierra la sesión: revoca la familia del token presentado. */
+    public Mono<Void> revoke(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) return Mono.empty();
+        return refreshTokens.findByTokenHash(generator.hash(rawToken))
+                .flatMap(token -> refreshTokens.revokeFamily(token.getFamilyId()));
+    }
+
+    private Mono<TokenResult> rotate(RefreshToken current) {
+        return users.findCredentialById(current.getUserId())
+                .switchIfEmpty(Mono.error(new IllegalArgumentException(Messages.INVALID_REFRESH_TOKEN)))
+                .flatMap(c -> {
+                    if (c.roleName() == null) {
+                        return Mono.error(new IllegalArgumentException(Messages.ROLE_NOT_FOUND));
+                    }
+                    User subject = User.builder().id(c.id()).email(c.email()).roleId(c.roleId()).build();
+                    return tokens.generate(subject, c.roleName());
+                })
+                .flatMap(tok -> store(current.getUserId(), current.getFamilyId())
+                        .flatMap(raw -> closedMeanwhile(current)
+                                .flatMap(closed -> closed
+                                        ? revokeRotated(current)
+                                        : Mono.just(tok.withRefreshToken(raw)))));
+    }
+
+    /**
+     * Un request concurrente con el mismo token pudo detectar el reúso y revocar la familia
+     * antes de que se guardara el token rotado; ese token nuevo quedaría vigente. Se comprueba
+     * después de guardarlo: si la revocación llega más tarde, ya lo alcanza a él también.
+     */
+    private Mono<Boolean> closedMeanwhile(RefreshToken current) {
+        return refreshTokens.isFamilyRevoked(current.getFamilyId());
+    }
+
+    private Mono<TokenResult> revokeRotated(RefreshToken current) {
+        LOG.warning(String.format("[RefreshTokenUseCase] familia revocada durante la rotación UsuarioId=%s familia=%s",
+                current.getUserId(), current.getFamilyId()));
+        return refreshTokens.revokeFamily(current.getFamilyId())
+                .then(Mono.error(new IllegalArgumentException(Messages.INVALID_REFRESH_TOKEN)));
+    }
+
+    private Mono<TokenResult> reuseDetected(RefreshToken token) {
+        LOG.warning(String.format("[RefreshTokenUseCase] reutilización detectada UsuarioId=%s familia=%s",
+                token.getUserId(), token.getFamilyId()));
+        return refreshTokens.revokeFamily(token.getFamilyId())
+                .then(Mono.error(new IllegalArgumentException(Messages.INVALID_REFRESH_TOKEN)));
+    }
+
+    private Mono<String> store(Long userId, String familyId) {
+        return Mono.defer(() -> {
+            String raw = generator.newToken();
+            Instant now = Instant.now();
+            RefreshToken token = RefreshToken.builder()
+                    .tokenHash(generator.hash(raw))
+                    .userId(userId)
+                    .familyId(familyId)
+                    .createdAt(now)
+                    .expiresAt(now.plus(settings.ttl()))
+                    .revoked(false)
+                    .build();
+            return refreshTokens.save(token).thenReturn(raw);
+        });
+    }
+}
@@ -0,0 +1,46 @@
+package com.crediya.iam.usecase.authenticate;
+
+import com.crediya.iam.model.token.gateways.RevokedTokenRepository;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.logging.Logger;
+
+/**
+ * Revoca un access token antes de su exp (logout). El jti queda en el almacén de revocaciones
+ * y cada instancia lo incorpora a su filtro en memoria; el refresh token, si viene, revoca su familia.
+ */
+public class RevokeTokenUseCase {
+
+    private static final Logger LOG = Logger.getLogger(RevokeTokenUseCase.class.getName());
+
+    private final RevokedTokenRepository revokedTokens;
+    private final TokenRevocationPort revocation;
+    private final RefreshTokenUseCase refreshTokens;
+
+    public RevokeTokenUseCase(
+            RevokedTokenRepository revokedTokens,
+            TokenRevocationPort revocation,
+            RefreshTokenUseCase refreshTokens
+    ) {
+        this.revokedTokens = Objects.requireNonNull(revokedTokens);
+        this.revocation = Objects.requireNonNull(revocation);
+        this.refreshTokens = Objects.requireNonNull(refreshTokens);
+    }
+
+    public Mono<Void> revoke(String accessToken, String refreshToken) {
+        Mono<Void> access = Mono.justOrEmpty(accessToken)
+                .flatMap(revocation::describe)
+                .flatMap(token -> {
+                    token.setRevokedAt(Instant.now());
+                    return revokedTokens.save(token)
+                            .then(Mono.fromRunnable(() -> revocation.markRevoked(token.getJti())))
+                            .doOnSuccess(v -> LOG.info(String.format(
+                                    "[RevokeTokenUseCase] token revocado UsuarioId=%s", token.getUserId())));
+                })
+                .then();
+
+        return access.then(Mono.defer(() -> refreshTokens.revoke(refreshToken)));
+    }
+}
@@ -1,3 +1,12 @@
 package com.crediya.iam.usecase.authenticate;
 
-public record TokenResult(String token, String tokenType, long expiresAtEpochSec) {}
+public record TokenResult(String token, String tokenType, long expiresAtEpochSec, String refreshToken) {
+
+    public TokenResult(String token, String tokenType, long expiresAtEpochSec) {
+        this(token, tokenType, expiresAtEpochSec, null);
+    }
+
+    public TokenResult withRefreshToken(String refreshToken) {
+        return new TokenResult(token, tokenType, expiresAtEpochSec, refreshToken);
+    }
+}
@@ -0,0 +1,13 @@
+package com.crediya.iam.usecase.authenticate;
+
+import com.crediya.iam.model.token.RevokedToken;
+import reactor.core.publisher.Mono;
+
+public interface TokenRevocationPort {
+
+    /** Lee jti, sub y exp de un access token con firma válida; vacío si no es válido o no trae jti. */
+    Mono<RevokedToken> describe(String accessToken);
+
+    /** Aplica la revocación en esta instancia sin esperar a la siguiente sincronización. */
+    void markRevoked(String jti);
+}
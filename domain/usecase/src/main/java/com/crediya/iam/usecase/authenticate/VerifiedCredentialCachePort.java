@@ -0,0 +1,28 @@
+package com.crediya.iam.usecase.authenticate;
+
+/**
+ * Cache de credenciales verificadas recientemente. Un acierto evita repetir BCrypt en el login.
+ * El hash almacenado forma parte de la clave de la entrada: tras un cambio de contraseña el hash
+ * nuevo nunca coincide con una entrada vieja, así que no hace falta invalidar nada a mano.
+ */
+public interface VerifiedCredentialCachePort {
+
+    boolean isVerified(String email, String rawPassword, String storedHash);
+
+    void remember(String email, String rawPassword, String storedHash);
+
+    /** Implementación sin cache: siempre delega en BCrypt. */
+    static VerifiedCredentialCachePort disabled() {
+        return new VerifiedCredentialCachePort() {
+            @Override
+            public boolean isVerified(String email, String rawPassword, String storedHash) {
+                return false;
+            }
+
+            @Override
+            public void remember(String email, String rawPassword, String storedHash) {
+                // sin cache
+            }
+        };
+    }
+}
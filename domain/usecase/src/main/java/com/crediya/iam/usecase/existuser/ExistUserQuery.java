@@ -0,0 +1,5 @@
+package com.crediya.iam.usecase.existuser;
+
+/** Par documento/email de la validación por lote. */
+public record ExistUserQuery(String document, String email) {
+}
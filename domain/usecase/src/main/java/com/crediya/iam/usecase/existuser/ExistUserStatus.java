@@ -0,0 +1,12 @@
+package com.crediya.iam.usecase.existuser;
+
+/** Resultado de un par en la validación por lote. */
+public enum ExistUserStatus {
+    /** El documento existe y el email coincide */
+    MATCH,
+    /** El documento existe con otro email */
+    EMAIL_MISMATCH,
+    NOT_FOUND,
+    /** Documento o email vacío, o documento con formato inválido; no se consulta */
+    INVALID
+}
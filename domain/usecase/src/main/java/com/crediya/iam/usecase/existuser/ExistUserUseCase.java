@@ -2,15 +2,24 @@ package com.crediya.iam.usecase.existuser;
 
 import com.crediya.iam.model.user.gateways.UserRepository;
 import com.crediya.iam.usecase.shared.Messages;
+import com.crediya.iam.usecase.shared.ValidationException;
 import com.crediya.iam.usecase.shared.security.ExceptionGeneral;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Mono;
 
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 
 @RequiredArgsConstructor
 public class ExistUserUseCase {
     private static final Logger LOG = Logger.getLogger(ExistUserUseCase.class.getName());
+
+    /** Pares por request en la validación por lote */
+    public static final int MAX_BATCH_SIZE = 500;
     private final UserRepository userRepository;
 
 
@@ -20,12 +29,13 @@ public class ExistUserUseCase {
             return Mono.error(new ExceptionGeneral(Messages.DOCUMENT_EMAIL));
         }
 
-        return userRepository.existUserForDocument(document)
-                .flatMap(user -> {
-                    LOG.info(String.format("[ExistUserUseCase] user found: id=%s document=%s email=%s",
-                            user.getId(), user.getIdentityDocument(), user.getEmail()));
+        // Solo se lee el email: la validación no necesita el resto de la fila
+        return userRepository.findEmailByDocument(document)
+                .flatMap(stored -> {
+                    LOG.info(String.format("[ExistUserUseCase] user found: document=%s email=%s",
+                            document, stored));
 
-                    String storedEmail = user.getEmail() != null ? user.getEmail().trim() : "";
+                    String storedEmail = stored.trim();
                     String inputEmail = email.trim();
 
                     if (storedEmail.equalsIgnoreCase(inputEmail)) {
@@ -41,4 +51,61 @@ public class ExistUserUseCase {
                 })
                 .switchIfEmpty(Mono.error(new ExceptionGeneral(Messages.USERS_NOT_FOUND)));
     }
+
+    /**
+     * Valida varios pares con una sola consulta IN sobre documento_identidad. El mapa conserva
+     * el orden de la petición y tiene una entrada por documento; si un documento se repite,
+     * prevalece el último par.
+     */
+    public Mono<Map<String, ExistUserStatus>> executeBatch(List<ExistUserQuery> queries) {
+        if (queries == null || queries.isEmpty()) {
+            return Mono.error(new ValidationException("users", Messages.EXIST_BATCH_EMPTY));
+        }
+        if (queries.size() > MAX_BATCH_SIZE) {
+            return Mono.error(new ValidationException("users", Messages.EXIST_BATCH_TOO_LARGE));
+        }
+
+        return Mono.defer(() -> {
+            Map<String, ExistUserQuery> valid = new LinkedHashMap<>();
+            Map<String, ExistUserStatus> results = new LinkedHashMap<>();
+            for (ExistUserQuery query : queries) {
+                String document = query.document() == null ? "" : query.document().trim();
+                if (isValid(document, query.email())) {
+                    valid.put(document, query);
+                    results.put(document, null);
+                } else {
+                    valid.remove(document);
+                    results.put(document, ExistUserStatus.INVALID);
+                }
+            }
+            if (valid.isEmpty()) return Mono.just(results);
+
+            Set<String> documents = new LinkedHashSet<>(valid.keySet());
+            return userRepository.findEmailsByDocuments(documents)
+                    .map(stored -> {
+                        valid.forEach((document, query) -> results.put(document,
+                                status(stored.get(document), query.email())));
+                        LOG.info(() -> "[ExistUserUseCase] batch resolved pairs=" + queries.size()
+                                + " queried=" + documents.size() + " found=" + stored.size());
+                        return results;
+                    });
+        });
+    }
+
+    private static boolean isValid(String document, String email) {
+        if (email == null || email.isBlank()) return false;
+        try {
+            ExistUserValidated.validateAndNormalize(document);
+            return true;
+        } catch (ValidationException e) {
+            return false;
+        }
+    }
+
+    private static ExistUserStatus status(String storedEmail, String inputEmail) {
+        if (storedEmail == null) return ExistUserStatus.NOT_FOUND;
+        return storedEmail.trim().equalsIgnoreCase(inputEmail.trim())
+                ? ExistUserStatus.MATCH
+                : ExistUserStatus.EMAIL_MISMATCH;
+    }
 }
@@ -0,0 +1,24 @@
+package com.crediya.iam.usecase.importusers;
+
+/**
+ * Resultado de una fila de la importación.
+ *
+ * @param id    id generado; solo para filas CREATED
+ * @param field campo que causó el rechazo o el duplicado, si aplica
+ */
+public record ImportUserResult(long line, String email, Status status, Long id, String field, String message) {
+
+    public enum Status { CREATED, DUPLICATE, REJECTED }
+
+    public static ImportUserResult created(long line, String email, Long id) {
+        return new ImportUserResult(line, email, Status.CREATED, id, null, null);
+    }
+
+    public static ImportUserResult duplicate(long line, String email, String field, String message) {
+        return new ImportUserResult(line, email, Status.DUPLICATE, null, field, message);
+    }
+
+    public static ImportUserResult rejected(long line, String email, String field, String message) {
+        return new ImportUserResult(line, email, Status.REJECTED, null, field, message);
+    }
+}
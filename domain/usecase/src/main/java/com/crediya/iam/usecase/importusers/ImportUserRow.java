@@ -0,0 +1,20 @@
+package com.crediya.iam.usecase.importusers;
+
+import com.crediya.iam.model.user.User;
+
+/**
+ * Fila leída del archivo de importación. Si no se pudo interpretar, {@code user} es null y
+ * {@code error} explica el motivo; la fila se reporta como rechazada sin tocar la BD.
+ *
+ * @param line número de línea en el archivo (desde 1)
+ */
+public record ImportUserRow(long line, User user, String field, String error) {
+
+    public static ImportUserRow of(long line, User user) {
+        return new ImportUserRow(line, user, null, null);
+    }
+
+    public static ImportUserRow invalid(long line, String field, String error) {
+        return new ImportUserRow(line, null, field, error);
+    }
+}
@@ -0,0 +1,16 @@
+package com.crediya.iam.usecase.importusers;
+
+/**
+ * @param batchSize       filas por lote: una consulta de duplicados y un INSERT multi-fila por lote
+ * @param hashParallelism contraseñas que se hashean a la vez durante una importación
+ */
+public record ImportUsersSettings(int batchSize, int hashParallelism) {
+
+    /** Con 10 columnas por fila, 1000 filas quedan lejos del límite de parámetros de MySQL */
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    public ImportUsersSettings {
+        batchSize = Math.max(1, Math.min(batchSize, MAX_BATCH_SIZE));
+        hashParallelism = hashParallelism > 0 ? hashParallelism : Runtime.getRuntime().availableProcessors();
+    }
+}
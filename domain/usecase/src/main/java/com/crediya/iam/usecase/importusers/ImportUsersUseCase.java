@@ -0,0 +1,231 @@
+package com.crediya.iam.usecase.importusers;
+
+import com.crediya.iam.model.role.gateways.RoleCatalog;
+import com.crediya.iam.model.user.User;
+import com.crediya.iam.model.user.gateways.UserRepository;
+import com.crediya.iam.usecase.shared.Messages;
+import com.crediya.iam.usecase.shared.ValidationException;
+import com.crediya.iam.usecase.shared.security.PasswordService;
+import com.crediya.iam.usecase.user.exceptions.EmailDuplicadoException;
+import com.crediya.iam.usecase.user.generaterequest.UserValidator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Importación masiva de usuarios. Las filas se procesan por lotes: validación en memoria,
+ * una consulta de duplicados por lote (email y documento), hash de contraseñas con paralelismo
+ * acotado y un único INSERT multi-fila. Cada fila produce exactamente un resultado, en el orden
+ * del archivo, a medida que se completa su lote.
+ */
+public class ImportUsersUseCase {
+
+    private static final Logger LOG = Logger.getLogger(ImportUsersUseCase.class.getName());
+
+    private final UserRepository userRepository;
+    private final PasswordService passwordService;
+    private final RoleCatalog roleCatalog;
+    private final ImportUsersSettings settings;
+
+    public ImportUsersUseCase(UserRepository userRepository,
+                              PasswordService passwordService,
+                              RoleCatalog roleCatalog,
+                              ImportUsersSettings settings) {
+        this.userRepository = userRepository;
+        this.passwordService = passwordService;
+        this.roleCatalog = roleCatalog;
+        this.settings = settings;
+    }
+
+    public Flux<ImportUserResult> execute(Flux<ImportUserRow> rows) {
+        return Flux.defer(() -> {
+            // Emails y documentos ya vistos en este archivo; los lotes se procesan de a uno
+            Set<String> seenEmails = new HashSet<>();
+            Set<String> seenDocuments = new HashSet<>();
+            Map<ImportUserResult.Status, Long> totals = new EnumMap<>(ImportUserResult.Status.class);
+
+            return rows.buffer(settings.batchSize())
+                    .concatMap(batch -> importBatch(batch, seenEmails, seenDocuments))
+                    .doOnNext(result -> totals.merge(result.status(), 1L, Long::sum))
+                    .doOnComplete(() -> LOG.info(() -> "Importación terminada: " + totals));
+        });
+    }
+
+    private Flux<ImportUserResult> importBatch(List<ImportUserRow> batch,
+                                               Set<String> seenEmails,
+                                               Set<String> seenDocuments) {
+        return Flux.defer(() -> {
+            ImportUserResult[] results = new ImportUserResult[batch.size()];
+            List<Integer> candidates = new ArrayList<>(batch.size());
+
+            // 1) Validación en memoria y duplicados dentro del mismo archivo
+            for (int i = 0; i < batch.size(); i++) {
+                ImportUserRow row = batch.get(i);
+                ImportUserResult rejected = validate(row);
+                if (rejected != null) {
+                    results[i] = rejected;
+                    continue;
+                }
+                User user = row.user();
+                if (seenEmails.contains(user.getEmail())) {
+                    results[i] = ImportUserResult.duplicate(row.line(), user.getEmail(), "email", Messages.EMAIL_DUPLICATED);
+                } else if (seenDocuments.contains(user.getIdentityDocument())) {
+                    results[i] = ImportUserResult.duplicate(row.line(), user.getEmail(), "identityDocument",
+                            Messages.DOC_DUPLICATED);
+                } else {
+                    seenEmails.add(user.getEmail());
+                    seenDocuments.add(user.getIdentityDocument());
+                    candidates.add(i);
+                }
+            }
+            if (candidates.isEmpty()) {
+                return emit(batch, results);
+            }
+
+            // 2) Duplicados contra la BD: una consulta por columna para todo el lote
+            Set<String> emails = collect(batch, candidates, User::getEmail);
+            Set<String> documents = collect(batch, candidates, User::getIdentityDocument);
+
+            return Mono.zip(
+                            userRepository.findExistingEmails(emails).collect(Collectors.toSet()),
+                            userRepository.findExistingDocuments(documents).collect(Collectors.toSet()))
+                    .flatMap(taken -> {
+                        List<Integer> fresh = new ArrayList<>(candidates.size());
+                        for (int i : candidates) {
+                            ImportUserRow row = batch.get(i);
+                            User user = row.user();
+                            if (taken.getT1().contains(user.getEmail())) {
+                                results[i] = ImportUserResult.duplicate(row.line(), user.getEmail(), "email",
+                                        Messages.EMAIL_DUPLICATED);
+                            } else if (taken.getT2().contains(user.getIdentityDocument())) {
+                                results[i] = ImportUserResult.duplicate(row.line(), user.getEmail(), "identityDocument",
+                                        Messages.DOC_DUPLICATED);
+                            } else {
+                                fresh.add(i);
+                            }
+                        }
+                        return hashAndInsert(batch, fresh, results);
+                    })
+                    .thenMany(Flux.defer(() -> emit(batch, results)));
+        });
+    }
+
+    /** Rechazo de la fila o null si es válida; normaliza email, documento y teléfono. */
+    private ImportUserResult validate(ImportUserRow row) {
+        if (row.user() == null) {
+            return ImportUserResult.rejected(row.line(), null, row.field(), row.error());
+        }
+        User user = row.user();
+        try {
+            UserValidator.validateAndNormalize(user);
+        } catch (ValidationException e) {
+            return ImportUserResult.rejected(row.line(), user.getEmail(), e.getField(), e.getMessage());
+        }
+        if (user.getRoleId() == null || roleCatalog.findById(user.getRoleId()).isEmpty()) {
+            return ImportUserResult.rejected(row.line(), user.getEmail(), "roleId", Messages.ROLE_NOT_FOUND);
+        }
+        return null;
+    }
+
+    /**
+     * 3) BCrypt con a lo sumo {@code hashParallelism} contraseñas a la vez. El hash corre en
+     * boundedElastic, igual que el de los registros individuales: el tope evita que una
+     * importación acapare ese pool. Los logins verifican en su propio executor y no compiten.
+     */
+    private Mono<Void> hashAndInsert(List<ImportUserRow> batch, List<Integer> fresh, ImportUserResult[] results) {
+        if (fresh.isEmpty()) return Mono.empty();
+
+        return Flux.fromIterable(fresh)
+                .flatMapSequential(i -> {
+                    ImportUserRow row = batch.get(i);
+                    User user = row.user();
+                    return passwordService.generatePasswordHash(user.getPassword())
+                            .map(hash -> {
+                                user.setPassword(hash);
+                                return i;
+                            })
+                            .onErrorResume(e -> {
+                                results[i] = ImportUserResult.rejected(row.line(), user.getEmail(), "password",
+                                        Messages.IMPORT_ROW_FAILED);
+                                return Mono.empty();
+                            });
+                }, settings.hashParallelism())
+                .collectList()
+                .flatMap(ready -> insert(batch, ready, results));
+    }
+
+    /**
+     * 4) Un INSERT multi-fila por lote. Si falla (por ejemplo, otro proceso registró el mismo
+     * email entre la consulta y el insert), el lote se reintenta fila por fila para aislar la culpable.
+     */
+    private Mono<Void> insert(List<ImportUserRow> batch, List<Integer> ready, ImportUserResult[] results) {
+        if (ready.isEmpty()) return Mono.empty();
+        List<User> users = ready.stream().map(i -> batch.get(i).user()).toList();
+
+        return userRepository.insertAll(users)
+                .collectList()
+                .doOnNext(saved -> {
+                    for (int k = 0; k < saved.size(); k++) {
+                        ImportUserRow row = batch.get(ready.get(k));
+                        results[ready.get(k)] = ImportUserResult.created(row.line(), saved.get(k).getEmail(),
+                                saved.get(k).getId());
+                    }
+                })
+                .then()
+                .onErrorResume(e -> {
+                    LOG.warning(() -> "INSERT del lote falló, se reintenta fila por fila: " + e.getMessage());
+                    return insertOneByOne(batch, ready, results);
+                });
+    }
+
+    private Mono<Void> insertOneByOne(List<ImportUserRow> batch, List<Integer> ready, ImportUserResult[] results) {
+        return Flux.fromIterable(ready)
+                .concatMap(i -> {
+                    ImportUserRow row = batch.get(i);
+                    return userRepository.save(row.user())
+                            .doOnNext(saved -> results[i] = ImportUserResult.created(row.line(), saved.getEmail(),
+                                    saved.getId()))
+                            .onErrorResume(EmailDuplicadoException.class, e -> {
+                                results[i] = ImportUserResult.duplicate(row.line(), row.user().getEmail(), "email",
+                                        Messages.EMAIL_DUPLICATED);
+                                return Mono.empty();
+                            })
+                            .onErrorResume(e -> {
+                                LOG.warning(() -> "Fila " + row.line() + " no se pudo guardar: " + e.getMessage());
+                                results[i] = ImportUserResult.rejected(row.line(), row.user().getEmail(), null,
+                                        Messages.IMPORT_ROW_FAILED);
+                                return Mono.empty();
+                            });
+                })
+                .then();
+    }
+
+    /** Una fila sin resultado no debería ocurrir; si pasa, se reporta en vez de perderla. */
+    private static Flux<ImportUserResult> emit(List<ImportUserRow> batch, ImportUserResult[] results) {
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                ImportUserRow row = batch.get(i);
+                results[i] = ImportUserResult.rejected(row.line(), row.user() == null ? null : row.user().getEmail(),
+                        null, Messages.IMPORT_ROW_FAILED);
+            }
+        }
+        return Flux.fromArray(results);
+    }
+
+    private static Set<String> collect(List<ImportUserRow> batch, List<Integer> indexes, Function<User, String> field) {
+        Set<String> values = new HashSet<>(indexes.size() * 2);
+        for (int i : indexes) {
+            values.add(field.apply(batch.get(i).user()));
+        }
+        return values;
+    }
+}
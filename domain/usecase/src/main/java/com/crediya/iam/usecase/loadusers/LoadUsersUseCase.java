@@ -1,6 +1,7 @@
 package com.crediya.iam.usecase.loadusers;
 
 import com.crediya.iam.model.user.User;
+import com.crediya.iam.model.user.UserPage;
 import com.crediya.iam.model.user.gateways.UserRepository;
 import com.crediya.iam.usecase.existuser.ExistUserUseCase;
 import com.crediya.iam.usecase.shared.Messages;
@@ -9,18 +10,38 @@ import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
 import java.util.logging.Logger;
 
 @RequiredArgsConstructor
 public class LoadUsersUseCase {
     private static final Logger LOG = Logger.getLogger(LoadUsersUseCase.class.getName());
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
     private final UserRepository userRepository;
 
     public Flux<User> execute() {
+        // Sin operadores intermedios con prefetch: la demanda del consumidor llega directo a la consulta
         return userRepository.findAll()
-                .flatMap(user -> {
-                    return Flux.just(user);
-                })
                 .switchIfEmpty(Mono.error(new ValidationException("User",Messages.USERS_NOT_FOUND)));
     }
+
+    /**
+     * Página de usuarios posteriores a {@code afterId}. Pide una fila extra para saber si hay
+     * otra página sin contar la tabla.
+     */
+    public Mono<UserPage> page(Long afterId, Integer limit) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        long after = afterId == null ? 0L : Math.max(afterId, 0L);
+
+        return userRepository.findPage(after, size + 1)
+                .collectList()
+                .map(rows -> {
+                    if (rows.size() <= size) {
+                        return new UserPage(rows, null);
+                    }
+                    List<User> users = rows.subList(0, size);
+                    return new UserPage(users, users.get(size - 1).getId());
+                });
+    }
 }
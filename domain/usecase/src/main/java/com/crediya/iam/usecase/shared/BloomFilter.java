@@ -0,0 +1,100 @@
+package com.crediya.iam.usecase.shared;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtro de Bloom sobre strings, seguro para lecturas y escrituras concurrentes.
+ * mightContain nunca da falsos negativos; los falsos positivos se confirman contra el almacén.
+ * No admite borrado: los elementos expirados se descartan reconstruyendo el filtro.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashes;
+    private final LongAdder insertions = new LongAdder();
+
+    private BloomFilter(long bitCount, int hashes) {
+        int wordCount = (int) Math.min(Integer.MAX_VALUE, (bitCount + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * 64;
+        this.hashes = hashes;
+    }
+
+    /**
+     * Dimensiona el filtro con las fórmulas estándar: m = -n·ln(p)/ln(2)² bits y k = m/n·ln(2) funciones.
+     */
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate debe estar en (0, 1)");
+        }
+        long n = Math.max(1, expectedInsertions);
+        long m = Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+        int k = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        return new BloomFilter(m, k);
+    }
+
+    public void put(String value) {
+        long hash = hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            long bit = index(h1, h2, i);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            if ((words.get(word) & mask) == 0) {
+                words.getAndAccumulate(word, mask, (current, m) -> current | m);
+            }
+        }
+        insertions.increment();
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            long bit = index(h1, h2, i);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Inserciones realizadas (incluye repetidas). */
+    public long insertions() {
+        return insertions.sum();
+    }
+
+    public long bitCount() {
+        return bitCount;
+    }
+
+    public int hashes() {
+        return hashes;
+    }
+
+    /** Doble hashing (Kirsch-Mitzenmacher): g_i = h1 + i·h2. */
+    private long index(int h1, int h2, int i) {
+        long combined = h1 + (long) i * h2;
+        return (combined & Long.MAX_VALUE) % bitCount;
+    }
+
+    /** FNV-1a de 64 bits sobre UTF-8 con el mezclador final de MurmurHash3. */
+    private static long hash64(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -15,6 +15,7 @@ public final class Messages {
     public static final String DOC_REQUIRED        = "El documento de identidad es obligatorio";
     public static final String DOC_NUMERIC         = "El documento solo puede tener dígitos (0-9)";
     public static final String DOC_LENGTH          = "El documento debe tener entre 6 y 20 dígitos";
+    public static final String DOC_DUPLICATED      = "El documento de identidad ya está registrado";
 
     // Teléfono
     public static final String PHONE_REQUIRED      = "El número de teléfono es obligatorio";
@@ -34,6 +35,7 @@ public final class Messages {
     //Login
     public static final String INVALID_CREDENTIALS        = "Credenciales inválidas";
     public  static final String DOCUMENT_EMAIL = "Documento o email nulo";
+    public static final String INVALID_REFRESH_TOKEN = "Refresh token inválido o expirado";
     //role
     public static final String ROLE_NOT_FOUND   = "Rol no encontrado";
     //Usuarios
@@ -45,6 +47,11 @@ public final class Messages {
     public  static  final  String USER_VALIDATED_ERROR = "Validación fallida";
     public  static  final  String USER_ALREADY_EXIST = "El usuario existe";
     public  static  final  String USER_NOT_EXIST = "El usuario no existe";
+    public  static  final  String EXIST_BATCH_EMPTY = "Debe enviar al menos un par documento/email";
+    public  static  final  String EXIST_BATCH_TOO_LARGE = "Máximo 500 pares por petición";
+    //Importación
+    public  static  final  String IMPORT_ROW_FAILED = "No se pudo guardar el usuario";
+    public  static  final  String IMPORT_ROW_UNREADABLE = "La fila no tiene un formato válido";
 
 
 }
@@ -1,15 +1,23 @@
 package com.crediya.iam.usecase.user;
 
+import com.crediya.iam.model.role.gateways.RoleCatalog;
 import com.crediya.iam.model.user.User;
 import com.crediya.iam.model.user.gateways.UserRepository;
 import com.crediya.iam.usecase.shared.security.PasswordService;
 import com.crediya.iam.usecase.user.exceptions.EmailDuplicadoException;
+import com.crediya.iam.usecase.user.exceptions.RoleNotFoundException;
 import com.crediya.iam.usecase.user.generaterequest.UserValidator;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Mono;
 
 import java.util.logging.Logger;
 
+/**
+ * Registro de usuario en un solo viaje a la BD: el rol se valida contra el catálogo en memoria
+ * y el email duplicado lo detecta el índice único uq_usuario_email al insertar. El repositorio
+ * traduce esa violación a {@link EmailDuplicadoException}, así que no hay ventana entre
+ * comprobar y escribir. El repositorio escribe el evento user_created en la misma transacción.
+ */
 @RequiredArgsConstructor
 public class CreateUserUseCase implements IUserUseCase {
 
@@ -17,6 +25,7 @@ public class CreateUserUseCase implements IUserUseCase {
 
     private final UserRepository userRepository;
     private final PasswordService passwordService;
+    private final RoleCatalog roleCatalog;
 
     @Override
     public Mono<User> execute(User u) {
@@ -25,25 +34,22 @@ public class CreateUserUseCase implements IUserUseCase {
             UserValidator.validateAndNormalize(u);
             LOG.fine(() -> "Intento de creación de usuario con email=" + u.getEmail());
 
-            // 2) Verificar duplicados
-            return userRepository.existsByMail(u.getEmail())
-                    .flatMap(exists -> {
-                        if (Boolean.TRUE.equals(exists)) {
-                            LOG.info(() -> "Creación abortada: email duplicado=" + u.getEmail());
-                            return Mono.error(new EmailDuplicadoException(u.getEmail()));
-                        }
-                        return Mono.just(u);
+            // 2) Rol contra el catálogo en memoria
+            if (u.getRoleId() == null || roleCatalog.findById(u.getRoleId()).isEmpty()) {
+                LOG.info(() -> "Creación abortada: rol inexistente=" + u.getRoleId());
+                return Mono.error(new RoleNotFoundException(u.getRoleId()));
+            }
+
+            // 3) Generar hash de la contraseña
+            return passwordService.generatePasswordHash(u.getPassword())
+                    .map(hash -> {
+                        u.setPassword(hash);
+                        return u;
                     })
-                    // 3) Generar hash de la contraseña
-                    .flatMap(user ->
-                            passwordService.generatePasswordHash(user.getPassword())
-                                    .map(hash -> {
-                                        user.setPassword(hash);
-                                        return user;
-                                    })
-                    )
-                    // 4) Guardar en repositorio
+                    // 4) Insertar; el índice único decide si el email ya existe
                     .flatMap(userRepository::save)
+                    .doOnError(EmailDuplicadoException.class, e ->
+                            LOG.info(() -> "Creación abortada: email duplicado=" + u.getEmail()))
                     .doOnSuccess(saved ->
                             LOG.info(() -> "Usuario creado id=" + saved.getId() + " email=" + saved.getEmail()));
         }).doOnError(e ->
@@ -0,0 +1,47 @@
+package com.crediya.iam.usecase.userevents;
+
+import com.crediya.iam.model.user.gateways.UserEventOutbox;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+import java.util.logging.Logger;
+
+/**
+ * Limpieza del outbox. Cada instancia renueva primero su propio offset, así un relay vivo sin
+ * eventos nuevos no se confunde con uno abandonado; luego se borran los offsets de consumidores
+ * que ya no existen y, por lotes, los eventos viejos que todos los consumidores restantes leyeron.
+ */
+@RequiredArgsConstructor
+public class PruneUserOutboxUseCase {
+
+    private static final Logger LOG = Logger.getLogger(PruneUserOutboxUseCase.class.getName());
+
+    private final UserEventOutbox outbox;
+    private final UserEventsSettings settings;
+    private final UserOutboxRetentionSettings retention;
+
+    /**
+     * Ejecuta una pasada completa.
+     *
+     * @return Mono con la cantidad de eventos borrados
+     */
+    public Mono<Long> prune() {
+        return outbox.touchOffset(settings.relayConsumer())
+                .then(outbox.deleteStaleOffsets(retention.offsetTtl()))
+                .doOnNext(offsets -> {
+                    if (offsets > 0) LOG.info(() -> "Offsets abandonados borrados=" + offsets);
+                })
+                .then(deleteEvents())
+                .doOnNext(events -> LOG.fine(() -> "Eventos del outbox borrados=" + events));
+    }
+
+    /** Borra lotes seguidos mientras vengan llenos. */
+    private Mono<Long> deleteEvents() {
+        int batch = retention.deleteBatchSize();
+        return outbox.deleteConsumed(retention.eventTtl(), batch)
+                .expand(deleted -> deleted >= batch
+                        ? outbox.deleteConsumed(retention.eventTtl(), batch)
+                        : Mono.empty())
+                .reduce(0L, Long::sum);
+    }
+}
@@ -0,0 +1,51 @@
+package com.crediya.iam.usecase.userevents;
+
+import com.crediya.iam.model.user.gateways.UserEventOutbox;
+import com.crediya.iam.model.user.gateways.UserEventPublisher;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+import java.util.logging.Logger;
+
+/**
+ * Lleva los eventos del outbox al publicador por lotes, en orden de secuencia. El offset se
+ * guarda después de publicar: un fallo entre ambos pasos repite el lote, nunca lo pierde.
+ * Sin offset guardado, el relay arranca en el final del outbox en vez de republicar el historial.
+ */
+@RequiredArgsConstructor
+public class RelayUserEventsUseCase {
+
+    private static final Logger LOG = Logger.getLogger(RelayUserEventsUseCase.class.getName());
+
+    private final UserEventOutbox outbox;
+    private final UserEventPublisher publisher;
+    private final UserEventsSettings settings;
+
+    /**
+     * Publica el siguiente lote.
+     *
+     * @return Mono con la cantidad de eventos publicados; si es {@code batchSize} puede haber más
+     */
+    public Mono<Integer> relayNext() {
+        String consumer = settings.relayConsumer();
+        return outbox.loadOffset(consumer)
+                .switchIfEmpty(Mono.defer(() -> outbox.latestSequence()
+                        .flatMap(latest -> outbox.saveOffset(consumer, latest).thenReturn(latest))))
+                .flatMap(offset -> outbox.readAfter(offset, settings.batchSize()).collectList())
+                .flatMap(batch -> {
+                    if (batch.isEmpty()) return Mono.just(0);
+                    long last = batch.get(batch.size() - 1).sequence();
+                    return publisher.publish(batch)
+                            .then(Mono.defer(() -> outbox.saveOffset(consumer, last)))
+                            .doOnSuccess(v -> LOG.fine(() -> "Eventos publicados=" + batch.size() + " hasta=" + last))
+                            .thenReturn(batch.size());
+                });
+    }
+
+    /** Publica lotes seguidos mientras vengan llenos, para vaciar un atraso en una sola pasada. */
+    public Mono<Integer> drain() {
+        return relayNext()
+                .expand(published -> published >= settings.batchSize() ? relayNext() : Mono.empty())
+                .reduce(0, Integer::sum);
+    }
+}
@@ -0,0 +1,48 @@
+package com.crediya.iam.usecase.userevents;
+
+import com.crediya.iam.model.user.UserEvent;
+import com.crediya.iam.model.user.gateways.UserEventFeed;
+import com.crediya.iam.model.user.gateways.UserEventOutbox;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Change feed de usuarios para quien mantiene su propia copia: con la última secuencia que
+ * procesó, primero recibe lo que se perdió (leído del outbox por lotes) y luego los eventos en
+ * vivo. El feed en vivo reenvía un historial reciente al suscribirse, lo que cubre lo publicado
+ * mientras corría el catch-up; los repetidos se descartan por secuencia.
+ */
+@RequiredArgsConstructor
+public class StreamUserEventsUseCase {
+
+    private final UserEventOutbox outbox;
+    private final UserEventFeed feed;
+    private final UserEventsSettings settings;
+
+    /**
+     * @param afterSequence última secuencia procesada por el cliente; null entrega el historial reciente del feed y lo nuevo
+     */
+    public Flux<UserEvent> stream(Long afterSequence) {
+        return Flux.defer(() -> {
+            if (afterSequence == null) return feed.live();
+
+            AtomicLong last = new AtomicLong(Math.max(afterSequence, 0L));
+            Flux<UserEvent> catchUp = page(last.get())
+                    .expand(events -> events.size() < settings.batchSize()
+                            ? Flux.empty()
+                            : page(events.get(events.size() - 1).sequence()))
+                    .flatMapIterable(events -> events);
+
+            return catchUp.concatWith(feed.live())
+                    .filter(event -> event.sequence() > last.get())
+                    .doOnNext(event -> last.set(event.sequence()));
+        });
+    }
+
+    private Flux<List<UserEvent>> page(long after) {
+        return outbox.readAfter(after, settings.batchSize()).collectList().flux();
+    }
+}
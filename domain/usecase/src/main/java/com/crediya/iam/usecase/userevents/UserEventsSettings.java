@@ -0,0 +1,17 @@
+package com.crediya.iam.usecase.userevents;
+
+/**
+ * @param batchSize     eventos por lectura del outbox, tanto del relay como del catch-up del feed
+ * @param relayConsumer nombre con el que el relay guarda su offset en el outbox
+ */
+public record UserEventsSettings(int batchSize, String relayConsumer) {
+
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    public UserEventsSettings {
+        batchSize = Math.max(1, Math.min(batchSize, MAX_BATCH_SIZE));
+        if (relayConsumer == null || relayConsumer.isBlank()) {
+            throw new IllegalArgumentException("El consumidor del relay es obligatorio");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.crediya.iam.usecase.userevents;
+
+import java.time.Duration;
+
+/**
+ * @param eventTtl        edad a partir de la cual un evento ya consumido se borra del outbox;
+ *                        también es cuánto puede retroceder un cliente SSE con Last-Event-ID
+ * @param offsetTtl       tiempo sin actualizar tras el cual el offset de un consumidor se borra
+ * @param deleteBatchSize eventos por DELETE, para no sostener bloqueos largos
+ */
+public record UserOutboxRetentionSettings(Duration eventTtl, Duration offsetTtl, int deleteBatchSize) {
+
+    public static final int MAX_DELETE_BATCH_SIZE = 10_000;
+
+    public UserOutboxRetentionSettings {
+        if (eventTtl == null || eventTtl.isNegative() || eventTtl.isZero()
+                || offsetTtl == null || offsetTtl.isNegative() || offsetTtl.isZero()) {
+            throw new IllegalArgumentException("La retención del outbox debe ser positiva");
+        }
+        deleteBatchSize = Math.max(1, Math.min(deleteBatchSize, MAX_DELETE_BATCH_SIZE));
+    }
+}
@@ -1,9 +1,9 @@
 package com.crediya.iam.usecase.authenticate;
 
-import com.crediya.iam.model.role.Role;
-import com.crediya.iam.model.role.gateways.RoleRepository;
 import com.crediya.iam.model.user.User;
+import com.crediya.iam.model.user.UserCredential;
 import com.crediya.iam.model.user.gateways.UserRepository;
+import com.crediya.iam.usecase.shared.Messages;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,9 +11,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
-import java.math.BigDecimal;
-import java.time.LocalDate;
-
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,7 +19,8 @@ class AuthenticateUseCaseTest {
     private UserRepository userRepository;
     private PasswordHasherPort passwordHasher;
     private TokenGeneratorPort tokenGenerator;
-    private RoleRepository roleRepository;
+    private VerifiedCredentialCachePort credentialCache;
+    private RefreshTokenUseCase refreshTokens;
     private AuthenticateUseCase useCase;
 
     @BeforeEach
@@ -30,82 +28,63 @@ class AuthenticateUseCaseTest {
         userRepository = mock(UserRepository.class);
         passwordHasher = mock(PasswordHasherPort.class);
         tokenGenerator = mock(TokenGeneratorPort.class);
-        roleRepository = mock(RoleRepository.class);
+        credentialCache = mock(VerifiedCredentialCachePort.class);
+        refreshTokens = mock(RefreshTokenUseCase.class);
+        lenient().when(refreshTokens.issue(any(), any()))
+                .thenAnswer(inv -> Mono.just(inv.<TokenResult>getArgument(1).withRefreshToken("refresh-1")));
 
         useCase = new AuthenticateUseCase(
                 userRepository,
                 passwordHasher,
                 tokenGenerator,
-                roleRepository
+                credentialCache,
+                refreshTokens
         );
     }
 
-    private User createTestUser(String email) {
-        return User.builder()
-                .id(1L)
-                .firstName("Test")
-                .lastName("User")
-                .email(email)
-                .birthdate(LocalDate.of(1990, 1, 1))
-                .identityDocument("123456789")
-                .phoneNumber("1234567890")
-                .baseSalary(BigDecimal.valueOf(5000))
-                .address("Test Address")
-                .roleId(1L)
-                .active(true)
-                .password("hashedPassword")
-                .build();
+    private UserCredential createCredential(String email) {
+        return new UserCredential(1L, email, "hashedPassword", 1L, "USER");
     }
 
-    private Role createTestRole(Long id, String name) {
-        return Role.builder()
-                .id(id)
-                .name(name)
-                .description("Test role")
-                .build();
+    private static User tokenSubject() {
+        return argThat(u -> u.getId() == 1L && u.getRoleId() == 1L);
     }
 
     @Test
     void login_shouldAuthenticateSuccessfully() {
         String email = "test@example.com";
         String rawPassword = "password123";
-        User user = createTestUser(email);
-        Role role = createTestRole(1L, "USER");
         TokenResult expectedToken = new TokenResult("token123", "Bearer", 1234567890L);
 
-        when(userRepository.findByEmail(email.toLowerCase())).thenReturn(Mono.just(user));
-        when(passwordHasher.matches(rawPassword, "hashedPassword")).thenReturn(true);
-        when(roleRepository.findById(1L)).thenReturn(Mono.just(role));
-        when(tokenGenerator.generate(user, "USER")).thenReturn(Mono.just(expectedToken));
+        when(userRepository.findCredentialByEmail(email)).thenReturn(Mono.just(createCredential(email)));
+        when(passwordHasher.matches(rawPassword, "hashedPassword")).thenReturn(Mono.just(true));
+        when(tokenGenerator.generate(tokenSubject(), eq("USER"))).thenReturn(Mono.just(expectedToken));
 
         StepVerifier.create(useCase.login(email, rawPassword))
-                .expectNext(expectedToken)
+                .expectNext(expectedToken.withRefreshToken("refresh-1"))
                 .verifyComplete();
 
-        verify(userRepository).findByEmail(email.toLowerCase());
+        verify(userRepository).findCredentialByEmail(email);
+        verify(refreshTokens).issue(1L, expectedToken);
         verify(passwordHasher).matches(rawPassword, "hashedPassword");
-        verify(roleRepository).findById(1L);
-        verify(tokenGenerator).generate(user, "USER");
+        verify(tokenGenerator).generate(tokenSubject(), eq("USER"));
     }
 
     @Test
     void login_shouldNormalizeEmailToLowercase() {
-        String email = "TEST@EXAMPLE.COM";
         String rawPassword = "password123";
-        User user = createTestUser("test@example.com");
-        Role role = createTestRole(1L, "USER");
         TokenResult expectedToken = new TokenResult("token123", "Bearer", 1234567890L);
 
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Mono.just(user));
-        when(passwordHasher.matches(rawPassword, "hashedPassword")).thenReturn(true);
-        when(roleRepository.findById(1L)).thenReturn(Mono.just(role));
-        when(tokenGenerator.generate(user, "USER")).thenReturn(Mono.just(expectedToken));
+        when(userRepository.findCredentialByEmail("test@example.com"))
+                .thenReturn(Mono.just(createCredential("test@example.com")));
+        when(passwordHasher.matches(rawPassword, "hashedPassword")).thenReturn(Mono.just(true));
+        when(tokenGenerator.generate(tokenSubject(), eq("USER"))).thenReturn(Mono.just(expectedToken));
 
-        StepVerifier.create(useCase.login(email, rawPassword))
-                .expectNext(expectedToken)
+        StepVerifier.create(useCase.login("TEST@EXAMPLE.COM", rawPassword))
+                .expectNext(expectedToken.withRefreshToken("refresh-1"))
                 .verifyComplete();
 
-        verify(userRepository).findByEmail("test@example.com");
+        verify(userRepository).findCredentialByEmail("test@example.com");
     }
 
     @Test
@@ -114,7 +93,7 @@ class AuthenticateUseCaseTest {
                 .expectError(IllegalArgumentException.class)
                 .verify();
 
-        verify(userRepository, never()).findByEmail(any());
+        verify(userRepository, never()).findCredentialByEmail(any());
         verify(passwordHasher, never()).matches(any(), any());
     }
 
@@ -124,7 +103,7 @@ class AuthenticateUseCaseTest {
                 .expectError(IllegalArgumentException.class)
                 .verify();
 
-        verify(userRepository, never()).findByEmail(any());
+        verify(userRepository, never()).findCredentialByEmail(any());
         verify(passwordHasher, never()).matches(any(), any());
     }
 
@@ -134,7 +113,7 @@ class AuthenticateUseCaseTest {
                 .expectError(IllegalArgumentException.class)
                 .verify();
 
-        verify(userRepository, never()).findByEmail(any());
+        verify(userRepository, never()).findCredentialByEmail(any());
         verify(passwordHasher, never()).matches(any(), any());
     }
 
@@ -144,24 +123,22 @@ class AuthenticateUseCaseTest {
                 .expectError(IllegalArgumentException.class)
                 .verify();
 
-        verify(userRepository, never()).findByEmail(any());
+        verify(userRepository, never()).findCredentialByEmail(any());
         verify(passwordHasher, never()).matches(any(), any());
     }
 
     @Test
     void login_shouldFailWhenUserNotFound() {
         String email = "test@example.com";
-        String rawPassword = "password123";
 
-        when(userRepository.findByEmail(email)).thenReturn(Mono.empty());
+        when(userRepository.findCredentialByEmail(email)).thenReturn(Mono.empty());
 
-        StepVerifier.create(useCase.login(email, rawPassword))
+        StepVerifier.create(useCase.login(email, "password123"))
                 .expectError(IllegalArgumentException.class)
                 .verify();
 
-        verify(userRepository).findByEmail(email);
+        verify(userRepository).findCredentialByEmail(email);
         verify(passwordHasher, never()).matches(any(), any());
-        verify(roleRepository, never()).findById(any());
         verify(tokenGenerator, never()).generate(any(), any());
     }
 
@@ -169,18 +146,16 @@ class AuthenticateUseCaseTest {
     void login_shouldFailWhenPasswordDoesntMatch() {
         String email = "test@example.com";
         String rawPassword = "wrongpassword";
-        User user = createTestUser(email);
 
-        when(userRepository.findByEmail(email)).thenReturn(Mono.just(user));
-        when(passwordHasher.matches(rawPassword, "hashedPassword")).thenReturn(false);
+        when(userRepository.findCredentialByEmail(email)).thenReturn(Mono.just(createCredential(email)));
+        when(passwordHasher.matches(rawPassword, "hashedPassword")).thenReturn(Mono.just(false));
 
         StepVerifier.create(useCase.login(email, rawPassword))
                 .expectError(IllegalArgumentException.class)
                 .verify();
 
-        verify(userRepository).findByEmail(email);
+        verify(userRepository).findCredentialByEmail(email);
         verify(passwordHasher).matches(rawPassword, "hashedPassword");
-        verify(roleRepository, never()).findById(any());
         verify(tokenGenerator, never()).generate(any(), any());
     }
 
@@ -188,19 +163,18 @@ class AuthenticateUseCaseTest {
     void login_shouldFailWhenRoleNotFound() {
         String email = "test@example.com";
         String rawPassword = "password123";
-        User user = createTestUser(email);
 
-        when(userRepository.findByEmail(email)).thenReturn(Mono.just(user));
-        when(passwordHasher.matches(rawPassword, "hashedPassword")).thenReturn(true);
-        when(roleRepository.findById(1L)).thenReturn(Mono.empty());
+        when(userRepository.findCredentialByEmail(email))
+                .thenReturn(Mono.just(new UserCredential(1L, email, "hashedPassword", 9L, null)));
+        when(passwordHasher.matches(rawPassword, "hashedPassword")).thenReturn(Mono.just(true));
 
         StepVerifier.create(useCase.login(email, rawPassword))
-                .expectError(IllegalArgumentException.class)
+                .expectErrorMatches(err -> err instanceof IllegalArgumentException
+                        && err.getMessage().equals(Messages.ROLE_NOT_FOUND))
                 .verify();
 
-        verify(userRepository).findByEmail(email);
+        verify(userRepository).findCredentialByEmail(email);
         verify(passwordHasher).matches(rawPassword, "hashedPassword");
-        verify(roleRepository).findById(1L);
         verify(tokenGenerator, never()).generate(any(), any());
     }
 
@@ -208,21 +182,51 @@ class AuthenticateUseCaseTest {
     void login_shouldFailWhenTokenGenerationFails() {
         String email = "test@example.com";
         String rawPassword = "password123";
-        User user = createTestUser(email);
-        Role role = createTestRole(1L, "USER");
 
-        when(userRepository.findByEmail(email)).thenReturn(Mono.just(user));
-        when(passwordHasher.matches(rawPassword, "hashedPassword")).thenReturn(true);
-        when(roleRepository.findById(1L)).thenReturn(Mono.just(role));
-        when(tokenGenerator.generate(user, "USER")).thenReturn(Mono.error(new RuntimeException("Token generation failed")));
+        when(userRepository.findCredentialByEmail(email)).thenReturn(Mono.just(createCredential(email)));
+        when(passwordHasher.matches(rawPassword, "hashedPassword")).thenReturn(Mono.just(true));
+        when(tokenGenerator.generate(tokenSubject(), eq("USER")))
+                .thenReturn(Mono.error(new RuntimeException("Token generation failed")));
 
         StepVerifier.create(useCase.login(email, rawPassword))
                 .expectError(RuntimeException.class)
                 .verify();
 
-        verify(userRepository).findByEmail(email);
+        verify(userRepository).findCredentialByEmail(email);
         verify(passwordHasher).matches(rawPassword, "hashedPassword");
-        verify(roleRepository).findById(1L);
-        verify(tokenGenerator).generate(user, "USER");
+        verify(tokenGenerator).generate(tokenSubject(), eq("USER"));
+    }
+
+    @Test
+    void login_shouldSkipHashingOnVerifiedCredentialCacheHit() {
+        String email = "test@example.com";
+        String rawPassword = "password123";
+        TokenResult expectedToken = new TokenResult("token123", "Bearer", 1234567890L);
+
+        when(userRepository.findCredentialByEmail(email)).thenReturn(Mono.just(createCredential(email)));
+        when(credentialCache.isVerified(email, rawPassword, "hashedPassword")).thenReturn(true);
+        when(tokenGenerator.generate(tokenSubject(), eq("USER"))).thenReturn(Mono.just(expectedToken));
+
+        StepVerifier.create(useCase.login(email, rawPassword))
+                .expectNext(expectedToken.withRefreshToken("refresh-1"))
+                .verifyComplete();
+
+        verify(passwordHasher, never()).matches(any(), any());
+    }
+
+    @Test
+    void login_shouldRememberCredentialsOnlyAfterSuccessfulVerification() {
+        String email = "test@example.com";
+
+        when(userRepository.findCredentialByEmail(email)).thenReturn(Mono.just(createCredential(email)));
+        when(passwordHasher.matches("password123", "hashedPassword")).thenReturn(Mono.just(true));
+        when(passwordHasher.matches("wrongpassword", "hashedPassword")).thenReturn(Mono.just(false));
+        when(tokenGenerator.generate(tokenSubject(), eq("USER"))).thenReturn(Mono.just(new TokenResult("t", "Bearer", 1L)));
+
+        StepVerifier.create(useCase.login(email, "password123")).expectNextCount(1).verifyComplete();
+        StepVerifier.create(useCase.login(email, "wrongpassword")).expectError(IllegalArgumentException.class).verify();
+
+        verify(credentialCache).remember(email, "password123", "hashedPassword");
+        verify(credentialCache, never()).remember(email, "wrongpassword", "hashedPassword");
     }
-}
\ No newline at end of file
+}
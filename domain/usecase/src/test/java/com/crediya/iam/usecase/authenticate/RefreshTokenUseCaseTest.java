@@ -0,0 +1,157 @@
+package com.crediya.iam.usecase.authenticate;
+
+import com.crediya.iam.model.token.RefreshToken;
+import com.crediya.iam.model.token.gateways.RefreshTokenRepository;
+import com.crediya.iam.model.user.UserCredential;
+import com.crediya.iam.model.user.gateways.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenUseCaseTest {
+
+    private RefreshTokenRepository repository;
+    private RefreshTokenGeneratorPort generator;
+    private UserRepository users;
+    private TokenGeneratorPort tokens;
+    private RefreshTokenUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RefreshTokenRepository.class);
+        generator = mock(RefreshTokenGeneratorPort.class);
+        users = mock(UserRepository.class);
+        tokens = mock(TokenGeneratorPort.class);
+        useCase = new RefreshTokenUseCase(repository, generator, users, tokens,
+                new RefreshTokenSettings(Duration.ofDays(14)));
+
+        when(generator.newToken()).thenReturn("new-raw");
+        when(generator.hash(anyString())).thenAnswer(inv -> "h(" + inv.getArgument(0) + ")");
+        when(repository.save(any())).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        when(repository.revokeFamily(any())).thenReturn(Mono.empty());
+        when(repository.isFamilyRevoked(any())).thenReturn(Mono.just(false));
+    }
+
+    private static RefreshToken stored(boolean revoked, Instant expiresAt) {
+        return RefreshToken.builder()
+                .id(10L).tokenHash("h(old-raw)").userId(1L).familyId("fam-1")
+                .revoked(revoked).expiresAt(expiresAt).build();
+    }
+
+    @Test
+    void issue_storesHashOnlyAndStartsNewFamily() {
+        StepVerifier.create(useCase.issue(1L, new TokenResult("access", "Bearer", 100L)))
+                .expectNextMatches(r -> r.token().equals("access") && r.refreshToken().equals("new-raw"))
+                .verifyComplete();
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(repository).save(saved.capture());
+        assertThat(saved.getValue().getTokenHash()).isEqualTo("h(new-raw)");
+        assertThat(saved.getValue().getFamilyId()).isNotBlank();
+        assertThat(saved.getValue().getExpiresAt()).isAfter(Instant.now().plus(Duration.ofDays(13)));
+    }
+
+    @Test
+    void refresh_rotatesWithinSameFamily() {
+        when(repository.findByTokenHash("h(old-raw)"))
+                .thenReturn(Mono.just(stored(false, Instant.now().plusSeconds(60))));
+        when(repository.consume(10L)).thenReturn(Mono.just(true));
+        when(users.findCredentialById(1L))
+                .thenReturn(Mono.just(new UserCredential(1L, "a@b.co", "hash", 3L, "CLIENTE")));
+        when(tokens.generate(any(), eq("CLIENTE"))).thenReturn(Mono.just(new TokenResult("access-2", "Bearer", 200L)));
+
+        StepVerifier.create(useCase.refresh("old-raw"))
+                .expectNextMatches(r -> r.token().equals("access-2") && r.refreshToken().equals("new-raw"))
+                .verifyComplete();
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(repository).save(saved.capture());
+        assertThat(saved.getValue().getFamilyId()).isEqualTo("fam-1");
+        verify(repository, never()).revokeFamily(any());
+    }
+
+    @Test
+    void refresh_withAlreadyUsedToken_revokesFamily() {
+        when(repository.findByTokenHash("h(old-raw)"))
+                .thenReturn(Mono.just(stored(true, Instant.now().plusSeconds(60))));
+
+        StepVerifier.create(useCase.refresh("old-raw"))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verify(repository).revokeFamily("fam-1");
+        verify(tokens, never()).generate(any(), any());
+    }
+
+    @Test
+    void refresh_losingConcurrentRace_revokesFamily() {
+        when(repository.findByTokenHash("h(old-raw)"))
+                .thenReturn(Mono.just(stored(false, Instant.now().plusSeconds(60))));
+        when(repository.consume(10L)).thenReturn(Mono.just(false));
+
+        StepVerifier.create(useCase.refresh("old-raw"))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verify(repository).revokeFamily("fam-1");
+    }
+
+    @Test
+    void refresh_whenFamilyIsRevokedWhileRotating_revokesTheRotatedToken() {
+        // El request perdedor revocó la familia antes de que el ganador guardara su token nuevo
+        when(repository.findByTokenHash("h(old-raw)"))
+                .thenReturn(Mono.just(stored(false, Instant.now().plusSeconds(60))));
+        when(repository.consume(10L)).thenReturn(Mono.just(true));
+        when(repository.isFamilyRevoked("fam-1")).thenReturn(Mono.just(true));
+        when(users.findCredentialById(1L))
+                .thenReturn(Mono.just(new UserCredential(1L, "a@b.co", "hash", 3L, "CLIENTE")));
+        when(tokens.generate(any(), eq("CLIENTE"))).thenReturn(Mono.just(new TokenResult("access-2", "Bearer", 200L)));
+
+        StepVerifier.create(useCase.refresh("old-raw"))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        var order = inOrder(repository);
+        order.verify(repository).save(any());
+        order.verify(repository).isFamilyRevoked("fam-1");
+        order.verify(repository).revokeFamily("fam-1");
+    }
+
+    @Test
+    void refresh_withExpiredToken_fails() {
+        when(repository.findByTokenHash("h(old-raw)"))
+                .thenReturn(Mono.just(stored(false, Instant.now().minusSeconds(1))));
+
+        StepVerifier.create(useCase.refresh("old-raw"))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verify(repository, never()).consume(any());
+    }
+
+    @Test
+    void refresh_withUnknownOrBlankToken_fails() {
+        when(repository.findByTokenHash(any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.refresh("nope")).expectError(IllegalArgumentException.class).verify();
+        StepVerifier.create(useCase.refresh(" ")).expectError(IllegalArgumentException.class).verify();
+    }
+
+    @Test
+    void revoke_revokesWholeFamily() {
+        when(repository.findByTokenHash("h(old-raw)"))
+                .thenReturn(Mono.just(stored(false, Instant.now().plusSeconds(60))));
+
+        StepVerifier.create(useCase.revoke("old-raw")).verifyComplete();
+
+        verify(repository).revokeFamily("fam-1");
+    }
+}
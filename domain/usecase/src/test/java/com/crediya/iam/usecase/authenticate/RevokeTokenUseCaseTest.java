@@ -0,0 +1,72 @@
+package com.crediya.iam.usecase.authenticate;
+
+import com.crediya.iam.model.token.RevokedToken;
+import com.crediya.iam.model.token.gateways.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class RevokeTokenUseCaseTest {
+
+    private RevokedTokenRepository repository;
+    private TokenRevocationPort revocation;
+    private RefreshTokenUseCase refreshTokens;
+    private RevokeTokenUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RevokedTokenRepository.class);
+        revocation = mock(TokenRevocationPort.class);
+        refreshTokens = mock(RefreshTokenUseCase.class);
+        useCase = new RevokeTokenUseCase(repository, revocation, refreshTokens);
+
+        when(repository.save(any())).thenReturn(Mono.empty());
+        when(refreshTokens.revoke(any())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    void revoke_storesJtiAndMarksLocalFilter() {
+        Instant exp = Instant.now().plusSeconds(600);
+        when(revocation.describe("access"))
+                .thenReturn(Mono.just(RevokedToken.builder().jti("jti-1").userId(7L).expiresAt(exp).build()));
+
+        StepVerifier.create(useCase.revoke("access", "refresh")).verifyComplete();
+
+        ArgumentCaptor<RevokedToken> saved = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(repository).save(saved.capture());
+        assertThat(saved.getValue().getJti()).isEqualTo("jti-1");
+        assertThat(saved.getValue().getExpiresAt()).isEqualTo(exp);
+        assertThat(saved.getValue().getRevokedAt()).isNotNull();
+        verify(revocation).markRevoked("jti-1");
+        verify(refreshTokens).revoke("refresh");
+    }
+
+    @Test
+    void revoke_tokenWithoutJti_onlyRevokesRefreshFamily() {
+        when(revocation.describe("legacy")).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.revoke("legacy", "refresh")).verifyComplete();
+
+        verify(repository, never()).save(any());
+        verify(revocation, never()).markRevoked(any());
+        verify(refreshTokens).revoke("refresh");
+    }
+
+    @Test
+    void revoke_storeFails_doesNotMarkFilter() {
+        when(revocation.describe("access"))
+                .thenReturn(Mono.just(RevokedToken.builder().jti("jti-2").userId(7L).build()));
+        when(repository.save(any())).thenReturn(Mono.error(new RuntimeException("db down")));
+
+        StepVerifier.create(useCase.revoke("access", null)).verifyError(RuntimeException.class);
+
+        verify(revocation, never()).markRevoked(any());
+    }
+}
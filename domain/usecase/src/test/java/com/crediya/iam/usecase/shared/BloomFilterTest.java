@@ -0,0 +1,49 @@
+package com.crediya.iam.usecase.shared;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_hasNoFalseNegatives() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.001);
+        List<String> inserted = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            String jti = UUID.randomUUID().toString();
+            inserted.add(jti);
+            filter.put(jti);
+        }
+
+        assertThat(inserted).allMatch(filter::mightContain);
+        assertThat(filter.insertions()).isEqualTo(10_000);
+    }
+
+    @Test
+    void mightContain_falsePositiveRateStaysNearTarget() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) falsePositives++;
+        }
+
+        assertThat((double) falsePositives / probes).isLessThan(0.02);
+    }
+
+    @Test
+    void create_rejectsInvalidRate() {
+        assertThatThrownBy(() -> BloomFilter.create(100, 1.0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BloomFilter.create(100, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
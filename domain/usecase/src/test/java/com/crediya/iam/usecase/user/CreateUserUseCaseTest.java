@@ -1,10 +1,13 @@
 package com.crediya.iam.usecase.user;
 
+import com.crediya.iam.model.role.Role;
+import com.crediya.iam.model.role.gateways.RoleCatalog;
 import com.crediya.iam.model.user.User;
 import com.crediya.iam.model.user.gateways.UserRepository;
 import com.crediya.iam.usecase.shared.ValidationException;
 import com.crediya.iam.usecase.shared.security.PasswordService;
 import com.crediya.iam.usecase.user.exceptions.EmailDuplicadoException;
+import com.crediya.iam.usecase.user.exceptions.RoleNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,8 +17,10 @@ import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,15 +28,18 @@ class CreateUserUseCaseTest {
 
     private UserRepository userRepository;
     private PasswordService passwordService;
+    private RoleCatalog roleCatalog;
     private CreateUserUseCase useCase;
 
     @BeforeEach
     void setUp() {
         userRepository = mock(UserRepository.class);
         passwordService = mock(PasswordService.class);
+        roleCatalog = mock(RoleCatalog.class);
+        lenient().when(roleCatalog.findById(2L)).thenReturn(Optional.of(Role.create(2L, "ASESOR", "Asesor")));
 
         // ✅ Inicializar el useCase correctamente
-        useCase = new CreateUserUseCase(userRepository, passwordService);
+        useCase = new CreateUserUseCase(userRepository, passwordService, roleCatalog);
     }
 
     private User buildUser() {
@@ -53,7 +61,6 @@ class CreateUserUseCaseTest {
     void execute_shouldCreateUserSuccessfully() {
         User user = buildUser();
 
-        when(userRepository.existsByMail("john.doe@mail.com")).thenReturn(Mono.just(false));
         when(passwordService.generatePasswordHash("Passw0rd123")).thenReturn(Mono.just("hashedPass"));
         when(userRepository.save(any(User.class))).thenAnswer(inv -> {
             User u = inv.getArgument(0);
@@ -67,32 +74,43 @@ class CreateUserUseCaseTest {
                                 && saved.getEmail().equals("john.doe@mail.com"))
                 .verifyComplete();
 
-        // ✅ Verificar las interacciones
-        verify(userRepository).existsByMail("john.doe@mail.com");
+        // ✅ Un solo viaje a la BD: sin comprobación previa del email
+        verify(userRepository, never()).existsByMail(any());
         verify(passwordService).generatePasswordHash("Passw0rd123");
         verify(userRepository).save(any(User.class));
     }
 
     @Test
-    void execute_shouldFailWhenEmailAlreadyExists() {
+    void execute_shouldPropagateDuplicateDetectedByUniqueIndex() {
         User user = buildUser();
 
-        when(userRepository.existsByMail("john.doe@mail.com")).thenReturn(Mono.just(true));
+        when(passwordService.generatePasswordHash("Passw0rd123")).thenReturn(Mono.just("hashedPass"));
+        when(userRepository.save(any(User.class)))
+                .thenReturn(Mono.error(new EmailDuplicadoException("john.doe@mail.com")));
 
         StepVerifier.create(useCase.execute(user))
                 .expectError(EmailDuplicadoException.class)
                 .verify();
 
-        verify(userRepository).existsByMail("john.doe@mail.com");
-        verify(passwordService, never()).generatePasswordHash(any());
-        verify(userRepository, never()).save(any());
+        verify(userRepository, never()).existsByMail(any());
+    }
+
+    @Test
+    void execute_shouldFailFromMemoryWhenRoleIsUnknown() {
+        User user = buildUser();
+        user.setRoleId(99L);
+
+        StepVerifier.create(useCase.execute(user))
+                .expectError(RoleNotFoundException.class)
+                .verify();
+
+        verifyNoInteractions(userRepository, passwordService);
     }
 
     @Test
     void execute_shouldFailWhenPasswordHashFails() {
         User user = buildUser();
 
-        when(userRepository.existsByMail("john.doe@mail.com")).thenReturn(Mono.just(false));
         when(passwordService.generatePasswordHash("Passw0rd123"))
                 .thenReturn(Mono.error(new RuntimeException("Hashing failed")));
 
@@ -100,7 +118,6 @@ class CreateUserUseCaseTest {
                 .expectErrorMatches(e -> e instanceof RuntimeException && e.getMessage().equals("Hashing failed"))
                 .verify();
 
-        verify(userRepository).existsByMail("john.doe@mail.com");
         verify(passwordService).generatePasswordHash("Passw0rd123");
         verify(userRepository, never()).save(any());
     }
@@ -133,7 +150,6 @@ class CreateUserUseCaseTest {
     void execute_shouldFailWhenRepositorySaveFails() {
         User user = buildUser();
 
-        when(userRepository.existsByMail("john.doe@mail.com")).thenReturn(Mono.just(false));
         when(passwordService.generatePasswordHash("Passw0rd123")).thenReturn(Mono.just("hashedPass"));
         when(userRepository.save(any(User.class))).thenReturn(Mono.error(new RuntimeException("Database error")));
 
@@ -141,7 +157,6 @@ class CreateUserUseCaseTest {
                 .expectErrorMatches(e -> e instanceof RuntimeException && e.getMessage().equals("Database error"))
                 .verify();
 
-        verify(userRepository).existsByMail("john.doe@mail.com");
         verify(passwordService).generatePasswordHash("Passw0rd123");
         verify(userRepository).save(any(User.class));
     }
@@ -161,7 +176,6 @@ class CreateUserUseCaseTest {
                 "Passw0rd123"
         );
 
-        when(userRepository.existsByMail("john.doe@mail.com")).thenReturn(Mono.just(false));
         when(passwordService.generatePasswordHash("Passw0rd123")).thenReturn(Mono.just("hashedPass"));
         when(userRepository.save(any(User.class))).thenAnswer(inv -> {
             User u = inv.getArgument(0);
@@ -174,8 +188,8 @@ class CreateUserUseCaseTest {
                                 && saved.getEmail().equals("john.doe@mail.com"))
                 .verifyComplete();
 
-        // ✅ Verificar que se buscó con email normalizado
-        verify(userRepository).existsByMail("john.doe@mail.com");
+        // ✅ Verificar que se insertó con email normalizado
+        verify(userRepository).save(argThat(u -> u.getEmail().equals("john.doe@mail.com")));
     }
 
     @Test
@@ -193,7 +207,6 @@ class CreateUserUseCaseTest {
     void execute_shouldLogSuccessfulCreation() {
         User user = buildUser();
 
-        when(userRepository.existsByMail("john.doe@mail.com")).thenReturn(Mono.just(false));
         when(passwordService.generatePasswordHash("Passw0rd123")).thenReturn(Mono.just("hashedPass"));
         when(userRepository.save(any(User.class))).thenAnswer(inv -> {
             User u = inv.getArgument(0);
@@ -205,7 +218,6 @@ class CreateUserUseCaseTest {
                 .verifyComplete();
 
         // ✅ Verificar que todas las operaciones se ejecutaron
-        verify(userRepository).existsByMail("john.doe@mail.com");
         verify(passwordService).generatePasswordHash("Passw0rd123");
         verify(userRepository).save(any(User.class));
     }
@@ -215,7 +227,6 @@ class CreateUserUseCaseTest {
         User user = buildUser();
         String originalPassword = user.getPassword();
 
-        when(userRepository.existsByMail("john.doe@mail.com")).thenReturn(Mono.just(false));
         when(passwordService.generatePasswordHash(originalPassword)).thenReturn(Mono.just("superSecureHash"));
         when(userRepository.save(any(User.class))).thenAnswer(inv -> {
             User u = inv.getArgument(0);
@@ -3,7 +3,10 @@ package com.crediya.iam.usecase.user;
 
 import com.crediya.iam.model.user.User;
 import com.crediya.iam.model.user.gateways.UserRepository;
+import com.crediya.iam.usecase.existuser.ExistUserQuery;
+import com.crediya.iam.usecase.existuser.ExistUserStatus;
 import com.crediya.iam.usecase.existuser.ExistUserUseCase;
+import com.crediya.iam.usecase.shared.ValidationException;
 import com.crediya.iam.usecase.shared.security.ExceptionGeneral;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,7 +17,13 @@ import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -52,13 +61,13 @@ class ExistUserUseCaseTest {
         String email = "test@example.com";
         User user = createTestUser(email, document);
 
-        when(userRepository.existUserForDocument(document)).thenReturn(Mono.just(user));
+        when(userRepository.findEmailByDocument(document)).thenReturn(Mono.just(user.getEmail()));
 
         StepVerifier.create(useCase.execute(document, email))
                 .expectNext(true)
                 .verifyComplete();
 
-        verify(userRepository).existUserForDocument(document);
+        verify(userRepository).findEmailByDocument(document);
     }
 
     @Test
@@ -68,13 +77,13 @@ class ExistUserUseCaseTest {
         String inputEmail = "TEST@EXAMPLE.COM";
         User user = createTestUser(storedEmail, document);
 
-        when(userRepository.existUserForDocument(document)).thenReturn(Mono.just(user));
+        when(userRepository.findEmailByDocument(document)).thenReturn(Mono.just(user.getEmail()));
 
         StepVerifier.create(useCase.execute(document, inputEmail))
                 .expectNext(true)
                 .verifyComplete();
 
-        verify(userRepository).existUserForDocument(document);
+        verify(userRepository).findEmailByDocument(document);
     }
 
     @Test
@@ -84,13 +93,13 @@ class ExistUserUseCaseTest {
         String inputEmail = "different@example.com";
         User user = createTestUser(storedEmail, document);
 
-        when(userRepository.existUserForDocument(document)).thenReturn(Mono.just(user));
+        when(userRepository.findEmailByDocument(document)).thenReturn(Mono.just(user.getEmail()));
 
         StepVerifier.create(useCase.execute(document, inputEmail))
                 .expectError(IllegalArgumentException.class)
                 .verify();
 
-        verify(userRepository).existUserForDocument(document);
+        verify(userRepository).findEmailByDocument(document);
     }
 
     @Test
@@ -99,7 +108,7 @@ class ExistUserUseCaseTest {
                 .expectError(ExceptionGeneral.class)
                 .verify();
 
-        verify(userRepository, never()).existUserForDocument(any());
+        verify(userRepository, never()).findEmailByDocument(any());
     }
 
     @Test
@@ -108,7 +117,7 @@ class ExistUserUseCaseTest {
                 .expectError(ExceptionGeneral.class)
                 .verify();
 
-        verify(userRepository, never()).existUserForDocument(any());
+        verify(userRepository, never()).findEmailByDocument(any());
     }
 
     @Test
@@ -116,28 +125,28 @@ class ExistUserUseCaseTest {
         String document = "123456789";
         String email = "test@example.com";
 
-        when(userRepository.existUserForDocument(document)).thenReturn(Mono.empty());
+        when(userRepository.findEmailByDocument(document)).thenReturn(Mono.empty());
 
         StepVerifier.create(useCase.execute(document, email))
                 .expectError(ExceptionGeneral.class)
                 .verify();
 
-        verify(userRepository).existUserForDocument(document);
+        verify(userRepository).findEmailByDocument(document);
     }
 
     @Test
-    void execute_shouldHandleUserWithNullEmail() {
+    void execute_shouldHandleUserWithBlankEmail() {
         String document = "123456789";
         String inputEmail = "test@example.com";
-        User user = createTestUser(null, document);
+        User user = createTestUser("", document);
 
-        when(userRepository.existUserForDocument(document)).thenReturn(Mono.just(user));
+        when(userRepository.findEmailByDocument(document)).thenReturn(Mono.just(user.getEmail()));
 
         StepVerifier.create(useCase.execute(document, inputEmail))
                 .expectError(IllegalArgumentException.class)
                 .verify();
 
-        verify(userRepository).existUserForDocument(document);
+        verify(userRepository).findEmailByDocument(document);
     }
 
     @Test
@@ -146,12 +155,55 @@ class ExistUserUseCaseTest {
         String email = "test@example.com";
         RuntimeException repositoryError = new RuntimeException("Database error");
 
-        when(userRepository.existUserForDocument(document)).thenReturn(Mono.error(repositoryError));
+        when(userRepository.findEmailByDocument(document)).thenReturn(Mono.error(repositoryError));
 
         StepVerifier.create(useCase.execute(document, email))
                 .expectError(RuntimeException.class)
                 .verify();
 
-        verify(userRepository).existUserForDocument(document);
+        verify(userRepository).findEmailByDocument(document);
     }
-}
\ No newline at end of file
+
+    @Test
+    void executeBatch_shouldResolveAllPairsWithOneQuery() {
+        when(userRepository.findEmailsByDocuments(Set.of("123456789", "987654321", "111111111")))
+                .thenReturn(Mono.just(Map.of("123456789", "a@mail.com", "987654321", "b@mail.com")));
+
+        StepVerifier.create(useCase.executeBatch(List.of(
+                        new ExistUserQuery(" 123456789 ", "A@Mail.com"),
+                        new ExistUserQuery("987654321", "otro@mail.com"),
+                        new ExistUserQuery("111111111", "c@mail.com"),
+                        new ExistUserQuery("12ab", "d@mail.com"))))
+                .assertNext(results -> assertThat(results).containsExactly(
+                        Map.entry("123456789", ExistUserStatus.MATCH),
+                        Map.entry("987654321", ExistUserStatus.EMAIL_MISMATCH),
+                        Map.entry("111111111", ExistUserStatus.NOT_FOUND),
+                        Map.entry("12ab", ExistUserStatus.INVALID)))
+                .verifyComplete();
+
+        verify(userRepository, times(1)).findEmailsByDocuments(any());
+        verify(userRepository, never()).findEmailByDocument(any());
+    }
+
+    @Test
+    void executeBatch_shouldSkipQueryWhenNoPairIsValid() {
+        StepVerifier.create(useCase.executeBatch(List.of(new ExistUserQuery("123456789", " "))))
+                .assertNext(results -> assertThat(results).containsEntry("123456789", ExistUserStatus.INVALID))
+                .verifyComplete();
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void executeBatch_shouldRejectEmptyOrOversizedBatches() {
+        StepVerifier.create(useCase.executeBatch(List.of()))
+                .expectError(ValidationException.class)
+                .verify();
+
+        List<ExistUserQuery> tooMany = Collections.nCopies(ExistUserUseCase.MAX_BATCH_SIZE + 1,
+                new ExistUserQuery("123456789", "a@mail.com"));
+        StepVerifier.create(useCase.executeBatch(tooMany))
+                .expectError(ValidationException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,170 @@
+package com.crediya.iam.usecase.user;
+
+import com.crediya.iam.model.role.Role;
+import com.crediya.iam.model.role.gateways.RoleCatalog;
+import com.crediya.iam.model.user.User;
+import com.crediya.iam.model.user.gateways.UserRepository;
+import com.crediya.iam.usecase.importusers.ImportUserResult;
+import com.crediya.iam.usecase.importusers.ImportUserResult.Status;
+import com.crediya.iam.usecase.importusers.ImportUserRow;
+import com.crediya.iam.usecase.importusers.ImportUsersSettings;
+import com.crediya.iam.usecase.importusers.ImportUsersUseCase;
+import com.crediya.iam.usecase.shared.security.PasswordService;
+import com.crediya.iam.usecase.user.exceptions.EmailDuplicadoException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ImportUsersUseCaseTest {
+
+    private UserRepository userRepository;
+    private PasswordService passwordService;
+    private RoleCatalog roleCatalog;
+    private final AtomicLong ids = new AtomicLong(100);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        passwordService = mock(PasswordService.class);
+        roleCatalog = mock(RoleCatalog.class);
+
+        when(roleCatalog.findById(3L)).thenReturn(Optional.of(Role.create(3L, "CLIENTE", "Cliente")));
+        when(passwordService.generatePasswordHash(anyString())).thenAnswer(inv -> Mono.just("hash:" + inv.getArgument(0)));
+        when(userRepository.findExistingEmails(any())).thenReturn(Flux.empty());
+        when(userRepository.findExistingDocuments(any())).thenReturn(Flux.empty());
+        when(userRepository.insertAll(anyList())).thenAnswer(inv -> Flux.fromIterable((List<User>) inv.getArgument(0))
+                .map(u -> u.withId(ids.incrementAndGet())));
+    }
+
+    private ImportUsersUseCase useCase(int batchSize, int hashParallelism) {
+        return new ImportUsersUseCase(userRepository, passwordService, roleCatalog,
+                new ImportUsersSettings(batchSize, hashParallelism));
+    }
+
+    private static ImportUserRow row(long line, String email, String document) {
+        return ImportUserRow.of(line, User.builder()
+                .firstName("Test")
+                .lastName("User")
+                .email(email)
+                .birthdate(LocalDate.of(1990, 1, 1))
+                .identityDocument(document)
+                .phoneNumber("3001234567")
+                .baseSalary(BigDecimal.valueOf(5000))
+                .address("Calle 1")
+                .roleId(3L)
+                .password("superSecret1")
+                .build());
+    }
+
+    @Test
+    void execute_shouldInsertValidRowsInOneBatchWithHashedPasswords() {
+        List<ImportUserResult> report = useCase(500, 4)
+                .execute(Flux.just(row(1, " A@Mail.com ", "1000000001"), row(2, "b@mail.com", "1000000002")))
+                .collectList().block();
+
+        assertThat(report).extracting(ImportUserResult::status).containsExactly(Status.CREATED, Status.CREATED);
+        assertThat(report).extracting(ImportUserResult::email).containsExactly("a@mail.com", "b@mail.com");
+        assertThat(report).extracting(ImportUserResult::id).doesNotContainNull();
+
+        verify(userRepository, times(1)).insertAll(argThat(users -> users.size() == 2
+                && users.stream().allMatch(u -> u.getPassword().equals("hash:superSecret1"))));
+        verify(userRepository, times(1)).findExistingEmails(argThat(e -> e.containsAll(List.of("a@mail.com", "b@mail.com"))));
+        verify(userRepository, never()).existsByMail(any());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void execute_shouldReportEachRowInFileOrder() {
+        when(userRepository.findExistingEmails(any())).thenReturn(Flux.just("taken@mail.com"));
+        ImportUserRow unknownRole = row(5, "rol@mail.com", "1000000005");
+        unknownRole.user().setRoleId(99L);
+
+        List<ImportUserResult> report = useCase(500, 4).execute(Flux.just(
+                        row(1, "ok@mail.com", "1000000001"),
+                        row(2, "taken@mail.com", "1000000002"),
+                        row(3, "ok@mail.com", "1000000003"),
+                        row(4, "no-es-email", "1000000004"),
+                        unknownRole,
+                        ImportUserRow.invalid(6, "birthdate", "La fila no tiene un formato válido")))
+                .collectList().block();
+
+        assertThat(report).extracting(ImportUserResult::line).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+        assertThat(report).extracting(ImportUserResult::status).containsExactly(
+                Status.CREATED, Status.DUPLICATE, Status.DUPLICATE, Status.REJECTED, Status.REJECTED, Status.REJECTED);
+        assertThat(report).extracting(ImportUserResult::field).containsExactly(
+                null, "email", "email", "email", "roleId", "birthdate");
+        verify(passwordService, times(1)).generatePasswordHash(anyString());
+    }
+
+    @Test
+    void execute_shouldSplitRowsIntoBatches() {
+        Flux<ImportUserRow> rows = Flux.range(1, 5).map(i -> row(i, "u" + i + "@mail.com", "100000000" + i));
+
+        List<ImportUserResult> report = useCase(2, 4).execute(rows).collectList().block();
+
+        assertThat(report).hasSize(5).allMatch(r -> r.status() == Status.CREATED);
+        verify(userRepository, times(3)).insertAll(anyList());
+        verify(userRepository, times(3)).findExistingDocuments(any());
+    }
+
+    @Test
+    void execute_shouldFallBackToRowByRowWhenBatchInsertFails() {
+        when(userRepository.insertAll(anyList())).thenReturn(Flux.error(new IllegalStateException("duplicate key")));
+        when(userRepository.save(any())).thenAnswer(inv -> {
+            User user = inv.getArgument(0);
+            return user.getEmail().equals("race@mail.com")
+                    ? Mono.<User>error(new EmailDuplicadoException("race@mail.com"))
+                    : Mono.just(user.withId(7L));
+        });
+
+        List<ImportUserResult> report = useCase(500, 4)
+                .execute(Flux.just(row(1, "race@mail.com", "1000000001"), row(2, "ok@mail.com", "1000000002")))
+                .collectList().block();
+
+        assertThat(report).extracting(ImportUserResult::status).containsExactly(Status.DUPLICATE, Status.CREATED);
+        assertThat(report.get(0).field()).isEqualTo("email");
+        assertThat(report.get(1).id()).isEqualTo(7L);
+    }
+
+    @Test
+    void execute_shouldCapConcurrentPasswordHashing() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        when(passwordService.generatePasswordHash(anyString())).thenAnswer(inv -> Mono.defer(() -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    return Mono.delay(Duration.ofMillis(20)).thenReturn("hash");
+                })
+                .doFinally(s -> running.decrementAndGet()));
+
+        Flux<ImportUserRow> rows = Flux.fromStream(IntStream.rangeClosed(1, 8).boxed())
+                .map(i -> row(i, "u" + i + "@mail.com", "100000000" + i));
+
+        List<ImportUserResult> report = useCase(500, 2).execute(rows).collectList().block();
+
+        assertThat(report).hasSize(8);
+        assertThat(peak.get()).isEqualTo(2);
+    }
+
+    @Test
+    void settings_shouldClampBatchSizeAndDefaultParallelism() {
+        ImportUsersSettings settings = new ImportUsersSettings(50_000, 0);
+
+        assertThat(settings.batchSize()).isEqualTo(ImportUsersSettings.MAX_BATCH_SIZE);
+        assertThat(settings.hashParallelism()).isPositive();
+    }
+}
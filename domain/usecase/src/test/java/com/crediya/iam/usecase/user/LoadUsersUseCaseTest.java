@@ -83,4 +83,34 @@ class LoadUsersUseCaseTest {
 
         verify(userRepository).findAll();
     }
-}
\ No newline at end of file
+
+    @Test
+    void page_shouldReturnNextCursorWhenMoreRowsExist() {
+        when(userRepository.findPage(0L, 3)).thenReturn(Flux.just(
+                createTestUser(1L, "a@test.com"), createTestUser(2L, "b@test.com"), createTestUser(3L, "c@test.com")));
+
+        StepVerifier.create(useCase.page(null, 2))
+                .expectNextMatches(p -> p.users().size() == 2 && p.nextAfterId() == 2L)
+                .verifyComplete();
+    }
+
+    @Test
+    void page_lastPageHasNoCursor() {
+        when(userRepository.findPage(5L, 3)).thenReturn(Flux.just(createTestUser(6L, "f@test.com")));
+
+        StepVerifier.create(useCase.page(5L, 2))
+                .expectNextMatches(p -> p.users().size() == 1 && !p.hasNext())
+                .verifyComplete();
+    }
+
+    @Test
+    void page_shouldClampLimit() {
+        when(userRepository.findPage(anyLong(), anyInt())).thenReturn(Flux.empty());
+
+        StepVerifier.create(useCase.page(-1L, 100_000))
+                .expectNextMatches(p -> p.users().isEmpty() && !p.hasNext())
+                .verifyComplete();
+
+        verify(userRepository).findPage(0L, LoadUsersUseCase.MAX_PAGE_SIZE + 1);
+    }
+}
@@ -0,0 +1,61 @@
+package com.crediya.iam.usecase.userevents;
+
+import com.crediya.iam.model.user.gateways.UserEventOutbox;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.mockito.Mockito.*;
+
+class PruneUserOutboxUseCaseTest {
+
+    private static final Duration EVENT_TTL = Duration.ofDays(7);
+    private static final Duration OFFSET_TTL = Duration.ofDays(1);
+
+    private UserEventOutbox outbox;
+    private PruneUserOutboxUseCase prune;
+
+    @BeforeEach
+    void setUp() {
+        outbox = mock(UserEventOutbox.class);
+        when(outbox.touchOffset("relay")).thenReturn(Mono.empty());
+        when(outbox.deleteStaleOffsets(OFFSET_TTL)).thenReturn(Mono.just(0L));
+        prune = new PruneUserOutboxUseCase(outbox, new UserEventsSettings(2, "relay"),
+                new UserOutboxRetentionSettings(EVENT_TTL, OFFSET_TTL, 100));
+    }
+
+    @Test
+    void prune_touchesItsOwnOffsetBeforeDroppingStaleOnesAndThenDeletesEvents() {
+        when(outbox.deleteStaleOffsets(OFFSET_TTL)).thenReturn(Mono.just(3L));
+        when(outbox.deleteConsumed(EVENT_TTL, 100)).thenReturn(Mono.just(40L));
+
+        StepVerifier.create(prune.prune()).expectNext(40L).verifyComplete();
+
+        var order = inOrder(outbox);
+        order.verify(outbox).touchOffset("relay");
+        order.verify(outbox).deleteStaleOffsets(OFFSET_TTL);
+        order.verify(outbox).deleteConsumed(EVENT_TTL, 100);
+    }
+
+    @Test
+    void prune_keepsDeletingWhileBatchesComeBackFull() {
+        when(outbox.deleteConsumed(EVENT_TTL, 100))
+                .thenReturn(Mono.just(100L), Mono.just(100L), Mono.just(7L));
+
+        StepVerifier.create(prune.prune()).expectNext(207L).verifyComplete();
+
+        verify(outbox, times(3)).deleteConsumed(EVENT_TTL, 100);
+    }
+
+    @Test
+    void prune_doesNotDeleteEventsWhenTheOffsetCleanupFails() {
+        when(outbox.deleteStaleOffsets(OFFSET_TTL)).thenReturn(Mono.error(new IllegalStateException("db down")));
+
+        StepVerifier.create(prune.prune()).expectError(IllegalStateException.class).verify();
+
+        verify(outbox, never()).deleteConsumed(any(), anyInt());
+    }
+}
@@ -0,0 +1,91 @@
+package com.crediya.iam.usecase.userevents;
+
+import com.crediya.iam.model.user.User;
+import com.crediya.iam.model.user.UserEvent;
+import com.crediya.iam.model.user.gateways.UserEventOutbox;
+import com.crediya.iam.model.user.gateways.UserEventPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RelayUserEventsUseCaseTest {
+
+    private UserEventOutbox outbox;
+    private UserEventPublisher publisher;
+    private RelayUserEventsUseCase relay;
+
+    @BeforeEach
+    void setUp() {
+        outbox = mock(UserEventOutbox.class);
+        publisher = mock(UserEventPublisher.class);
+        when(publisher.publish(anyList())).thenReturn(Mono.empty());
+        when(outbox.saveOffset(anyString(), anyLong())).thenReturn(Mono.empty());
+        relay = new RelayUserEventsUseCase(outbox, publisher, new UserEventsSettings(2, "relay"));
+    }
+
+    static UserEvent event(long sequence) {
+        return new UserEvent(sequence, UserEvent.USER_CREATED, Instant.now(), User.builder().id(sequence).build());
+    }
+
+    static Flux<UserEvent> events(long from, long to) {
+        return Flux.fromStream(LongStream.rangeClosed(from, to).mapToObj(RelayUserEventsUseCaseTest::event));
+    }
+
+    @Test
+    void relayNext_publishesTheBatchAndThenSavesTheOffset() {
+        when(outbox.loadOffset("relay")).thenReturn(Mono.just(10L));
+        when(outbox.readAfter(10L, 2)).thenReturn(events(11, 12));
+
+        StepVerifier.create(relay.relayNext()).expectNext(2).verifyComplete();
+
+        var order = inOrder(publisher, outbox);
+        order.verify(publisher).publish(argThat(batch -> batch.size() == 2 && batch.get(0).sequence() == 11));
+        order.verify(outbox).saveOffset("relay", 12L);
+    }
+
+    @Test
+    void relayNext_keepsTheOffsetWhenPublishingFails() {
+        when(outbox.loadOffset("relay")).thenReturn(Mono.just(10L));
+        when(outbox.readAfter(10L, 2)).thenReturn(events(11, 11));
+        when(publisher.publish(anyList())).thenReturn(Mono.error(new IllegalStateException("broker down")));
+
+        StepVerifier.create(relay.relayNext()).expectError(IllegalStateException.class).verify();
+
+        verify(outbox, never()).saveOffset(anyString(), anyLong());
+    }
+
+    @Test
+    void relayNext_withoutOffset_startsAtTheEndOfTheOutbox() {
+        when(outbox.loadOffset("relay")).thenReturn(Mono.empty());
+        when(outbox.latestSequence()).thenReturn(Mono.just(500L));
+        when(outbox.readAfter(500L, 2)).thenReturn(Flux.empty());
+
+        StepVerifier.create(relay.relayNext()).expectNext(0).verifyComplete();
+
+        verify(outbox).saveOffset("relay", 500L);
+        verify(publisher, never()).publish(anyList());
+    }
+
+    @Test
+    void drain_keepsGoingWhileBatchesAreFull() {
+        when(outbox.loadOffset("relay")).thenReturn(Mono.just(0L), Mono.just(2L), Mono.just(4L));
+        when(outbox.readAfter(0L, 2)).thenReturn(events(1, 2));
+        when(outbox.readAfter(2L, 2)).thenReturn(events(3, 4));
+        when(outbox.readAfter(4L, 2)).thenReturn(events(5, 5));
+
+        StepVerifier.create(relay.drain()).expectNext(5).verifyComplete();
+
+        verify(publisher, times(3)).publish(anyList());
+    }
+}
@@ -0,0 +1,66 @@
+package com.crediya.iam.usecase.userevents;
+
+import com.crediya.iam.model.user.UserEvent;
+import com.crediya.iam.model.user.gateways.UserEventFeed;
+import com.crediya.iam.model.user.gateways.UserEventOutbox;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import static com.crediya.iam.usecase.userevents.RelayUserEventsUseCaseTest.event;
+import static com.crediya.iam.usecase.userevents.RelayUserEventsUseCaseTest.events;
+import static org.mockito.Mockito.*;
+
+class StreamUserEventsUseCaseTest {
+
+    private UserEventOutbox outbox;
+    private Sinks.Many<UserEvent> live;
+    private StreamUserEventsUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        outbox = mock(UserEventOutbox.class);
+        live = Sinks.many().replay().all();
+        UserEventFeed feed = mock(UserEventFeed.class);
+        when(feed.live()).thenReturn(live.asFlux());
+        useCase = new StreamUserEventsUseCase(outbox, feed, new UserEventsSettings(2, "relay"));
+    }
+
+    @Test
+    void stream_catchesUpFromTheOutboxInPagesThenFollowsLiveEvents() {
+        when(outbox.readAfter(3L, 2)).thenReturn(events(4, 5));
+        when(outbox.readAfter(5L, 2)).thenReturn(events(6, 6));
+
+        StepVerifier.create(useCase.stream(3L).map(UserEvent::sequence))
+                .expectNext(4L, 5L, 6L)
+                .then(() -> live.tryEmitNext(event(7)))
+                .expectNext(7L)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void stream_dropsLiveEventsAlreadyDeliveredByTheCatchUp() {
+        // El relay ya publicó 4 y 5 mientras el cliente leía el outbox
+        live.tryEmitNext(event(4));
+        live.tryEmitNext(event(5));
+        when(outbox.readAfter(3L, 2)).thenReturn(events(4, 4));
+
+        StepVerifier.create(useCase.stream(3L).map(UserEvent::sequence))
+                .expectNext(4L, 5L)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void stream_withoutSequence_followsTheFeedOnly() {
+        StepVerifier.create(useCase.stream(null).map(UserEvent::sequence))
+                .then(() -> live.tryEmitNext(event(9)))
+                .expectNext(9L)
+                .thenCancel()
+                .verify();
+
+        verifyNoInteractions(outbox);
+    }
+}
@@ -0,0 +1,94 @@
+package com.crediya.iam.r2dbc.benchmark;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Base de datos compartida por los benchmarks: pool, esquema mínimo (Rol/Usuario) y datos semilla.
+ * La URL se toma de -Dbench.r2dbc.url; por defecto H2 en memoria en modo MySQL.
+ */
+final class BenchmarkDatabase implements AutoCloseable {
+
+    static final String DEFAULT_URL = "r2dbc:h2:mem:///iam-bench;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    final ConnectionPool pool;
+    final DatabaseClient client;
+
+    private BenchmarkDatabase(ConnectionPool pool) {
+        this.pool = pool;
+        this.client = DatabaseClient.create(pool);
+    }
+
+    static BenchmarkDatabase open(int users) {
+        return open(url(), users);
+    }
+
+    static BenchmarkDatabase open(String url, int users) {
+        ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(url))
+                .initialSize(4)
+                .maxSize(8)
+                .build());
+        BenchmarkDatabase db = new BenchmarkDatabase(pool);
+        db.createSchema();
+        db.seed(users);
+        return db;
+    }
+
+    private void createSchema() {
+        Flux.just(
+                "DROP TABLE IF EXISTS Usuario",
+                "DROP TABLE IF EXISTS Rol",
+                "CREATE TABLE Rol (id_rol BIGINT AUTO_INCREMENT PRIMARY KEY, nombre VARCHAR(100) NOT NULL, " +
+                        "description VARCHAR(255))",
+                "CREATE TABLE Usuario (id_usuario BIGINT AUTO_INCREMENT PRIMARY KEY, nombre VARCHAR(100) NOT NULL, " +
+                        "apellido VARCHAR(100) NOT NULL, email VARCHAR(150) NOT NULL UNIQUE, " +
+                        "fecha_nacimiento DATE NOT NULL, documento_identidad VARCHAR(50) NOT NULL UNIQUE, " +
+                        "telefono VARCHAR(30), direccion VARCHAR(255), password VARCHAR(100), " +
+                        "salario_base DECIMAL(15,2) NOT NULL, id_rol BIGINT NOT NULL)"
+        ).concatMap(sql -> client.sql(sql).then()).blockLast();
+    }
+
+    private void seed(int users) {
+        Flux.just("ADMIN", "ASESOR", "CLIENTE")
+                .concatMap(name -> client.sql("INSERT INTO Rol (nombre, description) VALUES (:n, :n)")
+                        .bind("n", name).then())
+                .blockLast();
+
+        Flux.range(0, users)
+                .concatMap(i -> client.sql("INSERT INTO Usuario (nombre, apellido, email, fecha_nacimiento, " +
+                                "documento_identidad, telefono, direccion, password, salario_base, id_rol) " +
+                                "VALUES (:nombre, :apellido, :email, :fecha, :doc, :tel, :dir, :pwd, :salario, :rol)")
+                        .bind("nombre", "Nombre" + i)
+                        .bind("apellido", "Apellido" + i)
+                        .bind("email", email(i))
+                        .bind("fecha", LocalDate.of(1990, 1, 1))
+                        .bind("doc", String.valueOf(10_000_000 + i))
+                        .bind("tel", "3000000000")
+                        .bind("dir", "Calle " + i)
+                        .bind("pwd", "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3H2h1Gx8GJ9s0X4Zq7Qy1eW")
+                        .bind("salario", BigDecimal.valueOf(1_000_000))
+                        .bind("rol", (long) (i % 3) + 1)
+                        .then())
+                .blockLast();
+    }
+
+    static String url() {
+        return System.getProperty("bench.r2dbc.url", DEFAULT_URL);
+    }
+
+    static String email(int i) {
+        return "user" + i + "@bench.local";
+    }
+
+    @Override
+    public void close() {
+        pool.dispose();
+    }
+}
@@ -0,0 +1,70 @@
+package com.crediya.iam.r2dbc.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login: consulta de usuario + consulta de rol (camino anterior) frente a la proyección con JOIN.
+ * Ambas variantes usan el mismo SQL que los repositorios.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LoginQueryBenchmark {
+
+    private static final String FIND_USER = "SELECT * FROM Usuario WHERE email = :email";
+    private static final String FIND_ROLE = "SELECT * FROM Rol WHERE id_rol = :id";
+    private static final String FIND_CREDENTIAL =
+            "SELECT u.id_usuario, u.email, u.password, u.id_rol, r.nombre AS nombre_rol " +
+            "FROM Usuario u LEFT JOIN Rol r ON r.id_rol = u.id_rol WHERE u.email = :email";
+
+    @Param({"1000"})
+    public int users;
+
+    private BenchmarkDatabase db;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        db = BenchmarkDatabase.open(users);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        db.close();
+    }
+
+    @Benchmark
+    public String twoQueries() {
+        String email = randomEmail();
+        return db.client.sql(FIND_USER).bind("email", email)
+                .map(row -> row.get("id_rol", Long.class))
+                .one()
+                .flatMap(roleId -> db.client.sql(FIND_ROLE).bind("id", roleId)
+                        .map(row -> row.get("nombre", String.class))
+                        .one())
+                .block();
+    }
+
+    @Benchmark
+    public String joinedProjection() {
+        return db.client.sql(FIND_CREDENTIAL).bind("email", randomEmail())
+                .map(row -> row.get("nombre_rol", String.class))
+                .one()
+                .block();
+    }
+
+    private String randomEmail() {
+        return BenchmarkDatabase.email(ThreadLocalRandom.current().nextInt(users));
+    }
+}
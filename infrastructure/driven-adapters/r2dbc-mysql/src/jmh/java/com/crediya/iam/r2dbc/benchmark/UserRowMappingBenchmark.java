@@ -0,0 +1,76 @@
+package com.crediya.iam.r2dbc.benchmark;
+
+import com.crediya.iam.model.user.User;
+import com.crediya.iam.r2dbc.entity.UserEntity;
+import com.crediya.iam.r2dbc.mapper.UserEntityMapper;
+import com.crediya.iam.r2dbc.userRepository.UserProfileReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.reactivecommons.utils.ObjectMapper;
+import org.reactivecommons.utils.ObjectMapperImp;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listado completo: Row -> UserEntity -> User con el ObjectMapper reflexivo (camino anterior),
+ * con el mapper de MapStruct, y Row -> User por índice. El costo por fila es el tiempo / users.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserRowMappingBenchmark {
+
+    @Param({"1000"})
+    public int users;
+
+    private BenchmarkDatabase db;
+    private R2dbcEntityTemplate template;
+    private ObjectMapper objectMapper;
+    private UserEntityMapper entityMapper;
+    private UserProfileReader reader;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        db = BenchmarkDatabase.open(users);
+        template = new R2dbcEntityTemplate(db.pool);
+        objectMapper = new ObjectMapperImp();
+        entityMapper = new UserEntityMapper() { };
+        reader = new UserProfileReader(db.client);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        db.close();
+    }
+
+    @Benchmark
+    public List<User> entityWithReflectiveMapper() {
+        return template.select(UserEntity.class).all()
+                .map(entity -> objectMapper.map(entity, User.class))
+                .collectList()
+                .block();
+    }
+
+    @Benchmark
+    public List<User> entityWithMapStruct() {
+        return template.select(UserEntity.class).all()
+                .map(entityMapper::toDomain)
+                .collectList()
+                .block();
+    }
+
+    @Benchmark
+    public List<User> directRowMapping() {
+        return reader.findAll().collectList().block();
+    }
+}
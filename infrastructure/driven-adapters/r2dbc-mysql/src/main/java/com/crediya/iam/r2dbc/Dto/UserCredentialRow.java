@@ -0,0 +1,15 @@
+package com.crediya.iam.r2dbc.Dto;
+
+import org.springframework.data.relational.core.mapping.Column;
+
+/**
+ * Fila de la consulta de login (Usuario LEFT JOIN Rol).
+ */
+public record UserCredentialRow(
+        @Column("id_usuario") Long id,
+        @Column("email") String email,
+        @Column("password") String password,
+        @Column("id_rol") Long roleId,
+        @Column("nombre_rol") String roleName
+) {
+}
@@ -0,0 +1,12 @@
+package com.crediya.iam.r2dbc.Dto;
+
+import org.springframework.data.relational.core.mapping.Column;
+
+/**
+ * Fila de la validación por lote: solo las dos columnas que se comparan.
+ */
+public record UserDocumentEmailRow(
+        @Column("documento_identidad") String document,
+        @Column("email") String email
+) {
+}
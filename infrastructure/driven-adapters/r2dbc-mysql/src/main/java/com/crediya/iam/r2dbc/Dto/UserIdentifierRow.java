@@ -0,0 +1,13 @@
+package com.crediya.iam.r2dbc.Dto;
+
+import org.springframework.data.relational.core.mapping.Column;
+
+/**
+ * Fila para cargar el filtro de identificadores: la PK para avanzar y las dos claves únicas.
+ */
+public record UserIdentifierRow(
+        @Column("id_usuario") Long id,
+        @Column("email") String email,
+        @Column("documento_identidad") String document
+) {
+}
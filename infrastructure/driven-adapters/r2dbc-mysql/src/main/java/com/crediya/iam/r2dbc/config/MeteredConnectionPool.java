@@ -0,0 +1,105 @@
+package com.crediya.iam.r2dbc.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.function.ToIntFunction;
+
+/**
+ * ConnectionFactory de la aplicación: delega en el pool, mide cuánto tarda cada adquisición
+ * (incluida la espera en cola) y publica el estado del pool como gauges. Al arrancar puede
+ * abrir las conexiones iniciales para que el primer pico no pague el handshake con MySQL.
+ */
+@Slf4j
+public class MeteredConnectionPool implements ConnectionFactory, InitializingBean, DisposableBean {
+
+    private static final Duration WARM_UP_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ConnectionPool pool;
+    private final boolean warmUp;
+    private final Timer acquired;
+    private final Timer failed;
+
+    public MeteredConnectionPool(ConnectionPool pool, String name, boolean warmUp, MeterRegistry registry) {
+        this.pool = pool;
+        this.warmUp = warmUp;
+        this.acquired = acquireTimer(registry, name, "success");
+        this.failed = acquireTimer(registry, name, "failure");
+
+        pool.getMetrics().ifPresent(metrics -> {
+            gauge(registry, name, "acquired", "Conexiones prestadas en este momento", metrics, PoolMetrics::acquiredSize);
+            gauge(registry, name, "idle", "Conexiones abiertas y libres", metrics, PoolMetrics::idleSize);
+            gauge(registry, name, "allocated", "Conexiones abiertas en total", metrics, PoolMetrics::allocatedSize);
+            gauge(registry, name, "pending", "Suscriptores esperando una conexión", metrics, PoolMetrics::pendingAcquireSize);
+            gauge(registry, name, "max.allocated", "Tope de conexiones del pool", metrics, PoolMetrics::getMaxAllocatedSize);
+        });
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return pool.create()
+                    .doOnSuccess(c -> acquired.record(Duration.ofNanos(System.nanoTime() - start)))
+                    .doOnError(e -> failed.record(Duration.ofNanos(System.nanoTime() - start)));
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return pool.getMetadata();
+    }
+
+    public ConnectionPool pool() {
+        return pool;
+    }
+
+    /** Abre initialSize conexiones; si la BD no responde, el pool las abrirá a demanda. */
+    public Mono<Integer> warmUp() {
+        return pool.warmup()
+                .doOnNext(opened -> log.info("[r2dbc.pool] warm-up opened={} connections", opened))
+                .timeout(WARM_UP_TIMEOUT)
+                .onErrorResume(err -> {
+                    log.warn("[r2dbc.pool] warm-up failed, connections will open on demand: {}", err.toString());
+                    return Mono.just(0);
+                });
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (warmUp) warmUp().block();
+    }
+
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+
+    private static Timer acquireTimer(MeterRegistry registry, String name, String outcome) {
+        return Timer.builder("iam.r2dbc.pool.acquire")
+                .description("Tiempo hasta obtener una conexión del pool, con la espera en cola")
+                .tag("name", name)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static void gauge(MeterRegistry registry, String name, String metric, String description,
+                              PoolMetrics metrics, ToIntFunction<PoolMetrics> value) {
+        Gauge.builder("iam.r2dbc.pool." + metric, metrics, m -> value.applyAsInt(m))
+                .description(description)
+                .tag("name", name)
+                .register(registry);
+    }
+}
@@ -2,58 +2,110 @@ package com.crediya.iam.r2dbc.config;
 
 import io.asyncer.r2dbc.mysql.MySqlConnectionFactory;
 import io.asyncer.r2dbc.mysql.constant.SslMode;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.r2dbc.pool.ConnectionPool;
 import io.r2dbc.pool.ConnectionPoolConfiguration;
 import io.r2dbc.spi.ConnectionFactory;
 import io.asyncer.r2dbc.mysql.MySqlConnectionConfiguration;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 
-import java.time.Duration;
 @EnableConfigurationProperties(MysqlConnectionProperties.class) // <<— IMPORTANTE
 
 @Configuration
 public class MySQLConnectionPool {
-    /* Change these values for your project */
-    public static final int INITIAL_SIZE = 12;
-    public static final int MAX_SIZE = 15;
-    public static final int MAX_IDLE_TIME = 30;
-    public static final int DEFAULT_PORT = 5432;
+
+    public static final String POOL_NAME = "api-mysql-connection-pool";
+    public static final String REPLICA_POOL_NAME = "api-mysql-replica-pool";
 
     public MySqlConnectionConfiguration getConnectionConfig(MysqlConnectionProperties properties) {
-        return MySqlConnectionConfiguration.builder()
-                .host(properties.host())
-                .port(properties.port() != null ? properties.port() : DEFAULT_PORT)
+        return getConnectionConfig(properties, properties.host(), properties.port(), properties.pool());
+    }
+
+    /** Misma base, credenciales y modo de sentencias que el primario; solo cambia el servidor. */
+    public MySqlConnectionConfiguration getReplicaConnectionConfig(MysqlConnectionProperties properties) {
+        MysqlConnectionProperties.Replica replica = properties.replica();
+        return getConnectionConfig(properties, replica.host(), replica.port(), replica.pool());
+    }
+
+    private MySqlConnectionConfiguration getConnectionConfig(MysqlConnectionProperties properties, String host,
+                                                             Integer port, MysqlConnectionProperties.Pool pool) {
+        MySqlConnectionConfiguration.Builder builder = MySqlConnectionConfiguration.builder()
+                .host(host)
+                .port(port != null ? port : MysqlConnectionProperties.DEFAULT_PORT)
                 .database(properties.database())
                 .username(properties.username())
                 .password(properties.password())
                 .sslMode(SslMode.DISABLED)
-                //.connectTimeout(Duration.ofSeconds(5))               // opcional: timeout de conexión
-                // .useServerPrepareStatement()                         // opcional: prepared stmts del lado servidor
+                .connectTimeout(pool.connectTimeout());
                 //.createDatabaseIfNotExist()                          // opcional: crea BD si no existe// Cambia a REQUIRED si usas TLS
-                .build();
+
+        MysqlConnectionProperties.PreparedStatements prepared = properties.preparedStatements();
+        if (prepared != null && prepared.enabled()) {
+            // Cada sentencia con parámetros se prepara una vez por conexión y se reutiliza desde la
+            // caché LRU. Las consultas IN de tamaño variable también pasan por ella: cacheSize debe
+            // dejar margen sobre las consultas fijas para que estas no salgan de la caché
+            builder.useServerPrepareStatement()
+                    .prepareCacheSize(prepared.cacheSize());
+        }
+        return builder.build();
     }
 
+    public ConnectionPoolConfiguration getPoolConfig(ConnectionFactory connectionFactory, MysqlConnectionProperties.Pool pool) {
+        return getPoolConfig(connectionFactory, pool, POOL_NAME);
+    }
 
-    @Bean
-    public ConnectionPool connectionPool(MysqlConnectionProperties properties) {
-        // Builder de configuración del driver R2DBC para MySQL
-        MySqlConnectionConfiguration configuration = getConnectionConfig(properties);
+    public ConnectionPoolConfiguration getPoolConfig(ConnectionFactory connectionFactory,
+                                                     MysqlConnectionProperties.Pool pool, String name) {
+        return ConnectionPoolConfiguration.builder(connectionFactory)
+                .name(name)
+                .initialSize(pool.initialSize())
+                .maxSize(pool.maxSize())
+                .maxIdleTime(pool.maxIdleTime())
+                .maxLifeTime(pool.maxLifeTime())
+                .maxAcquireTime(pool.maxAcquireTime())
+                .maxCreateConnectionTime(pool.maxCreateConnectionTime())
+                .backgroundEvictionInterval(pool.backgroundEvictionInterval())
+                // Sin validationQuery el pool valida con Connection.validate(depth): LOCAL no va a la BD
+                .validationDepth(pool.validationDepth())
+                .build();
+    }
 
+    @Bean
+    public MeteredConnectionPool connectionPool(MysqlConnectionProperties properties, MeterRegistry registry) {
         // ConnectionFactory propio del driver MySQL R2DBC
-        ConnectionFactory connectionFactory = MySqlConnectionFactory.from(configuration);
-
-        // Configuración del pool (io.r2dbc.pool)
-        ConnectionPoolConfiguration poolConfiguration = ConnectionPoolConfiguration.builder(connectionFactory)
-                .name("api-mysql-connection-pool")
-                .initialSize(INITIAL_SIZE)
-                .maxSize(MAX_SIZE)
-                .maxIdleTime(Duration.ofMinutes(MAX_IDLE_TIME))
-                .validationQuery("SELECT 1")
-                .build();
+        ConnectionFactory connectionFactory = MySqlConnectionFactory.from(getConnectionConfig(properties));
 
-        return new ConnectionPool(poolConfiguration);
+        ConnectionPool pool = new ConnectionPool(getPoolConfig(connectionFactory, properties.pool()));
+        return new MeteredConnectionPool(pool, POOL_NAME, properties.pool().warmUp(), registry);
     }
 
-}
\ No newline at end of file
+    @Bean
+    @ConditionalOnProperty(prefix = "adapters.r2dbc.replica", name = "enabled", havingValue = "true")
+    public MeteredConnectionPool replicaConnectionPool(MysqlConnectionProperties properties, MeterRegistry registry) {
+        MysqlConnectionProperties.Pool pool = properties.replica().pool();
+        ConnectionFactory connectionFactory = MySqlConnectionFactory.from(getReplicaConnectionConfig(properties));
+        return new MeteredConnectionPool(new ConnectionPool(getPoolConfig(connectionFactory, pool, REPLICA_POOL_NAME)),
+                REPLICA_POOL_NAME, pool.warmUp(), registry);
+    }
+
+    /**
+     * Con réplica, el DatabaseClient y los repositorios usan este factory: las lecturas marcadas
+     * con ReadRouting van a la réplica y el resto (escrituras y transacciones) al primario.
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "adapters.r2dbc.replica", name = "enabled", havingValue = "true")
+    public ReadWriteRoutingConnectionFactory routingConnectionFactory(
+            @Qualifier("connectionPool") MeteredConnectionPool connectionPool,
+            @Qualifier("replicaConnectionPool") MeteredConnectionPool replicaConnectionPool,
+            MysqlConnectionProperties properties,
+            MeterRegistry registry) {
+        return new ReadWriteRoutingConnectionFactory(connectionPool, replicaConnectionPool,
+                properties.replica().healthCheckInterval(), registry);
+    }
+}
@@ -1,8 +1,11 @@
 package com.crediya.iam.r2dbc.config;
 
 // TODO: Load properties from the application.yaml file or from secrets manager
+import io.r2dbc.spi.ValidationDepth;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 
 @ConfigurationProperties(prefix = "adapters.r2dbc")
 public record MysqlConnectionProperties(
@@ -10,5 +13,114 @@ public record MysqlConnectionProperties(
         Integer port,
         String database,
         String username,
-        String password) {
+        String password,
+        Pool pool,
+        PreparedStatements preparedStatements,
+        Replica replica) {
+
+    public static final int DEFAULT_PORT = 3306;
+
+    public MysqlConnectionProperties {
+        if (port == null) port = DEFAULT_PORT;
+        if (pool == null) pool = Pool.defaults();
+        if (preparedStatements == null) preparedStatements = new PreparedStatements(null, null);
+        if (replica == null) replica = Replica.disabled();
+    }
+
+    /**
+     * Pool de conexiones (io.r2dbc.pool). Cada valor ausente toma el default de abajo.
+     *
+     * @param initialSize conexiones que se abren al arrancar si warmUp está activo
+     * @param maxSize tope de conexiones abiertas
+     * @param maxIdleTime una conexión ociosa más tiempo que esto se cierra
+     * @param maxLifeTime edad máxima de una conexión, para rotar antes del wait_timeout de MySQL
+     * @param maxAcquireTime espera máxima por una conexión libre antes de fallar
+     * @param maxCreateConnectionTime espera máxima al abrir una conexión nueva
+     * @param connectTimeout timeout TCP del driver
+     * @param backgroundEvictionInterval cada cuánto se retiran en segundo plano las conexiones vencidas
+     * @param validationDepth LOCAL revisa el estado del socket; REMOTE hace un ping al servidor
+     * @param warmUp abre initialSize conexiones antes de recibir tráfico
+     */
+    public record Pool(
+            Integer initialSize,
+            Integer maxSize,
+            Duration maxIdleTime,
+            Duration maxLifeTime,
+            Duration maxAcquireTime,
+            Duration maxCreateConnectionTime,
+            Duration connectTimeout,
+            Duration backgroundEvictionInterval,
+            ValidationDepth validationDepth,
+            Boolean warmUp) {
+
+        public Pool {
+            if (maxSize == null) maxSize = 15;
+            if (initialSize == null) initialSize = Math.min(12, maxSize);
+            if (maxIdleTime == null) maxIdleTime = Duration.ofMinutes(30);
+            if (maxLifeTime == null) maxLifeTime = Duration.ofMinutes(30);
+            if (maxAcquireTime == null) maxAcquireTime = Duration.ofSeconds(5);
+            if (maxCreateConnectionTime == null) maxCreateConnectionTime = Duration.ofSeconds(5);
+            if (connectTimeout == null) connectTimeout = Duration.ofSeconds(5);
+            if (backgroundEvictionInterval == null) backgroundEvictionInterval = Duration.ofMinutes(2);
+            if (validationDepth == null) validationDepth = ValidationDepth.LOCAL;
+            if (warmUp == null) warmUp = Boolean.TRUE;
+            if (initialSize > maxSize) {
+                throw new IllegalArgumentException("adapters.r2dbc.pool.initial-size no puede superar max-size");
+            }
+        }
+
+        public static Pool defaults() {
+            return new Pool(null, null, null, null, null, null, null, null, null, null);
+        }
+    }
+
+    /**
+     * Prepared statements del lado servidor (opcional). Con enabled, el driver prepara en MySQL
+     * cada sentencia con parámetros y la reutiliza mientras siga en la caché LRU de la conexión.
+     *
+     * @param enabled false mantiene el modo por defecto: SQL de texto con parámetros en el cliente
+     * @param cacheSize sentencias preparadas por conexión; debe cubrir las consultas fijas del adaptador
+     */
+    public record PreparedStatements(Boolean enabled, Integer cacheSize) {
+
+        public PreparedStatements {
+            if (enabled == null) enabled = Boolean.FALSE;
+            if (cacheSize == null) cacheSize = 32;
+            if (cacheSize < 1) {
+                throw new IllegalArgumentException("adapters.r2dbc.prepared-statements.cache-size debe ser positivo");
+            }
+        }
+    }
+
+    /**
+     * Réplica de lectura (opcional). Usa la misma base y credenciales que el primario; solo
+     * cambian el host, el puerto y su propio pool.
+     *
+     * @param enabled false deja todo el tráfico en el primario
+     * @param host host de la réplica; obligatorio con enabled
+     * @param port puerto de la réplica
+     * @param pool pool de la réplica, con los mismos defaults que el del primario
+     * @param healthCheckInterval cada cuánto se comprueba la réplica; caída, las lecturas van al primario
+     */
+    public record Replica(
+            Boolean enabled,
+            String host,
+            Integer port,
+            Pool pool,
+            Duration healthCheckInterval) {
+
+        public Replica {
+            if (enabled == null) enabled = Boolean.FALSE;
+            if (port == null) port = DEFAULT_PORT;
+            if (pool == null) pool = Pool.defaults();
+            if (healthCheckInterval == null) healthCheckInterval = Duration.ofSeconds(5);
+            if (enabled && (host == null || host.isBlank())) {
+                throw new IllegalArgumentException("adapters.r2dbc.replica.host es obligatorio con la réplica activa");
+            }
+        }
+
+        public static Replica disabled() {
+            return new Replica(false, null, null, null, null);
+        }
+    }
 }
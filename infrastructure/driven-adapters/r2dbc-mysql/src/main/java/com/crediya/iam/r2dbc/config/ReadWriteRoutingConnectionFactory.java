@@ -0,0 +1,124 @@
+package com.crediya.iam.r2dbc.config;
+
+import com.crediya.iam.r2dbc.helper.ReadRouting;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.ValidationDepth;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ConnectionFactory de la aplicación cuando hay réplica: las consultas marcadas con
+ * {@link ReadRouting} toman conexión de la réplica y todo lo demás del primario. Si la réplica
+ * no entrega conexión o el chequeo periódico falla, las lecturas vuelven al primario hasta que
+ * un chequeo posterior la encuentre sana. Los pools son beans propios; aquí no se cierran.
+ */
+@Slf4j
+public class ReadWriteRoutingConnectionFactory implements ConnectionFactory, InitializingBean, DisposableBean {
+
+    private final ConnectionFactory primary;
+    private final ConnectionFactory replica;
+    private final Duration healthCheckInterval;
+    private final AtomicBoolean replicaAvailable = new AtomicBoolean(true);
+    private final Counter replicaReads;
+    private final Counter fallbackReads;
+
+    private Disposable healthCheck;
+
+    public ReadWriteRoutingConnectionFactory(ConnectionFactory primary, ConnectionFactory replica,
+                                             Duration healthCheckInterval, MeterRegistry registry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.healthCheckInterval = healthCheckInterval;
+        this.replicaReads = readCounter(registry, "replica");
+        this.fallbackReads = readCounter(registry, "primary-fallback");
+        Gauge.builder("iam.r2dbc.replica.available", replicaAvailable, up -> up.get() ? 1 : 0)
+                .description("1 si las lecturas van a la réplica, 0 si caen al primario")
+                .register(registry);
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return Mono.deferContextual(ctx -> {
+            if (!ReadRouting.prefersReplica(ctx)) {
+                return Mono.<Connection>from(primary.create());
+            }
+            if (!replicaAvailable.get()) {
+                fallbackReads.increment();
+                return Mono.<Connection>from(primary.create());
+            }
+            return Mono.<Connection>from(replica.create())
+                    .doOnNext(c -> replicaReads.increment())
+                    .onErrorResume(err -> {
+                        markDown(err);
+                        fallbackReads.increment();
+                        return Mono.<Connection>from(primary.create());
+                    });
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return primary.getMetadata();
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable.get();
+    }
+
+    /** Ping a la réplica con una conexión de su pool; cualquier error o demora la da por caída. */
+    public Mono<Boolean> checkReplica() {
+        return Mono.usingWhen(replica.create(),
+                        connection -> Mono.from(connection.validate(ValidationDepth.REMOTE)),
+                        Connection::close)
+                .timeout(healthCheckInterval)
+                .defaultIfEmpty(false)
+                .onErrorResume(err -> {
+                    markDown(err);
+                    return Mono.just(false);
+                })
+                .doOnNext(healthy -> {
+                    if (!healthy) markDown(null);
+                    else if (replicaAvailable.compareAndSet(false, true)) {
+                        log.info("[r2dbc.replica] healthy again, reads go back to the replica");
+                    }
+                });
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        healthCheck = Flux.interval(healthCheckInterval, healthCheckInterval)
+                .concatMap(tick -> checkReplica())
+                .subscribe();
+    }
+
+    @Override
+    public void destroy() {
+        if (healthCheck != null) healthCheck.dispose();
+    }
+
+    private void markDown(Throwable cause) {
+        if (replicaAvailable.compareAndSet(true, false)) {
+            log.warn("[r2dbc.replica] unavailable, reads fall back to the primary: {}",
+                    cause == null ? "validation failed" : cause.toString());
+        }
+    }
+
+    private static Counter readCounter(MeterRegistry registry, String target) {
+        return Counter.builder("iam.r2dbc.replica.reads")
+                .description("Lecturas marcadas para la réplica, según dónde se atendieron")
+                .tag("target", target)
+                .register(registry);
+    }
+}
@@ -0,0 +1,42 @@
+package com.crediya.iam.r2dbc.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Refresh token persistido (solo el hash). Las fechas se guardan en UTC.
+ */
+@Table("refresh_token")
+@Getter
+@Setter
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshTokenEntity {
+
+    @Id
+    @Column("id_refresh_token")
+    private Long id;
+
+    @Column("token_hash")
+    private String tokenHash;
+
+    @Column("id_usuario")
+    private Long userId;
+
+    @Column("family_id")
+    private String familyId;
+
+    @Column("expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column("revoked")
+    private Boolean revoked;
+
+    @Column("created_at")
+    private LocalDateTime createdAt;
+}
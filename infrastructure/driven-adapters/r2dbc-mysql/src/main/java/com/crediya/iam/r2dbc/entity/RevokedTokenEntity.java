@@ -0,0 +1,36 @@
+package com.crediya.iam.r2dbc.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * jti de un access token revocado. Las fechas se guardan en UTC.
+ */
+@Table("revoked_token")
+@Getter
+@Setter
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedTokenEntity {
+
+    @Id
+    @Column("id_revoked_token")
+    private Long id;
+
+    @Column("jti")
+    private String jti;
+
+    @Column("id_usuario")
+    private Long userId;
+
+    @Column("expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column("revoked_at")
+    private LocalDateTime revokedAt;
+}
@@ -0,0 +1,30 @@
+package com.crediya.iam.r2dbc.helper;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+/**
+ * Marca en el Context de Reactor que una consulta es de solo lectura y puede ir a la réplica.
+ * Lo que no lleva la marca (escrituras, transacciones, lecturas previas a una escritura) va
+ * siempre al primario. Sin réplica configurada la marca no tiene efecto.
+ */
+public final class ReadRouting {
+
+    private static final String REPLICA_KEY = ReadRouting.class.getName() + ".replica";
+
+    private ReadRouting() {
+    }
+
+    public static <T> Mono<T> onReplica(Mono<T> query) {
+        return query.contextWrite(ctx -> ctx.put(REPLICA_KEY, Boolean.TRUE));
+    }
+
+    public static <T> Flux<T> onReplica(Flux<T> query) {
+        return query.contextWrite(ctx -> ctx.put(REPLICA_KEY, Boolean.TRUE));
+    }
+
+    public static boolean prefersReplica(ContextView ctx) {
+        return ctx.getOrDefault(REPLICA_KEY, Boolean.FALSE);
+    }
+}
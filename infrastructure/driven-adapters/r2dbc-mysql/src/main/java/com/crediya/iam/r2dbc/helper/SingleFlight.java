@@ -0,0 +1,106 @@
+package com.crediya.iam.r2dbc.helper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa llamadas concurrentes con la misma clave en una sola ejecución: quien llega mientras
+ * otra está en curso recibe el mismo resultado, vacío o error. La ejecución se cancela solo
+ * cuando cancelan todos los que esperan, y la clave se libera antes de publicar el resultado,
+ * así que una llamada posterior siempre consulta de nuevo.
+ */
+public final class SingleFlight<K, V> {
+
+    private static final String CALLS = "iam.r2dbc.singleflight.calls";
+
+    /** Una ejecución en curso. subscribers solo se modifica dentro de compute sobre su clave */
+    private final class Flight {
+        final Sinks.One<V> result = Sinks.one();
+        final Disposable.Swap upstream = Disposables.swap();
+        int subscribers;
+    }
+
+    private final Map<K, Flight> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+    private final Counter cancelled;
+
+    public SingleFlight(String name, MeterRegistry registry) {
+        this.executed = counter(registry, name, "executed");
+        this.coalesced = counter(registry, name, "coalesced");
+        this.cancelled = counter(registry, name, "cancelled");
+        Gauge.builder("iam.r2dbc.singleflight.inflight", inFlight, Map::size)
+                .description("Claves con una consulta en curso")
+                .tag("name", name)
+                .register(registry);
+    }
+
+    public Mono<V> execute(K key, Supplier<Mono<V>> call) {
+        return Mono.defer(() -> {
+            boolean[] created = {false};
+            Flight flight = inFlight.compute(key, (k, current) -> {
+                Flight joined = current;
+                if (joined == null) {
+                    joined = new Flight();
+                    created[0] = true;
+                }
+                joined.subscribers++;
+                return joined;
+            });
+
+            if (created[0]) {
+                executed.increment();
+                // Si todos cancelaron antes de llegar aquí, el Swap ya está dispuesto y corta la suscripción
+                flight.upstream.update(Mono.defer(call).subscribe(
+                        value -> complete(key, flight, () -> flight.result.tryEmitValue(value)),
+                        error -> complete(key, flight, () -> flight.result.tryEmitError(error)),
+                        () -> complete(key, flight, flight.result::tryEmitEmpty)));
+            } else {
+                coalesced.increment();
+            }
+            return flight.result.asMono().doOnCancel(() -> leave(key, flight));
+        });
+    }
+
+    /** Claves con una ejecución en curso. */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    /** La clave se suelta antes de emitir: quien llegue después ya no se une a esta ejecución. */
+    private void complete(K key, Flight flight, Runnable emit) {
+        inFlight.remove(key, flight);
+        emit.run();
+    }
+
+    /** El último en cancelar retira la ejecución en el mismo paso atómico y cancela la consulta. */
+    private void leave(K key, Flight flight) {
+        boolean[] last = {false};
+        inFlight.computeIfPresent(key, (k, current) -> {
+            if (current != flight || --current.subscribers > 0) return current;
+            last[0] = true;
+            return null;
+        });
+        if (last[0]) {
+            cancelled.increment();
+            flight.upstream.dispose();
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, String name, String result) {
+        return Counter.builder(CALLS)
+                .description("Consultas por resultado: ejecutadas, atendidas por otra en curso o canceladas")
+                .tag("name", name)
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,47 @@
+package com.crediya.iam.r2dbc.mapper;
+
+import com.crediya.iam.model.token.RefreshToken;
+import com.crediya.iam.r2dbc.entity.RefreshTokenEntity;
+import org.mapstruct.Mapper;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+@Mapper(componentModel = "spring")
+public interface RefreshTokenEntityMapper {
+
+    default RefreshTokenEntity toEntity(RefreshToken domain) {
+        if (domain == null) return null;
+        return RefreshTokenEntity.builder()
+                .id(domain.getId())
+                .tokenHash(domain.getTokenHash())
+                .userId(domain.getUserId())
+                .familyId(domain.getFamilyId())
+                .expiresAt(toUtc(domain.getExpiresAt()))
+                .revoked(domain.isRevoked())
+                .createdAt(toUtc(domain.getCreatedAt()))
+                .build();
+    }
+
+    default RefreshToken toDomain(RefreshTokenEntity entity) {
+        if (entity == null) return null;
+        return RefreshToken.builder()
+                .id(entity.getId())
+                .tokenHash(entity.getTokenHash())
+                .userId(entity.getUserId())
+                .familyId(entity.getFamilyId())
+                .expiresAt(fromUtc(entity.getExpiresAt()))
+                .revoked(Boolean.TRUE.equals(entity.getRevoked()))
+                .createdAt(fromUtc(entity.getCreatedAt()))
+                .build();
+    }
+
+    private static LocalDateTime toUtc(Instant instant) {
+        return instant == null ? null : LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private static Instant fromUtc(LocalDateTime dateTime) {
+        return dateTime == null ? null : dateTime.toInstant(ZoneOffset.UTC);
+    }
+}
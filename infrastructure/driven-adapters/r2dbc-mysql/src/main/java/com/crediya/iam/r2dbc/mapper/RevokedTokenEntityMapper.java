@@ -0,0 +1,43 @@
+package com.crediya.iam.r2dbc.mapper;
+
+import com.crediya.iam.model.token.RevokedToken;
+import com.crediya.iam.r2dbc.entity.RevokedTokenEntity;
+import org.mapstruct.Mapper;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+@Mapper(componentModel = "spring")
+public interface RevokedTokenEntityMapper {
+
+    default RevokedTokenEntity toEntity(RevokedToken domain) {
+        if (domain == null) return null;
+        return RevokedTokenEntity.builder()
+                .id(domain.getId())
+                .jti(domain.getJti())
+                .userId(domain.getUserId())
+                .expiresAt(toUtc(domain.getExpiresAt()))
+                .revokedAt(toUtc(domain.getRevokedAt()))
+                .build();
+    }
+
+    default RevokedToken toDomain(RevokedTokenEntity entity) {
+        if (entity == null) return null;
+        return RevokedToken.builder()
+                .id(entity.getId())
+                .jti(entity.getJti())
+                .userId(entity.getUserId())
+                .expiresAt(fromUtc(entity.getExpiresAt()))
+                .revokedAt(fromUtc(entity.getRevokedAt()))
+                .build();
+    }
+
+    default LocalDateTime toUtc(Instant instant) {
+        return instant == null ? null : LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private static Instant fromUtc(LocalDateTime dateTime) {
+        return dateTime == null ? null : dateTime.toInstant(ZoneOffset.UTC);
+    }
+}
@@ -43,4 +43,4 @@ public interface UserEntityMapper {
 
         return user.withId(entity.getId());
     }
-}
\ No newline at end of file
+}
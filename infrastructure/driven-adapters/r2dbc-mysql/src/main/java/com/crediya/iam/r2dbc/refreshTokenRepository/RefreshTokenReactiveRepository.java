@@ -0,0 +1,27 @@
+package com.crediya.iam.r2dbc.refreshTokenRepository;
+
+import com.crediya.iam.r2dbc.entity.RefreshTokenEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.query.ReactiveQueryByExampleExecutor;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+public interface RefreshTokenReactiveRepository extends ReactiveCrudRepository<RefreshTokenEntity, Long>, ReactiveQueryByExampleExecutor<RefreshTokenEntity> {
+
+    Mono<RefreshTokenEntity> findByTokenHash(String tokenHash);
+
+    /** Condicional sobre revoked = 0: de dos requests concurrentes solo uno actualiza la fila. */
+    @Modifying
+    @Query("UPDATE refresh_token SET revoked = 1 WHERE id_refresh_token = :id AND revoked = 0")
+    Mono<Integer> consume(@Param("id") Long id);
+
+    /** Marca también las filas ya consumidas: family_revoked distingue una familia cerrada de una rotación. */
+    @Modifying
+    @Query("UPDATE refresh_token SET revoked = 1, family_revoked = 1 WHERE family_id = :familyId AND family_revoked = 0")
+    Mono<Integer> revokeFamily(@Param("familyId") String familyId);
+
+    @Query("SELECT COUNT(*) FROM refresh_token WHERE family_id = :familyId AND family_revoked = 1")
+    Mono<Long> countRevokedInFamily(@Param("familyId") String familyId);
+}
@@ -0,0 +1,60 @@
+package com.crediya.iam.r2dbc.refreshTokenRepository;
+
+import com.crediya.iam.model.token.RefreshToken;
+import com.crediya.iam.model.token.gateways.RefreshTokenRepository;
+import com.crediya.iam.r2dbc.entity.RefreshTokenEntity;
+import com.crediya.iam.r2dbc.helper.ReactiveAdapterOperations;
+import com.crediya.iam.r2dbc.mapper.RefreshTokenEntityMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivecommons.utils.ObjectMapper;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Repository
+public class RefreshTokenReactiveRepositoryAdapter extends ReactiveAdapterOperations<
+        RefreshToken,
+        RefreshTokenEntity,
+        Long,
+        RefreshTokenReactiveRepository
+        > implements RefreshTokenRepository {
+
+    private final RefreshTokenEntityMapper refreshTokenEntityMapper;
+
+    public RefreshTokenReactiveRepositoryAdapter(RefreshTokenReactiveRepository repository,
+                                                 RefreshTokenEntityMapper refreshTokenEntityMapper,
+                                                 ObjectMapper mapper) {
+        super(repository, mapper, refreshTokenEntityMapper::toDomain);
+        this.refreshTokenEntityMapper = refreshTokenEntityMapper;
+    }
+
+    @Override
+    public Mono<RefreshToken> save(RefreshToken token) {
+        return repository.save(refreshTokenEntityMapper.toEntity(token))
+                .map(refreshTokenEntityMapper::toDomain);
+    }
+
+    @Override
+    public Mono<RefreshToken> findByTokenHash(String tokenHash) {
+        if (tokenHash == null) return Mono.empty();
+        return repository.findByTokenHash(tokenHash)
+                .map(refreshTokenEntityMapper::toDomain);
+    }
+
+    @Override
+    public Mono<Boolean> consume(Long id) {
+        return repository.consume(id).map(updated -> updated > 0);
+    }
+
+    @Override
+    public Mono<Void> revokeFamily(String familyId) {
+        return repository.revokeFamily(familyId)
+                .doOnNext(count -> log.info("[refreshToken.revokeFamily] family={} revoked={}", familyId, count))
+                .then();
+    }
+
+    @Override
+    public Mono<Boolean> isFamilyRevoked(String familyId) {
+        return repository.countRevokedInFamily(familyId).map(count -> count > 0);
+    }
+}
@@ -0,0 +1,30 @@
+package com.crediya.iam.r2dbc.revokedTokenRepository;
+
+import com.crediya.iam.r2dbc.entity.RevokedTokenEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.query.ReactiveQueryByExampleExecutor;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+public interface RevokedTokenReactiveRepository extends ReactiveCrudRepository<RevokedTokenEntity, Long>, ReactiveQueryByExampleExecutor<RevokedTokenEntity> {
+
+    Mono<Boolean> existsByJti(String jti);
+
+    /** Usa idx_revoked_token_revoked_at: la sincronización incremental solo lee lo nuevo. */
+    @Query("""
+            SELECT id_revoked_token, jti, id_usuario, expires_at, revoked_at
+            FROM revoked_token
+            WHERE revoked_at >= :since AND expires_at > :now
+            """)
+    Flux<RevokedTokenEntity> findActiveRevokedSince(@Param("since") LocalDateTime since,
+                                                    @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM revoked_token WHERE expires_at <= :now")
+    Mono<Integer> deleteExpired(@Param("now") LocalDateTime now);
+}
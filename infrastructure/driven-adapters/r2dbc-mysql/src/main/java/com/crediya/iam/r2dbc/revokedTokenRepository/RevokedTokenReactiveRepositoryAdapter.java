@@ -0,0 +1,64 @@
+package com.crediya.iam.r2dbc.revokedTokenRepository;
+
+import com.crediya.iam.model.token.RevokedToken;
+import com.crediya.iam.model.token.gateways.RevokedTokenRepository;
+import com.crediya.iam.r2dbc.entity.RevokedTokenEntity;
+import com.crediya.iam.r2dbc.helper.ReactiveAdapterOperations;
+import com.crediya.iam.r2dbc.mapper.RevokedTokenEntityMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivecommons.utils.ObjectMapper;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+@Slf4j
+@Repository
+public class RevokedTokenReactiveRepositoryAdapter extends ReactiveAdapterOperations<
+        RevokedToken,
+        RevokedTokenEntity,
+        Long,
+        RevokedTokenReactiveRepository
+        > implements RevokedTokenRepository {
+
+    private final RevokedTokenEntityMapper revokedTokenEntityMapper;
+
+    public RevokedTokenReactiveRepositoryAdapter(RevokedTokenReactiveRepository repository,
+                                                 RevokedTokenEntityMapper revokedTokenEntityMapper,
+                                                 ObjectMapper mapper) {
+        super(repository, mapper, revokedTokenEntityMapper::toDomain);
+        this.revokedTokenEntityMapper = revokedTokenEntityMapper;
+    }
+
+    @Override
+    public Mono<Void> save(RevokedToken token) {
+        return repository.save(revokedTokenEntityMapper.toEntity(token))
+                // uq_revoked_token_jti: el jti ya estaba revocado
+                .onErrorResume(DataIntegrityViolationException.class, e -> Mono.empty())
+                .then();
+    }
+
+    @Override
+    public Mono<Boolean> existsByJti(String jti) {
+        if (jti == null) return Mono.just(false);
+        return repository.existsByJti(jti);
+    }
+
+    @Override
+    public Flux<RevokedToken> findActiveRevokedSince(Instant since, Instant now) {
+        return repository.findActiveRevokedSince(revokedTokenEntityMapper.toUtc(since),
+                        revokedTokenEntityMapper.toUtc(now))
+                .map(revokedTokenEntityMapper::toDomain);
+    }
+
+    @Override
+    public Mono<Long> deleteExpired(Instant now) {
+        return repository.deleteExpired(revokedTokenEntityMapper.toUtc(now))
+                .map(Integer::longValue)
+                .doOnNext(count -> {
+                    if (count > 0) log.info("[revokedToken.deleteExpired] deleted={}", count);
+                });
+    }
+}
@@ -0,0 +1,85 @@
+package com.crediya.iam.r2dbc.roleRepository;
+
+import com.crediya.iam.model.role.Role;
+import com.crediya.iam.model.role.gateways.RoleCatalog;
+import com.crediya.iam.r2dbc.mapper.RoleEntityMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Carga la tabla Rol al arrancar y la sirve desde un mapa inmutable.
+ * El mapa se reemplaza completo en cada recarga (periódica o bajo demanda).
+ */
+@Slf4j
+@Component
+public class InMemoryRoleCatalog implements RoleCatalog, InitializingBean, DisposableBean {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(10);
+
+    private final RoleReactiveRepository repository;
+    private final RoleEntityMapper roleEntityMapper;
+    private final Duration refreshInterval;
+
+    private volatile Map<Long, Role> roles = Map.of();
+    private Disposable refresher;
+
+    public InMemoryRoleCatalog(RoleReactiveRepository repository,
+                               RoleEntityMapper roleEntityMapper,
+                               @Value("${adapters.r2dbc.role-catalog.refresh-interval:PT5M}") Duration refreshInterval) {
+        this.repository = repository;
+        this.roleEntityMapper = roleEntityMapper;
+        this.refreshInterval = refreshInterval;
+    }
+
+    @Override
+    public Optional<Role> findById(Long id) {
+        if (id == null) return Optional.empty();
+        // Copia defensiva: Role es mutable
+        return Optional.ofNullable(roles.get(id))
+                .map(r -> Role.create(r.getId(), r.getName(), r.getDescription()));
+    }
+
+    @Override
+    public Mono<Void> refresh() {
+        return repository.findAll()
+                .map(roleEntityMapper::toDomain)
+                .collect(Collectors.toUnmodifiableMap(Role::getId, Function.identity()))
+                .doOnNext(loaded -> {
+                    roles = loaded;
+                    log.info("[role.catalog] loaded roles={}", loaded.size());
+                })
+                .doOnError(err -> log.warn("[role.catalog] refresh failed, keeping {} roles: {}",
+                        roles.size(), err.toString()))
+                .then();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        // Carga inicial en el hilo de arranque; si la BD no responde, el catálogo queda vacío
+        // y los adaptadores consultan la BD hasta la siguiente recarga.
+        refresh().timeout(STARTUP_TIMEOUT).onErrorResume(err -> Mono.empty()).block();
+
+        if (!refreshInterval.isZero() && !refreshInterval.isNegative()) {
+            refresher = Flux.interval(refreshInterval, refreshInterval)
+                    .concatMap(tick -> refresh().onErrorResume(err -> Mono.empty()))
+                    .subscribe();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (refresher != null) refresher.dispose();
+    }
+}
@@ -1,6 +1,7 @@
 package com.crediya.iam.r2dbc.roleRepository;
 
 import com.crediya.iam.model.role.Role;
+import com.crediya.iam.model.role.gateways.RoleCatalog;
 import com.crediya.iam.model.role.gateways.RoleRepository;
 import com.crediya.iam.r2dbc.entity.RoleEntity;
 import com.crediya.iam.r2dbc.helper.ReactiveAdapterOperations;
@@ -20,21 +21,26 @@ public class RoleReactiveRepositoryAdapter extends ReactiveAdapterOperations<
         > implements RoleRepository {
 
     private final RoleEntityMapper roleEntityMapper;
+    private final RoleCatalog roleCatalog;
 
     public RoleReactiveRepositoryAdapter(
             RoleReactiveRepository roleRepository,
             RoleEntityMapper roleEntityMapper,
-            ObjectMapper mapper
+            ObjectMapper mapper,
+            RoleCatalog roleCatalog
     ) {
         super(roleRepository, mapper, entity -> roleEntityMapper.toDomain(entity));
         this.roleEntityMapper = roleEntityMapper;
+        this.roleCatalog = roleCatalog;
     }
 
     @Override
     public Mono<Role> findById(Long id) {
         if (id == null) return Mono.empty();
 
-        return repository.findById(id)
-                .map(roleEntityMapper::toDomain);
+        // Se sirve desde el catálogo; solo un rol desconocido llega a la BD
+        return Mono.justOrEmpty(roleCatalog.findById(id))
+                .switchIfEmpty(Mono.defer(() -> repository.findById(id)
+                        .map(roleEntityMapper::toDomain)));
     }
 }
@@ -0,0 +1,61 @@
+package com.crediya.iam.r2dbc.userRepository;
+
+import com.crediya.iam.model.user.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Read-your-writes con réplica: durante una ventana corta tras guardar un usuario, las lecturas
+ * de su email o documento, y los listados, se leen del primario. La ventana debe cubrir el
+ * retraso normal de replicación; pasado ese tiempo la réplica ya tiene la escritura.
+ */
+@Component
+public class RecentUserWrites {
+
+    private final Duration window;
+    private final Cache<String, Boolean> keys;
+    private volatile long lastWriteAt;
+    private volatile long lastUpdateAt;
+
+    public RecentUserWrites(@Value("${adapters.r2dbc.replica.read-your-writes-window:PT5S}") Duration window) {
+        this.window = window;
+        this.keys = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(10_000)
+                .build();
+        this.lastWriteAt = System.nanoTime() - window.toNanos();
+        this.lastUpdateAt = lastWriteAt;
+    }
+
+    public void record(User user) {
+        if (user == null) return;
+        if (user.getEmail() != null) keys.put(user.getEmail().trim().toLowerCase(Locale.ROOT), Boolean.TRUE);
+        if (user.getIdentityDocument() != null) keys.put(user.getIdentityDocument(), Boolean.TRUE);
+        lastWriteAt = System.nanoTime();
+    }
+
+    /** Una actualización pudo cambiar email o documento y los anteriores no se conocen aquí. */
+    public void recordUpdate(User user) {
+        record(user);
+        lastUpdateAt = lastWriteAt;
+    }
+
+    /** El email (normalizado en minúsculas) o documento se escribió dentro de la ventana: leerlo del primario. */
+    public boolean isRecent(String key) {
+        return key != null && (keys.getIfPresent(key) != null || withinWindow(lastUpdateAt));
+    }
+
+    /** Hubo alguna escritura dentro de la ventana: los listados se leen del primario. */
+    public boolean anyRecent() {
+        return withinWindow(lastWriteAt);
+    }
+
+    private boolean withinWindow(long at) {
+        return System.nanoTime() - at < window.toNanos();
+    }
+}
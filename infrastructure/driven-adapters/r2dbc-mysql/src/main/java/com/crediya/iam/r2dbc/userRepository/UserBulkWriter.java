@@ -0,0 +1,114 @@
+package com.crediya.iam.r2dbc.userRepository;
+
+import com.crediya.iam.model.user.User;
+import com.crediya.iam.model.user.UserEvent;
+import com.crediya.iam.model.user.gateways.UserEventOutbox;
+import io.r2dbc.spi.Parameters;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * INSERT multi-fila de usuarios: un solo viaje a la BD y un solo commit por lote, en vez de
+ * un INSERT por usuario. Los parámetros se enlazan de una vez con bindValues. Toda alta pasa
+ * por aquí para que su evento user_created quede en el outbox en la misma transacción.
+ */
+@Component
+public class UserBulkWriter {
+
+    private static final String INSERT = "INSERT INTO Usuario (nombre, apellido, email, fecha_nacimiento, "
+            + "documento_identidad, telefono, direccion, password, salario_base, id_rol) VALUES ";
+    private static final String[] COLUMNS = {
+            "nombre", "apellido", "email", "fecha", "doc", "tel", "dir", "pwd", "salario", "rol"};
+
+    private final DatabaseClient client;
+    private final UserEventOutbox outbox;
+    private final TransactionalOperator transactions;
+
+    public UserBulkWriter(DatabaseClient client, UserEventOutbox outbox, TransactionalOperator transactions) {
+        this.client = client;
+        this.outbox = outbox;
+        this.transactions = transactions;
+    }
+
+    /**
+     * Inserta los usuarios y un evento user_created por cada uno en una sola transacción: no
+     * queda usuario sin evento ni evento sin usuario. Dentro de una transacción en curso se une a ella.
+     *
+     * @return usuarios con su id generado, en el mismo orden de {@code users}
+     */
+    public Mono<List<User>> insertCreated(List<User> users) {
+        if (users.isEmpty()) return Mono.just(List.of());
+
+        return transactions.transactional(insert(users)
+                .collectList()
+                .flatMap(ids -> {
+                    List<User> saved = new ArrayList<>(users.size());
+                    for (int i = 0; i < users.size(); i++) {
+                        saved.add(users.get(i).withId(ids.get(i)));
+                    }
+                    return outbox.append(saved.stream().map(UserEvent::created).toList())
+                            .thenReturn(saved);
+                }));
+    }
+
+    /**
+     * En MySQL un INSERT multi-fila devuelve un solo valor generado, LAST_INSERT_ID, que es el id
+     * de la primera fila. InnoDB asigna ids consecutivos a las filas de un INSERT simple (el
+     * número de filas se conoce de antemano) en cualquier innodb_autoinc_lock_mode, así que el
+     * resto se deriva como {@code primerId + i}. Supone auto_increment_increment = 1.
+     *
+     * @return ids generados, en el mismo orden de {@code users}
+     */
+    Flux<Long> insert(List<User> users) {
+        if (users.isEmpty()) return Flux.empty();
+
+        StringBuilder sql = new StringBuilder(INSERT.length() + users.size() * 120).append(INSERT);
+        Map<String, Object> values = new HashMap<>(users.size() * COLUMNS.length * 2);
+        for (int i = 0; i < users.size(); i++) {
+            if (i > 0) sql.append(", ");
+            sql.append('(');
+            for (int c = 0; c < COLUMNS.length; c++) {
+                if (c > 0) sql.append(", ");
+                sql.append(':').append(COLUMNS[c]).append(i);
+            }
+            sql.append(')');
+            bindRow(values, i, users.get(i));
+        }
+
+        return client.sql(sql.toString())
+                .bindValues(values)
+                .filter(statement -> statement.returnGeneratedValues("id_usuario"))
+                .map(row -> row.get(0, Long.class))
+                // Otros motores devuelven un id por fila; el primero basta en ambos casos
+                .first()
+                .flatMapMany(firstId -> Flux.range(0, users.size()).map(i -> firstId + i));
+    }
+
+    private static void bindRow(Map<String, Object> values, int i, User u) {
+        values.put("nombre" + i, value(u.getFirstName(), String.class));
+        values.put("apellido" + i, value(u.getLastName(), String.class));
+        values.put("email" + i, value(u.getEmail(), String.class));
+        values.put("fecha" + i, value(u.getBirthdate(), LocalDate.class));
+        values.put("doc" + i, value(u.getIdentityDocument(), String.class));
+        values.put("tel" + i, value(u.getPhoneNumber(), String.class));
+        values.put("dir" + i, value(u.getAddress(), String.class));
+        values.put("pwd" + i, value(u.getPassword(), String.class));
+        values.put("salario" + i, value(u.getBaseSalary(), BigDecimal.class));
+        values.put("rol" + i, value(u.getRoleId(), Long.class));
+    }
+
+    /** Los nulos necesitan tipo para que el driver sepa cómo enviarlos. */
+    private static Object value(Object value, Class<?> type) {
+        return value != null ? value : Parameters.in(type);
+    }
+}
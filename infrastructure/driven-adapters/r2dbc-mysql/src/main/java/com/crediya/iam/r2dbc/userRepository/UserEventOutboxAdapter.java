@@ -0,0 +1,188 @@
+package com.crediya.iam.r2dbc.userRepository;
+
+import com.crediya.iam.model.user.User;
+import com.crediya.iam.model.user.UserEvent;
+import com.crediya.iam.model.user.gateways.UserEventOutbox;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outbox de eventos de usuario en MySQL. Cada evento guarda solo tipo e id del usuario; al
+ * leerlo se une con Usuario para entregar el perfil público, sin contraseña.
+ *
+ * <p>La secuencia es el AUTO_INCREMENT de user_outbox, que se asigna al insertar y no al
+ * confirmar: una transacción puede confirmar un id menor después de que otra confirmó uno mayor.
+ * Por eso la lectura se corta en el primer hueco, salvo que el evento siguiente tenga más de
+ * gapTimeout: entonces el hueco se da por una transacción revertida y se salta. created_at y la
+ * hora con que se mide el hueco salen del reloj de la BD, así que el desfase entre instancias no
+ * cuenta; una transacción que sigue abierta más de gapTimeout tras escribir su evento sí lo pierde.
+ * Las altas escriben usuario y evento en una transacción corta, muy por debajo de ese límite.
+ *
+ * <p>La tabla no crece sin límite: PruneUserOutboxUseCase borra los eventos viejos que todos los
+ * consumidores ya leyeron y los offsets que nadie actualiza.
+ */
+@Repository
+public class UserEventOutboxAdapter implements UserEventOutbox {
+
+    /** created_at lo pone la BD (DEFAULT CURRENT_TIMESTAMP(6)) */
+    private static final String INSERT = "INSERT INTO user_outbox (event_type, id_usuario) VALUES ";
+
+    /**
+     * Columnas de Usuario primero, en el orden de UserProfileReader, para reutilizar su mapeo.
+     * La última es la hora de la BD al leer, con la que se mide la edad de un hueco.
+     */
+    private static final String READ_AFTER = "SELECT u.id_usuario, u.nombre, u.apellido, u.email, "
+            + "u.fecha_nacimiento, u.documento_identidad, u.telefono, u.direccion, u.salario_base, u.id_rol, "
+            + "o.id_user_outbox, o.event_type, o.created_at, CURRENT_TIMESTAMP(6) "
+            + "FROM user_outbox o LEFT JOIN Usuario u ON u.id_usuario = o.id_usuario "
+            + "WHERE o.id_user_outbox > :after ORDER BY o.id_user_outbox LIMIT :limit";
+    private static final int SEQUENCE = 10;
+    private static final int TYPE = 11;
+    private static final int CREATED_AT = 12;
+    private static final int DB_NOW = 13;
+
+    private static final String LATEST = "SELECT COALESCE(MAX(id_user_outbox), 0) FROM user_outbox";
+    private static final String LOAD_OFFSET = "SELECT last_id FROM user_outbox_offset WHERE consumer = :consumer";
+    private static final String SAVE_OFFSET = "INSERT INTO user_outbox_offset (consumer, last_id, updated_at) "
+            + "VALUES (:consumer, :lastId, CURRENT_TIMESTAMP(6)) "
+            + "ON DUPLICATE KEY UPDATE last_id = GREATEST(last_id, VALUES(last_id)), updated_at = VALUES(updated_at)";
+
+    private static final String TOUCH_OFFSET = "UPDATE user_outbox_offset SET updated_at = CURRENT_TIMESTAMP(6) "
+            + "WHERE consumer = :consumer";
+    private static final String DELETE_STALE_OFFSETS = "DELETE FROM user_outbox_offset "
+            + "WHERE updated_at < TIMESTAMPADD(SECOND, -:idleSec, CURRENT_TIMESTAMP(6))";
+    /** Solo eventos que todo consumidor con offset ya dejó atrás; sin offsets, basta la edad */
+    private static final String DELETE_CONSUMED = "DELETE FROM user_outbox "
+            + "WHERE created_at < TIMESTAMPADD(SECOND, -:ageSec, CURRENT_TIMESTAMP(6)) "
+            + "AND NOT EXISTS (SELECT 1 FROM user_outbox_offset f WHERE f.last_id < user_outbox.id_user_outbox) "
+            + "LIMIT :limit";
+
+    private record OutboxRow(UserEvent event, Instant dbNow) {
+    }
+
+    private final DatabaseClient client;
+    private final Duration gapTimeout;
+
+    public UserEventOutboxAdapter(DatabaseClient client,
+                                  @Value("${users.events.outbox.gap-timeout:PT10S}") Duration gapTimeout) {
+        this.client = client;
+        this.gapTimeout = gapTimeout;
+    }
+
+    @Override
+    public Mono<Void> append(List<UserEvent> events) {
+        if (events == null || events.isEmpty()) return Mono.empty();
+
+        StringBuilder sql = new StringBuilder(INSERT.length() + events.size() * 20).append(INSERT);
+        Map<String, Object> values = new HashMap<>(events.size() * 4);
+        for (int i = 0; i < events.size(); i++) {
+            if (i > 0) sql.append(", ");
+            sql.append("(:type").append(i).append(", :user").append(i).append(')');
+            values.put("type" + i, events.get(i).type());
+            values.put("user" + i, events.get(i).user().getId());
+        }
+        return client.sql(sql.toString())
+                .bindValues(values)
+                .then();
+    }
+
+    @Override
+    public Flux<UserEvent> readAfter(long afterSequence, int limit) {
+        return client.sql(READ_AFTER)
+                .bind("after", afterSequence)
+                .bind("limit", limit)
+                .map((row, metadata) -> new OutboxRow(toEvent(row), toInstant(row.get(DB_NOW, LocalDateTime.class))))
+                .all()
+                .collectList()
+                .flatMapIterable(rows -> rows.isEmpty()
+                        ? List.of()
+                        : committedPrefix(afterSequence, rows.stream().map(OutboxRow::event).toList(),
+                                rows.get(0).dbNow(), gapTimeout));
+    }
+
+    @Override
+    public Mono<Long> latestSequence() {
+        return client.sql(LATEST)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .defaultIfEmpty(0L);
+    }
+
+    @Override
+    public Mono<Long> loadOffset(String consumer) {
+        return client.sql(LOAD_OFFSET)
+                .bind("consumer", consumer)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    @Override
+    public Mono<Void> saveOffset(String consumer, long sequence) {
+        return client.sql(SAVE_OFFSET)
+                .bind("consumer", consumer)
+                .bind("lastId", sequence)
+                .then();
+    }
+
+    @Override
+    public Mono<Void> touchOffset(String consumer) {
+        return client.sql(TOUCH_OFFSET)
+                .bind("consumer", consumer)
+                .then();
+    }
+
+    @Override
+    public Mono<Long> deleteStaleOffsets(Duration idleFor) {
+        return client.sql(DELETE_STALE_OFFSETS)
+                .bind("idleSec", idleFor.toSeconds())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    @Override
+    public Mono<Long> deleteConsumed(Duration olderThan, int limit) {
+        return client.sql(DELETE_CONSUMED)
+                .bind("ageSec", olderThan.toSeconds())
+                .bind("limit", limit)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /** Eventos hasta el primer hueco que todavía puede llenarse; {@code now} es la hora de la BD. */
+    static List<UserEvent> committedPrefix(long afterSequence, List<UserEvent> rows, Instant now, Duration gapTimeout) {
+        List<UserEvent> committed = new ArrayList<>(rows.size());
+        Instant settledBefore = now.minus(gapTimeout);
+        long expected = afterSequence + 1;
+        for (UserEvent event : rows) {
+            if (event.sequence() != expected && event.occurredAt().isAfter(settledBefore)) break;
+            committed.add(event);
+            expected = event.sequence() + 1;
+        }
+        return committed;
+    }
+
+    private static UserEvent toEvent(Row row) {
+        // LEFT JOIN: sin fila de Usuario, el evento sale sin perfil
+        User user = row.get(UserProfileReader.ID, Long.class) == null ? null : UserProfileReader.toUser(row);
+        return new UserEvent(row.get(SEQUENCE, Long.class), row.get(TYPE, String.class),
+                toInstant(row.get(CREATED_AT, LocalDateTime.class)), user);
+    }
+
+    /** Las fechas se leen como UTC, igual que en el resto de tablas (sesión de MySQL en UTC) */
+    private static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,172 @@
+package com.crediya.iam.r2dbc.userRepository;
+
+import com.crediya.iam.model.user.User;
+import com.crediya.iam.usecase.shared.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Filtros de Bloom en memoria con los emails y documentos registrados. Un "no está" es
+ * definitivo y evita la consulta; un "puede estar" se confirma en la BD. Se construye leyendo
+ * la tabla al arrancar, recibe cada alta hecha en esta instancia y cada intervalo incorpora
+ * las filas nuevas de otras instancias, avanzando por id_usuario.
+ *
+ * <p>El "no está" solo es exacto si todas las altas pasan por esta instancia. Con varias, un
+ * usuario creado en otra queda fuera del filtro hasta el siguiente refresh-interval y las
+ * comprobaciones de existencia lo darían por inexistente. Por eso viene apagado: activarlo solo
+ * con una instancia. Resincronizar ante cada negativo costaría una consulta por negativo, justo
+ * lo que el filtro evita.
+ */
+@Slf4j
+@Component
+public class UserIdentifierFilter implements InitializingBean, DisposableBean {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(30);
+    /** Se releen ids hacia atrás para cubrir inserts concurrentes que confirman fuera de orden */
+    private static final long SYNC_OVERLAP_IDS = 1000;
+
+    private record Filters(BloomFilter emails, BloomFilter documents, long capacity) {
+        static Filters create(long capacity, double falsePositiveRate) {
+            return new Filters(BloomFilter.create(capacity, falsePositiveRate),
+                    BloomFilter.create(capacity, falsePositiveRate), capacity);
+        }
+
+        void put(String email, String document) {
+            if (email != null) emails.put(normalizeEmail(email));
+            if (document != null) documents.put(document);
+        }
+    }
+
+    private final UserReactiveRepository repository;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Duration refreshInterval;
+
+    private volatile Filters filters;
+    /** Filtro en construcción; las altas locales también se anotan aquí para no perderlas al publicarlo */
+    private volatile Filters building;
+    /** Mientras no haya una carga completa, todo identificador se trata como posible */
+    private volatile boolean loaded;
+    private volatile long lastId;
+    private Disposable refresher;
+
+    public UserIdentifierFilter(UserReactiveRepository repository,
+                                @Value("${adapters.r2dbc.user-filter.enabled:false}") boolean enabled,
+                                @Value("${adapters.r2dbc.user-filter.expected-insertions:100000}") long expectedInsertions,
+                                @Value("${adapters.r2dbc.user-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                                @Value("${adapters.r2dbc.user-filter.refresh-interval:PT30S}") Duration refreshInterval) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.refreshInterval = refreshInterval;
+        this.filters = Filters.create(expectedInsertions, falsePositiveRate);
+    }
+
+    /** false significa que ningún usuario tiene ese email. */
+    public boolean mightContainEmail(String email) {
+        if (email == null) return false;
+        return !enabled || !loaded || filters.emails().mightContain(normalizeEmail(email));
+    }
+
+    /** false significa que ningún usuario tiene ese documento. */
+    public boolean mightContainDocument(String document) {
+        if (document == null) return false;
+        return !enabled || !loaded || filters.documents().mightContain(document);
+    }
+
+    /** Alta confirmada en esta instancia: visible de inmediato. */
+    public void add(User user) {
+        if (!enabled || user == null) return;
+        filters.put(user.getEmail(), user.getIdentityDocument());
+        Filters next = building;
+        if (next != null) next.put(user.getEmail(), user.getIdentityDocument());
+    }
+
+    /**
+     * Lee la tabla completa en streaming hacia un filtro nuevo y lo publica de una vez.
+     * La capacidad se toma del último id visto (cota superior de filas) para conservar la tasa
+     * de falsos positivos a medida que la tabla crece.
+     */
+    public Mono<Void> rebuild() {
+        return Mono.defer(() -> {
+            long capacity = Math.max(expectedInsertions, lastId * 2);
+            Filters fresh = Filters.create(capacity, falsePositiveRate);
+            building = fresh;
+            long[] maxId = {0};
+            return repository.findIdentifiersAfter(0)
+                    .doOnNext(row -> {
+                        fresh.put(row.email(), row.document());
+                        if (row.id() != null) maxId[0] = Math.max(maxId[0], row.id());
+                    })
+                    .count()
+                    .doOnNext(rows -> {
+                        filters = fresh;
+                        lastId = maxId[0];
+                        loaded = true;
+                        log.info("[user.filter] rebuilt users={} capacity={} bits={}",
+                                rows, capacity, fresh.emails().bitCount());
+                    })
+                    .doFinally(signal -> building = null)
+                    .then();
+        });
+    }
+
+    /** Agrega las filas insertadas desde la última lectura, incluidas las de otras instancias. */
+    public Mono<Void> sync() {
+        return Mono.defer(() -> {
+            Filters target = filters;
+            long[] maxId = {lastId};
+            return repository.findIdentifiersAfter(Math.max(0, lastId - SYNC_OVERLAP_IDS))
+                    .doOnNext(row -> {
+                        target.put(row.email(), row.document());
+                        if (row.id() != null) maxId[0] = Math.max(maxId[0], row.id());
+                    })
+                    .doOnComplete(() -> lastId = maxId[0])
+                    .then();
+        });
+    }
+
+    private Mono<Void> tick() {
+        // Sin carga completa o ya por encima de su capacidad, el filtro se reconstruye más grande
+        boolean rebuildDue = !loaded || lastId > filters.capacity();
+        return (rebuildDue ? rebuild() : sync())
+                .onErrorResume(err -> {
+                    log.warn("[user.filter] refresh failed: {}", err.toString());
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!enabled) return;
+        // Si la BD no responde al arrancar, todas las consultas van a la BD hasta que el
+        // siguiente ciclo logre construir el filtro.
+        rebuild().timeout(STARTUP_TIMEOUT).onErrorResume(err -> Mono.empty()).block();
+
+        if (!refreshInterval.isZero() && !refreshInterval.isNegative()) {
+            refresher = Flux.interval(refreshInterval, refreshInterval)
+                    .concatMap(n -> tick())
+                    .subscribe();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (refresher != null) refresher.dispose();
+    }
+
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
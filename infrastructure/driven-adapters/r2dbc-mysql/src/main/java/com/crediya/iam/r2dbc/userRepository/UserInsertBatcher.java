@@ -0,0 +1,148 @@
+package com.crediya.iam.r2dbc.userRepository;
+
+import com.crediya.iam.model.user.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Agrupa altas concurrentes (opcional): junta hasta maxBatchSize usuarios o lo que llegue en
+ * maxDelay y los escribe con un solo INSERT multi-fila ({@link UserBulkWriter}), con una
+ * conexión y una transacción por lote en vez de una por alta; los eventos user_created del lote
+ * se confirman con él. Cada llamador recibe su usuario con el id generado.
+ * Si el lote viola una restricción (email duplicado, rol inexistente), sus filas se reintentan
+ * una a una para que el error llegue solo a quien lo causó. Un llamador que cancela no saca su
+ * fila de un lote ya formado.
+ */
+@Slf4j
+@Component
+public class UserInsertBatcher implements InitializingBean, DisposableBean {
+
+    private record Pending(User user, Sinks.One<User> result) {
+    }
+
+    private final UserBulkWriter bulkWriter;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final Duration maxDelay;
+    private final int maxInFlightBatches;
+    private final DistributionSummary batchSize;
+    private final Counter rowByRow;
+
+    private FluxSink<Pending> queue;
+    private boolean closed;
+    private Disposable pipeline;
+
+    public UserInsertBatcher(UserBulkWriter bulkWriter,
+                             @Value("${adapters.r2dbc.insert-batching.enabled:false}") boolean enabled,
+                             @Value("${adapters.r2dbc.insert-batching.max-batch-size:50}") int maxBatchSize,
+                             @Value("${adapters.r2dbc.insert-batching.max-delay:PT0.005S}") Duration maxDelay,
+                             @Value("${adapters.r2dbc.insert-batching.max-in-flight-batches:2}") int maxInFlightBatches,
+                             MeterRegistry registry) {
+        this.bulkWriter = bulkWriter;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelay = maxDelay;
+        this.maxInFlightBatches = maxInFlightBatches;
+        this.batchSize = DistributionSummary.builder("iam.r2dbc.insert.batch.size")
+                .description("Altas escritas por cada INSERT agrupado")
+                .register(registry);
+        this.rowByRow = Counter.builder("iam.r2dbc.insert.batch.row-by-row")
+                .description("Lotes reintentados fila a fila por una violación de restricción")
+                .register(registry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Encola un alta (usuario sin id) y emite el usuario con su id cuando se escribe su lote.
+     * Sin cola abierta (antes de arrancar o ya cerrada) el alta se escribe sola.
+     */
+    public Mono<User> insert(User user) {
+        return Mono.defer(() -> {
+            Sinks.One<User> result = Sinks.one();
+            if (!enqueue(new Pending(user, result))) {
+                return bulkWriter.insertCreated(List.of(user)).map(saved -> saved.get(0));
+            }
+            return result.asMono();
+        });
+    }
+
+    /** Encolar y cerrar se excluyen: una fila encolada siempre llega al último lote. */
+    private synchronized boolean enqueue(Pending pending) {
+        if (queue == null || closed) return false;
+        queue.next(pending);
+        return true;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!enabled) return;
+        pipeline = Flux.<Pending>create(sink -> {
+                    synchronized (this) {
+                        queue = sink;
+                    }
+                })
+                // fairBackpressure: con los lotes en vuelo al tope, el siguiente espera en vez de fallar
+                .bufferTimeout(maxBatchSize, maxDelay, true)
+                .flatMap(this::flush, maxInFlightBatches)
+                .subscribe();
+    }
+
+    @Override
+    public synchronized void destroy() {
+        // Completar la cola escribe lo que quede pendiente en un último lote
+        closed = true;
+        if (queue != null) queue.complete();
+    }
+
+    Mono<Void> flush(List<Pending> batch) {
+        batchSize.record(batch.size());
+        List<User> users = batch.stream().map(Pending::user).toList();
+        return bulkWriter.insertCreated(users)
+                .doOnNext(saved -> {
+                    for (int i = 0; i < batch.size(); i++) {
+                        batch.get(i).result().tryEmitValue(saved.get(i));
+                    }
+                })
+                .then()
+                .onErrorResume(DataIntegrityViolationException.class, e -> batch.size() > 1
+                        ? insertOneByOne(batch)
+                        : fail(batch, e))
+                .onErrorResume(e -> {
+                    log.warn("[user.insertBatch] batch of {} failed: {}", batch.size(), e.toString());
+                    return fail(batch, e);
+                });
+    }
+
+    private Mono<Void> insertOneByOne(List<Pending> batch) {
+        rowByRow.increment();
+        return Flux.fromIterable(batch)
+                .concatMap(pending -> bulkWriter.insertCreated(List.of(pending.user()))
+                        .doOnNext(saved -> pending.result().tryEmitValue(saved.get(0)))
+                        .then()
+                        .onErrorResume(e -> fail(List.of(pending), e)))
+                .then();
+    }
+
+    private static Mono<Void> fail(List<Pending> batch, Throwable error) {
+        batch.forEach(pending -> pending.result().tryEmitError(error));
+        return Mono.empty();
+    }
+}
@@ -0,0 +1,122 @@
+package com.crediya.iam.r2dbc.userRepository;
+
+import com.crediya.iam.model.user.User;
+import com.crediya.iam.r2dbc.helper.SingleFlight;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Caché read-through del perfil público por email y por documento, acotada por tamaño y TTL.
+ * Solo guarda aciertos y nunca la contraseña. Una escritura invalida las entradas del usuario;
+ * una carga que empezó antes de esa invalidación no se guarda. Los fallos de caché concurrentes
+ * para la misma clave comparten una sola consulta ({@link SingleFlight}), también con la caché
+ * desactivada.
+ */
+@Component
+public class UserLookupCache {
+
+    private final boolean enabled;
+    private final Cache<String, User> byEmail;
+    private final Cache<String, User> byDocument;
+    private final SingleFlight<String, User> emailFlight;
+    private final SingleFlight<String, User> documentFlight;
+    /** Se incrementa en cada invalidación; una carga solo se guarda si no cambió mientras corría */
+    private final AtomicLong generation = new AtomicLong();
+
+    public UserLookupCache(@Value("${adapters.r2dbc.user-cache.enabled:true}") boolean enabled,
+                           @Value("${adapters.r2dbc.user-cache.ttl:PT60S}") Duration ttl,
+                           @Value("${adapters.r2dbc.user-cache.max-size:10000}") long maxSize,
+                           MeterRegistry registry) {
+        this.enabled = enabled;
+        this.byEmail = build(ttl, maxSize);
+        this.byDocument = build(ttl, maxSize);
+        CaffeineCacheMetrics.monitor(registry, byEmail, "users-by-email");
+        CaffeineCacheMetrics.monitor(registry, byDocument, "users-by-document");
+        this.emailFlight = new SingleFlight<>("users-by-email", registry);
+        this.documentFlight = new SingleFlight<>("users-by-document", registry);
+    }
+
+    public Mono<User> byEmail(String email, Function<String, Mono<User>> loader) {
+        return readThrough(byEmail, emailFlight, email, loader);
+    }
+
+    public Mono<User> byDocument(String document, Function<String, Mono<User>> loader) {
+        return readThrough(byDocument, documentFlight, document, loader);
+    }
+
+    /** Email en caché para el documento, o null si no está. */
+    public String emailForDocument(String document) {
+        if (!enabled || document == null) return null;
+        User hit = byDocument.getIfPresent(document);
+        return hit == null ? null : hit.getEmail();
+    }
+
+    /**
+     * Tras guardar un usuario. Un alta solo necesita soltar sus claves; una actualización
+     * (con id) pudo cambiar email o documento y los valores anteriores no se conocen aquí.
+     */
+    public void invalidate(User user) {
+        if (!enabled || user == null) return;
+        generation.incrementAndGet();
+        if (user.getEmail() != null) byEmail.invalidate(user.getEmail());
+        if (user.getIdentityDocument() != null) byDocument.invalidate(user.getIdentityDocument());
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        byEmail.invalidateAll();
+        byDocument.invalidateAll();
+    }
+
+    private Mono<User> readThrough(Cache<String, User> cache, SingleFlight<String, User> flight,
+                                   String key, Function<String, Mono<User>> loader) {
+        return Mono.defer(() -> {
+            if (enabled) {
+                User hit = cache.getIfPresent(key);
+                if (hit != null) return Mono.just(copy(hit));
+            }
+
+            long startedAt = generation.get();
+            return flight.execute(key, () -> loader.apply(key)
+                            .doOnNext(loaded -> {
+                                if (enabled && generation.get() == startedAt) cache.put(key, copy(loaded));
+                            }))
+                    // El resultado se comparte entre quienes esperaban: cada uno recibe su copia
+                    .map(UserLookupCache::copy);
+        });
+    }
+
+    private static Cache<String, User> build(Duration ttl, long maxSize) {
+        return Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    /** User es mutable: la caché nunca comparte su instancia con quien la consulta. */
+    private static User copy(User user) {
+        return User.builder()
+                .id(user.getId())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .email(user.getEmail())
+                .birthdate(user.getBirthdate())
+                .identityDocument(user.getIdentityDocument())
+                .phoneNumber(user.getPhoneNumber())
+                .baseSalary(user.getBaseSalary())
+                .address(user.getAddress())
+                .roleId(user.getRoleId())
+                .active(user.getActive())
+                .build();
+    }
+}
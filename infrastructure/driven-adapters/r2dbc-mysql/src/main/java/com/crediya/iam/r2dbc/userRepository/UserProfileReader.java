@@ -0,0 +1,93 @@
+package com.crediya.iam.r2dbc.userRepository;
+
+import com.crediya.iam.model.user.User;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.function.BiFunction;
+
+/**
+ * Lecturas del perfil público por DatabaseClient: cada Row se copia a User en una pasada,
+ * leyendo por índice, sin pasar por UserEntity ni por el ObjectMapper reflexivo.
+ */
+@Component
+public class UserProfileReader {
+
+    /** El orden de las columnas define los índices de abajo; nunca incluye password */
+    static final String PROFILE_COLUMNS = "SELECT id_usuario, nombre, apellido, email, fecha_nacimiento, "
+            + "documento_identidad, telefono, direccion, salario_base, id_rol FROM Usuario ";
+
+    static final int ID = 0;
+    static final int FIRST_NAME = 1;
+    static final int LAST_NAME = 2;
+    static final int EMAIL = 3;
+    static final int BIRTHDATE = 4;
+    static final int IDENTITY_DOCUMENT = 5;
+    static final int PHONE_NUMBER = 6;
+    static final int ADDRESS = 7;
+    static final int BASE_SALARY = 8;
+    static final int ROLE_ID = 9;
+
+    private static final String FIND_ALL = PROFILE_COLUMNS + "ORDER BY id_usuario";
+    private static final String FIND_PAGE = PROFILE_COLUMNS
+            + "WHERE id_usuario > :afterId ORDER BY id_usuario LIMIT :limit";
+    private static final String FIND_BY_EMAIL = PROFILE_COLUMNS + "WHERE email = :email";
+    private static final String FIND_BY_DOCUMENT = PROFILE_COLUMNS + "WHERE documento_identidad = :document LIMIT 1";
+
+    static final BiFunction<Row, RowMetadata, User> ROW_MAPPER = (row, metadata) -> toUser(row);
+
+    private final DatabaseClient client;
+
+    public UserProfileReader(DatabaseClient client) {
+        this.client = client;
+    }
+
+    public Flux<User> findAll() {
+        return client.sql(FIND_ALL).map(ROW_MAPPER).all();
+    }
+
+    /** Keyset sobre la PK: el costo no depende de cuántas páginas se hayan recorrido. */
+    public Flux<User> findPage(long afterId, int limit) {
+        return client.sql(FIND_PAGE)
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(ROW_MAPPER)
+                .all();
+    }
+
+    public Mono<User> findByEmail(String email) {
+        return client.sql(FIND_BY_EMAIL)
+                .bind("email", email)
+                .map(ROW_MAPPER)
+                .one();
+    }
+
+    public Mono<User> findByDocument(String document) {
+        return client.sql(FIND_BY_DOCUMENT)
+                .bind("document", document)
+                .map(ROW_MAPPER)
+                .one();
+    }
+
+    static User toUser(Row row) {
+        return User.builder()
+                .id(row.get(ID, Long.class))
+                .firstName(row.get(FIRST_NAME, String.class))
+                .lastName(row.get(LAST_NAME, String.class))
+                .email(row.get(EMAIL, String.class))
+                .birthdate(row.get(BIRTHDATE, LocalDate.class))
+                .identityDocument(row.get(IDENTITY_DOCUMENT, String.class))
+                .phoneNumber(row.get(PHONE_NUMBER, String.class))
+                .address(row.get(ADDRESS, String.class))
+                .baseSalary(row.get(BASE_SALARY, BigDecimal.class))
+                .roleId(row.get(ROLE_ID, Long.class))
+                .active(Boolean.TRUE)
+                .build();
+    }
+}
@@ -1,6 +1,8 @@
 package com.crediya.iam.r2dbc.userRepository;
 
-import com.crediya.iam.model.user.User;
+import com.crediya.iam.r2dbc.Dto.UserCredentialRow;
+import com.crediya.iam.r2dbc.Dto.UserDocumentEmailRow;
+import com.crediya.iam.r2dbc.Dto.UserIdentifierRow;
 import com.crediya.iam.r2dbc.entity.UserEntity;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -9,13 +11,34 @@ import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
 import java.util.UUID;
 
 public interface UserReactiveRepository extends ReactiveCrudRepository<UserEntity, Long>, ReactiveQueryByExampleExecutor<UserEntity> {
 
     Mono<Boolean> existsByEmail(String email);
-    Mono<User> findByEmail(String email);
-        @Query("SELECT * FROM Usuario WHERE documento_identidad = :document")
-        Mono<UserEntity> existUserForDocument(@Param("document") String document);
+
+        @Query("SELECT email FROM Usuario WHERE email IN (:emails)")
+        Flux<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+        @Query("SELECT documento_identidad FROM Usuario WHERE documento_identidad IN (:documents)")
+        Flux<String> findExistingDocuments(@Param("documents") Collection<String> documents);
+
+        @Query("SELECT documento_identidad, email FROM Usuario WHERE documento_identidad IN (:documents)")
+        Flux<UserDocumentEmailRow> findEmailsByDocuments(@Param("documents") Collection<String> documents);
+
+        @Query("SELECT id_usuario, email, documento_identidad FROM Usuario " +
+                "WHERE id_usuario > :afterId ORDER BY id_usuario")
+        Flux<UserIdentifierRow> findIdentifiersAfter(@Param("afterId") long afterId);
+
+        @Query("SELECT u.id_usuario, u.email, u.password, u.id_rol, r.nombre AS nombre_rol " +
+                "FROM Usuario u LEFT JOIN Rol r ON r.id_rol = u.id_rol " +
+                "WHERE u.email = :email")
+        Mono<UserCredentialRow> findCredentialByEmail(@Param("email") String email);
+
+        @Query("SELECT u.id_usuario, u.email, u.password, u.id_rol, r.nombre AS nombre_rol " +
+                "FROM Usuario u LEFT JOIN Rol r ON r.id_rol = u.id_rol " +
+                "WHERE u.id_usuario = :id")
+        Mono<UserCredentialRow> findCredentialById(@Param("id") Long id);
 
 }
\ No newline at end of file
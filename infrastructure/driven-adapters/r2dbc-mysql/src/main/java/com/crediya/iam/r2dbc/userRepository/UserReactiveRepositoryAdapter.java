@@ -1,17 +1,31 @@
 package com.crediya.iam.r2dbc.userRepository;
 
 import com.crediya.iam.model.user.User;
+import com.crediya.iam.model.user.UserCredential;
 import com.crediya.iam.model.user.gateways.UserRepository;
+import com.crediya.iam.r2dbc.Dto.UserCredentialRow;
+import com.crediya.iam.r2dbc.Dto.UserDocumentEmailRow;
 import com.crediya.iam.r2dbc.entity.UserEntity;
 import com.crediya.iam.r2dbc.helper.ReactiveAdapterOperations;
+import com.crediya.iam.r2dbc.helper.ReadRouting;
 import com.crediya.iam.r2dbc.mapper.UserEntityMapper;
-import com.crediya.iam.r2dbc.roleRepository.RoleReactiveRepository;
+import com.crediya.iam.usecase.user.exceptions.EmailDuplicadoException;
+import com.crediya.iam.usecase.user.exceptions.RoleNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.reactivecommons.utils.ObjectMapper;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 
 @Slf4j
@@ -23,73 +37,219 @@ public class UserReactiveRepositoryAdapter extends ReactiveAdapterOperations<
         UserReactiveRepository
         > implements UserRepository {
 
+    static final String EMAIL_UNIQUE_INDEX = "uq_usuario_email";
+    static final String ROLE_FOREIGN_KEY = "fk_usuario_rol";
+
     private final UserEntityMapper userEntityMapper;
-    private final RoleReactiveRepository roleRepository;
+    private final UserProfileReader profileReader;
+    private final UserBulkWriter bulkWriter;
+    private final UserIdentifierFilter identifierFilter;
+    private final UserLookupCache lookupCache;
+    private final RecentUserWrites recentWrites;
+    private final UserInsertBatcher insertBatcher;
 
     public UserReactiveRepositoryAdapter(UserReactiveRepository repository,
                                          UserEntityMapper userEntityMapper,
                                          ObjectMapper mapper,
-                                         RoleReactiveRepository roleRepository) {
-        super(repository, mapper, entity -> mapper.map(entity, User.class));
+                                         UserProfileReader profileReader,
+                                         UserBulkWriter bulkWriter,
+                                         UserIdentifierFilter identifierFilter,
+                                         UserLookupCache lookupCache,
+                                         RecentUserWrites recentWrites,
+                                         UserInsertBatcher insertBatcher) {
+        // Mapeo directo con los getters; el ObjectMapper reflexivo queda solo para toData
+        super(repository, mapper, userEntityMapper::toDomain);
         this.userEntityMapper = userEntityMapper;
-        this.roleRepository = roleRepository;
+        this.profileReader = profileReader;
+        this.bulkWriter = bulkWriter;
+        this.identifierFilter = identifierFilter;
+        this.lookupCache = lookupCache;
+        this.recentWrites = recentWrites;
+        this.insertBatcher = insertBatcher;
     }
 
+    /** Comprobación previa a un alta: se consulta en el primario, nunca en la réplica. */
     @Override
     public Mono<Boolean> existsByMail(String mail) {
-        if (mail == null) return Mono.just(false);
+        if (mail == null || !identifierFilter.mightContainEmail(mail)) return Mono.just(false);
         return repository.existsByEmail(mail.trim().toLowerCase(Locale.ROOT));
     }
 
     public Mono<User> existUserForDocument(String document) {
-        if (document == null) return Mono.empty();
-
-        return repository.existUserForDocument(document)
-                .doOnSubscribe(s -> log.info("[user.existUserForDocument] executing query for document={}", document))
-                .doOnNext(user -> log.info("[user.existUserForDocument] found=true id={} document={} email={}",
-                        user.getId(), user.getIdentityDocument(), user.getEmail()))
-                .doOnSuccess(user -> {
-                    if (user == null) {
-                        log.info("[user.existUserForDocument] found=false document={}", document);
-                    }
-                })
-                .map(userEntityMapper::toDomain)
-                .doOnSuccess(user -> {
-                    if (user != null) {
-                        log.info("[user.existUserForDocument] mapped to domain: id={} email={}", user.getId(), user.getEmail());
-                    }
-                });
+        if (document == null || !identifierFilter.mightContainDocument(document)) return Mono.empty();
+
+        return lookupCache.byDocument(document, this::readByDocument)
+                .doOnSuccess(user -> log.info("[user.existUserForDocument] document={} found={}",
+                        document, user != null));
+    }
+
+    @Override
+    public Mono<String> findEmailByDocument(String document) {
+        if (document == null || !identifierFilter.mightContainDocument(document)) return Mono.empty();
+        return lookupCache.byDocument(document, this::readByDocument)
+                .map(User::getEmail);
     }
 
+    @Override
+    public Mono<Map<String, String>> findEmailsByDocuments(Collection<String> documents) {
+        if (documents == null) return Mono.just(Map.of());
+        return Mono.defer(() -> {
+            // Los aciertos de caché salen directo; solo los documentos restantes van a la consulta IN
+            Map<String, String> emails = new HashMap<>();
+            List<String> candidates = new ArrayList<>();
+            for (String document : documents) {
+                if (!identifierFilter.mightContainDocument(document)) continue;
+                String email = lookupCache.emailForDocument(document);
+                if (email != null) emails.put(document, email);
+                else candidates.add(document);
+            }
+            if (candidates.isEmpty()) return Mono.just(emails);
+            Flux<UserDocumentEmailRow> rows = repository.findEmailsByDocuments(candidates);
+            if (candidates.stream().noneMatch(recentWrites::isRecent)) rows = ReadRouting.onReplica(rows);
+            return rows.collect(() -> emails, (map, row) -> map.put(row.document(), row.email()));
+        });
+    }
 
     @Override
     public Mono<User> findByEmail(String mail) {
         if(mail== null) return Mono.empty();
-        return repository.findByEmail(mail.trim().toLowerCase(Locale.ROOT));
+        return lookupCache.byEmail(mail.trim().toLowerCase(Locale.ROOT),
+                email -> readFor(email, profileReader.findByEmail(email)));
+    }
 
+    @Override
+    public Flux<User> findAll() {
+        return Flux.defer(() -> recentWrites.anyRecent()
+                ? profileReader.findAll()
+                : ReadRouting.onReplica(profileReader.findAll()));
     }
 
+    @Override
+    public Mono<UserCredential> findCredentialByEmail(String mail) {
+        if (mail == null) return Mono.empty();
+        String email = mail.trim().toLowerCase(Locale.ROOT);
+        return readFor(email, repository.findCredentialByEmail(email))
+                .map(UserReactiveRepositoryAdapter::toCredential);
+    }
+
+    @Override
+    public Mono<UserCredential> findCredentialById(Long id) {
+        if (id == null) return Mono.empty();
+        return Mono.defer(() -> recentWrites.anyRecent()
+                        ? repository.findCredentialById(id)
+                        : ReadRouting.onReplica(repository.findCredentialById(id)))
+                .map(UserReactiveRepositoryAdapter::toCredential);
+    }
+
+    @Override
+    public Flux<User> findPage(long afterId, int limit) {
+        return Flux.defer(() -> recentWrites.anyRecent()
+                ? profileReader.findPage(afterId, limit)
+                : ReadRouting.onReplica(profileReader.findPage(afterId, limit)));
+    }
+
+    private Mono<User> readByDocument(String document) {
+        return readFor(document, profileReader.findByDocument(document));
+    }
+
+    /** Lectura en la réplica, salvo que la clave se haya escrito hace poco (read-your-writes). */
+    private <T> Mono<T> readFor(String key, Mono<T> query) {
+        return Mono.defer(() -> recentWrites.isRecent(key) ? query : ReadRouting.onReplica(query));
+    }
+
+    /** Como existsByMail, las comprobaciones de duplicados de la importación van al primario. */
+    @Override
+    public Flux<String> findExistingEmails(Collection<String> emails) {
+        if (emails == null) return Flux.empty();
+        List<String> candidates = emails.stream().filter(identifierFilter::mightContainEmail).toList();
+        if (candidates.isEmpty()) return Flux.empty();
+        return repository.findExistingEmails(candidates);
+    }
+
+    @Override
+    public Flux<String> findExistingDocuments(Collection<String> documents) {
+        if (documents == null) return Flux.empty();
+        List<String> candidates = documents.stream().filter(identifierFilter::mightContainDocument).toList();
+        if (candidates.isEmpty()) return Flux.empty();
+        return repository.findExistingDocuments(candidates);
+    }
+
+    /** Los roles ya vienen validados por el caso de uso; aquí solo se escribe el lote con sus eventos. */
+    @Override
+    public Flux<User> insertAll(List<User> users) {
+        if (users == null || users.isEmpty()) return Flux.empty();
+        return bulkWriter.insertCreated(users)
+                .flatMapIterable(saved -> saved)
+                .doOnNext(identifierFilter::add)
+                .doOnNext(recentWrites::record)
+                .doOnNext(lookupCache::invalidate)
+                .doOnComplete(() -> log.info("[user.insertAll] inserted={}", users.size()))
+                .doOnError(err -> log.warn("[user.insertAll] batch of {} failed: {}", users.size(), err.toString()));
+    }
+
+    private static UserCredential toCredential(UserCredentialRow row) {
+        return new UserCredential(row.id(), row.email(), row.password(), row.roleId(), row.roleName());
+    }
+
+    /**
+     * Un solo INSERT: la unicidad del email la garantiza uq_usuario_email y la del rol la FK
+     * fk_usuario_rol. Las violaciones se traducen a las excepciones de dominio. Un alta escribe
+     * su evento user_created en la misma transacción ({@link UserBulkWriter#insertCreated}). Con
+     * el agrupado de altas activo, un alta fuera de una transacción comparte INSERT y transacción
+     * con las que lleguen a la vez; dentro de una, se escribe en la conexión de la transacción.
+     */
     @Override
     public Mono<User> save(User user) {
-        // 1) Validar que el roleId venga y exista en BD
         Long roleId = user.getRoleId();
         if (roleId == null) {
             return Mono.error(new IllegalArgumentException("El roleId es obligatorio"));
         }
 
-        return roleRepository.existsById(roleId)
-                .flatMap(exists -> {
-                    if (!exists) {
-                        return Mono.error(new IllegalArgumentException("El roleId no existe: " + roleId));
+        Mono<User> write;
+        if (user.getId() != null) {
+            write = Mono.fromSupplier(() -> userEntityMapper.toEntity(user))
+                    .flatMap(repository::save)
+                    .map(userEntityMapper::toDomain);
+        } else {
+            Mono<User> single = bulkWriter.insertCreated(List.of(user)).map(saved -> saved.get(0));
+            write = insertBatcher.isEnabled()
+                    ? inTransaction().flatMap(tx -> tx ? single : insertBatcher.insert(user))
+                    : single;
+        }
+
+        return write
+                .onErrorMap(DataIntegrityViolationException.class, e -> translate(e, user))
+                .doOnNext(identifierFilter::add)
+                .doOnNext(saved -> {
+                    if (user.getId() != null) {
+                        recentWrites.recordUpdate(saved);
+                        lookupCache.invalidateAll();
+                    } else {
+                        recentWrites.record(saved);
+                        lookupCache.invalidate(saved);
                     }
-                    // 2) Mapear y guardar si el rol existe
-                    var entity = userEntityMapper.toEntity(user);
-                    return repository.save(entity);
                 })
-
-                .map(userEntityMapper::toDomain)
                 .doOnSuccess(saved -> log.info("[user.save] id={} email={} roleId={}",
                         saved.getId(), saved.getEmail(), saved.getRoleId()))
                 .doOnError(err -> log.warn("[user.save] failed: {}", err.toString()));
     }
+
+    /** Un lote agrupado usa su propia conexión y quedaría fuera de la transacción en curso. */
+    private static Mono<Boolean> inTransaction() {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .map(TransactionSynchronizationManager::isActualTransactionActive)
+                .onErrorReturn(NoTransactionException.class, false);
+    }
+
+    /** El nombre de la restricción viene en el mensaje del driver. */
+    static Throwable translate(DataIntegrityViolationException e, User user) {
+        String message = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        if (message.contains(EMAIL_UNIQUE_INDEX)) {
+            return new EmailDuplicadoException(user.getEmail());
+        }
+        if (message.contains(ROLE_FOREIGN_KEY)) {
+            return new RoleNotFoundException(user.getRoleId());
+        }
+        return e;
+    }
 }
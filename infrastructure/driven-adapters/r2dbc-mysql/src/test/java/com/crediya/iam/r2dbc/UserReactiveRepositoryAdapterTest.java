@@ -1,23 +1,41 @@
 package com.crediya.iam.r2dbc;
 
 import com.crediya.iam.model.user.User;
+import com.crediya.iam.r2dbc.Dto.UserCredentialRow;
+import com.crediya.iam.r2dbc.Dto.UserDocumentEmailRow;
 import com.crediya.iam.r2dbc.entity.UserEntity;
+import com.crediya.iam.r2dbc.helper.ReadRouting;
 import com.crediya.iam.r2dbc.mapper.UserEntityMapper;
-import com.crediya.iam.r2dbc.roleRepository.RoleReactiveRepository;
+import com.crediya.iam.r2dbc.userRepository.RecentUserWrites;
+import com.crediya.iam.r2dbc.userRepository.UserBulkWriter;
+import com.crediya.iam.r2dbc.userRepository.UserIdentifierFilter;
+import com.crediya.iam.r2dbc.userRepository.UserInsertBatcher;
+import com.crediya.iam.r2dbc.userRepository.UserLookupCache;
+import com.crediya.iam.r2dbc.userRepository.UserProfileReader;
 import com.crediya.iam.r2dbc.userRepository.UserReactiveRepository;
 import com.crediya.iam.r2dbc.userRepository.UserReactiveRepositoryAdapter;
+import com.crediya.iam.usecase.user.exceptions.EmailDuplicadoException;
+import com.crediya.iam.usecase.user.exceptions.RoleNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.reactivecommons.utils.ObjectMapper;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
@@ -25,18 +43,33 @@ class UserReactiveRepositoryAdapterTest {
 
     private UserReactiveRepository repository;
     private UserEntityMapper userEntityMapper;
-    private RoleReactiveRepository roleRepository;
     private UserReactiveRepositoryAdapter adapter;
     private ObjectMapper objectMapper;
+    private UserProfileReader profileReader;
+    private UserBulkWriter bulkWriter;
+    private UserIdentifierFilter identifierFilter;
+    private UserLookupCache lookupCache;
+    private RecentUserWrites recentWrites;
 
     @BeforeEach
     void setUp() {
         repository = mock(UserReactiveRepository.class);
         userEntityMapper = mock(UserEntityMapper.class);
-        roleRepository = mock(RoleReactiveRepository.class);
         objectMapper = mock(ObjectMapper.class);
+        profileReader = mock(UserProfileReader.class);
+        bulkWriter = mock(UserBulkWriter.class);
+        identifierFilter = mock(UserIdentifierFilter.class);
+        // Por defecto el filtro no descarta nada: todo va al repositorio
+        lenient().when(identifierFilter.mightContainEmail(any())).thenReturn(true);
+        lenient().when(identifierFilter.mightContainDocument(any())).thenReturn(true);
 
-        adapter = new UserReactiveRepositoryAdapter(repository, userEntityMapper, objectMapper, roleRepository);
+        lookupCache = new UserLookupCache(true, Duration.ofMinutes(1), 100, new SimpleMeterRegistry());
+
+        recentWrites = new RecentUserWrites(Duration.ofSeconds(5));
+
+        adapter = new UserReactiveRepositoryAdapter(repository, userEntityMapper, objectMapper, profileReader,
+                bulkWriter, identifierFilter, lookupCache, recentWrites,
+                new UserInsertBatcher(bulkWriter, false, 50, Duration.ofMillis(5), 2, new SimpleMeterRegistry()));
     }
 
     @Test
@@ -64,45 +97,103 @@ class UserReactiveRepositoryAdapterTest {
         User user = new User();
         user.setEmail("user@mail.com");
 
-        when(repository.findByEmail("user@mail.com")).thenReturn(Mono.just(user));
+        when(profileReader.findByEmail("user@mail.com")).thenReturn(Mono.just(user));
 
         StepVerifier.create(adapter.findByEmail(" user@mail.com "))
                 .expectNextMatches(u -> u.getEmail().equals("user@mail.com"))
                 .verifyComplete();
     }
 
+    @Test
+    void findByEmail_readsFromReplicaUnlessTheUserWasJustWritten() {
+        // El lector responde por dónde se habría enrutado la consulta
+        when(profileReader.findByEmail(any())).thenAnswer(inv -> Mono.deferContextual(ctx -> Mono.just(
+                User.builder().email(inv.getArgument(0))
+                        .firstName(ReadRouting.prefersReplica(ctx) ? "replica" : "primary").build())));
+        recentWrites.record(User.builder().email("new@mail.com").build());
+
+        StepVerifier.create(adapter.findByEmail("old@mail.com"))
+                .expectNextMatches(u -> u.getFirstName().equals("replica"))
+                .verifyComplete();
+        StepVerifier.create(adapter.findByEmail("NEW@mail.com"))
+                .expectNextMatches(u -> u.getFirstName().equals("primary"))
+                .verifyComplete();
+    }
+
+    @Test
+    void existsByMail_alwaysQueriesThePrimary() {
+        when(repository.existsByEmail("a@mail.com")).thenReturn(Mono.deferContextual(ctx ->
+                Mono.just(!ReadRouting.prefersReplica(ctx))));
+
+        StepVerifier.create(adapter.existsByMail("a@mail.com"))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
     @Test
     void findByEmail_shouldReturnEmptyWhenNull() {
         StepVerifier.create(adapter.findByEmail(null))
                 .verifyComplete();
-        verify(repository, never()).findByEmail(any());
+        verifyNoInteractions(profileReader);
     }
 
     @Test
-    void existUserForDocument_shouldMapEntityToDomain() {
-        UserEntity entity = new UserEntity();
-        entity.setId(1L);
-        entity.setIdentityDocument("123");
-        entity.setEmail("doc@mail.com");
+    void findByEmail_shouldServeRepeatedLookupsFromCache() {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("user@mail.com");
+        when(profileReader.findByEmail("user@mail.com")).thenReturn(Mono.just(user));
 
-        User domain = new User();
-        domain.setId(1L);
-        domain.setIdentityDocument("123");
-        domain.setEmail("doc@mail.com");
+        StepVerifier.create(adapter.findByEmail("user@mail.com")).expectNextCount(1).verifyComplete();
+        StepVerifier.create(adapter.findByEmail("USER@mail.com"))
+                .expectNextMatches(u -> u.getId() == 1L && u != user)
+                .verifyComplete();
 
-        when(repository.existUserForDocument("123")).thenReturn(Mono.just(entity));
-        when(userEntityMapper.toDomain(entity)).thenReturn(domain);
+        verify(profileReader, times(1)).findByEmail("user@mail.com");
+    }
+
+    @Test
+    void existUserForDocument_shouldReadProfileThroughCache() {
+        User user = new User();
+        user.setId(1L);
+        user.setIdentityDocument("123");
+        user.setEmail("doc@mail.com");
+        when(profileReader.findByDocument("123")).thenReturn(Mono.just(user));
 
         StepVerifier.create(adapter.existUserForDocument("123"))
-                .expectNextMatches(u -> u.getEmail().equals("doc@mail.com"))
+                .expectNextMatches(u -> u.getEmail().equals("doc@mail.com") && u.getPassword() == null)
                 .verifyComplete();
+        StepVerifier.create(adapter.findEmailByDocument("123"))
+                .expectNext("doc@mail.com")
+                .verifyComplete();
+
+        verify(profileReader, times(1)).findByDocument("123");
     }
 
     @Test
     void existUserForDocument_shouldReturnEmptyWhenNull() {
         StepVerifier.create(adapter.existUserForDocument(null))
                 .verifyComplete();
-        verify(repository, never()).existUserForDocument(any());
+        verify(profileReader, never()).findByDocument(any());
+    }
+
+    @Test
+    void save_shouldInvalidateCachedLookupsOfSavedUser() {
+        User cached = new User();
+        cached.setEmail("ok@mail.com");
+        cached.setIdentityDocument("123");
+        when(profileReader.findByEmail("ok@mail.com")).thenReturn(Mono.just(cached));
+        adapter.findByEmail("ok@mail.com").block();
+
+        User user = new User();
+        user.setEmail("ok@mail.com");
+        user.setRoleId(3L);
+        when(bulkWriter.insertCreated(List.of(user))).thenReturn(Mono.just(List.of(cached)));
+
+        adapter.save(user).block();
+        adapter.findByEmail("ok@mail.com").block();
+
+        verify(profileReader, times(2)).findByEmail("ok@mail.com");
     }
 
     @Test
@@ -118,20 +209,70 @@ class UserReactiveRepositoryAdapterTest {
     }
 
     @Test
-    void save_shouldFailWhenRoleIdDoesNotExist() {
+    void save_shouldTranslateUniqueEmailViolation() {
+        User user = new User();
+        user.setEmail("dup@mail.com");
+        user.setRoleId(3L);
+
+        when(bulkWriter.insertCreated(List.of(user))).thenReturn(Mono.error(new DuplicateKeyException(
+                "Duplicate entry 'dup@mail.com' for key 'Usuario.uq_usuario_email'")));
+
+        StepVerifier.create(adapter.save(user))
+                .expectError(EmailDuplicadoException.class)
+                .verify();
+    }
+
+    @Test
+    void save_shouldTranslateRoleForeignKeyViolation() {
         User user = new User();
-        user.setId(1L);
         user.setEmail("x@mail.com");
         user.setRoleId(99L);
 
-        when(roleRepository.existsById(99L)).thenReturn(Mono.just(false));
+        when(bulkWriter.insertCreated(List.of(user))).thenReturn(Mono.error(new DataIntegrityViolationException(
+                "Cannot add or update a child row: a foreign key constraint fails (CONSTRAINT `fk_usuario_rol`)")));
 
         StepVerifier.create(adapter.save(user))
-                .expectErrorMatches(err -> err instanceof IllegalArgumentException &&
-                        err.getMessage().equals("El roleId no existe: 99"))
+                .expectErrorMatches(err -> err instanceof RoleNotFoundException r && r.getRoleId() == 99L)
+                .verify();
+    }
+
+    @Test
+    void save_shouldPassThroughOtherIntegrityViolations() {
+        User user = new User();
+        user.setEmail("x@mail.com");
+        user.setRoleId(3L);
+
+        when(bulkWriter.insertCreated(List.of(user))).thenReturn(Mono.error(new DuplicateKeyException("uq_usuario_documento")));
+
+        StepVerifier.create(adapter.save(user))
+                .expectError(DuplicateKeyException.class)
                 .verify();
     }
 
+    @Test
+    void save_withInsertBatching_writesThroughTheBatchAndTranslatesErrors() {
+        UserInsertBatcher batcher = new UserInsertBatcher(bulkWriter, true, 50, Duration.ofMillis(5), 2,
+                new SimpleMeterRegistry());
+        batcher.afterPropertiesSet();
+        UserReactiveRepositoryAdapter batched = new UserReactiveRepositoryAdapter(repository, userEntityMapper,
+                objectMapper, profileReader, bulkWriter, identifierFilter, lookupCache, recentWrites, batcher);
+        User ok = User.builder().email("ok@mail.com").roleId(3L).build();
+        User dup = User.builder().email("dup@mail.com").roleId(3L).build();
+        when(bulkWriter.insertCreated(List.of(ok))).thenReturn(Mono.just(List.of(ok.withId(10L))));
+        when(bulkWriter.insertCreated(List.of(dup))).thenReturn(Mono.error(new DuplicateKeyException(
+                "Duplicate entry 'dup@mail.com' for key 'Usuario.uq_usuario_email'")));
+
+        StepVerifier.create(batched.save(ok))
+                .expectNextMatches(saved -> saved.getId() == 10L)
+                .verifyComplete();
+        StepVerifier.create(batched.save(dup))
+                .expectError(EmailDuplicadoException.class)
+                .verify();
+
+        verify(repository, never()).save(any());
+        batcher.destroy();
+    }
+
     @Test
     void save_shouldMapAndPersistUserWhenRoleExists() {
         User user = new User();
@@ -148,7 +289,6 @@ class UserReactiveRepositoryAdapterTest {
         domain.setEmail("ok@mail.com");
         domain.setRoleId(5L);
 
-        when(roleRepository.existsById(5L)).thenReturn(Mono.just(true));
         when(userEntityMapper.toEntity(user)).thenReturn(entity);
         when(repository.save(entity)).thenReturn(Mono.just(entity));
         when(userEntityMapper.toDomain(entity)).thenReturn(domain);
@@ -156,5 +296,163 @@ class UserReactiveRepositoryAdapterTest {
         StepVerifier.create(adapter.save(user))
                 .expectNextMatches(saved -> saved.getEmail().equals("ok@mail.com") && saved.getRoleId() == 5L)
                 .verifyComplete();
+
+        verify(repository, never()).existsByEmail(any());
+        verify(identifierFilter).add(domain);
+    }
+
+    @Test
+    void findCredentialByEmail_shouldNormalizeAndMapJoinedRow() {
+        when(repository.findCredentialByEmail("ana@mail.com"))
+                .thenReturn(Mono.just(new UserCredentialRow(4L, "ana@mail.com", "hash", 2L, "ASESOR")));
+
+        StepVerifier.create(adapter.findCredentialByEmail("  Ana@Mail.com "))
+                .expectNextMatches(c -> c.id() == 4L && c.roleId() == 2L
+                        && c.roleName().equals("ASESOR") && c.password().equals("hash"))
+                .verifyComplete();
+    }
+
+    @Test
+    void findCredentialByEmail_shouldReturnEmptyWhenMailIsNull() {
+        StepVerifier.create(adapter.findCredentialByEmail(null)).verifyComplete();
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void findPage_shouldDelegateKeysetToProfileReader() {
+        User domain = new User();
+        domain.setId(11L);
+        when(profileReader.findPage(10L, 21)).thenReturn(Flux.just(domain));
+
+        StepVerifier.create(adapter.findPage(10L, 21))
+                .expectNextMatches(u -> u.getId() == 11L)
+                .verifyComplete();
+    }
+
+    @Test
+    void findAll_shouldReadThroughProfileReaderInsteadOfEntities() {
+        User domain = new User();
+        domain.setId(1L);
+        when(profileReader.findAll()).thenReturn(Flux.just(domain));
+
+        StepVerifier.create(adapter.findAll())
+                .expectNextMatches(u -> u.getId() == 1L && u.getPassword() == null)
+                .verifyComplete();
+
+        verify(repository, never()).findAll();
+        verifyNoInteractions(objectMapper);
+    }
+
+    @Test
+    void findEmailByDocument_shouldReturnOnlyTheEmail() {
+        User user = new User();
+        user.setEmail("doc@mail.com");
+        when(profileReader.findByDocument("123")).thenReturn(Mono.just(user));
+
+        StepVerifier.create(adapter.findEmailByDocument("123"))
+                .expectNext("doc@mail.com")
+                .verifyComplete();
+    }
+
+    @Test
+    void findExistingEmails_shouldSkipQueryForEmptyCollection() {
+        StepVerifier.create(adapter.findExistingEmails(List.of())).verifyComplete();
+
+        verify(repository, never()).findExistingEmails(any());
+    }
+
+    @Test
+    void findExistingDocuments_shouldReturnTakenDocuments() {
+        when(repository.findExistingDocuments(List.of("123", "456"))).thenReturn(Flux.just("456"));
+
+        StepVerifier.create(adapter.findExistingDocuments(List.of("123", "456")))
+                .expectNext("456")
+                .verifyComplete();
+    }
+
+    @Test
+    void insertAll_shouldAssignGeneratedIdsInOrder() {
+        User first = new User();
+        first.setEmail("a@mail.com");
+        User second = new User();
+        second.setEmail("b@mail.com");
+        when(bulkWriter.insertCreated(List.of(first, second)))
+                .thenReturn(Mono.just(List.of(first.withId(40L), second.withId(41L))));
+
+        StepVerifier.create(adapter.insertAll(List.of(first, second)))
+                .expectNextMatches(u -> u.getEmail().equals("a@mail.com") && u.getId() == 40L)
+                .expectNextMatches(u -> u.getEmail().equals("b@mail.com") && u.getId() == 41L)
+                .verifyComplete();
+
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void findEmailsByDocuments_shouldCollectRowsIntoMap() {
+        when(repository.findEmailsByDocuments(List.of("123", "456")))
+                .thenReturn(Flux.just(new UserDocumentEmailRow("123", "a@mail.com")));
+
+        StepVerifier.create(adapter.findEmailsByDocuments(List.of("123", "456")))
+                .expectNextMatches(map -> map.size() == 1 && map.get("123").equals("a@mail.com"))
+                .verifyComplete();
+    }
+
+    @Test
+    void existsByMail_shouldSkipQueryWhenFilterRulesEmailOut() {
+        when(identifierFilter.mightContainEmail("new@mail.com")).thenReturn(false);
+
+        StepVerifier.create(adapter.existsByMail("new@mail.com"))
+                .expectNext(false)
+                .verifyComplete();
+
+        verify(repository, never()).existsByEmail(any());
+    }
+
+    @Test
+    void findEmailByDocument_shouldSkipQueryWhenFilterRulesDocumentOut() {
+        when(identifierFilter.mightContainDocument("999")).thenReturn(false);
+
+        StepVerifier.create(adapter.findEmailByDocument("999")).verifyComplete();
+
+        verify(profileReader, never()).findByDocument(any());
+    }
+
+    @Test
+    void findEmailsByDocuments_shouldQueryOnlyDocumentsTheFilterCannotRuleOut() {
+        when(identifierFilter.mightContainDocument("999")).thenReturn(false);
+        when(repository.findEmailsByDocuments(List.of("123")))
+                .thenReturn(Flux.just(new UserDocumentEmailRow("123", "a@mail.com")));
+
+        StepVerifier.create(adapter.findEmailsByDocuments(List.of("123", "999")))
+                .expectNextMatches(map -> map.equals(Map.of("123", "a@mail.com")))
+                .verifyComplete();
+    }
+
+    @Test
+    void insertAll_shouldAddInsertedUsersToFilter() {
+        User user = new User();
+        user.setEmail("a@mail.com");
+        when(bulkWriter.insertCreated(List.of(user))).thenReturn(Mono.just(List.of(user.withId(40L))));
+
+        StepVerifier.create(adapter.insertAll(List.of(user)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(identifierFilter).add(argThat(u -> u.getId() == 40L));
+    }
+
+    @Test
+    void findEmailsByDocuments_shouldQueryOnlyDocumentsMissingFromCache() {
+        User user = new User();
+        user.setEmail("a@mail.com");
+        when(profileReader.findByDocument("123")).thenReturn(Mono.just(user));
+        adapter.findEmailByDocument("123").block();
+        when(repository.findEmailsByDocuments(List.of("456")))
+                .thenReturn(Flux.just(new UserDocumentEmailRow("456", "b@mail.com")));
+
+        StepVerifier.create(adapter.findEmailsByDocuments(List.of("123", "456")))
+                .expectNext(Map.of("123", "a@mail.com", "456", "b@mail.com"))
+                .verifyComplete();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+package com.crediya.iam.r2dbc.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.Connection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class MeteredConnectionPoolTest {
+
+    private SimpleMeterRegistry registry;
+    private ConnectionPool pool;
+    private PoolMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        pool = mock(ConnectionPool.class);
+        metrics = mock(PoolMetrics.class);
+        when(pool.getMetrics()).thenReturn(Optional.of(metrics));
+    }
+
+    @Test
+    void create_recordsAcquireTimeByOutcome() {
+        MeteredConnectionPool metered = new MeteredConnectionPool(pool, "test", false, registry);
+        when(pool.create()).thenReturn(Mono.just(mock(Connection.class)), Mono.error(new IllegalStateException("timeout")));
+
+        StepVerifier.create(metered.create()).expectNextCount(1).verifyComplete();
+        StepVerifier.create(metered.create()).expectError(IllegalStateException.class).verify();
+
+        assertThat(registry.get("iam.r2dbc.pool.acquire").tag("outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(registry.get("iam.r2dbc.pool.acquire").tag("outcome", "failure").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void gauges_readLivePoolState() {
+        new MeteredConnectionPool(pool, "test", false, registry);
+        when(metrics.acquiredSize()).thenReturn(3);
+        when(metrics.idleSize()).thenReturn(9);
+        when(metrics.pendingAcquireSize()).thenReturn(2);
+
+        assertThat(registry.get("iam.r2dbc.pool.acquired").tag("name", "test").gauge().value()).isEqualTo(3.0);
+        assertThat(registry.get("iam.r2dbc.pool.idle").gauge().value()).isEqualTo(9.0);
+        assertThat(registry.get("iam.r2dbc.pool.pending").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void afterPropertiesSet_preFillsPoolWhenWarmUpIsEnabled() {
+        when(pool.warmup()).thenReturn(Mono.just(12));
+
+        new MeteredConnectionPool(pool, "test", true, registry).afterPropertiesSet();
+
+        verify(pool).warmup();
+    }
+
+    @Test
+    void warmUp_failureDoesNotBreakStartup() {
+        when(pool.warmup()).thenReturn(Mono.error(new IllegalStateException("db down")));
+
+        StepVerifier.create(new MeteredConnectionPool(pool, "test", true, registry).warmUp())
+                .expectNext(0)
+                .verifyComplete();
+    }
+
+    @Test
+    void afterPropertiesSet_skipsWarmUpWhenDisabled() {
+        new MeteredConnectionPool(pool, "test", false, registry).afterPropertiesSet();
+
+        verify(pool, never()).warmup();
+    }
+}
@@ -1,12 +1,21 @@
 package com.crediya.iam.r2dbc.config;
 
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ValidationDepth;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class MySQLConnectionPoolTest {
@@ -23,14 +32,54 @@ class MySQLConnectionPoolTest {
         MockitoAnnotations.openMocks(this);
 
         when(properties.host()).thenReturn("localhost");
-        when(properties.port()).thenReturn(5432);
+        when(properties.port()).thenReturn(3306);
         when(properties.database()).thenReturn("dbName");
         when(properties.username()).thenReturn("username");
         when(properties.password()).thenReturn("password");
+        when(properties.pool()).thenReturn(MysqlConnectionProperties.Pool.defaults());
+        when(properties.preparedStatements()).thenReturn(new MysqlConnectionProperties.PreparedStatements(null, null));
+        when(properties.replica()).thenReturn(new MysqlConnectionProperties.Replica(
+                true, "replica.local", 3307, null, null));
     }
 
     @Test
     void getConnectionConfigSuccess() {
         assertNotNull(connectionPool.getConnectionConfig(properties));
     }
+
+    @Test
+    void getConnectionConfig_enablesServerPreparedStatementsOnlyWhenConfigured() {
+        when(properties.preparedStatements()).thenReturn(new MysqlConnectionProperties.PreparedStatements(true, 16));
+
+        assertNotNull(connectionPool.getConnectionConfig(properties));
+        verify(properties).preparedStatements();
+    }
+
+    @Test
+    void getReplicaConnectionConfig_usesReplicaServer() {
+        assertNotNull(connectionPool.getReplicaConnectionConfig(properties));
+        verify(properties, atLeastOnce()).replica();
+    }
+
+    @Test
+    void getPoolConfig_usesGivenPoolName() {
+        ConnectionPoolConfiguration config = connectionPool.getPoolConfig(mock(ConnectionFactory.class),
+                MysqlConnectionProperties.Pool.defaults(), MySQLConnectionPool.REPLICA_POOL_NAME);
+
+        assertEquals(MySQLConnectionPool.REPLICA_POOL_NAME, config.getName());
+    }
+
+    @Test
+    void getPoolConfig_appliesConfiguredLimits() {
+        MysqlConnectionProperties.Pool pool = new MysqlConnectionProperties.Pool(4, 8, null, Duration.ofMinutes(10),
+                Duration.ofSeconds(2), null, null, null, ValidationDepth.REMOTE, false);
+
+        ConnectionPoolConfiguration config = connectionPool.getPoolConfig(mock(ConnectionFactory.class), pool);
+
+        assertEquals(4, config.getInitialSize());
+        assertEquals(8, config.getMaxSize());
+        assertEquals(Duration.ofMinutes(10), config.getMaxLifeTime());
+        assertEquals(Duration.ofSeconds(2), config.getMaxAcquireTime());
+        assertEquals(ValidationDepth.REMOTE, config.getValidationDepth());
+    }
 }
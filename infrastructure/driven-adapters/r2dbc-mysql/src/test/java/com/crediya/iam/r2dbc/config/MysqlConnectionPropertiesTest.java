@@ -1,8 +1,14 @@
 package com.crediya.iam.r2dbc.config;
 
+import io.r2dbc.spi.ValidationDepth;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class MysqlConnectionPropertiesTest {
 
@@ -13,7 +19,10 @@ class MysqlConnectionPropertiesTest {
                 3306,
                 "testdb",
                 "root",
-                "secret"
+                "secret",
+                null,
+                null,
+                null
         );
 
         assertEquals("localhost", props.host());
@@ -22,4 +31,46 @@ class MysqlConnectionPropertiesTest {
         assertEquals("root", props.username());
         assertEquals("secret", props.password());
     }
-}
\ No newline at end of file
+
+    @Test
+    void missingPortAndPool_fallBackToMysqlDefaults() {
+        MysqlConnectionProperties props = new MysqlConnectionProperties("localhost", null, "db", "u", "p", null, null, null);
+
+        assertEquals(3306, props.port());
+        assertEquals(15, props.pool().maxSize());
+        assertEquals(12, props.pool().initialSize());
+        assertEquals(Duration.ofSeconds(5), props.pool().maxAcquireTime());
+        assertEquals(ValidationDepth.LOCAL, props.pool().validationDepth());
+        assertTrue(props.pool().warmUp());
+        assertFalse(props.preparedStatements().enabled());
+        assertEquals(32, props.preparedStatements().cacheSize());
+        assertFalse(props.replica().enabled());
+    }
+
+    @Test
+    void replica_requiresHostWhenEnabled() {
+        assertThrows(IllegalArgumentException.class, () -> new MysqlConnectionProperties.Replica(
+                true, " ", null, null, null));
+    }
+
+    @Test
+    void replica_fallsBackToDefaults() {
+        MysqlConnectionProperties.Replica replica = new MysqlConnectionProperties.Replica(
+                true, "replica.local", null, null, null);
+
+        assertEquals(3306, replica.port());
+        assertEquals(15, replica.pool().maxSize());
+        assertEquals(Duration.ofSeconds(5), replica.healthCheckInterval());
+    }
+
+    @Test
+    void preparedStatements_rejectsNonPositiveCacheSize() {
+        assertThrows(IllegalArgumentException.class, () -> new MysqlConnectionProperties.PreparedStatements(true, 0));
+    }
+
+    @Test
+    void pool_rejectsInitialSizeAboveMaxSize() {
+        assertThrows(IllegalArgumentException.class, () -> new MysqlConnectionProperties.Pool(
+                20, 10, null, null, null, null, null, null, null, null));
+    }
+}
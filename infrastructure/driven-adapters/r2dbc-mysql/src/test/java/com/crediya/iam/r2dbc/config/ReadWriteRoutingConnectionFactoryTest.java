@@ -0,0 +1,90 @@
+package com.crediya.iam.r2dbc.config;
+
+import com.crediya.iam.r2dbc.helper.ReadRouting;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ValidationDepth;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ReadWriteRoutingConnectionFactoryTest {
+
+    private SimpleMeterRegistry registry;
+    private ConnectionFactory primary;
+    private ConnectionFactory replica;
+    private Connection primaryConnection;
+    private Connection replicaConnection;
+    private ReadWriteRoutingConnectionFactory routing;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        primary = mock(ConnectionFactory.class);
+        replica = mock(ConnectionFactory.class);
+        primaryConnection = mock(Connection.class);
+        replicaConnection = mock(Connection.class);
+        doReturn(Mono.just(primaryConnection)).when(primary).create();
+        doReturn(Mono.just(replicaConnection)).when(replica).create();
+        doReturn(Mono.empty()).when(replicaConnection).close();
+        routing = new ReadWriteRoutingConnectionFactory(primary, replica, Duration.ofSeconds(1), registry);
+    }
+
+    private double reads(String target) {
+        return registry.get("iam.r2dbc.replica.reads").tag("target", target).counter().count();
+    }
+
+    @Test
+    void unmarkedQueries_goToThePrimary() {
+        StepVerifier.create(routing.create())
+                .expectNext(primaryConnection)
+                .verifyComplete();
+
+        verify(replica, never()).create();
+    }
+
+    @Test
+    void readOnlyQueries_goToTheReplica() {
+        StepVerifier.create(ReadRouting.onReplica(routing.create()))
+                .expectNext(replicaConnection)
+                .verifyComplete();
+
+        assertThat(reads("replica")).isEqualTo(1.0);
+    }
+
+    @Test
+    void replicaFailure_fallsBackToThePrimaryAndStopsRouting() {
+        doReturn(Mono.error(new IllegalStateException("replica down"))).when(replica).create();
+
+        StepVerifier.create(ReadRouting.onReplica(routing.create()))
+                .expectNext(primaryConnection)
+                .verifyComplete();
+        StepVerifier.create(ReadRouting.onReplica(routing.create()))
+                .expectNext(primaryConnection)
+                .verifyComplete();
+
+        assertThat(routing.isReplicaAvailable()).isFalse();
+        verify(replica, times(1)).create();
+        assertThat(reads("primary-fallback")).isEqualTo(2.0);
+    }
+
+    @Test
+    void healthCheck_marksTheReplicaDownAndBackUp() {
+        doReturn(Mono.just(false), Mono.just(true)).when(replicaConnection).validate(ValidationDepth.REMOTE);
+
+        StepVerifier.create(routing.checkReplica()).expectNext(false).verifyComplete();
+        assertThat(routing.isReplicaAvailable()).isFalse();
+        assertThat(registry.get("iam.r2dbc.replica.available").gauge().value()).isZero();
+
+        StepVerifier.create(routing.checkReplica()).expectNext(true).verifyComplete();
+        assertThat(routing.isReplicaAvailable()).isTrue();
+        verify(replicaConnection, times(2)).close();
+    }
+}
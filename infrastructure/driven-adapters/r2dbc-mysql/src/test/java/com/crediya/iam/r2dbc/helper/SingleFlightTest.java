@@ -0,0 +1,128 @@
+package com.crediya.iam.r2dbc.helper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightTest {
+
+    private SimpleMeterRegistry registry;
+    private SingleFlight<String, String> flight;
+    private AtomicInteger calls;
+    private Sinks.One<String> pending;
+    private AtomicBoolean upstreamCancelled;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        flight = new SingleFlight<>("test", registry);
+        calls = new AtomicInteger();
+        pending = Sinks.one();
+        upstreamCancelled = new AtomicBoolean();
+    }
+
+    private Mono<String> slowQuery() {
+        calls.incrementAndGet();
+        return pending.asMono().doOnCancel(() -> upstreamCancelled.set(true));
+    }
+
+    private double calls(String result) {
+        return registry.get("iam.r2dbc.singleflight.calls").tag("name", "test").tag("result", result).counter().count();
+    }
+
+    @Test
+    void concurrentCallersForSameKey_shareOneExecution() {
+        Mono<String> first = flight.execute("a@mail.com", this::slowQuery);
+        Mono<String> second = flight.execute("a@mail.com", this::slowQuery);
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> pending.tryEmitValue("row"))
+                .expectNextMatches(t -> t.getT1().equals("row") && t.getT2().equals("row"))
+                .verifyComplete();
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(calls("executed")).isEqualTo(1.0);
+        assertThat(calls("coalesced")).isEqualTo(1.0);
+        assertThat(flight.inFlight()).isZero();
+    }
+
+    @Test
+    void differentKeys_runIndependently() {
+        flight.execute("a", () -> Mono.just("1")).block();
+        flight.execute("b", () -> Mono.just("2")).block();
+
+        assertThat(calls("executed")).isEqualTo(2.0);
+        assertThat(calls("coalesced")).isZero();
+    }
+
+    @Test
+    void callAfterCompletion_queriesAgain() {
+        flight.execute("a", () -> {
+            calls.incrementAndGet();
+            return Mono.just("1");
+        }).block();
+        flight.execute("a", () -> {
+            calls.incrementAndGet();
+            return Mono.just("2");
+        }).block();
+
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void errors_reachEveryWaitingCallerAndReleaseTheKey() {
+        Mono<String> first = flight.execute("a", this::slowQuery);
+        Mono<String> second = flight.execute("a", this::slowQuery);
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> pending.tryEmitError(new IllegalStateException("db down")))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        assertThat(flight.inFlight()).isZero();
+    }
+
+    @Test
+    void emptyResult_isSharedAsEmpty() {
+        StepVerifier.create(flight.execute("a", Mono::<String>empty)).verifyComplete();
+    }
+
+    @Test
+    void oneCallerCancelling_doesNotCancelTheOthers() {
+        Disposable leaving = flight.execute("a", this::slowQuery).subscribe();
+        Mono<String> staying = flight.execute("a", this::slowQuery);
+
+        StepVerifier.create(staying)
+                .then(() -> {
+                    leaving.dispose();
+                    pending.tryEmitValue("row");
+                })
+                .expectNext("row")
+                .verifyComplete();
+
+        assertThat(upstreamCancelled.get()).isFalse();
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void allCallersCancelling_cancelsTheQueryAndReleasesTheKey() {
+        Disposable first = flight.execute("a", this::slowQuery).subscribe();
+        Disposable second = flight.execute("a", this::slowQuery).subscribe();
+
+        first.dispose();
+        second.dispose();
+
+        assertThat(upstreamCancelled.get()).isTrue();
+        assertThat(flight.inFlight()).isZero();
+        assertThat(calls("cancelled")).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,79 @@
+package com.crediya.iam.r2dbc.refreshTokenRepository;
+
+import com.crediya.iam.model.token.RefreshToken;
+import com.crediya.iam.r2dbc.entity.RefreshTokenEntity;
+import com.crediya.iam.r2dbc.mapper.RefreshTokenEntityMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivecommons.utils.ObjectMapper;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenReactiveRepositoryAdapterTest {
+
+    private RefreshTokenReactiveRepository repository;
+    private RefreshTokenReactiveRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RefreshTokenReactiveRepository.class);
+        adapter = new RefreshTokenReactiveRepositoryAdapter(repository, new RefreshTokenEntityMapper() { },
+                mock(ObjectMapper.class));
+    }
+
+    @Test
+    void save_shouldStoreDatesInUtcAndMapBack() {
+        Instant expires = Instant.parse("2025-01-15T10:00:00Z");
+        when(repository.save(any())).thenAnswer(inv -> Mono.just(
+                inv.<RefreshTokenEntity>getArgument(0).toBuilder().id(5L).build()));
+
+        StepVerifier.create(adapter.save(RefreshToken.builder()
+                        .tokenHash("h").userId(1L).familyId("f").expiresAt(expires).build()))
+                .expectNextMatches(t -> t.getId() == 5L && t.getExpiresAt().equals(expires) && !t.isRevoked())
+                .verifyComplete();
+
+        verify(repository).save(argThat(e ->
+                e.getExpiresAt().equals(LocalDateTime.ofInstant(expires, ZoneOffset.UTC))));
+    }
+
+    @Test
+    void findByTokenHash_shouldReturnEmptyWhenHashIsNull() {
+        StepVerifier.create(adapter.findByTokenHash(null)).verifyComplete();
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void consume_shouldReportWhetherThisCallUpdatedTheRow() {
+        when(repository.consume(1L)).thenReturn(Mono.just(1));
+        when(repository.consume(2L)).thenReturn(Mono.just(0));
+
+        StepVerifier.create(adapter.consume(1L)).expectNext(true).verifyComplete();
+        StepVerifier.create(adapter.consume(2L)).expectNext(false).verifyComplete();
+    }
+
+    @Test
+    void revokeFamily_shouldCompleteAfterUpdate() {
+        when(repository.revokeFamily("fam")).thenReturn(Mono.just(3));
+
+        StepVerifier.create(adapter.revokeFamily("fam")).verifyComplete();
+
+        verify(repository).revokeFamily("fam");
+    }
+
+    @Test
+    void isFamilyRevoked_shouldBeTrueWhenAnyRowCarriesTheMark() {
+        when(repository.countRevokedInFamily("closed")).thenReturn(Mono.just(2L));
+        when(repository.countRevokedInFamily("open")).thenReturn(Mono.just(0L));
+
+        StepVerifier.create(adapter.isFamilyRevoked("closed")).expectNext(true).verifyComplete();
+        StepVerifier.create(adapter.isFamilyRevoked("open")).expectNext(false).verifyComplete();
+    }
+}
@@ -0,0 +1,78 @@
+package com.crediya.iam.r2dbc.revokedTokenRepository;
+
+import com.crediya.iam.model.token.RevokedToken;
+import com.crediya.iam.r2dbc.entity.RevokedTokenEntity;
+import com.crediya.iam.r2dbc.mapper.RevokedTokenEntityMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivecommons.utils.ObjectMapper;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RevokedTokenReactiveRepositoryAdapterTest {
+
+    private RevokedTokenReactiveRepository repository;
+    private RevokedTokenReactiveRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RevokedTokenReactiveRepository.class);
+        adapter = new RevokedTokenReactiveRepositoryAdapter(repository, new RevokedTokenEntityMapper() { },
+                mock(ObjectMapper.class));
+    }
+
+    @Test
+    void save_shouldStoreDatesInUtc() {
+        Instant expires = Instant.parse("2025-01-15T10:00:00Z");
+        when(repository.save(any())).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+
+        StepVerifier.create(adapter.save(RevokedToken.builder().jti("j").expiresAt(expires).build()))
+                .verifyComplete();
+
+        verify(repository).save(argThat(e ->
+                e.getJti().equals("j") && e.getExpiresAt().equals(LocalDateTime.ofInstant(expires, ZoneOffset.UTC))));
+    }
+
+    @Test
+    void save_shouldIgnoreAlreadyRevokedJti() {
+        when(repository.save(any())).thenReturn(Mono.error(new DuplicateKeyException("uq_revoked_token_jti")));
+
+        StepVerifier.create(adapter.save(RevokedToken.builder().jti("j").build())).verifyComplete();
+    }
+
+    @Test
+    void existsByJti_shouldReturnFalseWhenJtiIsNull() {
+        StepVerifier.create(adapter.existsByJti(null)).expectNext(false).verifyComplete();
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void findActiveRevokedSince_shouldMapRows() {
+        Instant since = Instant.parse("2025-01-15T10:00:00Z");
+        Instant now = since.plusSeconds(60);
+        when(repository.findActiveRevokedSince(LocalDateTime.ofInstant(since, ZoneOffset.UTC),
+                LocalDateTime.ofInstant(now, ZoneOffset.UTC)))
+                .thenReturn(Flux.just(RevokedTokenEntity.builder().id(1L).jti("j1").build()));
+
+        StepVerifier.create(adapter.findActiveRevokedSince(since, now))
+                .expectNextMatches(t -> t.getJti().equals("j1"))
+                .verifyComplete();
+    }
+
+    @Test
+    void deleteExpired_shouldReturnDeletedRows() {
+        when(repository.deleteExpired(any())).thenReturn(Mono.just(4));
+
+        StepVerifier.create(adapter.deleteExpired(Instant.now())).expectNext(4L).verifyComplete();
+    }
+}
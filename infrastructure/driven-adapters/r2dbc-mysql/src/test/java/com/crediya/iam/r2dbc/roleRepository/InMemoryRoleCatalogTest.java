@@ -0,0 +1,89 @@
+package com.crediya.iam.r2dbc.roleRepository;
+
+import com.crediya.iam.r2dbc.entity.RoleEntity;
+import com.crediya.iam.r2dbc.mapper.RoleEntityMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class InMemoryRoleCatalogTest {
+
+    private RoleReactiveRepository repository;
+    private InMemoryRoleCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RoleReactiveRepository.class);
+        RoleEntityMapper mapper = new RoleEntityMapper() { };
+        catalog = new InMemoryRoleCatalog(repository, mapper, Duration.ZERO);
+    }
+
+    private static RoleEntity role(long id, String name) {
+        return RoleEntity.builder().id(id).name(name).description(name).build();
+    }
+
+    @Test
+    void afterPropertiesSet_loadsRolesOnceAndServesFromMemory() {
+        when(repository.findAll()).thenReturn(Flux.just(role(1L, "ADMIN"), role(2L, "ASESOR")));
+
+        catalog.afterPropertiesSet();
+
+        assertThat(catalog.findById(2L)).hasValueSatisfying(r -> assertThat(r.getName()).isEqualTo("ASESOR"));
+        assertThat(catalog.findById(1L)).isPresent();
+        assertThat(catalog.findById(9L)).isEmpty();
+        assertThat(catalog.findById(null)).isEmpty();
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    void refresh_replacesCatalog() {
+        when(repository.findAll())
+                .thenReturn(Flux.just(role(1L, "ADMIN")))
+                .thenReturn(Flux.just(role(1L, "ADMIN"), role(3L, "CLIENTE")));
+
+        catalog.afterPropertiesSet();
+        assertThat(catalog.findById(3L)).isEmpty();
+
+        StepVerifier.create(catalog.refresh()).verifyComplete();
+
+        assertThat(catalog.findById(3L)).isPresent();
+    }
+
+    @Test
+    void failedRefresh_keepsPreviousCatalog() {
+        when(repository.findAll())
+                .thenReturn(Flux.just(role(1L, "ADMIN")))
+                .thenReturn(Flux.error(new IllegalStateException("db down")));
+
+        catalog.afterPropertiesSet();
+
+        StepVerifier.create(catalog.refresh()).expectError(IllegalStateException.class).verify();
+
+        assertThat(catalog.findById(1L)).isPresent();
+    }
+
+    @Test
+    void startup_toleratesUnavailableDatabase() {
+        when(repository.findAll()).thenReturn(Flux.error(new IllegalStateException("db down")));
+
+        catalog.afterPropertiesSet();
+
+        assertThat(catalog.findById(1L)).isEmpty();
+    }
+
+    @Test
+    void findById_returnsDefensiveCopy() {
+        when(repository.findAll()).thenReturn(Flux.just(role(1L, "ADMIN")));
+        catalog.afterPropertiesSet();
+
+        catalog.findById(1L).orElseThrow().setName("HACKED");
+
+        assertThat(catalog.findById(1L).orElseThrow().getName()).isEqualTo("ADMIN");
+    }
+}
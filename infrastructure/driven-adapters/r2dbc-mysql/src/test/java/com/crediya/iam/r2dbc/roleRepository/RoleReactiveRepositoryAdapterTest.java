@@ -1,6 +1,7 @@
 package com.crediya.iam.r2dbc.roleRepository;
 
 import com.crediya.iam.model.role.Role;
+import com.crediya.iam.model.role.gateways.RoleCatalog;
 import com.crediya.iam.r2dbc.entity.RoleEntity;
 import com.crediya.iam.r2dbc.mapper.RoleEntityMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,6 +10,8 @@ import org.reactivecommons.utils.ObjectMapper;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.Optional;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -17,6 +20,7 @@ class RoleReactiveRepositoryAdapterTest {
     private RoleReactiveRepository roleReactiveRepository;
     private RoleEntityMapper roleEntityMapper;
     private ObjectMapper objectMapper;
+    private RoleCatalog roleCatalog;
     private RoleReactiveRepositoryAdapter adapter;
 
     @BeforeEach
@@ -24,8 +28,9 @@ class RoleReactiveRepositoryAdapterTest {
         roleReactiveRepository = mock(RoleReactiveRepository.class);
         roleEntityMapper = mock(RoleEntityMapper.class);
         objectMapper = mock(ObjectMapper.class);
+        roleCatalog = mock(RoleCatalog.class);
 
-        adapter = new RoleReactiveRepositoryAdapter(roleReactiveRepository, roleEntityMapper, objectMapper);
+        adapter = new RoleReactiveRepositoryAdapter(roleReactiveRepository, roleEntityMapper, objectMapper, roleCatalog);
     }
 
     @Test
@@ -67,4 +72,15 @@ class RoleReactiveRepositoryAdapterTest {
         verify(roleReactiveRepository).findById(99L);
         verify(roleEntityMapper, never()).toDomain(any());
     }
+
+    @Test
+    void findById_shouldServeFromCatalogWithoutQueryingDatabase() {
+        when(roleCatalog.findById(2L)).thenReturn(Optional.of(Role.create(2L, "ASESOR", "Asesor")));
+
+        StepVerifier.create(adapter.findById(2L))
+                .expectNextMatches(r -> r.getName().equals("ASESOR"))
+                .verifyComplete();
+
+        verify(roleReactiveRepository, never()).findById((Long) any());
+    }
 }
@@ -0,0 +1,53 @@
+package com.crediya.iam.r2dbc.userRepository;
+
+import com.crediya.iam.model.user.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecentUserWritesTest {
+
+    private final User user = User.builder().id(1L).email("A@mail.com").identityDocument("123").build();
+
+    @Test
+    void nothingWritten_nothingPinned() {
+        RecentUserWrites writes = new RecentUserWrites(Duration.ofSeconds(5));
+
+        assertThat(writes.isRecent("a@mail.com")).isFalse();
+        assertThat(writes.anyRecent()).isFalse();
+    }
+
+    @Test
+    void record_pinsTheUserKeysAndListings() {
+        RecentUserWrites writes = new RecentUserWrites(Duration.ofSeconds(5));
+
+        writes.record(user);
+
+        assertThat(writes.isRecent("a@mail.com")).isTrue();
+        assertThat(writes.isRecent("123")).isTrue();
+        assertThat(writes.isRecent("other@mail.com")).isFalse();
+        assertThat(writes.anyRecent()).isTrue();
+    }
+
+    @Test
+    void recordUpdate_pinsEveryKeyDuringTheWindow() {
+        RecentUserWrites writes = new RecentUserWrites(Duration.ofSeconds(5));
+
+        writes.recordUpdate(user);
+
+        assertThat(writes.isRecent("previous@mail.com")).isTrue();
+    }
+
+    @Test
+    void pinsExpireAfterTheWindow() throws InterruptedException {
+        RecentUserWrites writes = new RecentUserWrites(Duration.ofMillis(20));
+
+        writes.recordUpdate(user);
+        Thread.sleep(40);
+
+        assertThat(writes.isRecent("a@mail.com")).isFalse();
+        assertThat(writes.anyRecent()).isFalse();
+    }
+}
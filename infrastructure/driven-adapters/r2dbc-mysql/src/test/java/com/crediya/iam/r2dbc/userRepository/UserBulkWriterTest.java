@@ -0,0 +1,132 @@
+package com.crediya.iam.r2dbc.userRepository;
+
+import com.crediya.iam.model.user.User;
+import com.crediya.iam.model.user.gateways.UserEventOutbox;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Ejecuta el INSERT multi-fila real y su transacción con el outbox. Por defecto contra H2 en modo MySQL; con
+ * -Ptest.r2dbc.url=r2dbc:mysql://... contra MySQL, que devuelve un solo id por sentencia.
+ */
+class UserBulkWriterTest {
+
+    private static final String URL = System.getProperty("test.r2dbc.url",
+            "r2dbc:h2:mem:///bulk-writer;MODE=MySQL;DB_CLOSE_DELAY=-1");
+
+    private DatabaseClient client;
+    private TransactionalOperator transactions;
+    private UserBulkWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(URL);
+        client = DatabaseClient.create(connectionFactory);
+        transactions = TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+        writer = new UserBulkWriter(client, new UserEventOutboxAdapter(client, Duration.ofSeconds(10)), transactions);
+        Flux.just(
+                "DROP TABLE IF EXISTS Usuario",
+                "DROP TABLE IF EXISTS user_outbox",
+                "CREATE TABLE Usuario (id_usuario BIGINT AUTO_INCREMENT PRIMARY KEY, nombre VARCHAR(100) NOT NULL, "
+                        + "apellido VARCHAR(100) NOT NULL, email VARCHAR(150) NOT NULL UNIQUE, "
+                        + "fecha_nacimiento DATE NOT NULL, documento_identidad VARCHAR(50) NOT NULL UNIQUE, "
+                        + "telefono VARCHAR(30), direccion VARCHAR(255), password VARCHAR(100), "
+                        + "salario_base DECIMAL(15,2) NOT NULL, id_rol BIGINT NOT NULL)",
+                "CREATE TABLE user_outbox (id_user_outbox BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                        + "event_type VARCHAR(40) NOT NULL, id_usuario BIGINT NOT NULL, "
+                        + "created_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6))"
+        ).concatMap(sql -> client.sql(sql).then()).blockLast();
+    }
+
+    private static User user(int i) {
+        return User.builder()
+                .firstName("Nombre" + i)
+                .lastName("Apellido" + i)
+                .email("user" + i + "@bulk.local")
+                .birthdate(LocalDate.of(1990, 1, 1))
+                .identityDocument(String.valueOf(10_000_000 + i))
+                .phoneNumber("3000000000")
+                .address("Calle " + i)
+                .password("hash")
+                .baseSalary(BigDecimal.valueOf(1_000_000))
+                .roleId(3L)
+                .build();
+    }
+
+    private Map<String, Long> idsByEmail() {
+        return client.sql("SELECT id_usuario, email FROM Usuario")
+                .map(row -> Map.entry(row.get("email", String.class), row.get("id_usuario", Long.class)))
+                .all()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue))
+                .block();
+    }
+
+    @Test
+    void insert_returnsOneIdPerRowMatchingTheStoredRows() {
+        // Un alta previa para que los ids del lote no empiecen en 1
+        writer.insert(List.of(user(0))).blockLast();
+        List<User> batch = List.of(user(1), user(2), user(3));
+
+        List<Long> ids = writer.insert(batch).collectList().block();
+
+        Map<String, Long> stored = idsByEmail();
+        assertThat(ids).hasSize(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            assertThat(ids.get(i)).isEqualTo(stored.get(batch.get(i).getEmail()));
+        }
+    }
+
+    @Test
+    void insertCreated_writesOneUserCreatedEventPerRow() {
+        List<User> saved = writer.insertCreated(List.of(user(1), user(2), user(3))).block();
+
+        List<Long> eventUsers = client.sql("SELECT id_usuario FROM user_outbox WHERE event_type = 'user_created' "
+                        + "ORDER BY id_user_outbox")
+                .map(row -> row.get(0, Long.class))
+                .all()
+                .collectList()
+                .block();
+        assertThat(eventUsers).containsExactlyElementsOf(saved.stream().map(User::getId).toList());
+    }
+
+    @Test
+    void insertCreated_rollsBackTheUsersWhenTheOutboxWriteFails() {
+        UserEventOutbox failing = mock(UserEventOutbox.class);
+        when(failing.append(anyList())).thenReturn(Mono.error(new IllegalStateException("outbox down")));
+        UserBulkWriter failingWriter = new UserBulkWriter(client, failing, transactions);
+
+        StepVerifier.create(failingWriter.insertCreated(List.of(user(1), user(2))))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        assertThat(idsByEmail()).isEmpty();
+    }
+
+    @Test
+    void insert_ofEmptyList_doesNotTouchTheDatabase() {
+        StepVerifier.create(writer.insert(List.of()))
+                .verifyComplete();
+
+        assertThat(idsByEmail()).isEmpty();
+    }
+}
@@ -0,0 +1,147 @@
+package com.crediya.iam.r2dbc.userRepository;
+
+import com.crediya.iam.model.user.User;
+import com.crediya.iam.model.user.UserEvent;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserEventOutboxAdapterTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+    private static final Duration GAP_TIMEOUT = Duration.ofSeconds(10);
+
+    private static UserEvent event(long sequence, Instant occurredAt) {
+        return new UserEvent(sequence, UserEvent.USER_CREATED, occurredAt, null);
+    }
+
+    private static List<Long> prefix(long after, UserEvent... rows) {
+        return UserEventOutboxAdapter.committedPrefix(after, List.of(rows), NOW, GAP_TIMEOUT).stream()
+                .map(UserEvent::sequence)
+                .toList();
+    }
+
+    @Test
+    void contiguousSequences_areAllReturned() {
+        assertThat(prefix(10, event(11, NOW), event(12, NOW), event(13, NOW))).containsExactly(11L, 12L, 13L);
+    }
+
+    @Test
+    void aRecentGap_stopsTheReadUntilItIsFilledOrTimesOut() {
+        // 12 puede ser una transacción que aún no confirma
+        assertThat(prefix(10, event(11, NOW), event(13, NOW), event(14, NOW))).containsExactly(11L);
+        assertThat(prefix(10, event(12, NOW))).isEmpty();
+    }
+
+    @Test
+    void anOldGap_isSkipped() {
+        Instant old = NOW.minus(GAP_TIMEOUT).minusSeconds(1);
+
+        assertThat(prefix(10, event(11, NOW), event(13, old), event(14, NOW))).containsExactly(11L, 13L, 14L);
+    }
+
+    @Test
+    void emptyRead_returnsNothing() {
+        assertThat(prefix(10)).isEmpty();
+    }
+
+    private static DatabaseClient database() {
+        DatabaseClient client = DatabaseClient.create(ConnectionFactories.get(
+                System.getProperty("test.r2dbc.url", "r2dbc:h2:mem:///outbox;MODE=MySQL;DB_CLOSE_DELAY=-1")));
+        Flux.just(
+                "DROP TABLE IF EXISTS user_outbox",
+                "DROP TABLE IF EXISTS user_outbox_offset",
+                "DROP TABLE IF EXISTS Usuario",
+                "CREATE TABLE Usuario (id_usuario BIGINT AUTO_INCREMENT PRIMARY KEY, nombre VARCHAR(100), "
+                        + "apellido VARCHAR(100), email VARCHAR(150), fecha_nacimiento DATE, "
+                        + "documento_identidad VARCHAR(50), telefono VARCHAR(30), direccion VARCHAR(255), "
+                        + "salario_base DECIMAL(15,2), id_rol BIGINT)",
+                "CREATE TABLE user_outbox (id_user_outbox BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                        + "event_type VARCHAR(40) NOT NULL, id_usuario BIGINT NOT NULL, "
+                        + "created_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6))",
+                "CREATE TABLE user_outbox_offset (consumer VARCHAR(100) PRIMARY KEY, last_id BIGINT NOT NULL, "
+                        + "updated_at DATETIME(6) NOT NULL)",
+                "INSERT INTO Usuario (id_usuario, email, id_rol) VALUES (7, 'ana@mail.com', 3)"
+        ).concatMap(sql -> client.sql(sql).then()).blockLast();
+        return client;
+    }
+
+    private static void run(DatabaseClient client, String... statements) {
+        Flux.just(statements).concatMap(sql -> client.sql(sql).then()).blockLast();
+    }
+
+    private static List<Long> sequences(DatabaseClient client) {
+        return client.sql("SELECT id_user_outbox FROM user_outbox ORDER BY id_user_outbox")
+                .map(row -> row.get(0, Long.class))
+                .all()
+                .collectList()
+                .block();
+    }
+
+    @Test
+    void readAfter_returnsEventsStampedByTheDatabaseClock() {
+        DatabaseClient client = database();
+        UserEventOutboxAdapter outbox = new UserEventOutboxAdapter(client, GAP_TIMEOUT);
+
+        outbox.append(List.of(UserEvent.created(User.builder().id(7L).build()))).block();
+        List<UserEvent> read = outbox.readAfter(0, 10).collectList().block();
+
+        assertThat(read).hasSize(1);
+        assertThat(read.get(0).sequence()).isEqualTo(1L);
+        assertThat(read.get(0).user().getEmail()).isEqualTo("ana@mail.com");
+        assertThat(read.get(0).occurredAt()).isNotNull();
+    }
+
+    @Test
+    void deleteConsumed_keepsRecentEventsAndEventsAnOffsetHasNotPassed() {
+        DatabaseClient client = database();
+        run(client,
+                "INSERT INTO user_outbox (id_user_outbox, event_type, id_usuario, created_at) VALUES "
+                        + "(1, 'user_created', 7, TIMESTAMPADD(DAY, -9, CURRENT_TIMESTAMP(6))), "
+                        + "(2, 'user_created', 7, TIMESTAMPADD(DAY, -9, CURRENT_TIMESTAMP(6))), "
+                        + "(3, 'user_created', 7, TIMESTAMPADD(DAY, -9, CURRENT_TIMESTAMP(6))), "
+                        + "(4, 'user_created', 7, CURRENT_TIMESTAMP(6))",
+                "INSERT INTO user_outbox_offset (consumer, last_id, updated_at) VALUES "
+                        + "('a', 4, CURRENT_TIMESTAMP(6)), ('b', 2, CURRENT_TIMESTAMP(6))");
+        UserEventOutboxAdapter outbox = new UserEventOutboxAdapter(client, GAP_TIMEOUT);
+
+        assertThat(outbox.deleteConsumed(Duration.ofDays(7), 100).block()).isEqualTo(2L);
+        // 3 es viejo pero el consumidor b no lo leyó; 4 es reciente
+        assertThat(sequences(client)).containsExactly(3L, 4L);
+    }
+
+    @Test
+    void deleteConsumed_removesAtMostTheLimit() {
+        DatabaseClient client = database();
+        run(client, "INSERT INTO user_outbox (id_user_outbox, event_type, id_usuario, created_at) VALUES "
+                + "(1, 'user_created', 7, TIMESTAMPADD(DAY, -9, CURRENT_TIMESTAMP(6))), "
+                + "(2, 'user_created', 7, TIMESTAMPADD(DAY, -9, CURRENT_TIMESTAMP(6))), "
+                + "(3, 'user_created', 7, TIMESTAMPADD(DAY, -9, CURRENT_TIMESTAMP(6)))");
+        UserEventOutboxAdapter outbox = new UserEventOutboxAdapter(client, GAP_TIMEOUT);
+
+        assertThat(outbox.deleteConsumed(Duration.ofDays(7), 2).block()).isEqualTo(2L);
+        assertThat(sequences(client)).hasSize(1);
+    }
+
+    @Test
+    void deleteStaleOffsets_dropsOnlyOffsetsNobodyTouched() {
+        DatabaseClient client = database();
+        run(client, "INSERT INTO user_outbox_offset (consumer, last_id, updated_at) VALUES "
+                + "('old-pod', 1, TIMESTAMPADD(DAY, -3, CURRENT_TIMESTAMP(6))), "
+                + "('live-pod', 1, TIMESTAMPADD(DAY, -3, CURRENT_TIMESTAMP(6)))");
+        UserEventOutboxAdapter outbox = new UserEventOutboxAdapter(client, GAP_TIMEOUT);
+
+        outbox.touchOffset("live-pod").block();
+
+        assertThat(outbox.deleteStaleOffsets(Duration.ofDays(1)).block()).isEqualTo(1L);
+        assertThat(outbox.loadOffset("live-pod").block()).isEqualTo(1L);
+        assertThat(outbox.loadOffset("old-pod").block()).isNull();
+    }
+}
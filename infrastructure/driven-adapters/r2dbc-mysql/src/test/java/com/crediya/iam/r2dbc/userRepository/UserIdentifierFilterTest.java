@@ -0,0 +1,89 @@
+package com.crediya.iam.r2dbc.userRepository;
+
+import com.crediya.iam.model.user.User;
+import com.crediya.iam.r2dbc.Dto.UserIdentifierRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class UserIdentifierFilterTest {
+
+    private UserReactiveRepository repository;
+    private UserIdentifierFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(UserReactiveRepository.class);
+        filter = new UserIdentifierFilter(repository, true, 1000, 0.01, Duration.ZERO);
+    }
+
+    @Test
+    void beforeLoading_everyIdentifierMightExist() {
+        assertThat(filter.mightContainEmail("nadie@mail.com")).isTrue();
+        assertThat(filter.mightContainDocument("000")).isTrue();
+        assertThat(filter.mightContainEmail(null)).isFalse();
+    }
+
+    @Test
+    void afterPropertiesSet_streamsTableAndRulesOutUnknownIdentifiers() {
+        when(repository.findIdentifiersAfter(0)).thenReturn(Flux.just(
+                new UserIdentifierRow(1L, "ana@mail.com", "111"),
+                new UserIdentifierRow(2L, "luis@mail.com", "222")));
+
+        filter.afterPropertiesSet();
+
+        assertThat(filter.mightContainEmail(" ANA@mail.com ")).isTrue();
+        assertThat(filter.mightContainDocument("222")).isTrue();
+        assertThat(filter.mightContainEmail("nadie@mail.com")).isFalse();
+        assertThat(filter.mightContainDocument("999")).isFalse();
+    }
+
+    @Test
+    void add_makesLocalSignupVisibleImmediately() {
+        when(repository.findIdentifiersAfter(0)).thenReturn(Flux.empty());
+        filter.afterPropertiesSet();
+
+        filter.add(User.builder().email("nuevo@mail.com").identityDocument("333").build());
+
+        assertThat(filter.mightContainEmail("nuevo@mail.com")).isTrue();
+        assertThat(filter.mightContainDocument("333")).isTrue();
+    }
+
+    @Test
+    void sync_readsOnlyRowsAfterLastIdMinusOverlap() {
+        when(repository.findIdentifiersAfter(0)).thenReturn(Flux.just(new UserIdentifierRow(5000L, "a@mail.com", "1")));
+        filter.afterPropertiesSet();
+        when(repository.findIdentifiersAfter(4000L)).thenReturn(Flux.just(new UserIdentifierRow(5001L, "b@mail.com", "2")));
+
+        StepVerifier.create(filter.sync()).verifyComplete();
+
+        assertThat(filter.mightContainEmail("b@mail.com")).isTrue();
+        verify(repository).findIdentifiersAfter(4000L);
+    }
+
+    @Test
+    void failedStartupLoad_keepsSendingEveryLookupToTheDatabase() {
+        when(repository.findIdentifiersAfter(0)).thenReturn(Flux.error(new IllegalStateException("db down")));
+
+        filter.afterPropertiesSet();
+
+        assertThat(filter.mightContainEmail("nadie@mail.com")).isTrue();
+    }
+
+    @Test
+    void disabled_neverQueriesAndNeverRulesOut() {
+        UserIdentifierFilter disabled = new UserIdentifierFilter(repository, false, 1000, 0.01, Duration.ZERO);
+
+        disabled.afterPropertiesSet();
+
+        assertThat(disabled.mightContainDocument("999")).isTrue();
+        verify(repository, never()).findIdentifiersAfter(anyLong());
+    }
+}
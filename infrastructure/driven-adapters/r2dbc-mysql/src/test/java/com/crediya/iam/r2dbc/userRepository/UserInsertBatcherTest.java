@@ -0,0 +1,123 @@
+package com.crediya.iam.r2dbc.userRepository;
+
+import com.crediya.iam.model.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class UserInsertBatcherTest {
+
+    private SimpleMeterRegistry registry;
+    private UserBulkWriter bulkWriter;
+    private UserInsertBatcher batcher;
+
+    private final User ana = User.builder().email("ana@mail.com").roleId(1L).build();
+    private final User bob = User.builder().email("bob@mail.com").roleId(1L).build();
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        bulkWriter = mock(UserBulkWriter.class);
+        // Una espera larga: los lotes de los tests se cierran por tamaño
+        batcher = new UserInsertBatcher(bulkWriter, true, 2, Duration.ofSeconds(10), 2, registry);
+        batcher.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.destroy();
+    }
+
+    @Test
+    void concurrentInserts_shareOneStatementAndGetTheirOwnIds() {
+        when(bulkWriter.insertCreated(List.of(ana, bob))).thenReturn(Mono.just(List.of(ana.withId(7L), bob.withId(8L))));
+
+        StepVerifier.create(Mono.zip(batcher.insert(ana), batcher.insert(bob)))
+                .expectNextMatches(t -> t.getT1().getId() == 7L && t.getT1().getEmail().equals("ana@mail.com")
+                        && t.getT2().getId() == 8L && t.getT2().getEmail().equals("bob@mail.com"))
+                .verifyComplete();
+
+        verify(bulkWriter, times(1)).insertCreated(anyList());
+        assertThat(registry.get("iam.r2dbc.insert.batch.size").summary().totalAmount()).isEqualTo(2.0);
+    }
+
+    @Test
+    void constraintViolation_isRetriedRowByRowAndReachesOnlyItsCaller() {
+        DuplicateKeyException duplicate = new DuplicateKeyException("Duplicate entry for key 'uq_usuario_email'");
+        when(bulkWriter.insertCreated(List.of(ana, bob))).thenReturn(Mono.error(duplicate));
+        when(bulkWriter.insertCreated(List.of(ana))).thenReturn(Mono.just(List.of(ana.withId(7L))));
+        when(bulkWriter.insertCreated(List.of(bob))).thenReturn(Mono.error(duplicate));
+
+        StepVerifier.create(Mono.zip(
+                        batcher.insert(ana).map(User::getId),
+                        batcher.insert(bob).map(User::getId).onErrorReturn(DuplicateKeyException.class, -1L)))
+                .expectNextMatches(t -> t.getT1() == 7L && t.getT2() == -1L)
+                .verifyComplete();
+
+        assertThat(registry.get("iam.r2dbc.insert.batch.row-by-row").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void otherErrors_failTheWholeBatch() {
+        when(bulkWriter.insertCreated(List.of(ana, bob))).thenReturn(Mono.error(new IllegalStateException("db down")));
+
+        StepVerifier.create(Mono.zip(batcher.insert(ana), batcher.insert(bob)))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        verify(bulkWriter, times(1)).insertCreated(anyList());
+    }
+
+    @Test
+    void aLoneInsert_isFlushedAfterTheDelay() {
+        UserInsertBatcher quick = new UserInsertBatcher(bulkWriter, true, 50, Duration.ofMillis(5), 2, registry);
+        quick.afterPropertiesSet();
+        when(bulkWriter.insertCreated(List.of(ana))).thenReturn(Mono.just(List.of(ana.withId(3L))));
+
+        StepVerifier.create(quick.insert(ana))
+                .expectNextMatches(u -> u.getId() == 3L)
+                .verifyComplete();
+        quick.destroy();
+    }
+
+    @Test
+    void insertAfterDestroy_writesTheRowOnItsOwn() {
+        batcher.destroy();
+        when(bulkWriter.insertCreated(List.of(ana))).thenReturn(Mono.just(List.of(ana.withId(5L))));
+
+        StepVerifier.create(batcher.insert(ana))
+                .expectNextMatches(u -> u.getId() == 5L)
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void insertBeforeTheQueueStarts_writesTheRowOnItsOwn() {
+        UserInsertBatcher notStarted = new UserInsertBatcher(bulkWriter, true, 50, Duration.ofMillis(5), 2, registry);
+        when(bulkWriter.insertCreated(List.of(ana))).thenReturn(Mono.just(List.of(ana.withId(6L))));
+
+        StepVerifier.create(notStarted.insert(ana))
+                .expectNextMatches(u -> u.getId() == 6L)
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void disabled_isNotUsed() {
+        UserInsertBatcher off = new UserInsertBatcher(bulkWriter, false, 50, Duration.ofMillis(5), 2, registry);
+        off.afterPropertiesSet();
+
+        assertThat(off.isEnabled()).isFalse();
+    }
+}
@@ -0,0 +1,101 @@
+package com.crediya.iam.r2dbc.userRepository;
+
+import com.crediya.iam.model.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserLookupCacheTest {
+
+    private SimpleMeterRegistry registry;
+    private UserLookupCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        cache = new UserLookupCache(true, Duration.ofMinutes(1), 100, registry);
+        loads = new AtomicInteger();
+    }
+
+    private Mono<User> load(String email) {
+        loads.incrementAndGet();
+        return Mono.just(User.builder().id(1L).email(email).identityDocument("123").password("hash").build());
+    }
+
+    @Test
+    void byEmail_loadsOnceAndReturnsCopiesWithoutPassword() {
+        User first = cache.byEmail("a@mail.com", this::load).block();
+        User second = cache.byEmail("a@mail.com", this::load).block();
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getEmail()).isEqualTo("a@mail.com");
+        assertThat(second.getPassword()).isNull();
+    }
+
+    @Test
+    void byDocument_doesNotCacheMisses() {
+        cache.byDocument("999", d -> {
+            loads.incrementAndGet();
+            return Mono.empty();
+        }).block();
+
+        assertThat(cache.emailForDocument("999")).isNull();
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidate_dropsEntriesOfTheUser() {
+        cache.byEmail("a@mail.com", this::load).block();
+
+        cache.invalidate(User.builder().email("a@mail.com").build());
+        cache.byEmail("a@mail.com", this::load).block();
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void loadStartedBeforeInvalidation_isNotStored() {
+        Sinks.One<User> slowLoad = Sinks.one();
+        StepVerifier.create(cache.byEmail("a@mail.com", e -> slowLoad.asMono()))
+                .then(() -> {
+                    cache.invalidate(User.builder().email("a@mail.com").build());
+                    slowLoad.tryEmitValue(User.builder().email("a@mail.com").build());
+                })
+                .expectNextCount(1)
+                .verifyComplete();
+
+        cache.byEmail("a@mail.com", this::load).block();
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void disabled_alwaysCallsTheLoader() {
+        UserLookupCache disabled = new UserLookupCache(false, Duration.ofMinutes(1), 100, registry);
+
+        disabled.byEmail("a@mail.com", this::load).block();
+        disabled.byEmail("a@mail.com", this::load).block();
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void hitsAndMisses_areExportedAsCacheMetrics() {
+        cache.byEmail("a@mail.com", this::load).block();
+        cache.byEmail("a@mail.com", this::load).block();
+
+        assertThat(registry.get("cache.gets").tag("cache", "users-by-email").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("cache.gets").tag("cache", "users-by-email").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,71 @@
+package com.crediya.iam.r2dbc.userRepository;
+
+import com.crediya.iam.model.user.User;
+import io.r2dbc.spi.Row;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class UserProfileReaderTest {
+
+    @Test
+    void toUser_shouldReadEveryColumnByIndex() {
+        Row row = mock(Row.class);
+        when(row.get(UserProfileReader.ID, Long.class)).thenReturn(7L);
+        when(row.get(UserProfileReader.FIRST_NAME, String.class)).thenReturn("Ana");
+        when(row.get(UserProfileReader.LAST_NAME, String.class)).thenReturn("Ruiz");
+        when(row.get(UserProfileReader.EMAIL, String.class)).thenReturn("ana@mail.com");
+        when(row.get(UserProfileReader.BIRTHDATE, LocalDate.class)).thenReturn(LocalDate.of(1990, 1, 1));
+        when(row.get(UserProfileReader.IDENTITY_DOCUMENT, String.class)).thenReturn("123");
+        when(row.get(UserProfileReader.PHONE_NUMBER, String.class)).thenReturn("300");
+        when(row.get(UserProfileReader.ADDRESS, String.class)).thenReturn("Calle 1");
+        when(row.get(UserProfileReader.BASE_SALARY, BigDecimal.class)).thenReturn(BigDecimal.TEN);
+        when(row.get(UserProfileReader.ROLE_ID, Long.class)).thenReturn(3L);
+
+        User user = UserProfileReader.toUser(row);
+
+        assertThat(user.getId()).isEqualTo(7L);
+        assertThat(user.getFirstName()).isEqualTo("Ana");
+        assertThat(user.getLastName()).isEqualTo("Ruiz");
+        assertThat(user.getEmail()).isEqualTo("ana@mail.com");
+        assertThat(user.getBirthdate()).isEqualTo(LocalDate.of(1990, 1, 1));
+        assertThat(user.getIdentityDocument()).isEqualTo("123");
+        assertThat(user.getPhoneNumber()).isEqualTo("300");
+        assertThat(user.getAddress()).isEqualTo("Calle 1");
+        assertThat(user.getBaseSalary()).isEqualTo(BigDecimal.TEN);
+        assertThat(user.getRoleId()).isEqualTo(3L);
+        assertThat(user.getPassword()).isNull();
+        assertThat(user.getActive()).isTrue();
+    }
+
+    @Test
+    void toUser_shouldNeverLookUpColumnsByName() {
+        Row row = mock(Row.class);
+
+        UserProfileReader.toUser(row);
+
+        verify(row, never()).get(anyString(), any());
+        verify(row, times(10)).get(anyInt(), any());
+    }
+
+    @Test
+    void profileColumns_shouldMatchIndexConstants() {
+        String columns = UserProfileReader.PROFILE_COLUMNS
+                .substring("SELECT ".length(), UserProfileReader.PROFILE_COLUMNS.indexOf(" FROM"));
+        List<String> names = Arrays.stream(columns.split(",")).map(String::trim).toList();
+
+        assertThat(names).hasSize(10).doesNotContain("password");
+        assertThat(names.get(UserProfileReader.ID)).isEqualTo("id_usuario");
+        assertThat(names.get(UserProfileReader.EMAIL)).isEqualTo("email");
+        assertThat(names.get(UserProfileReader.IDENTITY_DOCUMENT)).isEqualTo("documento_identidad");
+        assertThat(names.get(UserProfileReader.BASE_SALARY)).isEqualTo("salario_base");
+        assertThat(names.get(UserProfileReader.ROLE_ID)).isEqualTo("id_rol");
+    }
+}
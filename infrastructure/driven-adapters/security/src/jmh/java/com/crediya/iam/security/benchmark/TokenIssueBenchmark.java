@@ -0,0 +1,65 @@
+package com.crediya.iam.security.benchmark;
+
+import com.crediya.iam.security.jwt.Hs256TokenWriter;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emisión de un token de login: Jwts.builder() (camino anterior) frente a Hs256TokenWriter.
+ * Correr con -prof gc para comparar asignaciones por operación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TokenIssueBenchmark {
+
+    private static final String ISSUER = "autenticacion-service";
+    private static final String EMAIL = "ana.perez@example.com";
+    private static final String ROLE = "CLIENTE";
+    private static final String JTI = "0b6c7f0e-8d1f-4c52-9a43-5b1f0c2d7e91";
+
+    private SecretKey key;
+    private Hs256TokenWriter writer;
+    private long now;
+
+    @Setup
+    public void setUp() {
+        key = Keys.hmacShaKeyFor("QnE1T2lXbVRhV3RzR2VOUXlHaFZ2d2dyU2p2a1R2TnM=".getBytes(StandardCharsets.UTF_8));
+        writer = new Hs256TokenWriter(key.getEncoded());
+        now = System.currentTimeMillis() / 1000;
+    }
+
+    @Benchmark
+    public String jjwtBuilder() {
+        return Jwts.builder()
+                .setSubject("12345")
+                .setId(JTI)
+                .setIssuer(ISSUER)
+                .setIssuedAt(new Date(now * 1000))
+                .setExpiration(new Date((now + 3600) * 1000))
+                .claim("email", EMAIL)
+                .claim("roles", List.of(ROLE))
+                .claim("roleId", 3L)
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public String fixedShapeWriter() {
+        return writer.write("12345", JTI, ISSUER, now, now + 3600, EMAIL, ROLE, 3L);
+    }
+}
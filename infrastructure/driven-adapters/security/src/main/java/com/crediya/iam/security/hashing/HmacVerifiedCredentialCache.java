@@ -0,0 +1,80 @@
+package com.crediya.iam.security.hashing;
+
+import com.crediya.iam.usecase.authenticate.VerifiedCredentialCachePort;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+
+/**
+ * Guarda por email un HMAC-SHA256 de (email, contraseña, hash almacenado); nunca la contraseña.
+ * La llave HMAC es aleatoria por instancia y no sale de memoria.
+ */
+public class HmacVerifiedCredentialCache implements VerifiedCredentialCachePort {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+    private final Cache<String, byte[]> cache;
+
+    public HmacVerifiedCredentialCache(PasswordHashingProperties.CredentialCache props, MeterRegistry registry) {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(props.getTtlSec()))
+                .maximumSize(props.getMaxSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "verified-credentials");
+    }
+
+    @Override
+    public boolean isVerified(String email, String rawPassword, String storedHash) {
+        if (email == null || rawPassword == null || storedHash == null) return false;
+        byte[] expected = cache.getIfPresent(email);
+        return expected != null && MessageDigest.isEqual(expected, digest(email, rawPassword, storedHash));
+    }
+
+    @Override
+    public void remember(String email, String rawPassword, String storedHash) {
+        if (email == null || rawPassword == null || storedHash == null) return;
+        cache.put(email, digest(email, rawPassword, storedHash));
+    }
+
+    private byte[] digest(String email, String rawPassword, String storedHash) {
+        Mac mac = macs.get();
+        update(mac, email);
+        update(mac, rawPassword);
+        update(mac, storedHash);
+        return mac.doFinal();
+    }
+
+    /** Prefija la longitud para que ("ab","c") y ("a","bc") no colisionen. */
+    private static void update(Mac mac, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        mac.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        mac.update(bytes);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC no disponible", e);
+        }
+    }
+}
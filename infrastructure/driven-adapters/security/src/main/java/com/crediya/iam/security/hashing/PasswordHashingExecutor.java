@@ -0,0 +1,122 @@
+package com.crediya.iam.security.hashing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool de CPU dedicado a BCrypt, separado del event loop de Netty y de boundedElastic.
+ * La cola es acotada: cuando se llena, la verificación falla con RejectedExecutionException.
+ */
+@Slf4j
+@Component
+public class PasswordHashingExecutor implements DisposableBean {
+
+    /** Peso de la última muestra en el promedio móvil del tiempo de hash */
+    private static final double EWMA_ALPHA = 0.2;
+
+    private final ThreadPoolExecutor pool;
+    private final int queueCapacity;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong averageHashNanos = new AtomicLong();
+    private final Scheduler scheduler;
+    private final Timer queueWait;
+    private final Timer hashTime;
+
+    public PasswordHashingExecutor(PasswordHashingProperties props, MeterRegistry registry) {
+        int threads = Math.max(1, props.getThreads());
+        this.queueCapacity = Math.max(1, props.getQueueCapacity());
+
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory(), new ThreadPoolExecutor.AbortPolicy());
+        this.scheduler = Schedulers.fromExecutorService(pool, "password-hashing");
+
+        this.queueWait = Timer.builder("iam.password.hash.queue.wait")
+                .description("Tiempo en cola antes de iniciar la verificación BCrypt")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.hashTime = Timer.builder("iam.password.hash.duration")
+                .description("Tiempo de CPU de la verificación BCrypt")
+                .publishPercentileHistogram()
+                .register(registry);
+        Gauge.builder("iam.password.hash.queued", pool, p -> p.getQueue().size()).register(registry);
+        Gauge.builder("iam.password.hash.active", pool, ThreadPoolExecutor::getActiveCount).register(registry);
+        Gauge.builder("iam.password.hash.threads", pool, ThreadPoolExecutor::getMaximumPoolSize).register(registry);
+
+        log.info("[password-hashing] threads={} queueCapacity={}", threads, queueCapacity);
+    }
+
+    /**
+     * Ejecuta la tarea en el pool dedicado, midiendo la espera en cola y el tiempo de hash.
+     */
+    public <T> Mono<T> submit(Callable<T> task) {
+        return Mono.defer(() -> {
+            long enqueuedAt = System.nanoTime();
+            inFlight.incrementAndGet();
+            return Mono.fromCallable(() -> {
+                        long startedAt = System.nanoTime();
+                        queueWait.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+                        try {
+                            return task.call();
+                        } finally {
+                            long elapsed = System.nanoTime() - startedAt;
+                            hashTime.record(elapsed, TimeUnit.NANOSECONDS);
+                            updateAverage(elapsed);
+                        }
+                    })
+                    .subscribeOn(scheduler)
+                    .doFinally(signal -> inFlight.decrementAndGet());
+        });
+    }
+
+    /** Verificaciones encoladas o en ejecución. */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /** Promedio móvil del tiempo de hash observado; 0 mientras no haya muestras. */
+    public long averageHashNanos() {
+        return averageHashNanos.get();
+    }
+
+    public int threads() {
+        return pool.getMaximumPoolSize();
+    }
+
+    public int queueCapacity() {
+        return queueCapacity;
+    }
+
+    private void updateAverage(long sample) {
+        averageHashNanos.accumulateAndGet(sample, (current, value) ->
+                current == 0 ? value : (long) (current + EWMA_ALPHA * (value - current)));
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "password-hashing-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
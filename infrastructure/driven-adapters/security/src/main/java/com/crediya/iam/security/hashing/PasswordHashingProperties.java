@@ -0,0 +1,74 @@
+package com.crediya.iam.security.hashing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "security.hashing")
+public class PasswordHashingProperties {
+    /** Hilos dedicados a BCrypt (por defecto, uno por núcleo) */
+    private Integer threads = Runtime.getRuntime().availableProcessors();
+
+    /** Verificaciones que pueden esperar en cola antes de rechazar */
+    private Integer queueCapacity = 64;
+
+    /** Cache opcional de credenciales verificadas */
+    private CredentialCache credentialCache = new CredentialCache();
+
+    public Integer getThreads() {
+        return threads;
+    }
+
+    public void setThreads(Integer threads) {
+        this.threads = threads;
+    }
+
+    public Integer getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(Integer queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public CredentialCache getCredentialCache() {
+        return credentialCache;
+    }
+
+    public void setCredentialCache(CredentialCache credentialCache) {
+        this.credentialCache = credentialCache;
+    }
+
+    public static class CredentialCache {
+        /** Desactivado por defecto */
+        private Boolean enabled = Boolean.FALSE;
+
+        /** Vida máxima de una entrada en segundos */
+        private Long ttlSec = 300L;
+
+        /** Entradas máximas (una por email) */
+        private Long maxSize = 10_000L;
+
+        public Boolean getEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(Boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Long getTtlSec() {
+            return ttlSec;
+        }
+
+        public void setTtlSec(Long ttlSec) {
+            this.ttlSec = ttlSec;
+        }
+
+        public Long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(Long maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.crediya.iam.security.jwt;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Emisor HS256 de forma fija: el header va precodificado y los claims se escriben a mano
+ * en un buffer por hilo, sin mapas ni Jackson. El JSON, su base64url, la entrada firmada y la
+ * firma se codifican sobre arreglos de bytes por hilo que se reutilizan entre llamadas; la única
+ * asignación por token es el String final. El resultado es un JWS compacto estándar que jjwt
+ * verifica igual que uno construido con Jwts.builder().
+ */
+public final class Hs256TokenWriter {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_LENGTH = 32;
+    /** base64url de {"alg":"HS256"} más el separador */
+    private static final byte[] HEADER = (Base64.getUrlEncoder().withoutPadding()
+            .encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.US_ASCII)) + ".")
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] B64URL =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Buffers> buffers;
+
+    public Hs256TokenWriter(byte[] secret) {
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.buffers = ThreadLocal.withInitial(() -> new Buffers(newMac()));
+    }
+
+    /**
+     * Escribe un token con los claims que emite el login. Los valores nulos se omiten, como hace jjwt.
+     */
+    public String write(String subject, String jti, String issuer, long issuedAtSec, long expiresAtSec,
+                        String email, String role, Long roleId) {
+        Buffers b = buffers.get();
+        b.jsonLength = 0;
+
+        b.put('{');
+        putString(b, "sub", subject);
+        putString(b, "jti", jti);
+        putString(b, "iss", issuer);
+        putLong(b, "iat", issuedAtSec);
+        putLong(b, "exp", expiresAtSec);
+        putString(b, "email", email);
+        if (role != null) {
+            b.putAscii("\"roles\":[");
+            putQuoted(b, role);
+            b.putAscii("],");
+        }
+        if (roleId != null) {
+            putLong(b, "roleId", roleId);
+        }
+        b.json[b.jsonLength - 1] = '}';
+
+        int payloadLength = encodedLength(b.jsonLength);
+        byte[] token = b.token(HEADER.length + payloadLength + 1 + encodedLength(SIGNATURE_LENGTH));
+        System.arraycopy(HEADER, 0, token, 0, HEADER.length);
+        int pos = encode(b.json, b.jsonLength, token, HEADER.length);
+
+        b.mac.update(token, 0, pos);
+        try {
+            b.mac.doFinal(b.signature, 0);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo firmar el token", e);
+        }
+        token[pos++] = '.';
+        pos = encode(b.signature, SIGNATURE_LENGTH, token, pos);
+        return new String(token, 0, pos, StandardCharsets.US_ASCII);
+    }
+
+    private static void putString(Buffers b, String name, String value) {
+        if (value == null) return;
+        b.put('"');
+        b.putAscii(name);
+        b.putAscii("\":");
+        putQuoted(b, value);
+        b.put(',');
+    }
+
+    private static void putLong(Buffers b, String name, long value) {
+        b.put('"');
+        b.putAscii(name);
+        b.putAscii("\":");
+        b.putDecimal(value);
+        b.put(',');
+    }
+
+    /** Escapado JSON (RFC 8259) de comillas, barra invertida y caracteres de control, codificado en UTF-8. */
+    private static void putQuoted(Buffers b, String value) {
+        b.put('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> b.putAscii("\\\"");
+                case '\\' -> b.putAscii("\\\\");
+                case '\n' -> b.putAscii("\\n");
+                case '\r' -> b.putAscii("\\r");
+                case '\t' -> b.putAscii("\\t");
+                case '\b' -> b.putAscii("\\b");
+                case '\f' -> b.putAscii("\\f");
+                default -> {
+                    if (c < 0x20) {
+                        b.putAscii("\\u00");
+                        b.put(HEX[c >> 4]);
+                        b.put(HEX[c & 0xF]);
+                    } else if (c < 0x80) {
+                        b.put(c);
+                    } else if (c < 0x800) {
+                        b.put(0xC0 | (c >> 6));
+                        b.put(0x80 | (c & 0x3F));
+                    } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                            && Character.isLowSurrogate(value.charAt(i + 1))) {
+                        int cp = Character.toCodePoint(c, value.charAt(++i));
+                        b.put(0xF0 | (cp >> 18));
+                        b.put(0x80 | ((cp >> 12) & 0x3F));
+                        b.put(0x80 | ((cp >> 6) & 0x3F));
+                        b.put(0x80 | (cp & 0x3F));
+                    } else if (Character.isSurrogate(c)) {
+                        // Surrogate suelto: '?' como hace String.getBytes(UTF_8)
+                        b.put('?');
+                    } else {
+                        b.put(0xE0 | (c >> 12));
+                        b.put(0x80 | ((c >> 6) & 0x3F));
+                        b.put(0x80 | (c & 0x3F));
+                    }
+                }
+            }
+        }
+        b.put('"');
+    }
+
+    private static int encodedLength(int length) {
+        return (length / 3) * 4 + (length % 3 == 0 ? 0 : length % 3 + 1);
+    }
+
+    /** base64url sin relleno de {@code src[0, length)} en {@code dst} desde {@code pos}; devuelve la nueva posición. */
+    private static int encode(byte[] src, int length, byte[] dst, int pos) {
+        int i = 0;
+        for (int whole = length - length % 3; i < whole; i += 3) {
+            int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8 | (src[i + 2] & 0xFF);
+            dst[pos++] = B64URL[bits >>> 18];
+            dst[pos++] = B64URL[(bits >>> 12) & 0x3F];
+            dst[pos++] = B64URL[(bits >>> 6) & 0x3F];
+            dst[pos++] = B64URL[bits & 0x3F];
+        }
+        int rest = length - i;
+        if (rest == 1) {
+            int bits = (src[i] & 0xFF) << 4;
+            dst[pos++] = B64URL[bits >>> 6];
+            dst[pos++] = B64URL[bits & 0x3F];
+        } else if (rest == 2) {
+            int bits = ((src[i] & 0xFF) << 8 | (src[i + 1] & 0xFF)) << 2;
+            dst[pos++] = B64URL[bits >>> 12];
+            dst[pos++] = B64URL[(bits >>> 6) & 0x3F];
+            dst[pos++] = B64URL[bits & 0x3F];
+        }
+        return pos;
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC no disponible", e);
+        }
+    }
+
+    private static final class Buffers {
+        private final Mac mac;
+        private final byte[] signature = new byte[SIGNATURE_LENGTH];
+        private byte[] json = new byte[256];
+        private int jsonLength;
+        private byte[] token = new byte[512];
+
+        private Buffers(Mac mac) {
+            this.mac = mac;
+        }
+
+        private void put(int value) {
+            if (jsonLength == json.length) {
+                json = Arrays.copyOf(json, json.length * 2);
+            }
+            json[jsonLength++] = (byte) value;
+        }
+
+        private void putAscii(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                put(value.charAt(i));
+            }
+        }
+
+        /** Dígitos decimales de {@code value} sin pasar por Long.toString. */
+        private void putDecimal(long value) {
+            if (value < 0) {
+                put('-');
+            } else {
+                value = -value;
+            }
+            // Se trabaja en negativo para cubrir Long.MIN_VALUE
+            int start = jsonLength;
+            do {
+                put('0' - (int) (value % 10));
+                value /= 10;
+            } while (value != 0);
+            for (int lo = start, hi = jsonLength - 1; lo < hi; lo++, hi--) {
+                byte t = json[lo];
+                json[lo] = json[hi];
+                json[hi] = t;
+            }
+        }
+
+        private byte[] token(int length) {
+            if (token.length < length) {
+                token = new byte[Math.max(length, token.length * 2)];
+            }
+            return token;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.crediya.iam.security.jwt;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Llaves de firma y verificación según security.jwt.algorithm.
+ * En RS256 expone el JWKS público para que otros servicios validen tokens sin llamar a IAM;
+ * en HS256 el JWKS queda vacío (el secreto nunca se publica).
+ */
+@Slf4j
+@Component
+public class JwtKeyProvider {
+
+    private static final Base64.Encoder B64URL = Base64.getUrlEncoder().withoutPadding();
+    /** Caracteres no reservados de RFC 3986: el kid entra tal cual al JSON del JWKS */
+    private static final Pattern KEY_ID = Pattern.compile("[A-Za-z0-9._~-]+");
+
+    private final SignatureAlgorithm algorithm;
+    private final String keyId;
+    private final Key signingKey;
+    private final Key verificationKey;
+    private final String jwksJson;
+
+    public JwtKeyProvider(JwtProperties props) {
+        if (props.getKeyId() != null && !props.getKeyId().isBlank() && !KEY_ID.matcher(props.getKeyId()).matches()) {
+            throw new IllegalStateException("security.jwt.key-id solo admite letras, dígitos, '.', '_', '~' y '-'");
+        }
+        String alg = props.getAlgorithm() == null ? "HS256" : props.getAlgorithm().trim().toUpperCase(Locale.ROOT);
+        switch (alg) {
+            case "HS256" -> {
+                this.algorithm = SignatureAlgorithm.HS256;
+                this.signingKey = Keys.hmacShaKeyFor(props.getSecret().getBytes(StandardCharsets.UTF_8));
+                this.verificationKey = signingKey;
+                this.keyId = props.getKeyId();
+                this.jwksJson = "{\"keys\":[]}";
+            }
+            case "RS256" -> {
+                KeyPair pair = rsaKeyPair(props);
+                RSAPublicKey pub = (RSAPublicKey) pair.getPublic();
+                this.algorithm = SignatureAlgorithm.RS256;
+                this.signingKey = pair.getPrivate();
+                this.verificationKey = pub;
+                this.keyId = props.getKeyId() == null || props.getKeyId().isBlank() ? thumbprint(pub) : props.getKeyId();
+                this.jwksJson = "{\"keys\":[" + rsaJwk(pub, keyId) + "]}";
+            }
+            default -> throw new IllegalStateException("Algoritmo JWT no soportado: " + props.getAlgorithm());
+        }
+        log.info("[jwt] algorithm={} kid={}", algorithm.getValue(), keyId);
+    }
+
+    public SignatureAlgorithm algorithm() {
+        return algorithm;
+    }
+
+    public boolean isSymmetric() {
+        return algorithm == SignatureAlgorithm.HS256;
+    }
+
+    /** kid a incluir en el header; puede ser null en HS256. */
+    public String keyId() {
+        return keyId;
+    }
+
+    public Key signingKey() {
+        return signingKey;
+    }
+
+    public Key verificationKey() {
+        return verificationKey;
+    }
+
+    /** Documento JWKS (RFC 7517) precalculado. */
+    public String jwksJson() {
+        return jwksJson;
+    }
+
+    private static KeyPair rsaKeyPair(JwtProperties props) {
+        try {
+            if (props.getPrivateKey() == null || props.getPrivateKey().isBlank()
+                    || props.getPublicKey() == null || props.getPublicKey().isBlank()) {
+                if (!Boolean.TRUE.equals(props.getAllowEphemeralKeys())) {
+                    throw new IllegalStateException("RS256 requiere security.jwt.private-key y public-key");
+                }
+                // Solo desarrollo: par efímero, válido para una instancia hasta que reinicie
+                log.warn("[jwt] RS256 sin llaves configuradas; se genera un par efímero (allow-ephemeral-keys)");
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+                generator.initialize(2048);
+                return generator.generateKeyPair();
+            }
+            KeyFactory factory = KeyFactory.getInstance("RSA");
+            RSAPrivateKey priv = (RSAPrivateKey) factory.generatePrivate(new PKCS8EncodedKeySpec(pem(props.getPrivateKey())));
+            RSAPublicKey pub = (RSAPublicKey) factory.generatePublic(new X509EncodedKeySpec(pem(props.getPublicKey())));
+            return new KeyPair(pub, priv);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Llaves RS256 inválidas", e);
+        }
+    }
+
+    private static byte[] pem(String value) {
+        String body = value.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(body);
+    }
+
+    private static String rsaJwk(RSAPublicKey key, String kid) {
+        return "{\"kty\":\"RSA\",\"use\":\"sig\",\"alg\":\"RS256\",\"kid\":\"" + kid + "\","
+                + "\"n\":\"" + unsigned(key.getModulus()) + "\",\"e\":\"" + unsigned(key.getPublicExponent()) + "\"}";
+    }
+
+    /** Thumbprint RFC 7638: SHA-256 de los miembros requeridos en orden lexicográfico. */
+    private static String thumbprint(RSAPublicKey key) {
+        String canonical = "{\"e\":\"" + unsigned(key.getPublicExponent()) + "\",\"kty\":\"RSA\",\"n\":\""
+                + unsigned(key.getModulus()) + "\"}";
+        try {
+            return B64URL.encodeToString(MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /** base64url del entero sin el byte de signo que agrega BigInteger. */
+    private static String unsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return B64URL.encodeToString(bytes);
+    }
+}
@@ -13,6 +13,42 @@ public class JwtProperties {
     /** Tiempo de expiración en segundos */
     private Long expirationSec;
 
+    /** Vida de cada refresh token en segundos (14 días por defecto) */
+    private Long refreshTtlSec = 1_209_600L;
+
+    /** Algoritmo de firma: HS256 (secreto compartido) o RS256 (par de llaves, publicado en JWKS) */
+    private String algorithm = "HS256";
+
+    /**
+     * kid del header; si falta en RS256 se usa el thumbprint RFC 7638 de la llave pública.
+     * Solo caracteres URL-safe (letras, dígitos, '.', '_', '~', '-')
+     */
+    private String keyId;
+
+    /** Llave privada RSA PKCS#8 en PEM (solo RS256) */
+    private String privateKey;
+
+    /** Llave pública RSA X.509 en PEM (solo RS256) */
+    private String publicKey;
+
+    /**
+     * Solo desarrollo: en RS256 sin llaves configuradas genera un par efímero. Los tokens no
+     * sirven en otras instancias ni tras reiniciar, así que por defecto el arranque falla
+     */
+    private Boolean allowEphemeralKeys = false;
+
+    /** max-age de Cache-Control para /.well-known/jwks.json */
+    private Long jwksMaxAgeSec = 300L;
+
+    /** Tokens ya verificados que se mantienen en cache */
+    private Long authCacheMaxSize = 10_000L;
+
+    /** Vida máxima en cache de un token verificado; nunca supera su exp */
+    private Long authCacheMaxTtlSec = 300L;
+
+    /** Filtro de revocación (jti) consultado en cada request autenticado */
+    private Revocation revocation = new Revocation();
+
     // Getter y Setter para secret
     public String getSecret() {
         return secret;
@@ -39,4 +75,130 @@ public class JwtProperties {
     public void setExpirationSec(Long expirationSec) {
         this.expirationSec = expirationSec;
     }
+
+    public Long getAuthCacheMaxSize() {
+        return authCacheMaxSize;
+    }
+
+    public void setAuthCacheMaxSize(Long authCacheMaxSize) {
+        this.authCacheMaxSize = authCacheMaxSize;
+    }
+
+    public Long getAuthCacheMaxTtlSec() {
+        return authCacheMaxTtlSec;
+    }
+
+    public void setAuthCacheMaxTtlSec(Long authCacheMaxTtlSec) {
+        this.authCacheMaxTtlSec = authCacheMaxTtlSec;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public String getKeyId() {
+        return keyId;
+    }
+
+    public void setKeyId(String keyId) {
+        this.keyId = keyId;
+    }
+
+    public String getPrivateKey() {
+        return privateKey;
+    }
+
+    public void setPrivateKey(String privateKey) {
+        this.privateKey = privateKey;
+    }
+
+    public String getPublicKey() {
+        return publicKey;
+    }
+
+    public void setPublicKey(String publicKey) {
+        this.publicKey = publicKey;
+    }
+
+    public Boolean getAllowEphemeralKeys() {
+        return allowEphemeralKeys;
+    }
+
+    public void setAllowEphemeralKeys(Boolean allowEphemeralKeys) {
+        this.allowEphemeralKeys = allowEphemeralKeys;
+    }
+
+    public Long getJwksMaxAgeSec() {
+        return jwksMaxAgeSec;
+    }
+
+    public void setJwksMaxAgeSec(Long jwksMaxAgeSec) {
+        this.jwksMaxAgeSec = jwksMaxAgeSec;
+    }
+
+    public Long getRefreshTtlSec() {
+        return refreshTtlSec;
+    }
+
+    public void setRefreshTtlSec(Long refreshTtlSec) {
+        this.refreshTtlSec = refreshTtlSec;
+    }
+
+    public Revocation getRevocation() {
+        return revocation;
+    }
+
+    public void setRevocation(Revocation revocation) {
+        this.revocation = revocation;
+    }
+
+    public static class Revocation {
+        /** Revocaciones vigentes esperadas; dimensiona el filtro de Bloom */
+        private Long expectedInsertions = 100_000L;
+
+        /** Tasa de falsos positivos objetivo (cada uno cuesta una consulta a la BD) */
+        private Double falsePositiveRate = 0.001;
+
+        /** Cada cuánto se incorporan las revocaciones nuevas del almacén */
+        private Long refreshIntervalSec = 10L;
+
+        /** Cada cuánto se reconstruye el filtro completo para descartar tokens ya expirados */
+        private Long rebuildIntervalSec = 3600L;
+
+        public Long getExpectedInsertions() {
+            return expectedInsertions;
+        }
+
+        public void setExpectedInsertions(Long expectedInsertions) {
+            this.expectedInsertions = expectedInsertions;
+        }
+
+        public Double getFalsePositiveRate() {
+            return falsePositiveRate;
+        }
+
+        public void setFalsePositiveRate(Double falsePositiveRate) {
+            this.falsePositiveRate = falsePositiveRate;
+        }
+
+        public Long getRefreshIntervalSec() {
+            return refreshIntervalSec;
+        }
+
+        public void setRefreshIntervalSec(Long refreshIntervalSec) {
+            this.refreshIntervalSec = refreshIntervalSec;
+        }
+
+        public Long getRebuildIntervalSec() {
+            return rebuildIntervalSec;
+        }
+
+        public void setRebuildIntervalSec(Long rebuildIntervalSec) {
+            this.rebuildIntervalSec = rebuildIntervalSec;
+        }
+    }
 }
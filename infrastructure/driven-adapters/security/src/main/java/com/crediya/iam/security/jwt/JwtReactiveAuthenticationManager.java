@@ -1,32 +1,60 @@
 package com.crediya.iam.security.jwt;
 
+import com.crediya.iam.model.role.Role;
+import com.crediya.iam.model.role.gateways.RoleCatalog;
+import com.crediya.iam.security.revocation.RevokedTokenFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.security.authentication.ReactiveAuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
-import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
-import java.util.Collections;
+import java.util.Base64;
+import java.util.Date;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtReactiveAuthenticationManager implements ReactiveAuthenticationManager {
 
-    private final SecretKey key;
     private final JwtProperties props;
+    private final RoleCatalog roleCatalog;
+    private final RevokedTokenFilter revocations;
+    /** JwtParser es inmutable y thread-safe: se construye una sola vez */
+    private final JwtParser parser;
+    /** Digest SHA-256 del token -> datos ya verificados */
+    private final Cache<String, VerifiedToken> verified;
 
-    public JwtReactiveAuthenticationManager(JwtProperties props) {
+    public JwtReactiveAuthenticationManager(JwtProperties props, JwtKeyProvider keys,
+                                            RoleCatalog roleCatalog, RevokedTokenFilter revocations,
+                                            MeterRegistry registry) {
         this.props = props;
-        this.key = Keys.hmacShaKeyFor(props.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.roleCatalog = roleCatalog;
+        this.revocations = revocations;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(keys.verificationKey())
+                .setAllowedClockSkewSeconds(Duration.ofSeconds(30).toSeconds())
+                .build();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(props.getAuthCacheMaxSize())
+                .expireAfter(new UntilTokenExpiry(Duration.ofSeconds(props.getAuthCacheMaxTtlSec())))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, verified, "verified-jwt");
     }
 
     @Override
@@ -34,53 +62,111 @@ public class JwtReactiveAuthenticationManager implements ReactiveAuthenticationM
         String token = (String) authentication.getCredentials();
         if (token == null || token.isBlank()) return Mono.empty();
 
-        try {
-            var parser = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .setAllowedClockSkewSeconds(Duration.ofSeconds(30).toSeconds())
-                    .build();
+        String digest = digest(token);
+        VerifiedToken hit = verified.getIfPresent(digest);
+        if (hit != null) {
+            return admit(hit, token);
+        }
 
-            Jws<Claims> jws = parser.parseClaimsJws(token);
-            Claims claims = jws.getBody();
+        VerifiedToken parsed = verify(token);
+        if (parsed == null) return Mono.empty();
+
+        verified.put(digest, parsed);
+        return admit(parsed, token);
+    }
+
+    /**
+     * La revocación se revisa también en los aciertos de cache: un token puede revocarse
+     * después de haber sido verificado. Si el filtro lo descarta no hay I/O.
+     */
+    private Mono<Authentication> admit(VerifiedToken verifiedToken, String token) {
+        String jti = verifiedToken.jti();
+        if (jti == null || !revocations.mightBeRevoked(jti)) {
+            return Mono.just(verifiedToken.toAuthentication(token));
+        }
+        return revocations.isRevoked(jti)
+                .flatMap(revoked -> revoked ? Mono.empty() : Mono.just(verifiedToken.toAuthentication(token)));
+    }
+
+    /** Verifica firma y claims; null si el token no es válido (los inválidos no se cachean). */
+    private VerifiedToken verify(String token) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
 
             if (props.getIssuer() != null && !props.getIssuer().isBlank()) {
                 String iss = claims.getIssuer();
-                if (iss == null || !iss.equals(props.getIssuer())) return Mono.empty();
+                if (iss == null || !iss.equals(props.getIssuer())) return null;
             }
 
             String userId = claims.getSubject();
-            if (userId == null || userId.isBlank()) return Mono.empty();
+            if (userId == null || userId.isBlank()) return null;
 
             // 1) primero intenta roles como lista de strings
             @SuppressWarnings("unchecked")
             List<String> roles = (List<String>) claims.get("roles");
             if (roles == null || roles.isEmpty()) {
-                // 2) si no hay, intenta con roleId y mapea
+                // 2) si no hay, intenta con roleId y lo resuelve en el catálogo
                 Object rid = claims.get("roleId");
-                String role = mapRoleIdToName(rid);
+                String role = resolveRoleName(rid);
                 roles = role == null ? List.of() : List.of(role);
             }
 
-            var authorities = (roles == null ? Collections.<String>emptyList() : roles).stream()
-                    .map(r -> new SimpleGrantedAuthority("ROLE_" + r))
-                    .collect(Collectors.toList());
+            List<GrantedAuthority> authorities = roles.stream()
+                    .<GrantedAuthority>map(r -> new SimpleGrantedAuthority("ROLE_" + r))
+                    .toList();
 
-            var auth = new UsernamePasswordAuthenticationToken(userId, token, authorities);
-            return Mono.just(auth);
+            Date exp = claims.getExpiration();
+            return new VerifiedToken(userId, claims.getId(), authorities, exp == null ? Long.MAX_VALUE : exp.getTime());
 
         } catch (Exception e) {
-            return Mono.empty();
+            return null;
         }
     }
 
-    private String mapRoleIdToName(Object rid) {
+    private String resolveRoleName(Object rid) {
         if (rid == null) return null;
-        String s = String.valueOf(rid);
-        return switch (s) {
-            case "3" -> "ADMIN";
-            case "2" -> "ASESOR";
-            case "1" -> "CLIENTE";
-            default -> null;
-        };
+        try {
+            return roleCatalog.findById(Long.valueOf(String.valueOf(rid)))
+                    .map(Role::getName)
+                    .orElse(null);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /** Resultado inmutable de una verificación; cada request recibe su propio Authentication. */
+    private record VerifiedToken(String subject, String jti, List<GrantedAuthority> authorities, long expiresAtMillis) {
+        Authentication toAuthentication(String token) {
+            return new UsernamePasswordAuthenticationToken(subject, token, authorities);
+        }
+    }
+
+    /** Cada entrada vive hasta el exp del token, acotada por el TTL máximo configurado. */
+    private record UntilTokenExpiry(Duration maxTtl) implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long untilExp = TimeUnit.MILLISECONDS.toNanos(
+                    Math.max(0, value.expiresAtMillis() - System.currentTimeMillis()));
+            return Math.min(untilExp, maxTtl.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -4,52 +4,62 @@ import com.crediya.iam.model.user.User;
 
 import com.crediya.iam.usecase.authenticate.TokenGeneratorPort;
 import com.crediya.iam.usecase.authenticate.TokenResult;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 
 @Slf4j
 @Component
 public class JwtTokenGeneratorAdapter implements TokenGeneratorPort {
 
     private final JwtProperties props;
-    private final SecretKey key;
+    private final JwtKeyProvider keys;
+    /** Solo en HS256; en RS256 el costo lo domina la firma RSA y se usa jjwt */
+    private final Hs256TokenWriter writer;
 
-    public JwtTokenGeneratorAdapter(JwtProperties props) {
+    public JwtTokenGeneratorAdapter(JwtProperties props, JwtKeyProvider keys) {
         this.props = props;
-        this.key = Keys.hmacShaKeyFor(props.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.keys = keys;
+        this.writer = keys.isSymmetric() ? new Hs256TokenWriter(keys.signingKey().getEncoded()) : null;
     }
 
     @Override
     public Mono<TokenResult> generate(User user, String role) {
         long now = Instant.now().getEpochSecond();
         long exp = now + props.getExpirationSec();
+        // jti permite revocar este token antes de exp
+        String jti = UUID.randomUUID().toString();
 
-        log.info("Generando token para usuario: {} con rol: {}", user.getEmail(), role);
-        List<String> roles = List.of(role); // <- SIN "ROLE_"
+        String token = writer != null
+                ? writer.write(String.valueOf(user.getId()), jti, props.getIssuer(), now, exp,
+                        user.getEmail(), role, user.getRoleId())
+                : signAsymmetric(user, role, jti, now, exp);
 
-        String token = Jwts.builder()
+        log.debug("Token emitido para usuarioId={} rol={}", user.getId(), role);
+
+        return Mono.just(new TokenResult(token, "Bearer", exp));
+    }
+
+    private String signAsymmetric(User user, String role, String jti, long now, long exp) {
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(String.valueOf(user.getId()))
+                .setId(jti)
                 .setIssuer(props.getIssuer())
                 .setIssuedAt(new Date(now * 1000))
                 .setExpiration(new Date(exp * 1000))
                 .claim("email", user.getEmail())
-                .claim("roles", roles)           // <-- rol aplicado
-                .claim("roleId", user.getRoleId())
-                .signWith(key, SignatureAlgorithm.HS256)
-                .compact();
-
-        log.info("Token generado para usuario {}: {}", user.getEmail(), token);
-
-        return Mono.just(new TokenResult(token, "Bearer", exp));
+                .claim("roles", List.of(role))
+                .claim("roleId", user.getRoleId());
+        if (keys.keyId() != null) {
+            builder.setHeaderParam("kid", keys.keyId());
+        }
+        return builder.signWith(keys.signingKey(), keys.algorithm()).compact();
     }
 }
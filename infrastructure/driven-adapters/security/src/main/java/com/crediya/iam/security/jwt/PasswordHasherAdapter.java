@@ -1,20 +1,24 @@
 package com.crediya.iam.security.jwt;
 
 
+import com.crediya.iam.security.hashing.PasswordHashingExecutor;
 import com.crediya.iam.usecase.authenticate.PasswordHasherPort;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.publisher.Mono;
 
 public class PasswordHasherAdapter implements PasswordHasherPort {
 
     private final PasswordEncoder encoder;
+    private final PasswordHashingExecutor executor;
 
-    public PasswordHasherAdapter(PasswordEncoder encoder) {
+    public PasswordHasherAdapter(PasswordEncoder encoder, PasswordHashingExecutor executor) {
         this.encoder = encoder;
+        this.executor = executor;
     }
 
 
     @Override
-    public boolean matches(String raw, String hashed) {
-        return encoder.matches(raw, hashed);
+    public Mono<Boolean> matches(String raw, String hashed) {
+        return executor.submit(() -> encoder.matches(raw, hashed));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,65 @@
+package com.crediya.iam.security.revocation;
+
+import com.crediya.iam.model.token.RevokedToken;
+import com.crediya.iam.security.jwt.JwtKeyProvider;
+import com.crediya.iam.usecase.authenticate.TokenRevocationPort;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+@Slf4j
+@Component
+public class JwtTokenRevocationAdapter implements TokenRevocationPort {
+
+    private final JwtParser parser;
+    private final RevokedTokenFilter filter;
+
+    public JwtTokenRevocationAdapter(JwtKeyProvider keys, RevokedTokenFilter filter) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(keys.verificationKey())
+                .setAllowedClockSkewSeconds(Duration.ofSeconds(30).toSeconds())
+                .build();
+        this.filter = filter;
+    }
+
+    @Override
+    public Mono<RevokedToken> describe(String accessToken) {
+        return Mono.fromCallable(() -> {
+            Claims claims;
+            try {
+                claims = parser.parseClaimsJws(accessToken).getBody();
+            } catch (JwtException | IllegalArgumentException e) {
+                return null;
+            }
+            // Tokens emitidos antes de incluir jti: no se pueden revocar uno a uno
+            if (claims.getId() == null || claims.getExpiration() == null) {
+                log.debug("[revocation] token sin jti o exp, se omite");
+                return null;
+            }
+            return RevokedToken.builder()
+                    .jti(claims.getId())
+                    .userId(parseUserId(claims.getSubject()))
+                    .expiresAt(claims.getExpiration().toInstant())
+                    .build();
+        });
+    }
+
+    @Override
+    public void markRevoked(String jti) {
+        filter.markRevoked(jti);
+    }
+
+    private static Long parseUserId(String subject) {
+        try {
+            return subject == null ? null : Long.valueOf(subject);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
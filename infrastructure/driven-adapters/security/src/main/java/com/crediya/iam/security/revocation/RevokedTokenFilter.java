@@ -0,0 +1,160 @@
+package com.crediya.iam.security.revocation;
+
+import com.crediya.iam.model.token.RevokedToken;
+import com.crediya.iam.model.token.gateways.RevokedTokenRepository;
+import com.crediya.iam.usecase.shared.BloomFilter;
+import com.crediya.iam.security.jwt.JwtProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Copia probabilística en memoria del almacén de revocaciones. Un jti que el filtro descarta
+ * no está revocado y se acepta sin I/O; solo los posibles positivos se confirman en la BD.
+ * Cada intervalo se incorporan las revocaciones nuevas y, con menos frecuencia, el filtro se
+ * reconstruye completo para soltar los tokens que ya expiraron.
+ */
+@Slf4j
+@Component
+public class RevokedTokenFilter implements InitializingBean, DisposableBean {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(10);
+    /** Se relee un poco hacia atrás para cubrir commits tardíos y desfase de reloj entre instancias */
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(30);
+
+    private final RevokedTokenRepository repository;
+    private final JwtProperties.Revocation settings;
+    private final Counter possibleHits;
+    private final Counter confirmed;
+
+    private volatile BloomFilter filter;
+    /** Mientras no haya una carga completa, todo jti se trata como posible positivo */
+    private volatile boolean loaded;
+    private volatile Instant syncedUntil = Instant.EPOCH;
+    private volatile Instant rebuiltAt = Instant.EPOCH;
+    private Disposable refresher;
+
+    public RevokedTokenFilter(RevokedTokenRepository repository, JwtProperties props, MeterRegistry registry) {
+        this.repository = repository;
+        this.settings = props.getRevocation();
+        this.filter = BloomFilter.create(settings.getExpectedInsertions(), settings.getFalsePositiveRate());
+
+        this.possibleHits = Counter.builder("iam.jwt.revocation.filter.hits")
+                .description("jti que el filtro no pudo descartar y se consultaron en la BD")
+                .register(registry);
+        this.confirmed = Counter.builder("iam.jwt.revocation.confirmed")
+                .description("Tokens rechazados por estar revocados")
+                .register(registry);
+        Gauge.builder("iam.jwt.revocation.filter.insertions", this, f -> f.filter.insertions()).register(registry);
+    }
+
+    /** Camino rápido: false significa que el token no está revocado. */
+    public boolean mightBeRevoked(String jti) {
+        return !loaded || filter.mightContain(jti);
+    }
+
+    /**
+     * Consulta autoritativa para los posibles positivos. Si la BD falla, el token se rechaza.
+     */
+    public Mono<Boolean> isRevoked(String jti) {
+        if (!mightBeRevoked(jti)) return Mono.just(false);
+        possibleHits.increment();
+        return repository.existsByJti(jti)
+                .defaultIfEmpty(false)
+                .doOnNext(revoked -> {
+                    if (revoked) confirmed.increment();
+                })
+                .onErrorResume(err -> {
+                    log.warn("[revocation] lookup failed, rejecting token: {}", err.toString());
+                    return Mono.just(true);
+                });
+    }
+
+    /** Revocación hecha en esta instancia: visible de inmediato, sin esperar a la sincronización. */
+    public void markRevoked(String jti) {
+        if (jti != null) filter.put(jti);
+    }
+
+    /** Agrega al filtro actual las revocaciones registradas desde la última sincronización. */
+    public Mono<Void> sync() {
+        return Mono.defer(() -> {
+            Instant now = Instant.now();
+            BloomFilter target = filter;
+            return repository.findActiveRevokedSince(syncedUntil.minus(SYNC_OVERLAP), now)
+                    .doOnNext(token -> target.put(token.getJti()))
+                    .count()
+                    .doOnNext(added -> {
+                        syncedUntil = now;
+                        if (added > 0) log.debug("[revocation] synced {} revoked tokens", added);
+                    })
+                    .then();
+        });
+    }
+
+    /**
+     * Construye un filtro nuevo solo con revocaciones vigentes y lo publica de una vez. Una
+     * revocación que llegue durante la carga entra en la siguiente sincronización por el solape.
+     */
+    public Mono<Void> rebuild() {
+        return Mono.defer(() -> {
+            Instant now = Instant.now();
+            return repository.deleteExpired(now)
+                    .onErrorResume(err -> Mono.just(0L))
+                    .thenMany(repository.findActiveRevokedSince(Instant.EPOCH, now))
+                    .map(RevokedToken::getJti)
+                    .collectList()
+                    .doOnNext(jtis -> {
+                        BloomFilter fresh = BloomFilter.create(
+                                Math.max(settings.getExpectedInsertions(), jtis.size() * 2L),
+                                settings.getFalsePositiveRate());
+                        jtis.forEach(fresh::put);
+                        filter = fresh;
+                        syncedUntil = now;
+                        rebuiltAt = now;
+                        loaded = true;
+                        log.info("[revocation] filter rebuilt revoked={} bits={} hashes={}",
+                                jtis.size(), fresh.bitCount(), fresh.hashes());
+                    })
+                    .then();
+        });
+    }
+
+    private Mono<Void> tick() {
+        Duration rebuildInterval = Duration.ofSeconds(settings.getRebuildIntervalSec());
+        boolean rebuildDue = !loaded || !Instant.now().isBefore(rebuiltAt.plus(rebuildInterval));
+        return (rebuildDue ? rebuild() : sync())
+                .onErrorResume(err -> {
+                    log.warn("[revocation] refresh failed: {}", err.toString());
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        // Si la BD no responde al arrancar, el filtro queda sin cargar (todo va a la BD)
+        // hasta que el siguiente ciclo logre reconstruirlo.
+        rebuild().timeout(STARTUP_TIMEOUT).onErrorResume(err -> Mono.empty()).block();
+
+        Duration interval = Duration.ofSeconds(settings.getRefreshIntervalSec());
+        if (!interval.isZero() && !interval.isNegative()) {
+            refresher = Flux.interval(interval, interval)
+                    .concatMap(n -> tick())
+                    .subscribe();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (refresher != null) refresher.dispose();
+    }
+}
@@ -0,0 +1,40 @@
+package com.crediya.iam.security.token;
+
+import com.crediya.iam.usecase.authenticate.RefreshTokenGeneratorPort;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Refresh tokens de 256 bits aleatorios en base64url. Se guarda su SHA-256: con esa entropía
+ * no hace falta un hash lento y la validación es una búsqueda por índice.
+ */
+@Component
+public class OpaqueRefreshTokenGenerator implements RefreshTokenGeneratorPort {
+
+    private static final int TOKEN_BYTES = 32;
+    private static final Base64.Encoder B64URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Override
+    public String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return B64URL.encodeToString(bytes);
+    }
+
+    @Override
+    public String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return B64URL.encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
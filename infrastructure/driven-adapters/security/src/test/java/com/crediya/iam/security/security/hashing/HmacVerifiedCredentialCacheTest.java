@@ -0,0 +1,46 @@
+package com.crediya.iam.security.security.hashing;
+
+import com.crediya.iam.security.hashing.HmacVerifiedCredentialCache;
+import com.crediya.iam.security.hashing.PasswordHashingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HmacVerifiedCredentialCacheTest {
+
+    private static final String EMAIL = "ana@example.com";
+    private static final String HASH = "$2a$12$abcdefghijklmnopqrstuvwxabcdefghijklmnopqrstuvwx";
+
+    private HmacVerifiedCredentialCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new HmacVerifiedCredentialCache(new PasswordHashingProperties.CredentialCache(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void isVerified_hitsOnlyForSameEmailPasswordAndHash() {
+        cache.remember(EMAIL, "secret123", HASH);
+
+        assertThat(cache.isVerified(EMAIL, "secret123", HASH)).isTrue();
+        assertThat(cache.isVerified(EMAIL, "otherPass1", HASH)).isFalse();
+        assertThat(cache.isVerified("otro@example.com", "secret123", HASH)).isFalse();
+    }
+
+    @Test
+    void isVerified_missesWhenStoredHashChanges() {
+        cache.remember(EMAIL, "secret123", HASH);
+
+        assertThat(cache.isVerified(EMAIL, "secret123", "$2a$12$nuevoHash")).isFalse();
+    }
+
+    @Test
+    void nullInputs_areNeverCached() {
+        cache.remember(EMAIL, null, HASH);
+
+        assertThat(cache.isVerified(EMAIL, null, HASH)).isFalse();
+        assertThat(cache.isVerified(EMAIL, "secret123", null)).isFalse();
+    }
+}
@@ -0,0 +1,79 @@
+package com.crediya.iam.security.security.hashing;
+
+import com.crediya.iam.security.hashing.PasswordHashingExecutor;
+import com.crediya.iam.security.hashing.PasswordHashingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordHashingExecutorTest {
+
+    private SimpleMeterRegistry registry;
+    private PasswordHashingExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        PasswordHashingProperties props = new PasswordHashingProperties();
+        props.setThreads(1);
+        props.setQueueCapacity(1);
+        executor = new PasswordHashingExecutor(props, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    void submit_runsOnDedicatedThread() {
+        StepVerifier.create(executor.submit(() -> Thread.currentThread().getName()))
+                .assertNext(name -> assertThat(name).startsWith("password-hashing-"))
+                .verifyComplete();
+    }
+
+    @Test
+    void submit_recordsQueueWaitAndHashTime() {
+        executor.submit(() -> true).block();
+
+        assertThat(registry.get("iam.password.hash.queue.wait").timer().count()).isEqualTo(1);
+        assertThat(registry.get("iam.password.hash.duration").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void submit_rejectsWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        // Ocupa el único hilo y el único lugar en cola
+        executor.submit(() -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }).subscribe();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.submit(() -> true).subscribe();
+
+        StepVerifier.create(executor.submit(() -> true))
+                .expectError(RejectedExecutionException.class)
+                .verify();
+
+        release.countDown();
+    }
+
+    @Test
+    void submit_propagatesTaskErrors() {
+        StepVerifier.create(executor.submit(() -> {
+                    throw new IllegalStateException("boom");
+                }))
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+}
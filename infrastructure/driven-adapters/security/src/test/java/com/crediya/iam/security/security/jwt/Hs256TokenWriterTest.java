@@ -0,0 +1,109 @@
+package com.crediya.iam.security.security.jwt;
+
+import com.crediya.iam.security.jwt.Hs256TokenWriter;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class Hs256TokenWriterTest {
+
+    private static final SecretKey KEY =
+            Keys.hmacShaKeyFor("super-secreto-de-pruebas-32-bytes-minimos!!".getBytes(StandardCharsets.UTF_8));
+
+    private final Hs256TokenWriter writer = new Hs256TokenWriter(KEY.getEncoded());
+
+    private static Claims parse(String token) {
+        return Jwts.parserBuilder().setSigningKey(KEY).build().parseClaimsJws(token).getBody();
+    }
+
+    @Test
+    void write_producesTokenAcceptedByJjwtWithSameClaims() {
+        long now = Instant.now().getEpochSecond();
+
+        Claims c = parse(writer.write("123", "jti-123", "iam-test", now, now + 3600, "ana@example.com", "ADMIN", 2L));
+
+        assertThat(c.getSubject()).isEqualTo("123");
+        assertThat(c.getId()).isEqualTo("jti-123");
+        assertThat(c.getIssuer()).isEqualTo("iam-test");
+        assertThat(c.getIssuedAt().toInstant().getEpochSecond()).isEqualTo(now);
+        assertThat(c.getExpiration().toInstant().getEpochSecond()).isEqualTo(now + 3600);
+        assertThat(c.get("email", String.class)).isEqualTo("ana@example.com");
+        assertThat(c.get("roles")).isEqualTo(List.of("ADMIN"));
+        assertThat(String.valueOf(c.get("roleId"))).isEqualTo("2");
+    }
+
+    @Test
+    void write_usesSameHeaderAsJjwtBuilder() {
+        long now = Instant.now().getEpochSecond();
+        String jjwt = Jwts.builder().setSubject("1").signWith(KEY, SignatureAlgorithm.HS256).compact();
+
+        String fast = writer.write("1", null, null, now, now + 60, null, null, null);
+
+        assertThat(fast.substring(0, fast.indexOf('.'))).isEqualTo(jjwt.substring(0, jjwt.indexOf('.')));
+    }
+
+    @Test
+    void write_omitsNullClaims() {
+        long now = Instant.now().getEpochSecond();
+
+        Claims c = parse(writer.write("7", null, null, now, now + 60, null, null, null));
+
+        assertThat(c).doesNotContainKeys("jti", "iss", "email", "roles", "roleId");
+        assertThat(c.getSubject()).isEqualTo("7");
+    }
+
+    @Test
+    void write_escapesJsonStrings() {
+        long now = Instant.now().getEpochSecond();
+        String email = "a\"b\\c\n\u0001ñ@example.com";
+
+        Claims c = parse(writer.write("1", "jti-1", "iss", now, now + 60, email, "RO\"LE", 1L));
+
+        assertThat(c.get("email", String.class)).isEqualTo(email);
+        assertThat(c.get("roles")).isEqualTo(List.of("RO\"LE"));
+    }
+
+    @Test
+    void write_encodesCharactersOutsideTheBmpAsUtf8() {
+        long now = Instant.now().getEpochSecond();
+        String email = "pato\uD83E\uDD86ü€@example.com";
+
+        Claims c = parse(writer.write("1", null, null, now, now + 60, email, null, null));
+
+        assertThat(c.get("email", String.class)).isEqualTo(email);
+    }
+
+    @Test
+    void write_growsTheThreadBuffersAndStillWritesShorterTokensAfterwards() {
+        long now = Instant.now().getEpochSecond();
+        String longIssuer = "iss-".repeat(500);
+
+        Claims large = parse(writer.write("1", "jti-1", longIssuer, now, now + 60, "a@b.co", "ADMIN", 1L));
+        Claims small = parse(writer.write("2", null, null, now, now + 60, null, null, null));
+
+        assertThat(large.getIssuer()).isEqualTo(longIssuer);
+        assertThat(small.getSubject()).isEqualTo("2");
+        assertThat(small).doesNotContainKeys("iss", "jti", "email");
+    }
+
+    @Test
+    void write_isRejectedWithDifferentKey() {
+        long now = Instant.now().getEpochSecond();
+        String token = writer.write("1", "jti-1", "iss", now, now + 60, "a@b.co", "ADMIN", 1L);
+        SecretKey other = Keys.hmacShaKeyFor("otro-secreto-de-pruebas-32-bytes-minimos!!".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> Jwts.parserBuilder().setSigningKey(other).build().parseClaimsJws(token))
+                .isInstanceOf(SignatureException.class);
+    }
+}
@@ -1,31 +1,75 @@
 package com.crediya.iam.security.security.jwt;
 
+import com.crediya.iam.model.role.Role;
+import com.crediya.iam.model.role.gateways.RoleCatalog;
+import com.crediya.iam.model.token.RevokedToken;
+import com.crediya.iam.model.token.gateways.RevokedTokenRepository;
+import com.crediya.iam.security.jwt.JwtKeyProvider;
 import com.crediya.iam.security.jwt.JwtProperties;
 import com.crediya.iam.security.jwt.JwtReactiveAuthenticationManager;
+import com.crediya.iam.security.revocation.RevokedTokenFilter;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
 
 class JwtReactiveAuthenticationManagerTest {
 
     private JwtReactiveAuthenticationManager manager;
     private JwtProperties props;
+    private SimpleMeterRegistry registry;
+    private RevokedTokenRepository revokedTokens;
 
     @BeforeEach
     void setUp() {
         props = new JwtProperties();
         props.setSecret("mysupersecretmysupersecretmysupersecret"); // >= 32 chars
         props.setIssuer("crediya");
-        manager = new JwtReactiveAuthenticationManager(props);
+        registry = new SimpleMeterRegistry();
+
+        revokedTokens = mock(RevokedTokenRepository.class);
+        when(revokedTokens.deleteExpired(any())).thenReturn(Mono.just(0L));
+        when(revokedTokens.findActiveRevokedSince(any(), any()))
+                .thenReturn(Flux.just(RevokedToken.builder().jti("revoked-jti").build()));
+        when(revokedTokens.existsByJti(anyString())).thenAnswer(inv -> Mono.just("revoked-jti".equals(inv.getArgument(0))));
+        RevokedTokenFilter revocations = new RevokedTokenFilter(revokedTokens, props, registry);
+        revocations.rebuild().block();
+
+        manager = new JwtReactiveAuthenticationManager(props, new JwtKeyProvider(props), roleCatalog(),
+                revocations, registry);
+    }
+
+    private static RoleCatalog roleCatalog() {
+        Map<Long, Role> roles = Map.of(
+                1L, Role.create(1L, "ADMIN", "Administrador"),
+                2L, Role.create(2L, "ASESOR", "Asesor"),
+                3L, Role.create(3L, "CLIENTE", "Cliente"));
+        return new RoleCatalog() {
+            @Override
+            public Optional<Role> findById(Long id) {
+                return Optional.ofNullable(roles.get(id));
+            }
+
+            @Override
+            public Mono<Void> refresh() {
+                return Mono.empty();
+            }
+        };
     }
 
     private String generateToken(Map<String, Object> claims, String subject, String issuer) {
@@ -107,4 +151,102 @@ class JwtReactiveAuthenticationManagerTest {
                 )
                 .verifyComplete();
     }
-}
\ No newline at end of file
+
+    @Test
+    void authenticate_shouldIgnoreUnknownRoleId() {
+        String token = generateToken(Map.of("roleId", 42), "user111", "crediya");
+
+        Authentication auth = new UsernamePasswordAuthenticationToken("ignored", token);
+
+        StepVerifier.create(manager.authenticate(auth))
+                .expectNextMatches(a -> a.getName().equals("user111") && a.getAuthorities().isEmpty())
+                .verifyComplete();
+    }
+
+    @Test
+    void authenticate_shouldServeRepeatedTokenFromCache() {
+        String token = generateToken(Map.of("roles", List.of("ADMIN")), "user222", "crediya");
+
+        StepVerifier.create(manager.authenticate(new UsernamePasswordAuthenticationToken("ignored", token)))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(manager.authenticate(new UsernamePasswordAuthenticationToken("ignored", token)))
+                .expectNextMatches(a -> a.getName().equals("user222")
+                        && a.getAuthorities().stream().anyMatch(ga -> ga.getAuthority().equals("ROLE_ADMIN")))
+                .verifyComplete();
+
+        assertThat(registry.get("cache.gets")
+                .tag("cache", "verified-jwt").tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void authenticate_shouldReturnDistinctAuthenticationPerRequest() {
+        String token = generateToken(Map.of("roles", List.of("ADMIN")), "user333", "crediya");
+        Authentication auth = new UsernamePasswordAuthenticationToken("ignored", token);
+
+        Authentication first = manager.authenticate(auth).block();
+        Authentication second = manager.authenticate(auth).block();
+
+        assertThat(second).isNotSameAs(first);
+    }
+
+    @Test
+    void authenticate_shouldNotCacheExpiredTokens() {
+        String token = Jwts.builder()
+                .setSubject("user444")
+                .setIssuer("crediya")
+                .setExpiration(new Date(System.currentTimeMillis() - 60_000))
+                .signWith(io.jsonwebtoken.security.Keys.hmacShaKeyFor(props.getSecret().getBytes(StandardCharsets.UTF_8)),
+                        SignatureAlgorithm.HS256)
+                .compact();
+
+        StepVerifier.create(manager.authenticate(new UsernamePasswordAuthenticationToken("ignored", token)))
+                .verifyComplete();
+    }
+
+    @Test
+    void authenticate_shouldRejectTamperedTokenEvenAfterOriginalWasCached() {
+        String token = generateToken(Map.of("roles", List.of("CLIENTE")), "user555", "crediya");
+        manager.authenticate(new UsernamePasswordAuthenticationToken("ignored", token)).block();
+
+        int i = token.lastIndexOf('.') + 5;
+        char flipped = token.charAt(i) == 'A' ? 'B' : 'A';
+        String tampered = token.substring(0, i) + flipped + token.substring(i + 1);
+
+        StepVerifier.create(manager.authenticate(new UsernamePasswordAuthenticationToken("ignored", tampered)))
+                .verifyComplete();
+    }
+
+    @Test
+    void authenticate_shouldRejectRevokedJti_evenWhenCached() {
+        String token = Jwts.builder()
+                .setSubject("user666")
+                .setId("revoked-jti")
+                .setIssuer("crediya")
+                .signWith(io.jsonwebtoken.security.Keys.hmacShaKeyFor(props.getSecret().getBytes(StandardCharsets.UTF_8)),
+                        SignatureAlgorithm.HS256)
+                .compact();
+
+        StepVerifier.create(manager.authenticate(new UsernamePasswordAuthenticationToken("ignored", token)))
+                .verifyComplete();
+        StepVerifier.create(manager.authenticate(new UsernamePasswordAuthenticationToken("ignored", token)))
+                .verifyComplete();
+    }
+
+    @Test
+    void authenticate_shouldNotQueryStoreWhenFilterRulesOutJti() {
+        String token = Jwts.builder()
+                .setSubject("user777")
+                .setId("active-jti")
+                .setIssuer("crediya")
+                .signWith(io.jsonwebtoken.security.Keys.hmacShaKeyFor(props.getSecret().getBytes(StandardCharsets.UTF_8)),
+                        SignatureAlgorithm.HS256)
+                .compact();
+
+        StepVerifier.create(manager.authenticate(new UsernamePasswordAuthenticationToken("ignored", token)))
+                .expectNextMatches(a -> a.getName().equals("user777"))
+                .verifyComplete();
+
+        verify(revokedTokens, never()).existsByJti(anyString());
+    }
+}
@@ -1,6 +1,7 @@
 package com.crediya.iam.security.security.jwt;
 
 import com.crediya.iam.model.user.User;
+import com.crediya.iam.security.jwt.JwtKeyProvider;
 import com.crediya.iam.security.jwt.JwtProperties;
 import com.crediya.iam.security.jwt.JwtTokenGeneratorAdapter;
 import io.jsonwebtoken.Claims;
@@ -37,7 +38,7 @@ class JwtTokenGeneratorAdapterTest {
         when(props.getIssuer()).thenReturn(ISSUER);
         when(props.getExpirationSec()).thenReturn(EXP_SEC);
 
-        adapter = new JwtTokenGeneratorAdapter(props);
+        adapter = new JwtTokenGeneratorAdapter(props, new JwtKeyProvider(props));
     }
 
     private User dummyUser() {
@@ -75,6 +76,8 @@ class JwtTokenGeneratorAdapterTest {
                     assertThat(c.getSubject()).isEqualTo(String.valueOf(user.getId()));
                     // Issuer
                     assertThat(c.getIssuer()).isEqualTo(ISSUER);
+                    // jti para revocación
+                    assertThat(c.getId()).isNotBlank();
                     // Email
                     assertThat(c.get("email", String.class)).isEqualTo("ana@example.com");
                     // roleId
@@ -102,4 +105,28 @@ class JwtTokenGeneratorAdapterTest {
                 .assertNext(tr -> assertThat(tr.tokenType()).isEqualTo("Bearer"))
                 .verifyComplete();
     }
-}
\ No newline at end of file
+
+    @Test
+    void generate_withRs256_signsWithPrivateKeyAndSetsKid() {
+        JwtProperties rsa = new JwtProperties();
+        rsa.setAlgorithm("RS256");
+        rsa.setAllowEphemeralKeys(true);
+        rsa.setIssuer(ISSUER);
+        rsa.setExpirationSec(EXP_SEC);
+        JwtKeyProvider keys = new JwtKeyProvider(rsa);
+        JwtTokenGeneratorAdapter rsaAdapter = new JwtTokenGeneratorAdapter(rsa, keys);
+
+        StepVerifier.create(rsaAdapter.generate(dummyUser(), "ASESOR"))
+                .assertNext(res -> {
+                    var jws = Jwts.parserBuilder()
+                            .setSigningKey(keys.verificationKey())
+                            .build()
+                            .parseClaimsJws(res.token());
+
+                    assertThat(jws.getHeader().getAlgorithm()).isEqualTo("RS256");
+                    assertThat(jws.getHeader().getKeyId()).isEqualTo(keys.keyId());
+                    assertThat(jws.getBody().getSubject()).isEqualTo("123");
+                })
+                .verifyComplete();
+    }
+}
@@ -1,12 +1,18 @@
 package com.crediya.iam.security.security.jwt;
 
 
+import com.crediya.iam.security.hashing.PasswordHashingExecutor;
+import com.crediya.iam.security.hashing.PasswordHashingProperties;
 import com.crediya.iam.security.jwt.PasswordHasherAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.test.StepVerifier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -18,46 +24,62 @@ class PasswordHasherAdapterTest {
     @Mock
     PasswordEncoder encoder;
 
+    private PasswordHashingExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        PasswordHashingProperties props = new PasswordHashingProperties();
+        props.setThreads(1);
+        props.setQueueCapacity(4);
+        executor = new PasswordHashingExecutor(props, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
     @Test
     void matches_delegatesToPasswordEncoder_true() {
         // given
-        var adapter = new PasswordHasherAdapter(encoder);
+        var adapter = new PasswordHasherAdapter(encoder, executor);
         String raw = "plain123";
         String hash = "$2a$12$abcdefghijklmnopqrstuvwxabcdefghijklmnopqrstuvwx";
         when(encoder.matches(raw, hash)).thenReturn(true);
 
-        // when
-        boolean ok = adapter.matches(raw, hash);
+        // when + then
+        StepVerifier.create(adapter.matches(raw, hash))
+                .expectNext(true)
+                .verifyComplete();
 
-        // then
-        assertThat(ok).isTrue();
         verify(encoder, times(1)).matches(raw, hash);
         verifyNoMoreInteractions(encoder);
     }
 
     @Test
     void matches_delegatesToPasswordEncoder_false() {
-        var adapter = new PasswordHasherAdapter(encoder);
+        var adapter = new PasswordHasherAdapter(encoder, executor);
         String raw = "plain123";
         String hash = "$2a$12$abcdefghijklmnopqrstuvwxabcdefghijklmnopqrstuvwx";
         when(encoder.matches(raw, hash)).thenReturn(false);
 
-        boolean ok = adapter.matches(raw, hash);
+        StepVerifier.create(adapter.matches(raw, hash))
+                .expectNext(false)
+                .verifyComplete();
 
-        assertThat(ok).isFalse();
         verify(encoder, times(1)).matches(raw, hash);
         verifyNoMoreInteractions(encoder);
     }
 
     @Test
     void matches_passesExactArguments() {
-        var adapter = new PasswordHasherAdapter(encoder);
+        var adapter = new PasswordHasherAdapter(encoder, executor);
         String raw = "   with spaces  ";
         String hash = "   hash   ";
 
         when(encoder.matches(anyString(), anyString())).thenReturn(false);
 
-        adapter.matches(raw, hash);
+        adapter.matches(raw, hash).block();
 
         ArgumentCaptor<String> rawCap = ArgumentCaptor.forClass(String.class);
         ArgumentCaptor<String> hashCap = ArgumentCaptor.forClass(String.class);
@@ -66,4 +88,13 @@ class PasswordHasherAdapterTest {
         assertThat(rawCap.getValue()).isEqualTo(raw);
         assertThat(hashCap.getValue()).isEqualTo(hash);
     }
-}
\ No newline at end of file
+
+    @Test
+    void matches_isLazyUntilSubscribed() {
+        var adapter = new PasswordHasherAdapter(encoder, executor);
+
+        adapter.matches("plain123", "hash");
+
+        verifyNoInteractions(encoder);
+    }
+}
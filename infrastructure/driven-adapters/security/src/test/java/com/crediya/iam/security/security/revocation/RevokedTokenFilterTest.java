@@ -0,0 +1,89 @@
+package com.crediya.iam.security.security.revocation;
+
+import com.crediya.iam.model.token.RevokedToken;
+import com.crediya.iam.model.token.gateways.RevokedTokenRepository;
+import com.crediya.iam.security.jwt.JwtProperties;
+import com.crediya.iam.security.revocation.RevokedTokenFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class RevokedTokenFilterTest {
+
+    private RevokedTokenRepository repository;
+    private RevokedTokenFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RevokedTokenRepository.class);
+        when(repository.deleteExpired(any())).thenReturn(Mono.just(0L));
+        when(repository.findActiveRevokedSince(any(), any()))
+                .thenReturn(Flux.just(RevokedToken.builder().jti("jti-a").build()));
+        filter = new RevokedTokenFilter(repository, new JwtProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void beforeFirstLoad_everyJtiGoesToStore() {
+        assertThat(filter.mightBeRevoked("cualquiera")).isTrue();
+    }
+
+    @Test
+    void rebuild_loadsActiveRevocations() {
+        StepVerifier.create(filter.rebuild()).verifyComplete();
+
+        assertThat(filter.mightBeRevoked("jti-a")).isTrue();
+        assertThat(filter.mightBeRevoked("jti-b")).isFalse();
+        verify(repository).deleteExpired(any());
+    }
+
+    @Test
+    void isRevoked_ruledOutByFilter_skipsStore() {
+        filter.rebuild().block();
+
+        StepVerifier.create(filter.isRevoked("jti-b")).expectNext(false).verifyComplete();
+
+        verify(repository, never()).existsByJti(any());
+    }
+
+    @Test
+    void isRevoked_possibleHit_confirmsAgainstStore() {
+        filter.rebuild().block();
+        when(repository.existsByJti("jti-a")).thenReturn(Mono.just(true));
+
+        StepVerifier.create(filter.isRevoked("jti-a")).expectNext(true).verifyComplete();
+    }
+
+    @Test
+    void isRevoked_storeFailure_rejectsToken() {
+        when(repository.existsByJti("jti-a")).thenReturn(Mono.error(new RuntimeException("db down")));
+
+        StepVerifier.create(filter.isRevoked("jti-a")).expectNext(true).verifyComplete();
+    }
+
+    @Test
+    void sync_addsNewRevocationsToCurrentFilter() {
+        filter.rebuild().block();
+        when(repository.findActiveRevokedSince(any(), any()))
+                .thenReturn(Flux.just(RevokedToken.builder().jti("jti-c").build()));
+
+        StepVerifier.create(filter.sync()).verifyComplete();
+
+        assertThat(filter.mightBeRevoked("jti-a")).isTrue();
+        assertThat(filter.mightBeRevoked("jti-c")).isTrue();
+    }
+
+    @Test
+    void markRevoked_isVisibleImmediately() {
+        filter.rebuild().block();
+
+        filter.markRevoked("jti-local");
+
+        assertThat(filter.mightBeRevoked("jti-local")).isTrue();
+    }
+}
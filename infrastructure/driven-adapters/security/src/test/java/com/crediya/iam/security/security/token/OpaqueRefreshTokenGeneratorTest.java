@@ -0,0 +1,28 @@
+package com.crediya.iam.security.security.token;
+
+import com.crediya.iam.security.token.OpaqueRefreshTokenGenerator;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpaqueRefreshTokenGeneratorTest {
+
+    private final OpaqueRefreshTokenGenerator generator = new OpaqueRefreshTokenGenerator();
+
+    @Test
+    void newToken_isUrlSafeAndUnique() {
+        String a = generator.newToken();
+        String b = generator.newToken();
+
+        assertThat(a).hasSize(43).matches("[A-Za-z0-9_-]+");
+        assertThat(a).isNotEqualTo(b);
+    }
+
+    @Test
+    void hash_isDeterministicAndDiffersFromToken() {
+        String token = generator.newToken();
+
+        assertThat(generator.hash(token)).isEqualTo(generator.hash(token));
+        assertThat(generator.hash(token)).isNotEqualTo(token).hasSize(43);
+    }
+}
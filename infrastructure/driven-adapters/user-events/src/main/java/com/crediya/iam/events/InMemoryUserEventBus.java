@@ -0,0 +1,44 @@
+package com.crediya.iam.events;
+
+import com.crediya.iam.model.user.UserEvent;
+import com.crediya.iam.model.user.gateways.UserEventFeed;
+import com.crediya.iam.model.user.gateways.UserEventPublisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Publicador en memoria mientras no haya un broker: el relay publica aquí y los suscriptores
+ * del feed (p. ej. el endpoint SSE) reciben los eventos de esta instancia. Guarda los últimos
+ * {@code historySize} eventos para quien se suscribe tarde; un suscriptor lento se desconecta
+ * en vez de frenar al relay. Un adaptador de broker que implemente UserEventPublisher lo
+ * reemplaza sin tocar el relay.
+ */
+@Component
+public class InMemoryUserEventBus implements UserEventPublisher, UserEventFeed {
+
+    private static final Duration EMIT_RETRY = Duration.ofMillis(100);
+
+    private final Sinks.Many<UserEvent> sink;
+
+    public InMemoryUserEventBus(@Value("${users.events.history-size:1000}") int historySize) {
+        this.sink = Sinks.many().replay().limit(Math.max(1, historySize));
+    }
+
+    @Override
+    public Mono<Void> publish(List<UserEvent> events) {
+        // El relay publica desde un solo hilo a la vez; el reintento cubre emisiones concurrentes
+        return Mono.fromRunnable(() -> events.forEach(event ->
+                sink.emitNext(event, Sinks.EmitFailureHandler.busyLooping(EMIT_RETRY))));
+    }
+
+    @Override
+    public Flux<UserEvent> live() {
+        return sink.asFlux().onBackpressureBuffer(1024);
+    }
+}
@@ -0,0 +1,38 @@
+package com.crediya.iam.events;
+
+import com.crediya.iam.model.user.User;
+import com.crediya.iam.model.user.UserEvent;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.List;
+
+class InMemoryUserEventBusTest {
+
+    private static UserEvent event(long sequence) {
+        return new UserEvent(sequence, UserEvent.USER_CREATED, Instant.EPOCH, User.builder().id(sequence).build());
+    }
+
+    @Test
+    void live_deliversEventsPublishedAfterSubscribing() {
+        InMemoryUserEventBus bus = new InMemoryUserEventBus(10);
+
+        StepVerifier.create(bus.live().map(UserEvent::sequence))
+                .then(() -> bus.publish(List.of(event(1), event(2))).block())
+                .expectNext(1L, 2L)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void live_replaysRecentHistoryToLateSubscribers() {
+        InMemoryUserEventBus small = new InMemoryUserEventBus(2);
+        small.publish(List.of(event(1), event(2), event(3))).block();
+
+        StepVerifier.create(small.live().map(UserEvent::sequence))
+                .expectNext(2L, 3L)
+                .thenCancel()
+                .verify();
+    }
+}
@@ -1,10 +1,16 @@
 package com.crediya.iam.api;
 
 import com.crediya.iam.api.controller.AuthHandler;
+import com.crediya.iam.api.controller.JwksHandler;
+import com.crediya.iam.api.controller.TokenHandler;
+import com.crediya.iam.api.controller.UserEventsHandler;
 import com.crediya.iam.api.controller.UserHandler;
+import com.crediya.iam.api.controller.UserImportHandler;
 import com.crediya.iam.api.controller.UserValidatedExistHandler;
 import com.crediya.iam.api.dto.*;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
@@ -37,13 +43,26 @@ public class RouterRest {
                     operation = @Operation(
                             operationId = "listUsers",
                             summary = "Listar usuarios",
-                            description = "Retorna la lista de usuarios",
+                            description = "Retorna la lista de usuarios. Con Accept: application/x-ndjson "
+                                    + "los usuarios se transmiten uno por línea, sin cargar la tabla en memoria. "
+                                    + "Con limit o cursor retorna una página y el cursor de la siguiente",
                             tags = {"IAM API"},
+                            parameters = {
+                                    @Parameter(in = ParameterIn.QUERY, name = "limit",
+                                            description = "Tamaño de página (1-500, por defecto 50)"),
+                                    @Parameter(in = ParameterIn.QUERY, name = "cursor",
+                                            description = "nextCursor de la página anterior")
+                            },
                             responses = {
                                     @ApiResponse(
                                             responseCode = "200",
                                             description = "Usuarios recuperados",
-                                            content = @Content(schema = @Schema(implementation = ApiResponse.class))
+                                            content = {
+                                                    @Content(mediaType = "application/json",
+                                                            schema = @Schema(implementation = ApiResponse.class)),
+                                                    @Content(mediaType = "application/x-ndjson",
+                                                            schema = @Schema(implementation = UserResponseDto.class))
+                                            }
                                     ),
                                     @ApiResponse(responseCode = "404", description = "Usuarios no encontrados"),
                                     @ApiResponse(responseCode = "500", description = "Error interno del servidor")
@@ -77,6 +96,65 @@ public class RouterRest {
                             }
                     )
             ),
+            // POST /api/v1/usuarios/import -> importación masiva
+            @RouterOperation(
+                    path = "/api/v1/usuarios/import",
+                    method = RequestMethod.POST,
+                    beanClass = UserImportHandler.class,
+                    beanMethod = "importUsers",
+                    operation = @Operation(
+                            operationId = "importUsers",
+                            summary = "Importar usuarios",
+                            description = "Crea usuarios desde un archivo NDJSON (un UserSaveDto por línea) o CSV "
+                                    + "con encabezado. Responde un NDJSON con el resultado de cada fila: "
+                                    + "CREATED, DUPLICATE o REJECTED",
+                            tags = {"IAM API"},
+                            requestBody = @RequestBody(
+                                    required = true,
+                                    content = {
+                                            @Content(mediaType = "application/x-ndjson",
+                                                    schema = @Schema(implementation = UserSaveDto.class)),
+                                            @Content(mediaType = "text/csv")
+                                    }
+                            ),
+                            responses = {
+                                    @ApiResponse(responseCode = "200", description = "Reporte por fila",
+                                            content = @Content(mediaType = "application/x-ndjson")),
+                                    @ApiResponse(responseCode = "401", description = "No autenticado"),
+                                    @ApiResponse(responseCode = "403", description = "Requiere rol ADMIN"),
+                                    @ApiResponse(responseCode = "415", description = "Formato no soportado")
+                            }
+                    )
+            ),
+            // GET /api/v1/usuarios/events -> change feed de usuarios
+            @RouterOperation(
+                    path = "/api/v1/usuarios/events",
+                    method = RequestMethod.GET,
+                    beanClass = UserEventsHandler.class,
+                    beanMethod = "stream",
+                    operation = @Operation(
+                            operationId = "userEvents",
+                            summary = "Eventos de usuarios",
+                            description = "Server-Sent Events con cada usuario creado (evento user_created). "
+                                    + "El id de cada evento es su secuencia; con Last-Event-ID o after se "
+                                    + "reciben primero los eventos posteriores a esa secuencia",
+                            tags = {"IAM API"},
+                            parameters = {
+                                    @Parameter(in = ParameterIn.HEADER, name = "Last-Event-ID",
+                                            description = "Última secuencia procesada (la envía el navegador al reconectar)"),
+                                    @Parameter(in = ParameterIn.QUERY, name = "after",
+                                            description = "Igual que Last-Event-ID, para clientes que no lo envían")
+                            },
+                            responses = {
+                                    @ApiResponse(responseCode = "200", description = "Stream de eventos",
+                                            content = @Content(mediaType = "text/event-stream",
+                                                    schema = @Schema(implementation = UserEventDto.class))),
+                                    @ApiResponse(responseCode = "400", description = "Secuencia inválida"),
+                                    @ApiResponse(responseCode = "401", description = "No autenticado"),
+                                    @ApiResponse(responseCode = "403", description = "Requiere rol ADMIN")
+                            }
+                    )
+            ),
             // POST /api/v1/login -> login
             @RouterOperation(
                     path = "/api/v1/login",
@@ -130,16 +208,116 @@ public class RouterRest {
                                     @ApiResponse(responseCode = "500", description = "Error interno del servidor")
                             }
                     )
+            ),
+            // POST /api/v1/users/exist/batch -> validar varios usuarios
+            @RouterOperation(
+                    path = "/api/v1/users/exist/batch",
+                    method = RequestMethod.POST,
+                    beanClass = UserValidatedExistHandler.class,
+                    beanMethod = "loadExistUsers",
+                    operation = @Operation(
+                            operationId = "existUsersBatch",
+                            summary = "Validación de usuarios por lote",
+                            description = "Valida hasta 500 pares documento/email con una sola consulta. "
+                                    + "Retorna por documento: MATCH, EMAIL_MISMATCH, NOT_FOUND o INVALID",
+                            tags = {"IAM API"},
+                            requestBody = @RequestBody(
+                                    required = true,
+                                    content = @Content(schema = @Schema(implementation = UserExistBatchRequestDto.class))
+                            ),
+                            responses = {
+                                    @ApiResponse(
+                                            responseCode = "200",
+                                            description = "Resultado por documento",
+                                            content = @Content(schema = @Schema(implementation = ApiResponse.class))
+                                    ),
+                                    @ApiResponse(responseCode = "400", description = "Lote vacío o demasiado grande"),
+                                    @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+                            }
+                    )
+            ),
+            // POST /api/v1/token/refresh -> rotar refresh token
+            @RouterOperation(
+                    path = "/api/v1/token/refresh",
+                    method = RequestMethod.POST,
+                    beanClass = TokenHandler.class,
+                    beanMethod = "refresh",
+                    operation = @Operation(
+                            operationId = "refreshToken",
+                            summary = "Renovar token",
+                            description = "Cambia un refresh token vigente por un access token y un refresh token nuevos",
+                            tags = {"IAM API"},
+                            requestBody = @RequestBody(
+                                    required = true,
+                                    content = @Content(schema = @Schema(implementation = RefreshTokenRequestDto.class))
+                            ),
+                            responses = {
+                                    @ApiResponse(
+                                            responseCode = "200",
+                                            description = "Tokens renovados",
+                                            content = @Content(schema = @Schema(implementation = LoginResponseDto.class))
+                                    ),
+                                    @ApiResponse(responseCode = "401", description = "Refresh token inválido, expirado o reutilizado")
+                            }
+                    )
+            ),
+            // POST /api/v1/token/revoke -> logout
+            @RouterOperation(
+                    path = "/api/v1/token/revoke",
+                    method = RequestMethod.POST,
+                    beanClass = TokenHandler.class,
+                    beanMethod = "revoke",
+                    operation = @Operation(
+                            operationId = "revokeToken",
+                            summary = "Revocar token",
+                            description = "Revoca el access token del request y, si se envía, la familia del refresh token",
+                            tags = {"IAM API"},
+                            requestBody = @RequestBody(
+                                    required = false,
+                                    content = @Content(schema = @Schema(implementation = RefreshTokenRequestDto.class))
+                            ),
+                            responses = {
+                                    @ApiResponse(responseCode = "204", description = "Tokens revocados"),
+                                    @ApiResponse(responseCode = "401", description = "No autenticado")
+                            }
+                    )
+            ),
+            // GET /.well-known/jwks.json -> llaves públicas de firma
+            @RouterOperation(
+                    path = "/.well-known/jwks.json",
+                    method = RequestMethod.GET,
+                    beanClass = JwksHandler.class,
+                    beanMethod = "jwks",
+                    operation = @Operation(
+                            operationId = "jwks",
+                            summary = "Llaves públicas (JWKS)",
+                            description = "Llaves para validar los tokens emitidos sin consultar a IAM",
+                            tags = {"IAM API"},
+                            responses = {
+                                    @ApiResponse(responseCode = "200", description = "Documento JWKS"),
+                                    @ApiResponse(responseCode = "304", description = "Sin cambios (If-None-Match)")
+                            }
+                    )
             )
     })
     public RouterFunction<ServerResponse> routerFunction(
             UserHandler userHandler,
             AuthHandler authHandler,
-            UserValidatedExistHandler userValidatedExistHandler
+            UserValidatedExistHandler userValidatedExistHandler,
+            JwksHandler jwksHandler,
+            TokenHandler tokenHandler,
+            UserImportHandler userImportHandler,
+            UserEventsHandler userEventsHandler
     ) {
         return route(GET("/api/v1/usuarios"), userHandler::list)
                 .andRoute(POST("/api/v1/usuarios"), userHandler::save)
+                .andRoute(POST("/api/v1/usuarios/import"), userImportHandler::importUsers)
+                .andRoute(GET("/api/v1/usuarios/events"), userEventsHandler::stream)
                 .andRoute(POST("/api/v1/users/exist"), userValidatedExistHandler::loadExistUser)
-                .andRoute(POST("/api/v1/login"), authHandler::login);
+                .andRoute(POST("/api/v1/users/exist/batch"), userValidatedExistHandler::loadExistUsers)
+                .andRoute(POST("/api/v1/login"), authHandler::login)
+                .andRoute(POST("/api/v1/token/refresh"), tokenHandler::refresh)
+                .andRoute(POST("/api/v1/token/revoke"), tokenHandler::revoke)
+                .andRoute(GET("/.well-known/jwks.json"), jwksHandler::jwks);
     }
 }
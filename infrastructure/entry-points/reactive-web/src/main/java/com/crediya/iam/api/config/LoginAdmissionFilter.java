@@ -0,0 +1,110 @@
+package com.crediya.iam.api.config;
+
+import com.crediya.iam.security.hashing.PasswordHashingExecutor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rechaza logins con 503 + Retry-After cuando el backlog de verificaciones BCrypt
+ * superaría la espera máxima configurada, en lugar de encolarlos.
+ */
+@Slf4j
+@Component
+public class LoginAdmissionFilter implements WebFilter {
+
+    private static final String LOGIN_PATH = "/api/v1/login";
+    private static final byte[] BUSY_BODY = "{\"error\":\"server_busy\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final PasswordHashingExecutor executor;
+    private final LoginAdmissionProperties props;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter shed;
+
+    public LoginAdmissionFilter(PasswordHashingExecutor executor,
+                                LoginAdmissionProperties props,
+                                MeterRegistry registry) {
+        this.executor = executor;
+        this.props = props;
+        this.shed = Counter.builder("iam.login.shed")
+                .description("Logins rechazados por control de admisión")
+                .register(registry);
+        Gauge.builder("iam.login.inflight", inFlight, AtomicInteger::get).register(registry);
+        Gauge.builder("iam.login.admission.limit", this, LoginAdmissionFilter::currentLimit).register(registry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!Boolean.TRUE.equals(props.enabled()) || !isLogin(exchange.getRequest())) {
+            return chain.filter(exchange);
+        }
+
+        int limit = currentLimit();
+        if (inFlight.incrementAndGet() > limit) {
+            inFlight.decrementAndGet();
+            shed.increment();
+            log.warn("[login.admission] shed inFlight={} limit={}", inFlight.get(), limit);
+            return reject(exchange.getResponse());
+        }
+
+        return chain.filter(exchange)
+                .doFinally(signal -> inFlight.decrementAndGet());
+    }
+
+    /**
+     * Hilos + los logins que pueden esperar en cola sin superar la espera máxima,
+     * según el tiempo de hash promedio. Sin muestras aún, usa la capacidad del pool.
+     */
+    int currentLimit() {
+        int threads = executor.threads();
+        int hardCap = props.maxConcurrent() != null
+                ? props.maxConcurrent()
+                : threads + executor.queueCapacity();
+
+        long avgNanos = executor.averageHashNanos();
+        if (avgNanos <= 0) {
+            return hardCap;
+        }
+        long maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(props.maxQueueWaitMs());
+        long adaptive = threads + (threads * maxWaitNanos) / avgNanos;
+        return (int) Math.max(threads, Math.min(hardCap, adaptive));
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response) {
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds()));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(BUSY_BODY)));
+    }
+
+    /**
+     * Tiempo estimado para drenar el backlog actual, nunca menor al configurado. Lo usan tanto
+     * el rechazo de este filtro como el 503 por cola de hashing llena.
+     */
+    public long retryAfterSeconds() {
+        long avgNanos = executor.averageHashNanos();
+        long drainNanos = avgNanos * executor.inFlight() / Math.max(1, executor.threads());
+        return Math.max(props.retryAfterSec(), TimeUnit.NANOSECONDS.toSeconds(drainNanos) + 1);
+    }
+
+    private static boolean isLogin(ServerHttpRequest request) {
+        return HttpMethod.POST.equals(request.getMethod())
+                && LOGIN_PATH.equals(request.getPath().pathWithinApplication().value());
+    }
+}
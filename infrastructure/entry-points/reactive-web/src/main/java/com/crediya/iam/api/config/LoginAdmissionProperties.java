@@ -0,0 +1,21 @@
+package com.crediya.iam.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Control de admisión del login. El límite de logins concurrentes se ajusta con la latencia
+ * de hash observada para que la espera en cola no supere {@code maxQueueWaitMs}.
+ */
+@ConfigurationProperties(prefix = "security.login.admission")
+public record LoginAdmissionProperties(
+        Boolean enabled,
+        Long maxQueueWaitMs,
+        Integer maxConcurrent,
+        Long retryAfterSec) {
+
+    public LoginAdmissionProperties {
+        if (enabled == null) enabled = Boolean.TRUE;
+        if (maxQueueWaitMs == null) maxQueueWaitMs = 500L;
+        if (retryAfterSec == null) retryAfterSec = 1L;
+    }
+}
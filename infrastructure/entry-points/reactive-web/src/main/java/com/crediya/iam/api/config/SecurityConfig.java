@@ -38,10 +38,17 @@ public class SecurityConfig {
                         .pathMatchers(HttpMethod.GET, "/api/v1/usuarios").permitAll()
                         // Login abierto
                         .pathMatchers(HttpMethod.POST, "/api/v1/login").permitAll()
+                        // Renovación: el refresh token es la credencial
+                        .pathMatchers(HttpMethod.POST, "/api/v1/token/refresh").permitAll()
+                        // Llaves públicas para validar tokens
+                        .pathMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll()
                         // Regla por rol
                         // Regla datos de usuario
                         .pathMatchers(HttpMethod.POST, "/api/v1/usuarios").permitAll()
+                        .pathMatchers(HttpMethod.POST, "/api/v1/usuarios/import").hasAnyRole("ADMIN")
+                        .pathMatchers(HttpMethod.GET, "/api/v1/usuarios/events").hasAnyRole("ADMIN")
                         .pathMatchers(HttpMethod.POST, "/api/v1/users/exist").hasAnyRole("CLIENTE")
+                        .pathMatchers(HttpMethod.POST, "/api/v1/users/exist/batch").hasAnyRole("CLIENTE")
                         // Resto autenticado
                         .anyExchange().authenticated()
                 )
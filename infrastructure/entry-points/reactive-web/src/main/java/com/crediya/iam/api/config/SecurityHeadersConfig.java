@@ -10,6 +10,9 @@ import reactor.core.publisher.Mono;
 @Component
 public class SecurityHeadersConfig implements WebFilter {
 
+    /** Rutas públicas cacheables: el handler define su propio Cache-Control */
+    private static final String JWKS_PATH = "/.well-known/jwks.json";
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
         HttpHeaders headers = exchange.getResponse().getHeaders();
@@ -17,8 +20,10 @@ public class SecurityHeadersConfig implements WebFilter {
         headers.set("Strict-Transport-Security", "max-age=31536000;");
         headers.set("X-Content-Type-Options", "nosniff");
         headers.set("Server", "");
-        headers.set("Cache-Control", "no-store");
-        headers.set("Pragma", "no-cache");
+        if (!JWKS_PATH.equals(exchange.getRequest().getPath().value())) {
+            headers.set("Cache-Control", "no-store");
+            headers.set("Pragma", "no-cache");
+        }
         headers.set("Referrer-Policy", "strict-origin-when-cross-origin");
         return chain.filter(exchange);
     }
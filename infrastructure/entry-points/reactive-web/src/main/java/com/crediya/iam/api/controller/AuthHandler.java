@@ -1,16 +1,20 @@
 package com.crediya.iam.api.controller;
 
+import com.crediya.iam.api.config.LoginAdmissionFilter;
 import com.crediya.iam.api.dto.*;
 import com.crediya.iam.api.userMapper.UserMapper;
 import com.crediya.iam.usecase.authenticate.AuthenticateUseCase;
 import jakarta.validation.Validator;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Mono;
 
+import java.util.concurrent.RejectedExecutionException;
+
 @Component
 @RequiredArgsConstructor
 public class AuthHandler {
@@ -18,17 +22,23 @@ public class AuthHandler {
     private final AuthenticateUseCase authenticate;
     private final UserMapper mapper;
     private final Validator validator;
+    private final LoginAdmissionFilter admission;
 
 
     public Mono<ServerResponse> login(ServerRequest req) {
         return req.bodyToMono(LoginRequestDto.class)
                 .flatMap(body -> authenticate.login(body.email(), body.password()))
                 .flatMap(tok -> ServerResponse.ok().bodyValue(
-                        new LoginResponseDto(tok.token(), tok.tokenType(), tok.expiresAtEpochSec())))
+                        new LoginResponseDto(tok.token(), tok.tokenType(), tok.expiresAtEpochSec(), tok.refreshToken())))
                 .onErrorResume(IllegalArgumentException.class,
                         e -> ServerResponse.status(401).bodyValue(new ErrorDto("invalid_credentials")))
                 .onErrorResume(IllegalStateException.class,
-                        e -> ServerResponse.status(403).bodyValue(new ErrorDto("inactive_user")));
+                        e -> ServerResponse.status(403).bodyValue(new ErrorDto("inactive_user")))
+                // Cola de hashing llena: el cliente debe reintentar
+                .onErrorResume(RejectedExecutionException.class,
+                        e -> ServerResponse.status(503)
+                                .header(HttpHeaders.RETRY_AFTER, String.valueOf(admission.retryAfterSeconds()))
+                                .bodyValue(new ErrorDto("server_busy")));
     }
 
 }
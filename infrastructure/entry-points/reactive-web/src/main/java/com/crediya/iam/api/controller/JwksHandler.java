@@ -0,0 +1,44 @@
+package com.crediya.iam.api.controller;
+
+import com.crediya.iam.security.jwt.JwtKeyProvider;
+import com.crediya.iam.security.jwt.JwtProperties;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.zip.CRC32;
+
+/**
+ * Publica las llaves públicas de firma para que otros servicios validen tokens sin llamar a IAM.
+ * El documento es estático por instancia: se sirve cacheable y con ETag.
+ */
+@Component
+public class JwksHandler {
+
+    private final String body;
+    private final String etag;
+    private final CacheControl cacheControl;
+
+    public JwksHandler(JwtKeyProvider keys, JwtProperties props) {
+        this.body = keys.jwksJson();
+        CRC32 crc = new CRC32();
+        crc.update(body.getBytes(StandardCharsets.UTF_8));
+        this.etag = "\"" + HexFormat.of().toHexDigits((int) crc.getValue()) + "\"";
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(props.getJwksMaxAgeSec())).cachePublic();
+    }
+
+    public Mono<ServerResponse> jwks(ServerRequest request) {
+        return request.checkNotModified(etag)
+                .switchIfEmpty(Mono.defer(() -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .cacheControl(cacheControl)
+                        .eTag(etag)
+                        .bodyValue(body)));
+    }
+}
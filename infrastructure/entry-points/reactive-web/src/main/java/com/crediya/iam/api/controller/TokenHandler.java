@@ -0,0 +1,52 @@
+package com.crediya.iam.api.controller;
+
+import com.crediya.iam.api.dto.ErrorDto;
+import com.crediya.iam.api.dto.LoginResponseDto;
+import com.crediya.iam.api.dto.RefreshTokenRequestDto;
+import com.crediya.iam.usecase.authenticate.RefreshTokenUseCase;
+import com.crediya.iam.usecase.authenticate.RevokeTokenUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+@Component
+@RequiredArgsConstructor
+public class TokenHandler {
+
+    private final RefreshTokenUseCase refreshTokens;
+    private final RevokeTokenUseCase revokeTokens;
+
+    public Mono<ServerResponse> refresh(ServerRequest req) {
+        return req.bodyToMono(RefreshTokenRequestDto.class)
+                .flatMap(body -> refreshTokens.refresh(body.refreshToken()))
+                .flatMap(tok -> ServerResponse.ok().bodyValue(new LoginResponseDto(
+                        tok.token(), tok.tokenType(), tok.expiresAtEpochSec(), tok.refreshToken())))
+                .switchIfEmpty(Mono.defer(() -> ServerResponse.status(400).bodyValue(new ErrorDto("invalid_request"))))
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> ServerResponse.status(401).bodyValue(new ErrorDto("invalid_refresh_token")));
+    }
+
+    /**
+     * Logout: revoca el access token con el que se autenticó el request y, si viene en el
+     * body, la familia del refresh token.
+     */
+    public Mono<ServerResponse> revoke(ServerRequest req) {
+        Mono<String> accessToken = ReactiveSecurityContextHolder.getContext()
+                .mapNotNull(ctx -> ctx.getAuthentication() == null ? null : ctx.getAuthentication().getCredentials())
+                .map(String::valueOf);
+
+        return req.bodyToMono(RefreshTokenRequestDto.class)
+                .map(RefreshTokenRequestDto::refreshToken)
+                .defaultIfEmpty("")
+                .zipWith(accessToken.defaultIfEmpty(""))
+                .flatMap(t -> revokeTokens.revoke(blankToNull(t.getT2()), blankToNull(t.getT1())))
+                .then(ServerResponse.noContent().build());
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
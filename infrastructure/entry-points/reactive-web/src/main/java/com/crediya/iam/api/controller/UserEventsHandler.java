@@ -0,0 +1,68 @@
+package com.crediya.iam.api.controller;
+
+import com.crediya.iam.api.dto.ErrorDto;
+import com.crediya.iam.api.dto.UserEventDto;
+import com.crediya.iam.api.userMapper.UserMapper;
+import com.crediya.iam.model.user.UserEvent;
+import com.crediya.iam.usecase.userevents.StreamUserEventsUseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserEventsHandler {
+
+    static final String LAST_EVENT_ID = "Last-Event-ID";
+    static final Duration KEEP_ALIVE = Duration.ofSeconds(15);
+
+    private final StreamUserEventsUseCase streamUserEventsUseCase;
+    private final UserMapper mapper;
+
+    /**
+     * Change feed de usuarios por SSE. El id de cada evento es su secuencia: al reconectar, el
+     * navegador la envía en Last-Event-ID (o el cliente la pasa en {@code ?after=}) y el stream
+     * continúa desde ahí. Un comentario periódico mantiene viva la conexión en los proxies.
+     */
+    public Mono<ServerResponse> stream(ServerRequest request) {
+        Long after;
+        try {
+            after = request.headers().firstHeader(LAST_EVENT_ID) != null
+                    ? Long.valueOf(request.headers().firstHeader(LAST_EVENT_ID))
+                    : request.queryParam("after").map(Long::valueOf).orElse(null);
+        } catch (NumberFormatException e) {
+            return ServerResponse.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(new ErrorDto("invalid_event_id"));
+        }
+
+        Flux<ServerSentEvent<UserEventDto>> events = streamUserEventsUseCase.stream(after)
+                .map(this::toSse)
+                .mergeWith(Flux.interval(KEEP_ALIVE, KEEP_ALIVE)
+                        .map(tick -> ServerSentEvent.<UserEventDto>builder().comment("keep-alive").build()))
+                .doOnCancel(() -> log.debug("[{}] Cliente cerró el change feed", request.path()));
+
+        return ServerResponse.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(events, new ParameterizedTypeReference<ServerSentEvent<UserEventDto>>() {});
+    }
+
+    private ServerSentEvent<UserEventDto> toSse(UserEvent event) {
+        UserEventDto dto = new UserEventDto(event.sequence(), event.type(), event.occurredAt(),
+                event.user() == null ? null : mapper.toResponseDto(event.user()));
+        return ServerSentEvent.builder(dto)
+                .id(Long.toString(event.sequence()))
+                .event(event.type())
+                .build();
+    }
+}
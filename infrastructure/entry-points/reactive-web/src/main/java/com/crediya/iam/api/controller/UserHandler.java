@@ -1,12 +1,14 @@
 package com.crediya.iam.api.controller;
 
 import com.crediya.iam.api.dto.ApiResponse;
+import com.crediya.iam.api.dto.UserPageResponseDto;
 import com.crediya.iam.api.dto.UserResponseDto;
 import com.crediya.iam.api.dto.UserSaveDto;
 import com.crediya.iam.api.userMapper.UserMapper;
 import com.crediya.iam.model.user.User;
 import com.crediya.iam.usecase.loadusers.LoadUsersUseCase;
 import com.crediya.iam.usecase.shared.Messages;
+import com.crediya.iam.usecase.shared.ValidationException;
 import com.crediya.iam.usecase.user.IUserUseCase;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Validator;
@@ -16,14 +18,22 @@ import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.MonoSink;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class UserHandler {
 
+    private static final Base64.Encoder CURSOR_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder CURSOR_DECODER = Base64.getUrlDecoder();
+
     private final IUserUseCase useCase;
     private  final LoadUsersUseCase loadUsersUseCase;
     private final UserMapper mapper;
@@ -41,6 +51,13 @@ public class UserHandler {
     public Mono<ServerResponse> list(ServerRequest request) {
         final String path = request.path();
 
+        if (wantsNdjson(request)) {
+            return stream(request);
+        }
+        if (request.queryParam("limit").isPresent() || request.queryParam("cursor").isPresent()) {
+            return page(request);
+        }
+
         return loadUsersUseCase.execute()
                 .collectList()
                 .flatMap(list -> ServerResponse.ok()
@@ -76,6 +93,65 @@ public class UserHandler {
 
     }
 
+    /**
+     * Una línea JSON por usuario, escrita a medida que R2DBC entrega filas: la demanda del
+     * cliente llega hasta la consulta y la memoria no crece con el tamaño de la tabla.
+     * Sin usuarios responde 200 con cuerpo vacío, porque el error no puede viajar dentro del stream.
+     */
+    private Mono<ServerResponse> stream(ServerRequest request) {
+        Flux<UserResponseDto> users = loadUsersUseCase.execute()
+                .onErrorResume(ValidationException.class, e -> Flux.empty())
+                .map(mapper::toResponseDto)
+                .doOnCancel(() -> log.debug("[{}] Cliente canceló el stream de usuarios", request.path()));
+
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(users, UserResponseDto.class);
+    }
+
+    /**
+     * Paginación por keyset: {@code ?limit=N&cursor=...}. El cursor es opaco para el cliente
+     * y solo codifica el último id entregado.
+     */
+    private Mono<ServerResponse> page(ServerRequest request) {
+        final String path = request.path();
+        Long afterId;
+        Integer limit;
+        try {
+            afterId = request.queryParam("cursor").filter(c -> !c.isBlank()).map(UserHandler::decodeCursor).orElse(null);
+            limit = request.queryParam("limit").map(Integer::valueOf).orElse(null);
+        } catch (IllegalArgumentException e) {
+            return ServerResponse.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(ApiResponse.badRequest(
+                            List.of(new ApiResponse.FieldError("cursor", "cursor o limit inválido")),
+                            Messages.USER_VALIDATED_ERROR, path));
+        }
+
+        return loadUsersUseCase.page(afterId, limit)
+                .map(p -> new UserPageResponseDto(
+                        p.users().stream().map(mapper::toResponseDto).toList(),
+                        p.hasNext() ? encodeCursor(p.nextAfterId()) : null))
+                .flatMap(dto -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(ApiResponse.ok(dto, Messages.USERS_FOUND, path)));
+    }
+
+    private static String encodeCursor(long afterId) {
+        return CURSOR_ENCODER.encodeToString(Long.toString(afterId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /** IllegalArgumentException si el cursor no es base64url o no contiene un id. */
+    private static long decodeCursor(String cursor) {
+        return Long.parseLong(new String(CURSOR_DECODER.decode(cursor), StandardCharsets.US_ASCII));
+    }
+
+    /** Solo si el cliente lo pide explícitamente; {@code *}/{@code *} mantiene la respuesta JSON. */
+    private static boolean wantsNdjson(ServerRequest request) {
+        return request.headers().accept().stream()
+                .anyMatch(mt -> mt.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON));
+    }
+
     private static String mask(String doc) {
         if (doc == null || doc.length() < 4) return "****";
         int visible = Math.min(2, doc.length() / 2);
@@ -0,0 +1,54 @@
+package com.crediya.iam.api.controller;
+
+import com.crediya.iam.api.dto.ErrorDto;
+import com.crediya.iam.api.userMapper.UserImportParser;
+import com.crediya.iam.usecase.importusers.ImportUserResult;
+import com.crediya.iam.usecase.importusers.ImportUserRow;
+import com.crediya.iam.usecase.importusers.ImportUsersUseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserImportHandler {
+
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private final ImportUsersUseCase importUsersUseCase;
+    private final UserImportParser parser;
+
+    /**
+     * Importación masiva. El body se lee por líneas y el reporte sale como NDJSON, una línea
+     * por fila del archivo, mientras se procesan los lotes siguientes.
+     */
+    public Mono<ServerResponse> importUsers(ServerRequest request) {
+        MediaType contentType = request.headers().contentType().orElse(MediaType.APPLICATION_NDJSON);
+        Flux<String> lines = request.bodyToFlux(String.class);
+
+        Flux<ImportUserRow> rows;
+        if (contentType.equalsTypeAndSubtype(TEXT_CSV)) {
+            rows = parser.csv(lines);
+        } else if (contentType.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON)) {
+            rows = parser.ndjson(lines);
+        } else {
+            return ServerResponse.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+                    .bodyValue(new ErrorDto("unsupported_media_type"));
+        }
+
+        log.info("[{}] Inicio importación de usuarios contentType={}", request.path(), contentType);
+        Flux<ImportUserResult> report = importUsersUseCase.execute(rows)
+                .doOnCancel(() -> log.warn("[{}] Cliente canceló la importación", request.path()));
+
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(report, ImportUserResult.class);
+    }
+}
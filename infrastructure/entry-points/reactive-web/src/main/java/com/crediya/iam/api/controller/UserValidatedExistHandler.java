@@ -1,9 +1,12 @@
 package com.crediya.iam.api.controller;
 
 import com.crediya.iam.api.dto.ApiResponse;
+import com.crediya.iam.api.dto.UserExistBatchRequestDto;
 import com.crediya.iam.api.dto.UserExistRequestDto;
+import com.crediya.iam.usecase.existuser.ExistUserQuery;
 import com.crediya.iam.usecase.existuser.ExistUserUseCase;
 import com.crediya.iam.usecase.shared.Messages;
+import com.crediya.iam.usecase.shared.ValidationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
@@ -12,6 +15,8 @@ import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 import static com.crediya.iam.usecase.shared.Messages.USER_VALIDATED_ERROR;
 
 @Slf4j
@@ -39,6 +44,30 @@ public class UserValidatedExistHandler {
                ;
     }
 
+    /**
+     * Variante por lote: un request y una consulta para todos los pares. Responde un mapa
+     * documento -> MATCH | EMAIL_MISMATCH | NOT_FOUND | INVALID.
+     */
+    public Mono<ServerResponse> loadExistUsers(ServerRequest request) {
+        String path = request.path();
+
+        return request.bodyToMono(UserExistBatchRequestDto.class)
+                .map(body -> body.users() == null ? List.<ExistUserQuery>of() : body.users().stream()
+                        .map(u -> new ExistUserQuery(u.getDocument(), u.getEmail()))
+                        .toList())
+                .defaultIfEmpty(List.of())
+                .doOnNext(queries -> log.info("[{}] Checking existence for {} pairs", path, queries.size()))
+                .flatMap(existUserUseCase::executeBatch)
+                .flatMap(results -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(ApiResponse.ok(results, Messages.USERS_FOUND, path)))
+                .onErrorResume(ValidationException.class, ex -> ServerResponse.badRequest()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(ApiResponse.badRequest(
+                                List.of(new ApiResponse.FieldError(ex.getField(), ex.getMessage())),
+                                USER_VALIDATED_ERROR, path)));
+    }
+
     // ----------------- Métodos auxiliares -----------------
 
     private Mono<ServerResponse> buildOkResponse(boolean exists, String path) {
@@ -1,3 +1,11 @@
 package com.crediya.iam.api.dto;
 
-public record LoginResponseDto (String accessToken, String tokenType, long expiresAt) {}
\ No newline at end of file
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record LoginResponseDto (String accessToken, String tokenType, long expiresAt, String refreshToken) {
+
+    public LoginResponseDto(String accessToken, String tokenType, long expiresAt) {
+        this(accessToken, tokenType, expiresAt, null);
+    }
+}
@@ -0,0 +1,3 @@
+package com.crediya.iam.api.dto;
+
+public record RefreshTokenRequestDto(String refreshToken) {}
@@ -0,0 +1,8 @@
+package com.crediya.iam.api.dto;
+
+import java.time.Instant;
+
+/**
+ * Dato de cada evento SSE del change feed; {@code user} es null si el usuario ya no existe.
+ */
+public record UserEventDto(long sequence, String type, Instant occurredAt, UserResponseDto user) {}
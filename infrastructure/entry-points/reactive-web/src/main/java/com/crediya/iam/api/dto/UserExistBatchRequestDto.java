@@ -0,0 +1,7 @@
+package com.crediya.iam.api.dto;
+
+import java.util.List;
+
+/** Pares documento/email a validar en una sola petición. */
+public record UserExistBatchRequestDto(List<UserExistRequestDto> users) {
+}
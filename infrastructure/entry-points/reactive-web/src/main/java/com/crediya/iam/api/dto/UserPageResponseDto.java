@@ -0,0 +1,8 @@
+package com.crediya.iam.api.dto;
+
+import java.util.List;
+
+/**
+ * Página de usuarios; {@code nextCursor} es null en la última página.
+ */
+public record UserPageResponseDto(List<UserResponseDto> items, String nextCursor) {}
@@ -0,0 +1,170 @@
+package com.crediya.iam.api.userMapper;
+
+import com.crediya.iam.api.dto.UserSaveDto;
+import com.crediya.iam.usecase.importusers.ImportUserRow;
+import com.crediya.iam.usecase.shared.Messages;
+import com.crediya.iam.usecase.shared.ValidationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Convierte las líneas del archivo de importación (NDJSON o CSV con encabezado) en filas
+ * para ImportUsersUseCase. Una línea inválida se convierte en una fila rechazada; nunca
+ * corta el stream.
+ */
+@Component
+public class UserImportParser {
+
+    /** Columnas del CSV; el orden lo define el encabezado del archivo */
+    public static final List<String> CSV_COLUMNS = List.of(
+            "firstName", "lastName", "email", "birthdate", "identityDocument",
+            "phoneNumber", "baseSalary", "address", "password", "roleId");
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final UserMapper mapper;
+
+    public UserImportParser(ObjectMapper objectMapper, Validator validator, UserMapper mapper) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.mapper = mapper;
+    }
+
+    /** Un UserSaveDto en JSON por línea. */
+    public Flux<ImportUserRow> ndjson(Flux<String> lines) {
+        return numbered(lines)
+                .map(line -> {
+                    try {
+                        return toRow(line.getT1(), objectMapper.readValue(line.getT2(), UserSaveDto.class));
+                    } catch (JsonProcessingException e) {
+                        return ImportUserRow.invalid(line.getT1(), null, Messages.IMPORT_ROW_UNREADABLE);
+                    }
+                });
+    }
+
+    /** Primera línea con los nombres de columna de {@link #CSV_COLUMNS}, en cualquier orden. */
+    public Flux<ImportUserRow> csv(Flux<String> lines) {
+        return numbered(lines).switchOnFirst((first, rows) -> {
+            if (!first.hasValue()) return rows.thenMany(Flux.<ImportUserRow>empty());
+            Map<String, Integer> header = header(first.get().getT2());
+            List<String> missing = CSV_COLUMNS.stream().filter(c -> !header.containsKey(c)).toList();
+            if (!missing.isEmpty()) {
+                // Sin suscribirse a rows: al completar, switchOnFirst cancela la lectura del body
+                return Flux.just(ImportUserRow.invalid(first.get().getT1(), "header",
+                        "Faltan columnas: " + String.join(", ", missing)));
+            }
+            return rows.skip(1).map(line -> csvRow(line.getT1(), line.getT2(), header));
+        });
+    }
+
+    private ImportUserRow csvRow(long lineNumber, String line, Map<String, Integer> header) {
+        List<String> cells = split(line);
+        Function<String, String> cell = column -> {
+            int index = header.get(column);
+            if (index >= cells.size()) return null;
+            String value = cells.get(index).trim();
+            return value.isEmpty() ? null : value;
+        };
+        try {
+            UserSaveDto dto = new UserSaveDto(
+                    null,
+                    cell.apply("firstName"),
+                    cell.apply("lastName"),
+                    cell.apply("email"),
+                    convert("birthdate", cell.apply("birthdate"), LocalDate::parse),
+                    cell.apply("identityDocument"),
+                    cell.apply("phoneNumber"),
+                    convert("baseSalary", cell.apply("baseSalary"), BigDecimal::new),
+                    cell.apply("address"),
+                    cell.apply("password"),
+                    convert("roleId", cell.apply("roleId"), Long::valueOf));
+            return toRow(lineNumber, dto);
+        } catch (ValidationException e) {
+            return ImportUserRow.invalid(lineNumber, e.getField(), e.getMessage());
+        }
+    }
+
+    /** Aplica las mismas anotaciones de validación que POST /api/v1/usuarios. */
+    private ImportUserRow toRow(long line, UserSaveDto dto) {
+        if (dto == null) return ImportUserRow.invalid(line, null, Messages.IMPORT_ROW_UNREADABLE);
+        Set<ConstraintViolation<UserSaveDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<UserSaveDto> violation = violations.iterator().next();
+            return ImportUserRow.invalid(line, violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return ImportUserRow.of(line, mapper.toModel(dto));
+    }
+
+    /** Numera desde 1 y descarta líneas vacías, conservando el número original. */
+    private static Flux<Tuple2<Long, String>> numbered(Flux<String> lines) {
+        return lines.index((i, line) -> Tuples.of(i + 1, line))
+                .filter(line -> !line.getT2().isBlank());
+    }
+
+    private static Map<String, Integer> header(String line) {
+        List<String> names = split(line);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i).trim();
+            for (String column : CSV_COLUMNS) {
+                if (column.equalsIgnoreCase(name)) {
+                    header.putIfAbsent(column, i);
+                }
+            }
+        }
+        return header;
+    }
+
+    private static <T> T convert(String field, String raw, Function<String, T> parser) {
+        if (raw == null) return null;
+        try {
+            return parser.apply(raw);
+        } catch (RuntimeException e) {
+            throw new ValidationException(field, Messages.IMPORT_ROW_UNREADABLE);
+        }
+    }
+
+    /** Separa por comas; admite campos entre comillas dobles y "" como comilla escapada. */
+    static List<String> split(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (quoted) {
+                if (ch == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (ch == '"') {
+                    quoted = false;
+                } else {
+                    current.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                cells.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(ch);
+            }
+        }
+        cells.add(current.toString());
+        return cells;
+    }
+}
@@ -2,7 +2,11 @@ package com.crediya.iam.api.config;
 
 import com.crediya.iam.api.RouterRest;
 import com.crediya.iam.api.controller.AuthHandler;
+import com.crediya.iam.api.controller.JwksHandler;
+import com.crediya.iam.api.controller.TokenHandler;
+import com.crediya.iam.api.controller.UserEventsHandler;
 import com.crediya.iam.api.controller.UserHandler;
+import com.crediya.iam.api.controller.UserImportHandler;
 import com.crediya.iam.api.controller.UserValidatedExistHandler;
 import com.crediya.iam.api.dto.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -22,6 +26,7 @@ import reactor.core.publisher.Mono;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
@@ -38,6 +43,18 @@ class RouterRestTest {
     @Mock
     private UserValidatedExistHandler userValidatedExistHandler;
 
+    @Mock
+    private JwksHandler jwksHandler;
+
+    @Mock
+    private TokenHandler tokenHandler;
+
+    @Mock
+    private UserImportHandler userImportHandler;
+
+    @Mock
+    private UserEventsHandler userEventsHandler;
+
     private RouterRest routerRest;
     private WebTestClient webTestClient;
     private ObjectMapper objectMapper;
@@ -48,7 +65,8 @@ class RouterRestTest {
         objectMapper = new ObjectMapper();
 
         RouterFunction<ServerResponse> routerFunction = routerRest.routerFunction(
-                userHandler, authHandler, userValidatedExistHandler);
+                userHandler, authHandler, userValidatedExistHandler, jwksHandler, tokenHandler, userImportHandler,
+                userEventsHandler);
 
         webTestClient = WebTestClient.bindToRouterFunction(routerFunction).build();
     }
@@ -475,4 +493,74 @@ class RouterRestTest {
                 .jsonPath("$.data.baseSalary").isEqualTo(2750000.50)
                 .jsonPath("$.data.phoneNumber").isEqualTo("3109876543");
     }
-}
\ No newline at end of file
+
+    @Test
+    void routerFunction_WhenGetJwks_ShouldCallJwksHandler() {
+        when(jwksHandler.jwks(any(ServerRequest.class)))
+                .thenReturn(ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue("{\"keys\":[]}"));
+
+        webTestClient.get()
+                .uri("/.well-known/jwks.json")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.keys").isArray();
+    }
+
+    @Test
+    void routerFunction_WhenPostTokenRefresh_ShouldCallTokenHandler() {
+        when(tokenHandler.refresh(any(ServerRequest.class)))
+                .thenReturn(ServerResponse.ok().bodyValue(new LoginResponseDto("access", "Bearer", 1L, "refresh")));
+
+        webTestClient.post()
+                .uri("/api/v1/token/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new RefreshTokenRequestDto("refresh-old"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.refreshToken").isEqualTo("refresh");
+    }
+
+    @Test
+    void routerFunction_WhenPostTokenRevoke_ShouldCallTokenHandler() {
+        when(tokenHandler.revoke(any(ServerRequest.class)))
+                .thenReturn(ServerResponse.noContent().build());
+
+        webTestClient.post()
+                .uri("/api/v1/token/revoke")
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
+    @Test
+    void routerFunction_WhenPostUsuariosImport_ShouldCallUserImportHandler() {
+        when(userImportHandler.importUsers(any(ServerRequest.class)))
+                .thenReturn(ServerResponse.ok().contentType(MediaType.APPLICATION_NDJSON).build());
+
+        webTestClient.post()
+                .uri("/api/v1/usuarios/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{}\n")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON);
+    }
+
+    @Test
+    void routerFunction_WhenPostUsersExistBatch_ShouldCallUserValidatedExistHandler() {
+        when(userValidatedExistHandler.loadExistUsers(any(ServerRequest.class)))
+                .thenReturn(ServerResponse.ok().bodyValue(Map.of("123456789", "MATCH")));
+
+        webTestClient.post()
+                .uri("/api/v1/users/exist/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"users\":[]}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$['123456789']").isEqualTo("MATCH");
+    }
+}
@@ -0,0 +1,109 @@
+package com.crediya.iam.api.config.config;
+
+import com.crediya.iam.api.config.LoginAdmissionFilter;
+import com.crediya.iam.api.config.LoginAdmissionProperties;
+import com.crediya.iam.security.hashing.PasswordHashingExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class LoginAdmissionFilterTest {
+
+    private PasswordHashingExecutor executor;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        executor = mock(PasswordHashingExecutor.class);
+        registry = new SimpleMeterRegistry();
+        when(executor.threads()).thenReturn(1);
+        when(executor.queueCapacity()).thenReturn(1);
+        when(executor.averageHashNanos()).thenReturn(0L);
+    }
+
+    private LoginAdmissionFilter filter(Integer maxConcurrent) {
+        return new LoginAdmissionFilter(executor,
+                new LoginAdmissionProperties(true, 500L, maxConcurrent, 2L), registry);
+    }
+
+    private static MockServerWebExchange login() {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/login"));
+    }
+
+    @Test
+    void filter_shouldIgnoreOtherRoutes() {
+        var filter = filter(null);
+        WebFilterChain chain = mock(WebFilterChain.class);
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/usuarios"));
+        when(chain.filter(exchange)).thenReturn(Mono.empty());
+
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        verify(chain).filter(exchange);
+    }
+
+    @Test
+    void filter_shouldAdmitLoginWithinLimit() {
+        var filter = filter(null);
+        WebFilterChain chain = ex -> Mono.empty();
+
+        StepVerifier.create(filter.filter(login(), chain)).verifyComplete();
+
+        assertThat(registry.get("iam.login.inflight").gauge().value()).isZero();
+        assertThat(registry.get("iam.login.shed").counter().count()).isZero();
+    }
+
+    @Test
+    void filter_shouldShedWith503WhenLimitReached() {
+        var filter = filter(null); // límite = hilos + cola = 2
+        WebFilterChain pending = ex -> Mono.never();
+        filter.filter(login(), pending).subscribe();
+        filter.filter(login(), pending).subscribe();
+
+        var rejected = login();
+        StepVerifier.create(filter.filter(rejected, pending)).verifyComplete();
+
+        assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(registry.get("iam.login.shed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void retryAfter_shouldCoverTheTimeToDrainTheBacklog() {
+        var filter = filter(null);
+        when(executor.averageHashNanos()).thenReturn(TimeUnit.SECONDS.toNanos(1));
+        when(executor.inFlight()).thenReturn(3);
+
+        // 3 hashes de 1s en 1 hilo: más que los 2s configurados
+        assertThat(filter.retryAfterSeconds()).isEqualTo(4L);
+    }
+
+    @Test
+    void limit_shouldAdaptToObservedHashLatency() {
+        filter(50);
+        when(executor.averageHashNanos()).thenReturn(TimeUnit.MILLISECONDS.toNanos(100));
+
+        // 1 hilo + (500ms de espera máxima / 100ms por hash)
+        assertThat(registry.get("iam.login.admission.limit").gauge().value()).isEqualTo(6.0);
+    }
+
+    @Test
+    void limit_shouldNeverDropBelowThreadCount() {
+        filter(50);
+        when(executor.averageHashNanos()).thenReturn(TimeUnit.SECONDS.toNanos(10));
+
+        assertThat(registry.get("iam.login.admission.limit").gauge().value()).isEqualTo(1.0);
+    }
+}
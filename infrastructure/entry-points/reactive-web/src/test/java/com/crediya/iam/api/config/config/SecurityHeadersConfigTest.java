@@ -125,4 +125,17 @@ class SecurityHeadersConfigTest {
 
         verify(filterChain, times(2)).filter(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void filter_shouldLeaveCachingToJwksHandler() {
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/.well-known/jwks.json"));
+
+        StepVerifier.create(securityHeadersConfig.filter(exchange, filterChain))
+                .verifyComplete();
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertNull(headers.getFirst("Cache-Control"));
+        assertNull(headers.getFirst("Pragma"));
+        assertEquals("nosniff", headers.getFirst("X-Content-Type-Options"));
+    }
+}
@@ -1,5 +1,6 @@
 package com.crediya.iam.api.config.controller;
 
+import com.crediya.iam.api.config.LoginAdmissionFilter;
 import com.crediya.iam.api.controller.AuthHandler;
 import com.crediya.iam.api.dto.LoginRequestDto;
 import com.crediya.iam.api.userMapper.UserMapper;
@@ -11,6 +12,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Mono;
 
+import java.util.concurrent.RejectedExecutionException;
+
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
@@ -21,6 +24,7 @@ class AuthHandlerTest {
     private AuthenticateUseCase authenticate;
     private UserMapper mapper;
     private Validator validator;
+    private LoginAdmissionFilter admission;
     private WebTestClient webTestClient;
 
     @BeforeEach
@@ -28,8 +32,9 @@ class AuthHandlerTest {
         authenticate = mock(AuthenticateUseCase.class);
         mapper = mock(UserMapper.class);
         validator = mock(Validator.class);
+        admission = mock(LoginAdmissionFilter.class);
 
-        AuthHandler authHandler = new AuthHandler(authenticate, mapper, validator);
+        AuthHandler authHandler = new AuthHandler(authenticate, mapper, validator, admission);
 
         var router = route(POST("/api/v1/login"), authHandler::login);
         webTestClient = WebTestClient.bindToRouterFunction(router).build();
@@ -82,4 +87,20 @@ class AuthHandlerTest {
                 .expectStatus().isForbidden()
                 .expectBody();
     }
+
+    @Test
+    void login_hashingQueueFull_returns503WithTheAdmissionRetryAfter() {
+        when(authenticate.login(anyString(), anyString()))
+                .thenReturn(Mono.error(new RejectedExecutionException("queue full")));
+        when(admission.retryAfterSeconds()).thenReturn(4L);
+
+        LoginRequestDto req = new LoginRequestDto("busy@mail.com", "pass");
+
+        webTestClient.post()
+                .uri("/api/v1/login")
+                .bodyValue(req)
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectHeader().valueEquals("Retry-After", "4");
+    }
 }
@@ -0,0 +1,58 @@
+package com.crediya.iam.api.config.controller;
+
+import com.crediya.iam.api.controller.JwksHandler;
+import com.crediya.iam.security.jwt.JwtKeyProvider;
+import com.crediya.iam.security.jwt.JwtProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+class JwksHandlerTest {
+
+    private WebTestClient client;
+    private JwtKeyProvider keys;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties props = new JwtProperties();
+        props.setAlgorithm("RS256");
+        props.setAllowEphemeralKeys(true);
+        props.setJwksMaxAgeSec(600L);
+        keys = new JwtKeyProvider(props);
+        JwksHandler handler = new JwksHandler(keys, props);
+        client = WebTestClient.bindToRouterFunction(route(GET("/.well-known/jwks.json"), handler::jwks)).build();
+    }
+
+    @Test
+    void jwks_shouldReturnPublicKeysWithCacheHeaders() {
+        client.get().uri("/.well-known/jwks.json")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "max-age=600, public")
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody()
+                .jsonPath("$.keys[0].kid").isEqualTo(keys.keyId())
+                .jsonPath("$.keys[0].kty").isEqualTo("RSA")
+                .jsonPath("$.keys[0].d").doesNotExist();
+    }
+
+    @Test
+    void jwks_shouldAnswerNotModifiedForMatchingEtag() {
+        String etag = client.get().uri("/.well-known/jwks.json")
+                .exchange()
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getETag();
+
+        client.get().uri("/.well-known/jwks.json")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+}
@@ -0,0 +1,93 @@
+package com.crediya.iam.api.config.controller;
+
+import com.crediya.iam.api.controller.TokenHandler;
+import com.crediya.iam.api.dto.RefreshTokenRequestDto;
+import com.crediya.iam.usecase.authenticate.RefreshTokenUseCase;
+import com.crediya.iam.usecase.authenticate.RevokeTokenUseCase;
+import com.crediya.iam.usecase.authenticate.TokenResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+class TokenHandlerTest {
+
+    private RefreshTokenUseCase refreshTokens;
+    private RevokeTokenUseCase revokeTokens;
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setup() {
+        refreshTokens = mock(RefreshTokenUseCase.class);
+        revokeTokens = mock(RevokeTokenUseCase.class);
+        TokenHandler handler = new TokenHandler(refreshTokens, revokeTokens);
+        webTestClient = WebTestClient.bindToRouterFunction(
+                route(POST("/api/v1/token/refresh"), handler::refresh)
+                        .andRoute(POST("/api/v1/token/revoke"), req -> handler.revoke(req)
+                                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(
+                                        new UsernamePasswordAuthenticationToken("7", "access-token", List.of())))))
+                .build();
+    }
+
+    @Test
+    void refresh_ok_returnsRotatedTokens() {
+        when(refreshTokens.refresh("old"))
+                .thenReturn(Mono.just(new TokenResult("access", "Bearer", 9999L, "new")));
+
+        webTestClient.post()
+                .uri("/api/v1/token/refresh")
+                .bodyValue(new RefreshTokenRequestDto("old"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.accessToken").isEqualTo("access")
+                .jsonPath("$.refreshToken").isEqualTo("new");
+    }
+
+    @Test
+    void refresh_invalidToken_returns401() {
+        when(refreshTokens.refresh("bad"))
+                .thenReturn(Mono.error(new IllegalArgumentException("invalid")));
+
+        webTestClient.post()
+                .uri("/api/v1/token/refresh")
+                .bodyValue(new RefreshTokenRequestDto("bad"))
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("invalid_refresh_token");
+    }
+
+    @Test
+    void revoke_revokesAccessTokenFromContextAndRefreshFromBody() {
+        when(revokeTokens.revoke("access-token", "refresh-token")).thenReturn(Mono.empty());
+
+        webTestClient.post()
+                .uri("/api/v1/token/revoke")
+                .bodyValue(new RefreshTokenRequestDto("refresh-token"))
+                .exchange()
+                .expectStatus().isNoContent();
+
+        verify(revokeTokens).revoke("access-token", "refresh-token");
+    }
+
+    @Test
+    void revoke_withoutBody_revokesOnlyAccessToken() {
+        when(revokeTokens.revoke("access-token", null)).thenReturn(Mono.empty());
+
+        webTestClient.post()
+                .uri("/api/v1/token/revoke")
+                .exchange()
+                .expectStatus().isNoContent();
+
+        verify(revokeTokens).revoke("access-token", null);
+    }
+}
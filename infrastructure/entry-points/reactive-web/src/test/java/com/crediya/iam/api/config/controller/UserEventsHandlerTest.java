@@ -0,0 +1,93 @@
+package com.crediya.iam.api.config.controller;
+
+import com.crediya.iam.api.controller.UserEventsHandler;
+import com.crediya.iam.api.dto.UserEventDto;
+import com.crediya.iam.api.userMapper.UserMapper;
+import com.crediya.iam.model.user.User;
+import com.crediya.iam.model.user.UserEvent;
+import com.crediya.iam.usecase.userevents.StreamUserEventsUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+class UserEventsHandlerTest {
+
+    private StreamUserEventsUseCase useCase;
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setup() {
+        useCase = mock(StreamUserEventsUseCase.class);
+        UserEventsHandler handler = new UserEventsHandler(useCase, Mappers.getMapper(UserMapper.class));
+        webTestClient = WebTestClient.bindToRouterFunction(
+                route(GET("/api/v1/usuarios/events"), handler::stream)).build();
+    }
+
+    private static UserEvent created(long sequence, String email) {
+        return new UserEvent(sequence, UserEvent.USER_CREATED, Instant.parse("2025-01-01T00:00:00Z"),
+                User.builder().id(sequence).email(email).build());
+    }
+
+    @Test
+    void stream_sendsEachEventWithItsSequenceAsId() {
+        when(useCase.stream(any())).thenReturn(Flux.just(created(4, "a@mail.com"), created(5, "b@mail.com")));
+
+        Flux<ServerSentEvent<UserEventDto>> body = webTestClient.get()
+                .uri("/api/v1/usuarios/events?after=3")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<UserEventDto>>() {})
+                .getResponseBody();
+
+        StepVerifier.create(body)
+                .expectNextMatches(sse -> "4".equals(sse.id()) && UserEvent.USER_CREATED.equals(sse.event())
+                        && sse.data().user().getEmail().equals("a@mail.com"))
+                .expectNextMatches(sse -> "5".equals(sse.id()))
+                .thenCancel()
+                .verify();
+
+        verify(useCase).stream(3L);
+    }
+
+    @Test
+    void stream_resumesFromLastEventIdHeader() {
+        when(useCase.stream(any())).thenReturn(Flux.never());
+
+        Flux<String> body = webTestClient.get()
+                .uri("/api/v1/usuarios/events")
+                .header("Last-Event-ID", "42")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseBody();
+
+        StepVerifier.create(body).thenCancel().verify();
+
+        verify(useCase).stream(42L);
+    }
+
+    @Test
+    void stream_rejectsANonNumericSequence() {
+        webTestClient.get()
+                .uri("/api/v1/usuarios/events?after=abc")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(useCase);
+    }
+}
@@ -5,19 +5,27 @@ import com.crediya.iam.api.dto.UserResponseDto;
 import com.crediya.iam.api.dto.UserSaveDto;
 import com.crediya.iam.api.userMapper.UserMapper;
 import com.crediya.iam.model.user.User;
+import com.crediya.iam.model.user.UserPage;
 import com.crediya.iam.usecase.loadusers.LoadUsersUseCase;
+import com.crediya.iam.usecase.shared.Messages;
+import com.crediya.iam.usecase.shared.ValidationException;
 import com.crediya.iam.usecase.user.IUserUseCase;
 import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Base64;
 import java.util.Collections;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
@@ -80,6 +88,90 @@ class UserHandlerTest {
         verify(loadUsersUseCase).execute();
     }
 
+    @Test
+    void listUsers_ndjson_streamsOneDtoPerLine() {
+        User first = new User();
+        first.setId(1L);
+        User second = new User();
+        second.setId(2L);
+        UserResponseDto dto1 = new UserResponseDto();
+        dto1.setId(1L);
+        UserResponseDto dto2 = new UserResponseDto();
+        dto2.setId(2L);
+
+        when(loadUsersUseCase.execute()).thenReturn(Flux.just(first, second));
+        when(mapper.toResponseDto(first)).thenReturn(dto1);
+        when(mapper.toResponseDto(second)).thenReturn(dto2);
+
+        Flux<UserResponseDto> body = webTestClient.get()
+                .uri("/api/v1/usuarios")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(UserResponseDto.class)
+                .getResponseBody();
+
+        StepVerifier.create(body)
+                .expectNextMatches(d -> d.getId() == 1L)
+                .expectNextMatches(d -> d.getId() == 2L)
+                .verifyComplete();
+    }
+
+    @Test
+    void listUsers_ndjson_emptyTable_returnsEmptyStream() {
+        when(loadUsersUseCase.execute())
+                .thenReturn(Flux.error(new ValidationException("User", Messages.USERS_NOT_FOUND)));
+
+        webTestClient.get()
+                .uri("/api/v1/usuarios")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void listUsers_page_returnsItemsAndOpaqueCursor() {
+        User user = new User();
+        user.setId(7L);
+        UserResponseDto dto = new UserResponseDto();
+        dto.setId(7L);
+
+        when(loadUsersUseCase.page(null, 1)).thenReturn(Mono.just(new UserPage(List.of(user), 7L)));
+        when(mapper.toResponseDto(user)).thenReturn(dto);
+
+        String body = webTestClient.get()
+                .uri("/api/v1/usuarios?limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+
+        assertThat(body).contains("\"id\":7").contains("nextCursor");
+
+        when(loadUsersUseCase.page(7L, 1)).thenReturn(Mono.just(new UserPage(List.of(), null)));
+        String next = Base64.getUrlEncoder().withoutPadding().encodeToString("7".getBytes());
+
+        webTestClient.get()
+                .uri("/api/v1/usuarios?limit=1&cursor=" + next)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.items").isEmpty()
+                .jsonPath("$.data.nextCursor").doesNotExist();
+    }
+
+    @Test
+    void listUsers_page_invalidCursor_returns400() {
+        webTestClient.get()
+                .uri("/api/v1/usuarios?cursor=@@@")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(loadUsersUseCase, never()).page(any(), any());
+    }
+
     @Test
     void saveUser_ok() {
         UserSaveDto dto = buildValidDto();
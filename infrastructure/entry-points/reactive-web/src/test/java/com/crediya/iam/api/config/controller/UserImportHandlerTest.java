@@ -0,0 +1,118 @@
+package com.crediya.iam.api.config.controller;
+
+import com.crediya.iam.api.controller.UserImportHandler;
+import com.crediya.iam.api.userMapper.UserImportParser;
+import com.crediya.iam.api.userMapper.UserMapper;
+import com.crediya.iam.usecase.importusers.ImportUserResult;
+import com.crediya.iam.usecase.importusers.ImportUserRow;
+import com.crediya.iam.usecase.importusers.ImportUsersUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+class UserImportHandlerTest {
+
+    private static final String VALID_CSV_ROW =
+            "Juan,Pérez,juan@mail.com,1995-05-20,123456789,3001234567,2500000.00,\"Calle 1, Apto 2\",superSecret1,3";
+
+    private ImportUsersUseCase useCase;
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        useCase = mock(ImportUsersUseCase.class);
+        // Eco: cada fila válida se reporta creada y cada fila ilegible, rechazada
+        when(useCase.execute(any())).thenAnswer(inv -> ((Flux<ImportUserRow>) inv.getArgument(0))
+                .map(row -> row.user() != null
+                        ? ImportUserResult.created(row.line(), row.user().getEmail(), row.line())
+                        : ImportUserResult.rejected(row.line(), null, row.field(), row.error())));
+
+        UserImportParser parser = new UserImportParser(new ObjectMapper().findAndRegisterModules(),
+                Validation.buildDefaultValidatorFactory().getValidator(), Mappers.getMapper(UserMapper.class));
+        UserImportHandler handler = new UserImportHandler(useCase, parser);
+
+        webTestClient = WebTestClient.bindToRouterFunction(
+                route(POST("/api/v1/usuarios/import"), handler::importUsers)).build();
+    }
+
+    @Test
+    void importCsv_shouldReportEveryRowInOrder() {
+        String body = String.join("\n", String.join(",", UserImportParser.CSV_COLUMNS),
+                VALID_CSV_ROW,
+                "Ana,Ruiz,ana@mail.com,no-es-fecha,987654321,3001234567,1000.00,Calle 2,superSecret1,3");
+
+        List<ImportUserResult> report = post(UserImportHandler.TEXT_CSV, body);
+
+        assertThat(report).hasSize(2);
+        assertThat(report.get(0).status()).isEqualTo(ImportUserResult.Status.CREATED);
+        assertThat(report.get(0).line()).isEqualTo(2L);
+        assertThat(report.get(0).email()).isEqualTo("juan@mail.com");
+        assertThat(report.get(1).status()).isEqualTo(ImportUserResult.Status.REJECTED);
+        assertThat(report.get(1).field()).isEqualTo("birthdate");
+    }
+
+    @Test
+    void importCsv_shouldRejectHeaderWithMissingColumns() {
+        List<ImportUserResult> report = post(UserImportHandler.TEXT_CSV, "firstName,email\n" + VALID_CSV_ROW);
+
+        assertThat(report).singleElement()
+                .matches(r -> r.status() == ImportUserResult.Status.REJECTED && "header".equals(r.field()));
+    }
+
+    @Test
+    void importNdjson_shouldValidateEachLineIndependently() {
+        String valid = "{\"firstName\":\"Juan\",\"lastName\":\"Pérez\",\"email\":\"juan@mail.com\","
+                + "\"birthdate\":\"1995-05-20\",\"identityDocument\":\"123456789\",\"phoneNumber\":\"3001234567\","
+                + "\"baseSalary\":2500000.00,\"address\":\"Calle 1\",\"password\":\"superSecret1\",\"roleId\":3}";
+        String missingEmail = valid.replace("\"email\":\"juan@mail.com\",", "");
+
+        List<ImportUserResult> report = post(MediaType.APPLICATION_NDJSON,
+                valid + "\n\n{no es json\n" + missingEmail + "\n");
+
+        assertThat(report).extracting(ImportUserResult::line).containsExactly(1L, 3L, 4L);
+        assertThat(report).extracting(ImportUserResult::status).containsExactly(
+                ImportUserResult.Status.CREATED, ImportUserResult.Status.REJECTED, ImportUserResult.Status.REJECTED);
+        assertThat(report.get(2).field()).isEqualTo("email");
+    }
+
+    @Test
+    void import_shouldRejectUnsupportedMediaType() {
+        webTestClient.post()
+                .uri("/api/v1/usuarios/import")
+                .contentType(MediaType.APPLICATION_XML)
+                .bodyValue("<users/>")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+
+        verifyNoInteractions(useCase);
+    }
+
+    private List<ImportUserResult> post(MediaType contentType, String body) {
+        return webTestClient.post()
+                .uri("/api/v1/usuarios/import")
+                .contentType(contentType)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(ImportUserResult.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+    }
+}
@@ -1,7 +1,10 @@
 package com.crediya.iam.api.config.controller;
 
 import com.crediya.iam.api.controller.UserValidatedExistHandler;
+import com.crediya.iam.usecase.existuser.ExistUserQuery;
+import com.crediya.iam.usecase.existuser.ExistUserStatus;
 import com.crediya.iam.usecase.existuser.ExistUserUseCase;
+import com.crediya.iam.usecase.shared.ValidationException;
 import com.crediya.iam.usecase.shared.Messages;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.spi.ILoggingEvent;
@@ -18,6 +21,10 @@ import org.springframework.web.reactive.function.server.*;
 
 import reactor.core.publisher.Mono;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -37,7 +44,8 @@ class UserValidatedExistHandlerTest {
     void setUp() {
         handler = new UserValidatedExistHandler(existUserUseCase);
         RouterFunction<ServerResponse> router =
-                route(POST("/api/v1/users/exist"), handler::loadExistUser);
+                route(POST("/api/v1/users/exist"), handler::loadExistUser)
+                        .andRoute(POST("/api/v1/users/exist/batch"), handler::loadExistUsers);
         client = WebTestClient.bindToRouterFunction(router).build();
     }
 
@@ -126,4 +134,42 @@ class UserValidatedExistHandlerTest {
 
         logger.detachAppender(appender);
     }
+
+    @Test
+    void loadExistUsers_shouldReturnStatusPerDocument() {
+        Map<String, ExistUserStatus> results = new LinkedHashMap<>();
+        results.put("123456789", ExistUserStatus.MATCH);
+        results.put("987654321", ExistUserStatus.NOT_FOUND);
+        when(existUserUseCase.executeBatch(List.of(
+                new ExistUserQuery("123456789", "a@b.com"),
+                new ExistUserQuery("987654321", "c@d.com")))).thenReturn(Mono.just(results));
+
+        client.post()
+                .uri("/api/v1/users/exist/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"users\":[{\"document\":\"123456789\",\"email\":\"a@b.com\"},"
+                        + "{\"document\":\"987654321\",\"email\":\"c@d.com\"}]}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.success").isEqualTo(true)
+                .jsonPath("$.data['123456789']").isEqualTo("MATCH")
+                .jsonPath("$.data['987654321']").isEqualTo("NOT_FOUND");
+    }
+
+    @Test
+    void loadExistUsers_shouldReturnBadRequestWhenBatchIsInvalid() {
+        when(existUserUseCase.executeBatch(List.of()))
+                .thenReturn(Mono.error(new ValidationException("users", Messages.EXIST_BATCH_EMPTY)));
+
+        client.post()
+                .uri("/api/v1/users/exist/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"users\":[]}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.success").isEqualTo(false)
+                .jsonPath("$.errors[0].field").isEqualTo("users");
+    }
 }